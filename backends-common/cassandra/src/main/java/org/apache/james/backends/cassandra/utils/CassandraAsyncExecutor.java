@@ -20,6 +20,7 @@
 package org.apache.james.backends.cassandra.utils;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import javax.inject.Inject;
 
@@ -27,6 +28,7 @@ import com.datastax.driver.core.ResultSet;
 import com.datastax.driver.core.Row;
 import com.datastax.driver.core.Session;
 import com.datastax.driver.core.Statement;
+import com.google.common.collect.ImmutableList;
 
 import net.javacrumbs.futureconverter.java8guava.FutureConverter;
 import reactor.core.publisher.Flux;
@@ -68,6 +70,30 @@ public class CassandraAsyncExecutor {
             .flatMapMany(Flux::fromIterable);
     }
 
+    /**
+     * Unlike {@link #executeRows(Statement)}, rows of the following pages are fetched asynchronously, one page in
+     * advance, rather than by blocking once the rows of the current page are consumed.
+     */
+    public Flux<Row> executeRowsPaged(Statement statement) {
+        return execute(statement)
+            .flatMapMany(this::pages);
+    }
+
+    private Flux<Row> pages(ResultSet resultSet) {
+        ImmutableList.Builder<Row> page = ImmutableList.builder();
+        for (int available = resultSet.getAvailableWithoutFetching(); available > 0; available--) {
+            page.add(resultSet.one());
+        }
+        if (resultSet.isFullyFetched()) {
+            return Flux.fromIterable(page.build());
+        }
+        CompletableFuture<ResultSet> nextPage = FutureConverter.toCompletableFuture(resultSet.fetchMoreResults());
+        return Flux.fromIterable(page.build())
+            .concatWith(Mono.fromFuture(nextPage)
+                .publishOn(Schedulers.elastic())
+                .flatMapMany(this::pages));
+    }
+
     public Mono<Optional<Row>> executeSingleRowOptional(Statement statement) {
         return execute(statement)
             .map(resultSet -> Optional.ofNullable(resultSet.one()));
@@ -0,0 +1,128 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.backends.cassandra.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.ResultSetFuture;
+import com.datastax.driver.core.Row;
+import com.datastax.driver.core.Session;
+import com.datastax.driver.core.SimpleStatement;
+import com.google.common.util.concurrent.Futures;
+
+class CassandraAsyncExecutorTest {
+    private static final int PAGE_SIZE = 2;
+    private static final int PAGE_COUNT = 5;
+
+    private List<Row> rows;
+    private List<ResultSet> pages;
+    private CassandraAsyncExecutor executor;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        rows = IntStream.range(0, PAGE_SIZE * PAGE_COUNT)
+            .mapToObj(i -> mock(Row.class))
+            .collect(Collectors.toList());
+        pages = IntStream.range(0, PAGE_COUNT)
+            .mapToObj(i -> mock(ResultSet.class))
+            .collect(Collectors.toList());
+        for (int i = 0; i < PAGE_COUNT; i++) {
+            ResultSet page = pages.get(i);
+            boolean lastPage = i == PAGE_COUNT - 1;
+            when(page.getAvailableWithoutFetching()).thenReturn(PAGE_SIZE);
+            when(page.one()).thenReturn(rows.get(i * PAGE_SIZE), rows.get(i * PAGE_SIZE + 1));
+            when(page.isFullyFetched()).thenReturn(lastPage);
+            if (!lastPage) {
+                when(page.fetchMoreResults()).thenReturn(Futures.immediateFuture(pages.get(i + 1)));
+            }
+        }
+
+        Session session = mock(Session.class);
+        ResultSetFuture firstPage = completedFuture(pages.get(0));
+        when(session.executeAsync(any(SimpleStatement.class))).thenReturn(firstPage);
+        executor = new CassandraAsyncExecutor(session);
+    }
+
+    private ResultSetFuture completedFuture(ResultSet resultSet) throws Exception {
+        ResultSetFuture future = mock(ResultSetFuture.class);
+        when(future.isDone()).thenReturn(true);
+        when(future.get()).thenReturn(resultSet);
+        when(future.getUninterruptibly()).thenReturn(resultSet);
+        doAnswer(invocation -> {
+            Runnable listener = invocation.getArgument(0);
+            Executor listenerExecutor = invocation.getArgument(1);
+            listenerExecutor.execute(listener);
+            return null;
+        }).when(future).addListener(any(), any());
+        return future;
+    }
+
+    @Test
+    void executeRowsPagedShouldReturnTheRowsOfEveryPageInOrder() {
+        assertThat(executor.executeRowsPaged(new SimpleStatement("SELECT * FROM test"))
+                .collectList()
+                .block())
+            .containsExactlyElementsOf(rows);
+    }
+
+    @Test
+    void executeRowsPagedShouldStopFetchingPagesWhenCancelled() {
+        assertThat(executor.executeRowsPaged(new SimpleStatement("SELECT * FROM test"))
+                .take(PAGE_SIZE + 1)
+                .collectList()
+                .block())
+            .containsExactlyElementsOf(rows.subList(0, PAGE_SIZE + 1));
+
+        // The page following the one being consumed is prefetched, but no further
+        verify(pages.get(2), never()).fetchMoreResults();
+        verify(pages.get(3), never()).getAvailableWithoutFetching();
+    }
+
+    @Test
+    void executeRowsPagedShouldReturnASingleFullyFetchedPage() throws Exception {
+        ResultSet page = mock(ResultSet.class);
+        when(page.getAvailableWithoutFetching()).thenReturn(1);
+        when(page.one()).thenReturn(rows.get(0));
+        when(page.isFullyFetched()).thenReturn(true);
+        Session session = mock(Session.class);
+        ResultSetFuture future = completedFuture(page);
+        when(session.executeAsync(any(SimpleStatement.class))).thenReturn(future);
+
+        assertThat(new CassandraAsyncExecutor(session).executeRowsPaged(new SimpleStatement("SELECT * FROM test"))
+                .collectList()
+                .block())
+            .containsExactly(rows.get(0));
+    }
+}
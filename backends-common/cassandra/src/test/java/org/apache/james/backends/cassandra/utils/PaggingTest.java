@@ -25,6 +25,8 @@ import static com.datastax.driver.core.querybuilder.QueryBuilder.select;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 import org.apache.james.backends.cassandra.CassandraCluster;
 import org.apache.james.backends.cassandra.CassandraClusterExtension;
@@ -80,4 +82,50 @@ class PaggingTest {
             .hasSize(size);
     }
 
+    @Test
+    void executeRowsPagedShouldReturnEveryRowOnceInClusteringOrderAcrossPages() {
+        int fetchSize = 2;
+        int size = 2 * fetchSize + 1;
+
+        Flux.range(0, size)
+            .flatMap(i -> executor
+                .executeVoid(insertInto(TABLE_NAME)
+                    .value(ID, UUID)
+                    .value(CLUSTERING, i)))
+            .blockLast();
+
+        assertThat(
+            executor.executeRowsPaged(select()
+                    .from(TABLE_NAME)
+                    .where(eq(ID, UUID))
+                    .setFetchSize(fetchSize))
+                .map(row -> row.getLong(CLUSTERING))
+                .collectList()
+                .block())
+            .containsExactlyElementsOf(LongStream.range(0, size).boxed().collect(Collectors.toList()));
+    }
+
+    @Test
+    void executeRowsPagedShouldReturnTheFirstRowsWhenCancelledMidStream() {
+        int fetchSize = 2;
+        int size = 5 * fetchSize;
+
+        Flux.range(0, size)
+            .flatMap(i -> executor
+                .executeVoid(insertInto(TABLE_NAME)
+                    .value(ID, UUID)
+                    .value(CLUSTERING, i)))
+            .blockLast();
+
+        assertThat(
+            executor.executeRowsPaged(select()
+                    .from(TABLE_NAME)
+                    .where(eq(ID, UUID))
+                    .setFetchSize(fetchSize))
+                .map(row -> row.getLong(CLUSTERING))
+                .take(fetchSize + 1)
+                .collectList()
+                .block())
+            .containsExactly(0L, 1L, 2L);
+    }
 }
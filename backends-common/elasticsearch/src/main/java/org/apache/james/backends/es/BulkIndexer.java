@@ -0,0 +1,239 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.backends.es;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+
+import org.apache.james.metrics.api.Metric;
+import org.apache.james.metrics.api.MetricFactory;
+import org.apache.james.metrics.api.TimeMetric;
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.HashMultiset;
+import com.google.common.collect.Multiset;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Coalesces single document writes submitted concurrently into <code>_bulk</code> requests.
+ *
+ * A bulk request is sent as soon as one of the <code>maxConcurrency</code> slots is free, carrying at most
+ * <code>maxBatchSize</code> of the pending writes. Under low load each write is thus sent on its own without
+ * waiting, while under load writes pile up behind the in-flight requests and get sent together.
+ *
+ * The {@link Mono} returned on submission completes once the bulk request carrying the write succeeded, so callers
+ * keep their at-least-once semantics. Failed bulk requests are retried as a whole; per document failures are reported
+ * to the corresponding caller only.
+ *
+ * Writes to a given document are applied in submission order: a write is held back while another bulk request
+ * carrying a write to the same document is in flight, as concurrent bulk requests may be applied in any order.
+ */
+public class BulkIndexer {
+    public static final int DEFAULT_MAX_BATCH_SIZE = 100;
+    public static final int DEFAULT_MAX_CONCURRENCY = 4;
+    public static final int DEFAULT_MAX_RETRIES = 3;
+
+    static final String BATCH_COUNT_METRIC_NAME = "elasticSearchBulkIndexer:batches";
+    static final String DOCUMENT_COUNT_METRIC_NAME = "elasticSearchBulkIndexer:documents";
+    static final String PENDING_COUNT_METRIC_NAME = "elasticSearchBulkIndexer:pending";
+    static final String LAG_METRIC_NAME = "elasticSearchBulkIndexer:lag";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BulkIndexer.class);
+    private static final Duration FIRST_BACKOFF = Duration.ofMillis(100);
+
+    /**
+     * Reports the failure of a single document of an otherwise successful bulk request
+     */
+    public static class DocumentWriteFailure extends RuntimeException {
+        DocumentWriteFailure(BulkItemResponse.Failure failure) {
+            super("Failed to write document " + failure.getId() + ": " + failure.getMessage(), failure.getCause());
+        }
+    }
+
+    private static class PendingWrite {
+        private final DocWriteRequest<?> request;
+        private final String documentKey;
+        private final TimeMetric lag;
+        private final CompletableFuture<Void> completion;
+
+        private PendingWrite(DocWriteRequest<?> request, TimeMetric lag) {
+            this.request = request;
+            this.documentKey = request.index() + "/" + request.id();
+            this.lag = lag;
+            this.completion = new CompletableFuture<>();
+        }
+
+        void complete(BulkItemResponse response) {
+            lag.stopAndPublish();
+            if (response.isFailed()) {
+                completion.completeExceptionally(new DocumentWriteFailure(response.getFailure()));
+            } else {
+                completion.complete(null);
+            }
+        }
+
+        void fail(Throwable throwable) {
+            lag.stopAndPublish();
+            completion.completeExceptionally(throwable);
+        }
+    }
+
+    private final ElasticSearchIndexer indexer;
+    private final int maxBatchSize;
+    private final int maxRetries;
+    private final MetricFactory metricFactory;
+    private final Object lock;
+    private final LinkedList<PendingWrite> pendingWrites;
+    private final Multiset<String> inFlightDocuments;
+    private final Semaphore slots;
+    private final Metric batchCount;
+    private final Metric documentCount;
+    private final Metric pendingCount;
+
+    public BulkIndexer(ElasticSearchIndexer indexer, MetricFactory metricFactory) {
+        this(indexer, DEFAULT_MAX_BATCH_SIZE, DEFAULT_MAX_CONCURRENCY, DEFAULT_MAX_RETRIES, metricFactory);
+    }
+
+    public BulkIndexer(ElasticSearchIndexer indexer, int maxBatchSize, int maxConcurrency, int maxRetries, MetricFactory metricFactory) {
+        Preconditions.checkArgument(maxBatchSize > 0, "'maxBatchSize' needs to be strictly positive");
+        Preconditions.checkArgument(maxConcurrency > 0, "'maxConcurrency' needs to be strictly positive");
+        Preconditions.checkArgument(maxRetries >= 0, "'maxRetries' needs to be positive");
+
+        this.indexer = indexer;
+        this.maxBatchSize = maxBatchSize;
+        this.maxRetries = maxRetries;
+        this.metricFactory = metricFactory;
+        this.lock = new Object();
+        this.pendingWrites = new LinkedList<>();
+        this.inFlightDocuments = HashMultiset.create();
+        this.slots = new Semaphore(maxConcurrency);
+        this.batchCount = metricFactory.generate(BATCH_COUNT_METRIC_NAME);
+        this.documentCount = metricFactory.generate(DOCUMENT_COUNT_METRIC_NAME);
+        this.pendingCount = metricFactory.generate(PENDING_COUNT_METRIC_NAME);
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public Mono<Void> index(DocumentId id, String content, RoutingKey routingKey) {
+        return Mono.fromCallable(() -> indexer.indexRequest(id, content, routingKey))
+            .flatMap(this::submit);
+    }
+
+    public Mono<Void> update(UpdatedRepresentation updatedDocumentPart, RoutingKey routingKey) {
+        return submit(indexer.updateRequest(updatedDocumentPart, routingKey));
+    }
+
+    public Mono<Void> delete(DocumentId id, RoutingKey routingKey) {
+        return submit(indexer.deleteRequest(id, routingKey));
+    }
+
+    private Mono<Void> submit(DocWriteRequest<?> request) {
+        return Mono.defer(() -> {
+            PendingWrite pendingWrite = new PendingWrite(request, metricFactory.timer(LAG_METRIC_NAME));
+            pendingCount.increment();
+            synchronized (lock) {
+                pendingWrites.add(pendingWrite);
+            }
+            drain();
+            return Mono.fromFuture(pendingWrite.completion);
+        });
+    }
+
+    private void drain() {
+        while (slots.tryAcquire()) {
+            List<PendingWrite> batch = pollBatch();
+            if (batch.isEmpty()) {
+                // Nothing pending, or only writes held back by in-flight requests: their completion drains again
+                slots.release();
+                return;
+            }
+            send(batch);
+        }
+    }
+
+    /**
+     * Takes the oldest pending writes whose document has no write in flight. Writes to a same document within a
+     * batch are applied in order by Elasticsearch.
+     */
+    private List<PendingWrite> pollBatch() {
+        List<PendingWrite> batch = new ArrayList<>(maxBatchSize);
+        synchronized (lock) {
+            Iterator<PendingWrite> iterator = pendingWrites.iterator();
+            while (batch.size() < maxBatchSize && iterator.hasNext()) {
+                PendingWrite pendingWrite = iterator.next();
+                if (!inFlightDocuments.contains(pendingWrite.documentKey)) {
+                    batch.add(pendingWrite);
+                    iterator.remove();
+                }
+            }
+            batch.forEach(pendingWrite -> inFlightDocuments.add(pendingWrite.documentKey));
+        }
+        pendingCount.remove(batch.size());
+        return batch;
+    }
+
+    private void release(List<PendingWrite> batch) {
+        synchronized (lock) {
+            batch.forEach(pendingWrite -> inFlightDocuments.remove(pendingWrite.documentKey));
+        }
+        slots.release();
+    }
+
+    private void send(List<PendingWrite> batch) {
+        BulkRequest bulkRequest = new BulkRequest();
+        batch.forEach(pendingWrite -> bulkRequest.add(pendingWrite.request));
+        batchCount.increment();
+        documentCount.add(batch.size());
+
+        Mono.defer(() -> indexer.bulk(bulkRequest))
+            .retryBackoff(maxRetries, FIRST_BACKOFF)
+            .doFinally(any -> {
+                release(batch);
+                drain();
+            })
+            .subscribe(
+                response -> dispatch(batch, response),
+                throwable -> {
+                    LOGGER.error("Failed to send a bulk request of {} documents", batch.size(), throwable);
+                    batch.forEach(pendingWrite -> pendingWrite.fail(throwable));
+                });
+    }
+
+    private void dispatch(List<PendingWrite> batch, BulkResponse response) {
+        BulkItemResponse[] items = response.getItems();
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).complete(items[i]);
+        }
+    }
+}
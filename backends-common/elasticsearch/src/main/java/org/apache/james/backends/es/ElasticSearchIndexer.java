@@ -40,6 +40,8 @@ import org.slf4j.LoggerFactory;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 
+import reactor.core.publisher.Mono;
+
 public class ElasticSearchIndexer {
     private static final int DEBUG_MAX_LENGTH_CONTENT = 1000;
     private static final int DEFAULT_BATCH_SIZE = 100;
@@ -65,14 +67,17 @@ public class ElasticSearchIndexer {
     }
 
     public IndexResponse index(DocumentId id, String content, RoutingKey routingKey) throws IOException {
+        return client.index(indexRequest(id, content, routingKey), RequestOptions.DEFAULT);
+    }
+
+    IndexRequest indexRequest(DocumentId id, String content, RoutingKey routingKey) {
         checkArgument(content);
         logContent(id, content);
-        return client.index(new IndexRequest(aliasName.getValue())
-                .type(NodeMappingFactory.DEFAULT_MAPPING_NAME)
-                .id(id.asString())
-                .source(content, XContentType.JSON)
-                .routing(routingKey.asString()),
-            RequestOptions.DEFAULT);
+        return new IndexRequest(aliasName.getValue())
+            .type(NodeMappingFactory.DEFAULT_MAPPING_NAME)
+            .id(id.asString())
+            .source(content, XContentType.JSON)
+            .routing(routingKey.asString());
     }
 
     private void logContent(DocumentId id, String content) {
@@ -86,12 +91,7 @@ public class ElasticSearchIndexer {
             Preconditions.checkNotNull(updatedDocumentParts);
             Preconditions.checkNotNull(routingKey);
             BulkRequest request = new BulkRequest();
-            updatedDocumentParts.forEach(updatedDocumentPart -> request.add(
-                new UpdateRequest(aliasName.getValue(),
-                    NodeMappingFactory.DEFAULT_MAPPING_NAME,
-                    updatedDocumentPart.getId().asString())
-                .doc(updatedDocumentPart.getUpdatedDocumentPart(), XContentType.JSON)
-                .routing(routingKey.asString())));
+            updatedDocumentParts.forEach(updatedDocumentPart -> request.add(updateRequest(updatedDocumentPart, routingKey)));
             return Optional.of(client.bulk(request, RequestOptions.DEFAULT));
         } catch (ValidationException e) {
             LOGGER.warn("Error while updating index", e);
@@ -102,11 +102,7 @@ public class ElasticSearchIndexer {
     public Optional<BulkResponse> delete(List<DocumentId> ids, RoutingKey routingKey) throws IOException {
         try {
             BulkRequest request = new BulkRequest();
-            ids.forEach(id -> request.add(
-                new DeleteRequest(aliasName.getValue())
-                    .type(NodeMappingFactory.DEFAULT_MAPPING_NAME)
-                    .id(id.asString())
-                    .routing(routingKey.asString())));
+            ids.forEach(id -> request.add(deleteRequest(id, routingKey)));
             return Optional.of(client.bulk(request, RequestOptions.DEFAULT));
         } catch (ValidationException e) {
             LOGGER.warn("Error while deleting index", e);
@@ -114,6 +110,29 @@ public class ElasticSearchIndexer {
         }
     }
 
+    UpdateRequest updateRequest(UpdatedRepresentation updatedDocumentPart, RoutingKey routingKey) {
+        return new UpdateRequest(aliasName.getValue(),
+                NodeMappingFactory.DEFAULT_MAPPING_NAME,
+                updatedDocumentPart.getId().asString())
+            .doc(updatedDocumentPart.getUpdatedDocumentPart(), XContentType.JSON)
+            .routing(routingKey.asString());
+    }
+
+    DeleteRequest deleteRequest(DocumentId id, RoutingKey routingKey) {
+        return new DeleteRequest(aliasName.getValue())
+            .type(NodeMappingFactory.DEFAULT_MAPPING_NAME)
+            .id(id.asString())
+            .routing(routingKey.asString());
+    }
+
+    Mono<BulkResponse> bulk(BulkRequest request) {
+        return Mono.defer(() -> {
+            ListenerToFuture<BulkResponse> listener = new ListenerToFuture<>();
+            client.bulkAsync(request, RequestOptions.DEFAULT, listener);
+            return Mono.fromFuture(listener.getFuture());
+        });
+    }
+
     public void deleteAllMatchingQuery(QueryBuilder queryBuilder, RoutingKey routingKey) {
         deleteByQueryPerformer.perform(queryBuilder, routingKey).block();
     }
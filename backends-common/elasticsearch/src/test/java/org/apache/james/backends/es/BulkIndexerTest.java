@@ -0,0 +1,283 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.backends.es;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.apache.james.metrics.tests.RecordingMetricFactory;
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.index.IndexResponse;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.index.shard.ShardId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.github.steveash.guavate.Guavate;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
+
+class BulkIndexerTest {
+    private static final WriteAliasName ALIAS_NAME = new WriteAliasName("alias_name");
+    private static final RoutingKey ROUTING = RoutingKey.fromString("routing");
+    private static final String CONTENT = "{\"message\": \"trying out Elasticsearch\"}";
+    private static final ShardId SHARD_ID = new ShardId("index_name", "uuid", 0);
+
+    private ElasticSearchIndexer indexer;
+    private RecordingMetricFactory metricFactory;
+    private List<BulkRequest> sentRequests;
+
+    @BeforeEach
+    void setUp() {
+        indexer = spy(new ElasticSearchIndexer(mock(RestHighLevelClient.class), ALIAS_NAME));
+        metricFactory = new RecordingMetricFactory();
+        sentRequests = new CopyOnWriteArrayList<>();
+    }
+
+    @Test
+    void indexShouldSendABulkRequest() {
+        succeedBulkRequests();
+        BulkIndexer testee = new BulkIndexer(indexer, metricFactory);
+
+        testee.index(DocumentId.fromString("1"), CONTENT, ROUTING).block();
+
+        assertThat(sentRequests).hasSize(1);
+        assertThat(sentRequests.get(0).requests())
+            .extracting(DocWriteRequest::id)
+            .containsExactly("1");
+    }
+
+    @Test
+    void writesSubmittedWhileARequestIsInFlightShouldBeCoalesced() {
+        MonoProcessor<Void> firstRequestRelease = MonoProcessor.create();
+        AtomicInteger calls = new AtomicInteger();
+        doAnswer(invocation -> {
+            BulkRequest request = invocation.getArgument(0);
+            sentRequests.add(request);
+            Mono<BulkResponse> response = Mono.just(successFor(request));
+            if (calls.getAndIncrement() == 0) {
+                return firstRequestRelease.then(response);
+            }
+            return response;
+        }).when(indexer).bulk(any());
+        BulkIndexer testee = new BulkIndexer(indexer, 10, 1, 0, metricFactory);
+
+        Mono<Void> first = testee.index(DocumentId.fromString("0"), CONTENT, ROUTING).cache();
+        first.subscribe();
+        List<Mono<Void>> others = IntStream.range(1, 6)
+            .mapToObj(i -> testee.index(DocumentId.fromString(String.valueOf(i)), CONTENT, ROUTING).cache())
+            .peek(Mono::subscribe)
+            .collect(Guavate.toImmutableList());
+        firstRequestRelease.onComplete();
+
+        Flux.merge(others).then(first).block(Duration.ofSeconds(10));
+        assertThat(sentRequests).hasSize(2);
+        assertThat(sentRequests.get(1).requests())
+            .extracting(DocWriteRequest::id)
+            .containsExactly("1", "2", "3", "4", "5");
+    }
+
+    @Test
+    void batchesShouldNotExceedMaxBatchSize() {
+        MonoProcessor<Void> firstRequestRelease = MonoProcessor.create();
+        AtomicInteger calls = new AtomicInteger();
+        doAnswer(invocation -> {
+            BulkRequest request = invocation.getArgument(0);
+            sentRequests.add(request);
+            Mono<BulkResponse> response = Mono.just(successFor(request));
+            if (calls.getAndIncrement() == 0) {
+                return firstRequestRelease.then(response);
+            }
+            return response;
+        }).when(indexer).bulk(any());
+        BulkIndexer testee = new BulkIndexer(indexer, 2, 1, 0, metricFactory);
+
+        List<Mono<Void>> writes = IntStream.range(0, 5)
+            .mapToObj(i -> testee.index(DocumentId.fromString(String.valueOf(i)), CONTENT, ROUTING).cache())
+            .peek(Mono::subscribe)
+            .collect(Guavate.toImmutableList());
+        firstRequestRelease.onComplete();
+
+        Flux.merge(writes).then().block(Duration.ofSeconds(10));
+        assertThat(sentRequests)
+            .extracting(BulkRequest::numberOfActions)
+            .containsExactly(1, 2, 2);
+    }
+
+    @Test
+    void writesToADocumentShouldWaitForItsInFlightWrite() {
+        MonoProcessor<Void> firstRequestRelease = MonoProcessor.create();
+        AtomicInteger calls = new AtomicInteger();
+        doAnswer(invocation -> {
+            BulkRequest request = invocation.getArgument(0);
+            sentRequests.add(request);
+            Mono<BulkResponse> response = Mono.just(successFor(request));
+            if (calls.getAndIncrement() == 0) {
+                return firstRequestRelease.then(response);
+            }
+            return response;
+        }).when(indexer).bulk(any());
+        BulkIndexer testee = new BulkIndexer(indexer, 10, 2, 0, metricFactory);
+
+        Mono<Void> index = testee.index(DocumentId.fromString("1"), CONTENT, ROUTING).cache();
+        index.subscribe();
+        Mono<Void> delete = testee.delete(DocumentId.fromString("1"), ROUTING).cache();
+        delete.subscribe();
+        testee.index(DocumentId.fromString("2"), CONTENT, ROUTING).block(Duration.ofSeconds(10));
+
+        assertThat(sentRequests)
+            .flatExtracting(BulkRequest::requests)
+            .extracting(DocWriteRequest::id)
+            .containsExactly("1", "2");
+
+        firstRequestRelease.onComplete();
+        index.then(delete).block(Duration.ofSeconds(10));
+
+        assertThat(sentRequests).hasSize(3);
+        assertThat(sentRequests.get(2).requests())
+            .extracting(DocWriteRequest::opType)
+            .containsExactly(DocWriteRequest.OpType.DELETE);
+    }
+
+    @Test
+    void failedBulkRequestsShouldBeRetried() {
+        AtomicInteger calls = new AtomicInteger();
+        doAnswer(invocation -> {
+            BulkRequest request = invocation.getArgument(0);
+            return Mono.defer(() -> {
+                if (calls.getAndIncrement() == 0) {
+                    return Mono.error(new IOException("boom"));
+                }
+                return Mono.just(successFor(request));
+            });
+        }).when(indexer).bulk(any());
+        BulkIndexer testee = new BulkIndexer(indexer, 10, 1, 1, metricFactory);
+
+        testee.index(DocumentId.fromString("1"), CONTENT, ROUTING).block(Duration.ofSeconds(10));
+
+        assertThat(calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void writesShouldFailWhenRetriesAreExhausted() {
+        doAnswer(invocation -> Mono.error(new IOException("boom"))).when(indexer).bulk(any());
+        BulkIndexer testee = new BulkIndexer(indexer, 10, 1, 0, metricFactory);
+
+        assertThatThrownBy(() -> testee.index(DocumentId.fromString("1"), CONTENT, ROUTING).block(Duration.ofSeconds(10)))
+            .hasCauseInstanceOf(IOException.class);
+    }
+
+    @Test
+    void documentFailuresShouldOnlyFailTheConcernedWrite() {
+        MonoProcessor<Void> firstRequestRelease = MonoProcessor.create();
+        AtomicInteger calls = new AtomicInteger();
+        doAnswer(invocation -> {
+            BulkRequest request = invocation.getArgument(0);
+            if (calls.getAndIncrement() == 0) {
+                return firstRequestRelease.then(Mono.just(successFor(request)));
+            }
+            return Mono.just(failingSecondDocument(request));
+        }).when(indexer).bulk(any());
+        BulkIndexer testee = new BulkIndexer(indexer, 10, 1, 0, metricFactory);
+
+        Mono<Void> first = testee.index(DocumentId.fromString("0"), CONTENT, ROUTING).cache();
+        first.subscribe();
+        Mono<Void> succeeding = testee.index(DocumentId.fromString("1"), CONTENT, ROUTING).cache();
+        succeeding.subscribe(any -> { }, any -> { });
+        Mono<Void> failing = testee.index(DocumentId.fromString("2"), CONTENT, ROUTING).cache();
+        failing.subscribe(any -> { }, any -> { });
+        firstRequestRelease.onComplete();
+
+        succeeding.block(Duration.ofSeconds(10));
+        assertThatThrownBy(() -> failing.block(Duration.ofSeconds(10)))
+            .isInstanceOf(BulkIndexer.DocumentWriteFailure.class);
+    }
+
+    @Test
+    void slotsShouldBeReleasedWhenTheBulkCallThrows() {
+        AtomicInteger calls = new AtomicInteger();
+        doAnswer(invocation -> {
+            BulkRequest request = invocation.getArgument(0);
+            if (calls.getAndIncrement() == 0) {
+                throw new IllegalStateException("boom");
+            }
+            return Mono.just(successFor(request));
+        }).when(indexer).bulk(any());
+        BulkIndexer testee = new BulkIndexer(indexer, 10, 1, 0, metricFactory);
+
+        assertThatThrownBy(() -> testee.index(DocumentId.fromString("1"), CONTENT, ROUTING).block(Duration.ofSeconds(10)))
+            .isInstanceOf(IllegalStateException.class);
+        testee.index(DocumentId.fromString("2"), CONTENT, ROUTING).block(Duration.ofSeconds(10));
+    }
+
+    @Test
+    void metricsShouldReportBatchesAndDocuments() {
+        succeedBulkRequests();
+        BulkIndexer testee = new BulkIndexer(indexer, metricFactory);
+
+        testee.index(DocumentId.fromString("1"), CONTENT, ROUTING).block();
+        testee.delete(DocumentId.fromString("1"), ROUTING).block();
+
+        assertThat(metricFactory.countFor(BulkIndexer.BATCH_COUNT_METRIC_NAME)).isEqualTo(2);
+        assertThat(metricFactory.countFor(BulkIndexer.DOCUMENT_COUNT_METRIC_NAME)).isEqualTo(2);
+        assertThat(metricFactory.countFor(BulkIndexer.PENDING_COUNT_METRIC_NAME)).isEqualTo(0);
+        assertThat(metricFactory.executionTimesFor(BulkIndexer.LAG_METRIC_NAME)).hasSize(2);
+    }
+
+    private void succeedBulkRequests() {
+        doAnswer(invocation -> {
+            BulkRequest request = invocation.getArgument(0);
+            sentRequests.add(request);
+            return Mono.just(successFor(request));
+        }).when(indexer).bulk(any());
+    }
+
+    private static BulkResponse successFor(BulkRequest request) {
+        BulkItemResponse[] items = IntStream.range(0, request.numberOfActions())
+            .mapToObj(i -> new BulkItemResponse(i, DocWriteRequest.OpType.INDEX,
+                new IndexResponse(SHARD_ID, NodeMappingFactory.DEFAULT_MAPPING_NAME, request.requests().get(i).id(), 1, 1, 1, true)))
+            .toArray(BulkItemResponse[]::new);
+        return new BulkResponse(items, 1);
+    }
+
+    private static BulkResponse failingSecondDocument(BulkRequest request) {
+        BulkResponse success = successFor(request);
+        BulkItemResponse[] items = success.getItems();
+        items[1] = new BulkItemResponse(1, DocWriteRequest.OpType.INDEX,
+            new BulkItemResponse.Failure("index_name", NodeMappingFactory.DEFAULT_MAPPING_NAME, request.requests().get(1).id(), new IOException("rejected")));
+        return new BulkResponse(items, 1);
+    }
+}
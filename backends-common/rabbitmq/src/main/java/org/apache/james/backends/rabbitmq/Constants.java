@@ -41,6 +41,7 @@ public interface Constants {
     Map<String, Object> WITH_SINGLE_ACTIVE_CONSUMER = ImmutableMap.of(Constants.SINGLE_ACTIVE_CONSUMER_ARGUMENT, Constants.SINGLE_ACTIVE_CONSUMER);
 
     String DIRECT_EXCHANGE = "direct";
+    String HEADERS_EXCHANGE = "headers";
 
     AMQP.BasicProperties NO_PROPERTIES = new AMQP.BasicProperties();
 
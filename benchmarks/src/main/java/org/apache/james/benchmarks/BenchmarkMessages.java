@@ -0,0 +1,75 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+
+package org.apache.james.benchmarks;
+
+import java.nio.charset.StandardCharsets;
+
+import com.google.common.base.Strings;
+
+/**
+ * Deterministic RFC-5322 payloads shared by the benchmarks so that results stay comparable between releases.
+ */
+public class BenchmarkMessages {
+    private static final String BOUNDARY = "----=_Part_0_benchmark";
+    private static final String HEADERS = "Return-Path: <bob@domain.tld>\r\n" +
+        "Received: from mx.domain.tld (mx.domain.tld [192.0.2.1])\r\n" +
+        "\tby james.domain.tld with ESMTP id 12345\r\n" +
+        "\tfor <alice@domain.tld>; Mon, 2 Mar 2020 10:00:00 +0000\r\n" +
+        "From: Bob <bob@domain.tld>\r\n" +
+        "To: Alice <alice@domain.tld>\r\n" +
+        "Cc: Cedric <cedric@domain.tld>, Denise <denise@domain.tld>\r\n" +
+        "Subject: Benchmark message\r\n" +
+        "Date: Mon, 2 Mar 2020 10:00:00 +0000\r\n" +
+        "Message-ID: <benchmark@domain.tld>\r\n" +
+        "MIME-Version: 1.0\r\n";
+
+    public static byte[] textMessage(int size) {
+        String message = HEADERS +
+            "Content-Type: text/plain; charset=UTF-8\r\n" +
+            "\r\n" +
+            body(size);
+        return message.getBytes(StandardCharsets.UTF_8);
+    }
+
+    public static byte[] multipartMessage(int size) {
+        String message = HEADERS +
+            "Content-Type: multipart/mixed; boundary=\"" + BOUNDARY + "\"\r\n" +
+            "\r\n" +
+            "--" + BOUNDARY + "\r\n" +
+            "Content-Type: text/plain; charset=UTF-8\r\n" +
+            "\r\n" +
+            "Please find the attached document.\r\n" +
+            "--" + BOUNDARY + "\r\n" +
+            "Content-Type: application/octet-stream; name=\"attachment.bin\"\r\n" +
+            "Content-Disposition: attachment; filename=\"attachment.bin\"\r\n" +
+            "Content-Transfer-Encoding: base64\r\n" +
+            "\r\n" +
+            body(size) +
+            "--" + BOUNDARY + "--\r\n";
+        return message.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String body(int size) {
+        String line = Strings.repeat("A", 74) + "\r\n";
+        int lineCount = Math.max(1, size / line.length());
+        return Strings.repeat(line, lineCount);
+    }
+}
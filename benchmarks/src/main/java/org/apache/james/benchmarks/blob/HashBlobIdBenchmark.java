@@ -0,0 +1,69 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+
+package org.apache.james.benchmarks.blob;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.james.benchmarks.BenchmarkMessages;
+import org.apache.james.blob.api.HashBlobId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class HashBlobIdBenchmark {
+    @Param({"1024", "65536", "1048576"})
+    public int payloadSize;
+
+    private HashBlobId.Factory factory;
+    private byte[] payload;
+    private String serializedId;
+
+    @Setup
+    public void setUp() {
+        factory = new HashBlobId.Factory();
+        payload = BenchmarkMessages.textMessage(payloadSize);
+        serializedId = factory.forPayload(payload).asString();
+    }
+
+    @Benchmark
+    public HashBlobId forPayload() {
+        return factory.forPayload(payload);
+    }
+
+    @Benchmark
+    public HashBlobId from() {
+        return factory.from(serializedId);
+    }
+}
@@ -0,0 +1,158 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+
+package org.apache.james.benchmarks.event;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import javax.mail.Flags;
+
+import org.apache.james.core.Username;
+import org.apache.james.event.json.EventSerializer;
+import org.apache.james.mailbox.MailboxSession;
+import org.apache.james.mailbox.MessageUid;
+import org.apache.james.mailbox.ModSeq;
+import org.apache.james.mailbox.cassandra.ids.CassandraId;
+import org.apache.james.mailbox.cassandra.ids.CassandraMessageId;
+import org.apache.james.mailbox.events.BinaryEventCodec;
+import org.apache.james.mailbox.events.Event;
+import org.apache.james.mailbox.events.EventCodecConfiguration;
+import org.apache.james.mailbox.events.EventMessageCodec;
+import org.apache.james.mailbox.events.MailboxListener;
+import org.apache.james.mailbox.model.MailboxPath;
+import org.apache.james.mailbox.model.MessageMetaData;
+import org.apache.james.mailbox.model.UpdatedFlags;
+import org.apache.james.mailbox.store.quota.DefaultUserQuotaRootResolver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSortedMap;
+import com.rabbitmq.client.AMQP;
+
+/**
+ * Measures the {@link EventMessageCodec} used by the RabbitMQ event bus with each {@link EventCodecConfiguration}, for
+ * {@link MailboxListener.Added} and {@link MailboxListener.FlagsUpdated} events as large as the ones produced by a COPY,
+ * carrying the UUID based identifiers of the Cassandra mailbox.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class EventMessageCodecBenchmark {
+    private static final Username USERNAME = Username.of("bob@domain.tld");
+    private static final MailboxPath PATH = MailboxPath.forUser(USERNAME, "INBOX");
+    private static final int COMPRESSION_THRESHOLD = 1024;
+
+    @Param({"1", "1000", "50000"})
+    public int messageCount;
+
+    @Param({"added", "flagsUpdated"})
+    public String eventType;
+
+    @Param({"json", "binary", "binary-deflate"})
+    public String codec;
+
+    private EventMessageCodec eventMessageCodec;
+    private Event event;
+    private byte[] body;
+    private AMQP.BasicProperties properties;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        CassandraId.Factory mailboxIdFactory = new CassandraId.Factory();
+        CassandraMessageId.Factory messageIdFactory = new CassandraMessageId.Factory();
+        eventMessageCodec = codecConfiguration().codec(
+            new EventSerializer(mailboxIdFactory, messageIdFactory, new DefaultUserQuotaRootResolver.DefaultQuotaRootDeserializer()),
+            new BinaryEventCodec(mailboxIdFactory, messageIdFactory));
+        event = generateEvent(messageIdFactory);
+
+        EventMessageCodec.EncodedEvent encodedEvent = eventMessageCodec.encode(event);
+        body = encodedEvent.getBody();
+        properties = encodedEvent.describe(new AMQP.BasicProperties.Builder()).build();
+    }
+
+    private EventCodecConfiguration codecConfiguration() {
+        switch (codec) {
+        case "binary":
+            return EventCodecConfiguration.binary();
+        case "binary-deflate":
+            return EventCodecConfiguration.binaryWithCompression(COMPRESSION_THRESHOLD);
+        default:
+            return EventCodecConfiguration.JSON;
+        }
+    }
+
+    private Event generateEvent(CassandraMessageId.Factory messageIdFactory) {
+        CassandraId mailboxId = CassandraId.timeBased();
+        if (eventType.equals("flagsUpdated")) {
+            ImmutableList.Builder<UpdatedFlags> updatedFlags = ImmutableList.builder();
+            for (int i = 1; i <= messageCount; i++) {
+                updatedFlags.add(UpdatedFlags.builder()
+                    .uid(MessageUid.of(i))
+                    .modSeq(ModSeq.of(1000 + i))
+                    .oldFlags(new Flags())
+                    .newFlags(flags(i))
+                    .build());
+            }
+            return new MailboxListener.FlagsUpdated(MailboxSession.SessionId.of(42), USERNAME, PATH, mailboxId,
+                updatedFlags.build(), Event.EventId.random());
+        }
+        ImmutableSortedMap.Builder<MessageUid, MessageMetaData> added = ImmutableSortedMap.naturalOrder();
+        for (int i = 1; i <= messageCount; i++) {
+            MessageUid uid = MessageUid.of(i);
+            added.put(uid, new MessageMetaData(uid, ModSeq.of(1000 + i), flags(i), 4096 + i % 512,
+                new Date(1563000000000L + i * 1000L), messageIdFactory.generate()));
+        }
+        return new MailboxListener.Added(MailboxSession.SessionId.of(42), USERNAME, PATH, mailboxId,
+            added.build(), Event.EventId.random());
+    }
+
+    private Flags flags(int i) {
+        Flags flags = new Flags(Flags.Flag.SEEN);
+        if (i % 3 == 0) {
+            flags.add("$Forwarded");
+        }
+        return flags;
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return eventMessageCodec.encode(event).getBody();
+    }
+
+    @Benchmark
+    public Event decode() {
+        return eventMessageCodec.decode(body, properties);
+    }
+}
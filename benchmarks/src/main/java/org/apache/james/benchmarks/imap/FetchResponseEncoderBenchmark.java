@@ -0,0 +1,114 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+
+package org.apache.james.benchmarks.imap;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import javax.mail.Flags;
+
+import org.apache.commons.io.output.NullOutputStream;
+import org.apache.james.benchmarks.BenchmarkMessages;
+import org.apache.james.imap.decode.main.OutputStreamImapResponseWriter;
+import org.apache.james.imap.encode.FetchResponseEncoder;
+import org.apache.james.imap.encode.ImapResponseComposer;
+import org.apache.james.imap.encode.base.ImapResponseComposerImpl;
+import org.apache.james.imap.message.response.FetchResponse;
+import org.apache.james.mailbox.MessageUid;
+import org.apache.james.mailbox.ModSeq;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.collect.ImmutableList;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class FetchResponseEncoderBenchmark {
+    private static final Date INTERNAL_DATE = new Date(1583143200000L);
+
+    private static class BytesBodyElement implements FetchResponse.BodyElement {
+        private final byte[] content;
+
+        BytesBodyElement(byte[] content) {
+            this.content = content;
+        }
+
+        @Override
+        public String getName() {
+            return "BODY[]";
+        }
+
+        @Override
+        public long size() {
+            return content.length;
+        }
+
+        @Override
+        public InputStream getInputStream() {
+            return new ByteArrayInputStream(content);
+        }
+    }
+
+    @Param({"4096", "1048576"})
+    public int messageSize;
+
+    private FetchResponseEncoder encoder;
+    private ImapResponseComposer composer;
+    private Flags flags;
+    private BytesBodyElement bodyElement;
+
+    @Setup
+    public void setUp() {
+        encoder = new FetchResponseEncoder(false);
+        composer = new ImapResponseComposerImpl(new OutputStreamImapResponseWriter(NullOutputStream.NULL_OUTPUT_STREAM));
+        flags = new Flags(Flags.Flag.SEEN);
+        flags.add(Flags.Flag.FLAGGED);
+        flags.add("$Forwarded");
+        bodyElement = new BytesBodyElement(BenchmarkMessages.textMessage(messageSize));
+    }
+
+    @Benchmark
+    public void encodeFlagsAndUid() throws Exception {
+        encoder.encode(new FetchResponse(100, flags, MessageUid.of(172), ModSeq.of(36), INTERNAL_DATE,
+            null, null, null, null, null), composer);
+    }
+
+    @Benchmark
+    public void encodeBody() throws Exception {
+        encoder.encode(new FetchResponse(100, flags, MessageUid.of(172), null, INTERNAL_DATE,
+            (long) messageSize, null, null, null, ImmutableList.of(bodyElement)), composer);
+    }
+}
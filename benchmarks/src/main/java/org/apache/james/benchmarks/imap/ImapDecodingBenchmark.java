@@ -0,0 +1,91 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+
+package org.apache.james.benchmarks.imap;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import javax.mail.Flags;
+
+import org.apache.james.imap.api.message.UidRange;
+import org.apache.james.imap.api.message.request.SearchKey;
+import org.apache.james.imap.api.message.response.StatusResponseFactory;
+import org.apache.james.imap.decode.ImapRequestLineReader;
+import org.apache.james.imap.decode.ImapRequestStreamLineReader;
+import org.apache.james.imap.decode.parser.SearchCommandParser;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ImapDecodingBenchmark {
+    private static final byte[] STORE_LINE = ("A001 UID STORE 1:100,200:300,305,400:* +FLAGS (\\Seen \\Flagged $Forwarded)\r\n")
+        .getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] SEARCH_LINE = ("UID 1:1000 NOT DELETED OR FROM \"Bob Smith\" TO alice@domain.tld " +
+        "SINCE 1-Feb-2020 HEADER Mailing-List \"contact server-dev-help@james.apache.org\" LARGER 1024\r\n")
+        .getBytes(StandardCharsets.US_ASCII);
+
+    private SearchCommandParser searchCommandParser;
+
+    @Setup
+    public void setUp() {
+        searchCommandParser = new SearchCommandParser(Mockito.mock(StatusResponseFactory.class));
+    }
+
+    @Benchmark
+    public void readStoreCommandLine(Blackhole blackhole) throws Exception {
+        ImapRequestLineReader reader = lineReader(STORE_LINE);
+        blackhole.consume(reader.tag());
+        blackhole.consume(reader.atom());
+        blackhole.consume(reader.atom());
+        UidRange[] uidRanges = reader.parseUidRange();
+        blackhole.consume(uidRanges);
+        blackhole.consume(reader.atom());
+        Flags flags = reader.flagList();
+        blackhole.consume(flags);
+        reader.eol();
+    }
+
+    @Benchmark
+    public SearchKey decodeSearchKey() throws Exception {
+        return searchCommandParser.decode(null, lineReader(SEARCH_LINE));
+    }
+
+    private ImapRequestLineReader lineReader(byte[] line) {
+        return new ImapRequestStreamLineReader(new ByteArrayInputStream(line), new ByteArrayOutputStream());
+    }
+}
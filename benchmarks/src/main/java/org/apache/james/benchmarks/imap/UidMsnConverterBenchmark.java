@@ -0,0 +1,110 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+
+package org.apache.james.benchmarks.imap;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import org.apache.james.imap.processor.base.UidMsnConverter;
+import org.apache.james.mailbox.MessageUid;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.steveash.guavate.Guavate;
+
+/**
+ * Simulates a selected mailbox: loading all UIDs on SELECT, then MSN/UID translations and expunges.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class UidMsnConverterBenchmark {
+    @Param({"1000", "200000"})
+    public int mailboxSize;
+
+    private List<MessageUid> uids;
+    private UidMsnConverter converter;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void generateUids() {
+        // Leave holes so that UIDs and MSNs differ, as in a real mailbox after expunges
+        uids = LongStream.rangeClosed(1, mailboxSize)
+            .map(i -> i * 3)
+            .mapToObj(MessageUid::of)
+            .collect(Guavate.toImmutableList());
+    }
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        converter = new UidMsnConverter();
+        converter.addAll(uids);
+        cursor = 0;
+    }
+
+    @Benchmark
+    public UidMsnConverter select() {
+        UidMsnConverter selected = new UidMsnConverter();
+        selected.addAll(uids);
+        return selected;
+    }
+
+    @Benchmark
+    public Optional<Integer> getMsn() {
+        return converter.getMsn(nextUid());
+    }
+
+    @Benchmark
+    public Optional<MessageUid> getUid() {
+        return converter.getUid(1 + nextIndex());
+    }
+
+    @Benchmark
+    public void expungeThenAppend() {
+        MessageUid uid = nextUid();
+        converter.remove(uid);
+        converter.addUid(uid);
+    }
+
+    private MessageUid nextUid() {
+        return uids.get(nextIndex());
+    }
+
+    private int nextIndex() {
+        cursor = (cursor + 7919) % mailboxSize;
+        return cursor;
+    }
+}
@@ -0,0 +1,92 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+
+package org.apache.james.benchmarks.mailbox;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.james.benchmarks.BenchmarkMessages;
+import org.apache.james.core.Username;
+import org.apache.james.mailbox.MailboxSession;
+import org.apache.james.mailbox.MessageManager;
+import org.apache.james.mailbox.inmemory.InMemoryMailboxManager;
+import org.apache.james.mailbox.inmemory.manager.InMemoryIntegrationResources;
+import org.apache.james.mailbox.model.ComposedMessageId;
+import org.apache.james.mailbox.model.MailboxPath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link org.apache.james.mailbox.store.StoreMessageManager#appendMessage} against the memory backend,
+ * which includes temporary file spooling, mime parsing and attachment extraction.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class MessageManagerAppendBenchmark {
+    private static final Username USERNAME = Username.of("bob@domain.tld");
+
+    @Param({"4096", "131072"})
+    public int messageSize;
+
+    @Param({"text", "multipart"})
+    public String messageType;
+
+    private byte[] message;
+    private MailboxSession session;
+    private MessageManager messageManager;
+
+    @Setup(Level.Trial)
+    public void generateMessage() {
+        if (messageType.equals("multipart")) {
+            message = BenchmarkMessages.multipartMessage(messageSize);
+        } else {
+            message = BenchmarkMessages.textMessage(messageSize);
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void setUp() throws Exception {
+        InMemoryMailboxManager mailboxManager = InMemoryIntegrationResources.defaultResources().getMailboxManager();
+        session = mailboxManager.createSystemSession(USERNAME);
+        MailboxPath inbox = MailboxPath.inbox(session);
+        mailboxManager.createMailbox(inbox, session);
+        messageManager = mailboxManager.getMailbox(inbox, session);
+    }
+
+    @Benchmark
+    public ComposedMessageId appendMessage() throws Exception {
+        return messageManager.appendMessage(MessageManager.AppendCommand.builder()
+            .build(message), session);
+    }
+}
@@ -0,0 +1,152 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+
+package org.apache.james.benchmarks.queue;
+
+import java.io.ByteArrayInputStream;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import javax.mail.Session;
+import javax.mail.internet.MimeMessage;
+
+import org.apache.james.benchmarks.BenchmarkMessages;
+import org.apache.james.queue.api.MailPrioritySupport;
+import org.apache.james.queue.api.MailQueue;
+import org.apache.james.queue.api.MailQueueName;
+import org.apache.james.queue.api.ManageableMailQueue;
+import org.apache.james.queue.api.RawMailQueueItemDecoratorFactory;
+import org.apache.james.queue.memory.MemoryMailQueueFactory;
+import org.apache.james.server.core.MailImpl;
+import org.apache.mailet.Attribute;
+import org.apache.mailet.AttributeValue;
+import org.apache.mailet.Mail;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.collect.Iterators;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * Memory mail queue operations while the queue holds a backlog of delayed mails, as with retried remote deliveries.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class MemoryMailQueueBenchmark {
+    private static final Duration BACKLOG_DELAY = Duration.ofDays(1);
+
+    @Param({"0", "10000"})
+    public int delayedBacklog;
+
+    private ManageableMailQueue queue;
+    private Iterator<MailQueue.MailQueueItem> dequeued;
+    private MimeMessage message;
+    private int counter;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        message = new MimeMessage(Session.getDefaultInstance(new Properties()),
+            new ByteArrayInputStream(BenchmarkMessages.textMessage(4 * 1024)));
+        queue = new MemoryMailQueueFactory(new RawMailQueueItemDecoratorFactory())
+            .createQueue(MailQueueName.of("benchmark"));
+        for (int i = 0; i < delayedBacklog; i++) {
+            queue.enQueue(mail("delayed" + i), BACKLOG_DELAY);
+        }
+        dequeued = Flux.from(queue.deQueue())
+            .toIterable(1)
+            .iterator();
+        counter = 0;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        queue.close();
+    }
+
+    private Mail mail(String name) throws Exception {
+        return MailImpl.builder()
+            .name(name)
+            .sender("bob@domain.tld")
+            .addRecipient("alice@domain.tld")
+            .addAttribute(new Attribute(MailPrioritySupport.MAIL_PRIORITY, AttributeValue.of(counter++ % 10)))
+            .mimeMessage(message)
+            .build();
+    }
+
+    @Benchmark
+    public Mail enqueueThenDequeue() throws Exception {
+        queue.enQueue(mail("mail"));
+        MailQueue.MailQueueItem item = dequeued.next();
+        item.done(true);
+        return item.getMail();
+    }
+
+    @Benchmark
+    @Group("enqueueWhileBrowsing")
+    @GroupThreads(1)
+    public Mail enqueueThenDequeueWhileBrowsing() throws Exception {
+        return enqueueThenDequeue();
+    }
+
+    @Benchmark
+    @Group("enqueueWhileBrowsing")
+    @GroupThreads(1)
+    public int browseWhileEnqueuing() throws Exception {
+        return browse();
+    }
+
+    @Benchmark
+    public long getSize() throws Exception {
+        return queue.getSize();
+    }
+
+    @Benchmark
+    public int browse() throws Exception {
+        ManageableMailQueue.MailQueueIterator items = queue.browse();
+        int size = Iterators.size(items);
+        items.close();
+        return size;
+    }
+
+    @Benchmark
+    public long removeMissingRecipient() throws Exception {
+        return queue.remove(ManageableMailQueue.Type.Recipient, "missing@domain.tld");
+    }
+}
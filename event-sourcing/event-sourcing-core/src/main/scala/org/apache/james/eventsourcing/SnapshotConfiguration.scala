@@ -0,0 +1,35 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+package org.apache.james.eventsourcing
+
+import com.google.common.base.Preconditions
+
+object SnapshotConfiguration {
+  val DEFAULT_INTERVAL: Int = 100
+  val DEFAULT: SnapshotConfiguration = SnapshotConfiguration(DEFAULT_INTERVAL)
+}
+
+/**
+ * A snapshot is taken every `interval` events of an aggregate.
+ */
+final case class SnapshotConfiguration(interval: Int) {
+  Preconditions.checkArgument(interval > 0, "'interval' needs to be strictly positive".asInstanceOf[Object])
+
+  def shouldSnapshot(eventId: EventId): Boolean = (eventId.serialize + 1) % interval == 0
+}
@@ -0,0 +1,73 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+package org.apache.james.eventsourcing
+
+import com.google.common.base.Preconditions
+import org.apache.james.eventsourcing.eventstore.{EventStore, Snapshot, SnapshotStore}
+import org.slf4j.LoggerFactory
+
+import scala.util.{Failure, Success, Try}
+
+object SnapshotRepository {
+  private val LOGGER = LoggerFactory.getLogger(classOf[SnapshotRepository[_]])
+}
+
+/**
+ * Loads aggregates from their latest snapshot and the events following it, instead of replaying
+ * their whole history.
+ *
+ * Snapshots are taken by the subscriber returned by `snapshotSubscriber`, every `interval` events.
+ */
+class SnapshotRepository[S](eventStore: EventStore,
+                            snapshotStore: SnapshotStore,
+                            serializer: SnapshotSerializer[S],
+                            configuration: SnapshotConfiguration) {
+
+  def load(aggregateId: AggregateId): AggregateHistory[S] = {
+    Preconditions.checkNotNull(aggregateId)
+    snapshotStore.getLatestSnapshot(aggregateId)
+      .flatMap(snapshot => deserialize(snapshot).map(state => (snapshot, state)))
+      .map { case (snapshot, state) =>
+        AggregateHistory(Some(state), eventStore.getEventsOfAggregate(aggregateId, snapshot.version))
+      }
+      .getOrElse(AggregateHistory(None, eventStore.getEventsOfAggregate(aggregateId)))
+  }
+
+  /**
+   * @param rebuild computes the state of an aggregate from its snapshot and the events following it
+   */
+  def snapshotSubscriber(rebuild: AggregateHistory[S] => S): Subscriber = (event: Event) =>
+    if (configuration.shouldSnapshot(event.eventId)) {
+      snapshot(event.getAggregateId, rebuild)
+    }
+
+  def snapshot(aggregateId: AggregateId, rebuild: AggregateHistory[S] => S): Unit = {
+    val aggregateHistory = load(aggregateId)
+    aggregateHistory.history.getVersion
+      .foreach(version => snapshotStore.save(Snapshot(aggregateId, version, serializer.serialize(rebuild(aggregateHistory)))))
+  }
+
+  private def deserialize(snapshot: Snapshot): Option[S] = Try(serializer.deserialize(snapshot.payload)) match {
+    case Success(state) => Some(state)
+    case Failure(e) =>
+      SnapshotRepository.LOGGER.warn("Could not deserialize snapshot of {} at version {}, replaying its whole history",
+        snapshot.aggregateId, snapshot.version, e)
+      None
+  }
+}
@@ -0,0 +1,54 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+package org.apache.james.eventsourcing
+
+import org.assertj.core.api.Assertions.{assertThat, assertThatThrownBy}
+import org.junit.jupiter.api.Test
+
+class SnapshotConfigurationTest {
+  @Test
+  def shouldThrowWhenIntervalIsZero() : Unit =
+    assertThatThrownBy(() => SnapshotConfiguration(0))
+      .isInstanceOf(classOf[IllegalArgumentException])
+
+  @Test
+  def shouldThrowWhenIntervalIsNegative() : Unit =
+    assertThatThrownBy(() => SnapshotConfiguration(-1))
+      .isInstanceOf(classOf[IllegalArgumentException])
+
+  @Test
+  def shouldSnapshotShouldBeTrueEveryIntervalEvents() : Unit =
+    assertThat(SnapshotConfiguration(10).shouldSnapshot(EventId.fromSerialized(19)))
+      .isTrue
+
+  @Test
+  def shouldSnapshotShouldBeFalseBetweenIntervals() : Unit =
+    assertThat(SnapshotConfiguration(10).shouldSnapshot(EventId.fromSerialized(10)))
+      .isFalse
+
+  @Test
+  def shouldSnapshotShouldBeFalseForFirstEvent() : Unit =
+    assertThat(SnapshotConfiguration(10).shouldSnapshot(EventId.first))
+      .isFalse
+
+  @Test
+  def shouldSnapshotShouldBeTrueForEveryEventWhenIntervalIsOne() : Unit =
+    assertThat(SnapshotConfiguration(1).shouldSnapshot(EventId.first))
+      .isTrue
+}
@@ -0,0 +1,125 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+package org.apache.james.eventsourcing
+
+import org.apache.james.eventsourcing.eventstore.{EventStore, History, Snapshot, SnapshotStore}
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.jupiter.api.Test
+
+object SnapshotRepositoryTest {
+  val AGGREGATE_ID = TestAggregateId(42)
+  val CONFIGURATION = SnapshotConfiguration(2)
+
+  val SERIALIZER: SnapshotSerializer[String] = new SnapshotSerializer[String] {
+    override def serialize(state: String): String = state
+
+    override def deserialize(payload: String): String = payload
+  }
+
+  val FAILING_SERIALIZER: SnapshotSerializer[String] = new SnapshotSerializer[String] {
+    override def serialize(state: String): String = state
+
+    override def deserialize(payload: String): String = throw new IllegalStateException("corrupted")
+  }
+
+  def rebuild(aggregateHistory: AggregateHistory[String]): String =
+    aggregateHistory.snapshot.getOrElse("") + aggregateHistory.history.getEvents
+      .map(event => event.asInstanceOf[TestEvent].getData)
+      .mkString
+
+  def event(eventId: Int, data: String): TestEvent = TestEvent(EventId.fromSerialized(eventId), AGGREGATE_ID, data)
+}
+
+trait SnapshotRepositoryTest {
+  import SnapshotRepositoryTest._
+
+  @Test
+  def loadShouldReturnWholeHistoryWhenNoSnapshot(eventStore: EventStore, snapshotStore: SnapshotStore) : Unit = {
+    val testee = new SnapshotRepository(eventStore, snapshotStore, SERIALIZER, CONFIGURATION)
+    eventStore.appendAll(event(0, "a"), event(1, "b"))
+
+    assertThat(testee.load(AGGREGATE_ID))
+      .isEqualTo(AggregateHistory(None, History.of(event(0, "a"), event(1, "b"))))
+  }
+
+  @Test
+  def loadShouldReturnSnapshotAndFollowingEvents(eventStore: EventStore, snapshotStore: SnapshotStore) : Unit = {
+    val testee = new SnapshotRepository(eventStore, snapshotStore, SERIALIZER, CONFIGURATION)
+    eventStore.appendAll(event(0, "a"), event(1, "b"), event(2, "c"))
+    snapshotStore.save(Snapshot(AGGREGATE_ID, EventId.fromSerialized(1), "ab"))
+
+    assertThat(testee.load(AGGREGATE_ID))
+      .isEqualTo(AggregateHistory(Some("ab"), History.after(EventId.fromSerialized(1), List(event(2, "c")))))
+  }
+
+  @Test
+  def loadShouldFallBackToWholeHistoryWhenSnapshotCannotBeDeserialized(eventStore: EventStore, snapshotStore: SnapshotStore) : Unit = {
+    val testee = new SnapshotRepository(eventStore, snapshotStore, FAILING_SERIALIZER, CONFIGURATION)
+    eventStore.appendAll(event(0, "a"), event(1, "b"), event(2, "c"))
+    snapshotStore.save(Snapshot(AGGREGATE_ID, EventId.fromSerialized(1), "ab"))
+
+    assertThat(testee.load(AGGREGATE_ID))
+      .isEqualTo(AggregateHistory(None, History.of(event(0, "a"), event(1, "b"), event(2, "c"))))
+  }
+
+  @Test
+  def subscriberShouldSnapshotEveryIntervalEvents(eventStore: EventStore, snapshotStore: SnapshotStore) : Unit = {
+    val testee = new SnapshotRepository(eventStore, snapshotStore, SERIALIZER, CONFIGURATION)
+    val eventBus = new EventBus(eventStore, Set(testee.snapshotSubscriber(rebuild)))
+
+    eventBus.publish(List(event(0, "a"), event(1, "b"), event(2, "c")))
+
+    assertThat(snapshotStore.getLatestSnapshot(AGGREGATE_ID))
+      .isEqualTo(Some(Snapshot(AGGREGATE_ID, EventId.fromSerialized(2), "abc")))
+  }
+
+  @Test
+  def subscriberShouldNotSnapshotBeforeInterval(eventStore: EventStore, snapshotStore: SnapshotStore) : Unit = {
+    val testee = new SnapshotRepository(eventStore, snapshotStore, SERIALIZER, CONFIGURATION)
+    val eventBus = new EventBus(eventStore, Set(testee.snapshotSubscriber(rebuild)))
+
+    eventBus.publish(List(event(0, "a")))
+
+    assertThat(snapshotStore.getLatestSnapshot(AGGREGATE_ID))
+      .isEqualTo(None)
+  }
+
+  @Test
+  def subscriberShouldBuildUponPreviousSnapshot(eventStore: EventStore, snapshotStore: SnapshotStore) : Unit = {
+    val testee = new SnapshotRepository(eventStore, snapshotStore, SERIALIZER, CONFIGURATION)
+    val eventBus = new EventBus(eventStore, Set(testee.snapshotSubscriber(rebuild)))
+
+    eventBus.publish(List(event(0, "a"), event(1, "b")))
+    eventBus.publish(List(event(2, "c"), event(3, "d")))
+
+    assertThat(snapshotStore.getLatestSnapshot(AGGREGATE_ID))
+      .isEqualTo(Some(Snapshot(AGGREGATE_ID, EventId.fromSerialized(3), "abcd")))
+  }
+
+  @Test
+  def rebuildingFromSnapshotShouldMatchReplayingWholeHistory(eventStore: EventStore, snapshotStore: SnapshotStore) : Unit = {
+    val testee = new SnapshotRepository(eventStore, snapshotStore, SERIALIZER, CONFIGURATION)
+    val eventBus = new EventBus(eventStore, Set(testee.snapshotSubscriber(rebuild)))
+
+    eventBus.publish(List(event(0, "a"), event(1, "b"), event(2, "c"), event(3, "d"), event(4, "e")))
+
+    assertThat(rebuild(testee.load(AGGREGATE_ID)))
+      .isEqualTo(rebuild(AggregateHistory(None, eventStore.getEventsOfAggregate(AGGREGATE_ID))))
+  }
+}
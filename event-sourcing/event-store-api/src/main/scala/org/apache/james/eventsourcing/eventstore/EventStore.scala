@@ -18,7 +18,7 @@
  * ***************************************************************/
 package org.apache.james.eventsourcing.eventstore
 
-import org.apache.james.eventsourcing.{AggregateId, Event}
+import org.apache.james.eventsourcing.{AggregateId, Event, EventId}
 
 import scala.annotation.varargs
 import scala.jdk.CollectionConverters._
@@ -38,4 +38,12 @@ trait EventStore {
   def appendAll(events: List[Event]): Unit
 
   def getEventsOfAggregate(aggregateId: AggregateId): History
+
+  /**
+   * Returns the events of this aggregate strictly following `after`. Implementations are encouraged to
+   * override this so that only these events are read when rebuilding an aggregate from a snapshot.
+   */
+  def getEventsOfAggregate(aggregateId: AggregateId, after: EventId): History =
+    History.after(after, getEventsOfAggregate(aggregateId).getEvents
+      .filter(event => event.eventId.compareTo(after) > 0))
 }
\ No newline at end of file
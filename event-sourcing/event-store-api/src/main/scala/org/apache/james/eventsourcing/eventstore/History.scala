@@ -24,15 +24,21 @@ import scala.annotation.varargs
 import scala.jdk.CollectionConverters._
 
 object History {
-  def empty: History = new History(Nil)
+  def empty: History = new History(Nil, None)
 
-  def of(events: List[Event]): History = new History(events)
+  def of(events: List[Event]): History = new History(events, None)
 
   @varargs
   def of(events: Event*): History = of(events.toList)
+
+  /**
+   * The history of an aggregate whose state up to `snapshotVersion` is held by a snapshot:
+   * only the events following that version are carried.
+   */
+  def after(snapshotVersion: EventId, events: List[Event]): History = new History(events, Some(snapshotVersion))
 }
 
-final case class History private(events: List[Event]) {
+final case class History private(events: List[Event], snapshotVersion: Option[EventId]) {
   if (hasEventIdDuplicates(events)) {
     throw EventStoreFailedException("Event History contains duplicated EventId")
   }
@@ -47,11 +53,14 @@ final case class History private(events: List[Event]) {
   def getVersion: Option[EventId] = events
     .map(event => event.eventId)
     .maxOption
+    .orElse(snapshotVersion)
 
   def getEvents:List[Event] = events
 
   def getEventsJava:java.util.List[Event] = events.asJava
 
+  def getSnapshotVersion: Option[EventId] = snapshotVersion
+
   def getNextEventId: EventId = getVersion
     .map(eventId => eventId.next)
     .getOrElse(EventId.first)
@@ -79,4 +79,33 @@ trait EventStoreContract {
     assertThat(testee.getEventsOfAggregate(EventStoreContract.AGGREGATE_1))
       .isEqualTo(History.of(event1, event2))
   }
+
+  @Test
+  def getEventsOfAggregateAfterShouldReturnOnlyFollowingEvents(testee: EventStore) : Unit = {
+    val event1 = TestEvent(EventId.first, EventStoreContract.AGGREGATE_1, "first")
+    val event2 = TestEvent(event1.eventId.next, EventStoreContract.AGGREGATE_1, "second")
+    val event3 = TestEvent(event2.eventId.next, EventStoreContract.AGGREGATE_1, "third")
+    testee.appendAll(event1, event2, event3)
+    assertThat(testee.getEventsOfAggregate(EventStoreContract.AGGREGATE_1, event1.eventId))
+      .isEqualTo(History.after(event1.eventId, List(event2, event3)))
+  }
+
+  @Test
+  def getEventsOfAggregateAfterShouldKeepVersionWhenNoEventFollows(testee: EventStore) : Unit = {
+    val event1 = TestEvent(EventId.first, EventStoreContract.AGGREGATE_1, "first")
+    testee.append(event1)
+    assertThat(testee.getEventsOfAggregate(EventStoreContract.AGGREGATE_1, event1.eventId).getVersion)
+      .isEqualTo(Some(event1.eventId))
+  }
+
+  @Test
+  def getEventsOfAggregateAfterShouldNotReturnEventsOfOtherAggregates(testee: EventStore) : Unit = {
+    val event1 = TestEvent(EventId.first, EventStoreContract.AGGREGATE_1, "first")
+    val event2 = TestEvent(EventId.first, EventStoreContract.AGGREGATE_2, "first")
+    val event3 = TestEvent(event2.eventId.next, EventStoreContract.AGGREGATE_2, "second")
+    testee.append(event1)
+    testee.appendAll(event2, event3)
+    assertThat(testee.getEventsOfAggregate(EventStoreContract.AGGREGATE_1, EventId.first).getEvents)
+      .isEqualTo(List())
+  }
 }
\ No newline at end of file
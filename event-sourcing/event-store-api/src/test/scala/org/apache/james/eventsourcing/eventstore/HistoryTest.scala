@@ -52,4 +52,21 @@ class HistoryTest {
     assertThatThrownBy(() => History.of(event1, event2))
       .isInstanceOf(classOf[EventStoreFailedException])
   }
+
+  @Test
+  def getVersionShouldReturnSnapshotVersionWhenNoEventFollowsIt() : Unit =
+    assertThat(History.after(EventId.fromSerialized(9), List()).getVersion)
+      .isEqualTo(Some(EventId.fromSerialized(9)))
+
+  @Test
+  def getVersionShouldReturnHighestEventIdWhenEventsFollowSnapshot() : Unit = {
+    val event = TestEvent(EventId.fromSerialized(10), TestAggregateId(42), "any")
+    assertThat(History.after(EventId.fromSerialized(9), List(event)).getVersion)
+      .isEqualTo(Some(event.eventId))
+  }
+
+  @Test
+  def getNextEventIdShouldFollowSnapshotVersionWhenNoEventFollowsIt() : Unit =
+    assertThat(History.after(EventId.fromSerialized(9), List()).getNextEventId)
+      .isEqualTo(EventId.fromSerialized(10))
 }
\ No newline at end of file
@@ -0,0 +1,61 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+package org.apache.james.eventsourcing.eventstore
+
+import org.apache.james.eventsourcing.EventId
+import org.assertj.core.api.Assertions.{assertThat, assertThatThrownBy}
+import org.junit.jupiter.api.Test
+
+trait SnapshotStoreContract {
+
+  @Test
+  def getLatestSnapshotShouldThrowOnNullAggregateId(testee: SnapshotStore) : Unit =
+    assertThatThrownBy(() => testee.getLatestSnapshot(null))
+      .isInstanceOf(classOf[NullPointerException])
+
+  @Test
+  def getLatestSnapshotShouldReturnEmptyWhenUnknown(testee: SnapshotStore) : Unit =
+    assertThat(testee.getLatestSnapshot(EventStoreContract.AGGREGATE_1))
+      .isEqualTo(None)
+
+  @Test
+  def getLatestSnapshotShouldReturnSavedSnapshot(testee: SnapshotStore) : Unit = {
+    val snapshot = Snapshot(EventStoreContract.AGGREGATE_1, EventId.fromSerialized(9), "state")
+    testee.save(snapshot)
+    assertThat(testee.getLatestSnapshot(EventStoreContract.AGGREGATE_1))
+      .isEqualTo(Some(snapshot))
+  }
+
+  @Test
+  def saveShouldReplacePreviousSnapshot(testee: SnapshotStore) : Unit = {
+    val snapshot1 = Snapshot(EventStoreContract.AGGREGATE_1, EventId.fromSerialized(9), "state1")
+    val snapshot2 = Snapshot(EventStoreContract.AGGREGATE_1, EventId.fromSerialized(19), "state2")
+    testee.save(snapshot1)
+    testee.save(snapshot2)
+    assertThat(testee.getLatestSnapshot(EventStoreContract.AGGREGATE_1))
+      .isEqualTo(Some(snapshot2))
+  }
+
+  @Test
+  def getLatestSnapshotShouldNotReturnSnapshotsOfOtherAggregates(testee: SnapshotStore) : Unit = {
+    testee.save(Snapshot(EventStoreContract.AGGREGATE_2, EventId.fromSerialized(9), "state"))
+    assertThat(testee.getLatestSnapshot(EventStoreContract.AGGREGATE_1))
+      .isEqualTo(None)
+  }
+}
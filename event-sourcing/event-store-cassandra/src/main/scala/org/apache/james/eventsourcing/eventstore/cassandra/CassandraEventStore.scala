@@ -21,7 +21,7 @@ package org.apache.james.eventsourcing.eventstore.cassandra
 import com.google.common.base.Preconditions
 import javax.inject.Inject
 import org.apache.james.eventsourcing.eventstore.{EventStore, EventStoreFailedException, History}
-import org.apache.james.eventsourcing.{AggregateId, Event}
+import org.apache.james.eventsourcing.{AggregateId, Event, EventId}
 
 class CassandraEventStore @Inject() (eventStoreDao: EventStoreDao) extends EventStore {
   override def appendAll(events: List[Event]): Unit = {
@@ -41,4 +41,8 @@ class CassandraEventStore @Inject() (eventStoreDao: EventStoreDao) extends Event
   override def getEventsOfAggregate(aggregateId: AggregateId): History = {
     eventStoreDao.getEventsOfAggregate(aggregateId).block()
   }
+
+  override def getEventsOfAggregate(aggregateId: AggregateId, after: EventId): History = {
+    eventStoreDao.getEventsOfAggregate(aggregateId, after).block()
+  }
 }
\ No newline at end of file
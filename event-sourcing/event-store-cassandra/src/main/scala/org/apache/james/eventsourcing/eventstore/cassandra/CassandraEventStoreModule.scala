@@ -34,5 +34,14 @@ object CassandraEventStoreModule {
     .statement(_.addPartitionKey(CassandraEventStoreTable.AGGREGATE_ID, DataType.varchar)
       .addClusteringColumn(CassandraEventStoreTable.EVENT_ID, DataType.cint)
       .addColumn(CassandraEventStoreTable.EVENT, DataType.text))
+    .table(CassandraEventStoreTable.SNAPSHOTS_TABLE)
+    .comment("Store the latest snapshot of a EventSourcing aggregate, along with the id of the last event it includes")
+    .options((options: Create.Options) => options
+      .caching(
+        SchemaBuilder.KeyCaching.ALL,
+        SchemaBuilder.rows(CassandraConstants.DEFAULT_CACHED_ROW_PER_PARTITION)))
+    .statement(_.addPartitionKey(CassandraEventStoreTable.AGGREGATE_ID, DataType.varchar)
+      .addColumn(CassandraEventStoreTable.EVENT_ID, DataType.cint)
+      .addColumn(CassandraEventStoreTable.SNAPSHOT, DataType.text))
     .build
 }
\ No newline at end of file
@@ -23,4 +23,6 @@ object CassandraEventStoreTable {
   val AGGREGATE_ID = "aggregateId"
   val EVENT = "event"
   val EVENT_ID = "eventId"
+  val SNAPSHOTS_TABLE = "eventStoreSnapshots"
+  val SNAPSHOT = "snapshot"
 }
\ No newline at end of file
@@ -26,13 +26,14 @@ import javax.inject.Inject
 import org.apache.james.backends.cassandra.utils.CassandraAsyncExecutor
 import org.apache.james.eventsourcing.eventstore.History
 import org.apache.james.eventsourcing.eventstore.cassandra.CassandraEventStoreTable.{AGGREGATE_ID, EVENT, EVENTS_TABLE, EVENT_ID}
-import org.apache.james.eventsourcing.{AggregateId, Event}
+import org.apache.james.eventsourcing.{AggregateId, Event, EventId}
 import reactor.core.scala.publisher.{SFlux, SMono}
 
 class EventStoreDao @Inject() (val session: Session, val jsonEventSerializer: JsonEventSerializer) {
   private val cassandraAsyncExecutor = new CassandraAsyncExecutor(session)
   private val insert = prepareInsert(session)
   private val select = prepareSelect(session)
+  private val selectAfter = prepareSelectAfter(session)
 
   private def prepareInsert(session: Session): PreparedStatement = {
     session.prepare(
@@ -50,6 +51,14 @@ class EventStoreDao @Inject() (val session: Session, val jsonEventSerializer: Js
       .where(QueryBuilder.eq(AGGREGATE_ID, bindMarker(AGGREGATE_ID))))
   }
 
+  private def prepareSelectAfter(session: Session): PreparedStatement = {
+    session.prepare(QueryBuilder
+      .select()
+      .from(EVENTS_TABLE)
+      .where(QueryBuilder.eq(AGGREGATE_ID, bindMarker(AGGREGATE_ID)))
+      .and(QueryBuilder.gt(EVENT_ID, bindMarker(EVENT_ID))))
+  }
+
   private[cassandra] def appendAll(events: List[Event]): SMono[Boolean] = {
     val batch: BatchStatement = new BatchStatement
     events.foreach((event: Event) => batch.add(insertEvent(event)))
@@ -77,6 +86,17 @@ class EventStoreDao @Inject() (val session: Session, val jsonEventSerializer: Js
     listEvents.map(History.of)
   }
 
+  private[cassandra] def getEventsOfAggregate(aggregateId: AggregateId, after: EventId): SMono[History] = {
+    val preparedStatement = selectAfter.bind.setString(AGGREGATE_ID, aggregateId.asAggregateKey)
+      .setInt(EVENT_ID, after.serialize)
+      .setConsistencyLevel(SERIAL)
+    val rows: SFlux[Row] = SFlux[Row](cassandraAsyncExecutor.executeRows(preparedStatement))
+
+    rows.map(toEvent)
+      .collectSeq()
+      .map(events => History.after(after, events.toList))
+  }
+
   private def toEvent(row: Row): Event = {
     jsonEventSerializer.deserialize(row.getString(EVENT))
   }
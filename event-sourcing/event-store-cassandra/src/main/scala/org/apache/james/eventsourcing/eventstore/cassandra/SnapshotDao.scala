@@ -0,0 +1,65 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+package org.apache.james.eventsourcing.eventstore.cassandra
+
+import com.datastax.driver.core._
+import com.datastax.driver.core.querybuilder.QueryBuilder
+import com.datastax.driver.core.querybuilder.QueryBuilder.{bindMarker, insertInto}
+import javax.inject.Inject
+import org.apache.james.backends.cassandra.utils.CassandraAsyncExecutor
+import org.apache.james.eventsourcing.eventstore.Snapshot
+import org.apache.james.eventsourcing.eventstore.cassandra.CassandraEventStoreTable.{AGGREGATE_ID, EVENT_ID, SNAPSHOT, SNAPSHOTS_TABLE}
+import org.apache.james.eventsourcing.{AggregateId, EventId}
+import reactor.core.scala.publisher.SMono
+
+class SnapshotDao @Inject() (val session: Session) {
+  private val cassandraAsyncExecutor = new CassandraAsyncExecutor(session)
+  private val insert = prepareInsert(session)
+  private val select = prepareSelect(session)
+
+  private def prepareInsert(session: Session): PreparedStatement = {
+    session.prepare(
+      insertInto(SNAPSHOTS_TABLE)
+        .value(AGGREGATE_ID, bindMarker(AGGREGATE_ID))
+        .value(EVENT_ID, bindMarker(EVENT_ID))
+        .value(SNAPSHOT, bindMarker(SNAPSHOT)))
+  }
+
+  private def prepareSelect(session: Session): PreparedStatement = {
+    session.prepare(QueryBuilder
+      .select()
+      .from(SNAPSHOTS_TABLE)
+      .where(QueryBuilder.eq(AGGREGATE_ID, bindMarker(AGGREGATE_ID))))
+  }
+
+  private[cassandra] def save(snapshot: Snapshot): SMono[Void] = {
+    SMono(cassandraAsyncExecutor.executeVoid(insert.bind
+      .setString(AGGREGATE_ID, snapshot.aggregateId.asAggregateKey)
+      .setInt(EVENT_ID, snapshot.version.serialize)
+      .setString(SNAPSHOT, snapshot.payload)))
+  }
+
+  private[cassandra] def getLatestSnapshot(aggregateId: AggregateId): SMono[Snapshot] = {
+    SMono(cassandraAsyncExecutor.executeSingleRow(select.bind.setString(AGGREGATE_ID, aggregateId.asAggregateKey)))
+      .map(row => toSnapshot(aggregateId, row))
+  }
+
+  private def toSnapshot(aggregateId: AggregateId, row: Row): Snapshot =
+    Snapshot(aggregateId, EventId.fromSerialized(row.getInt(EVENT_ID)), row.getString(SNAPSHOT))
+}
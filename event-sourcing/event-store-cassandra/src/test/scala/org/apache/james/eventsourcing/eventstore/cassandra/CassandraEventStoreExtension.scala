@@ -19,7 +19,7 @@
 package org.apache.james.eventsourcing.eventstore.cassandra
 
 import org.apache.james.backends.cassandra.CassandraClusterExtension
-import org.apache.james.eventsourcing.eventstore.EventStore
+import org.apache.james.eventsourcing.eventstore.{EventStore, SnapshotStore}
 import org.junit.jupiter.api.extension.AfterAllCallback
 import org.junit.jupiter.api.extension.AfterEachCallback
 import org.junit.jupiter.api.extension.BeforeAllCallback
@@ -33,6 +33,7 @@ class CassandraEventStoreExtension(var cassandra: CassandraClusterExtension, val
   extends BeforeAllCallback with AfterAllCallback with BeforeEachCallback with AfterEachCallback with ParameterResolver {
 
   private var eventStoreDao : Option[EventStoreDao] = None
+  private var snapshotDao : Option[SnapshotDao] = None
 
   def this(eventSerializer: JsonEventSerializer) {
     this(new CassandraClusterExtension(CassandraEventStoreModule.MODULE), eventSerializer)
@@ -42,16 +43,23 @@ class CassandraEventStoreExtension(var cassandra: CassandraClusterExtension, val
 
   override def afterAll(context: ExtensionContext): Unit = cassandra.afterAll(context)
 
-  override def beforeEach(context: ExtensionContext): Unit = eventStoreDao =
-    Some(new EventStoreDao(cassandra.getCassandraCluster.getConf, eventSerializer))
+  override def beforeEach(context: ExtensionContext): Unit = {
+    eventStoreDao = Some(new EventStoreDao(cassandra.getCassandraCluster.getConf, eventSerializer))
+    snapshotDao = Some(new SnapshotDao(cassandra.getCassandraCluster.getConf))
+  }
 
   override def afterEach(context: ExtensionContext): Unit = cassandra.afterEach(context)
 
   @throws[ParameterResolutionException]
   override def supportsParameter(parameterContext: ParameterContext, extensionContext: ExtensionContext): Boolean =
-    parameterContext.getParameter.getType eq classOf[EventStore]
+    (parameterContext.getParameter.getType eq classOf[EventStore]) ||
+      (parameterContext.getParameter.getType eq classOf[SnapshotStore])
 
   @throws[ParameterResolutionException]
-  override def resolveParameter(parameterContext: ParameterContext, extensionContext: ExtensionContext): CassandraEventStore =
-    new CassandraEventStore(eventStoreDao.get)
+  override def resolveParameter(parameterContext: ParameterContext, extensionContext: ExtensionContext): AnyRef =
+    if (parameterContext.getParameter.getType eq classOf[SnapshotStore]) {
+      new CassandraSnapshotStore(snapshotDao.get)
+    } else {
+      new CassandraEventStore(eventStoreDao.get)
+    }
 }
\ No newline at end of file
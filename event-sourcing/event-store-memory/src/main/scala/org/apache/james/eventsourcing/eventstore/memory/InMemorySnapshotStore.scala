@@ -0,0 +1,39 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+package org.apache.james.eventsourcing.eventstore.memory
+
+import java.util.concurrent.atomic.AtomicReference
+
+import com.google.common.base.Preconditions
+import org.apache.james.eventsourcing.AggregateId
+import org.apache.james.eventsourcing.eventstore.{Snapshot, SnapshotStore}
+
+class InMemorySnapshotStore() extends SnapshotStore {
+  private val storeRef: AtomicReference[Map[AggregateId, Snapshot]] = new AtomicReference(Map())
+
+  override def save(snapshot: Snapshot): Unit = {
+    Preconditions.checkNotNull(snapshot)
+    storeRef.updateAndGet(store => store.updated(snapshot.aggregateId, snapshot))
+  }
+
+  override def getLatestSnapshot(aggregateId: AggregateId): Option[Snapshot] = {
+    Preconditions.checkNotNull(aggregateId)
+    storeRef.get().get(aggregateId)
+  }
+}
@@ -18,13 +18,19 @@
  * ***************************************************************/
 package org.apache.james.eventsourcing.eventstore.memory
 
-import org.apache.james.eventsourcing.eventstore.EventStore
+import org.apache.james.eventsourcing.eventstore.{EventStore, SnapshotStore}
 import org.junit.jupiter.api.extension.{ExtensionContext, ParameterContext, ParameterResolver}
 
 class InMemoryEventStoreExtension extends ParameterResolver {
 
   override def supportsParameter(parameterContext: ParameterContext, extensionContext: ExtensionContext): Boolean =
-    parameterContext.getParameter.getType eq classOf[EventStore]
+    (parameterContext.getParameter.getType eq classOf[EventStore]) ||
+      (parameterContext.getParameter.getType eq classOf[SnapshotStore])
 
-  override def resolveParameter(parameterContext: ParameterContext, extensionContext: ExtensionContext) = new InMemoryEventStore
+  override def resolveParameter(parameterContext: ParameterContext, extensionContext: ExtensionContext): AnyRef =
+    if (parameterContext.getParameter.getType eq classOf[SnapshotStore]) {
+      new InMemorySnapshotStore
+    } else {
+      new InMemoryEventStore
+    }
 }
\ No newline at end of file
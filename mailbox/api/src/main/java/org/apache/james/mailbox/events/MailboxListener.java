@@ -24,6 +24,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.SortedMap;
 
 import org.apache.james.core.Username;
@@ -53,6 +54,7 @@ import com.google.common.collect.ImmutableSet;
  * Note that listeners may be removed asynchronously.
  */
 public interface MailboxListener {
+    Set<Class<? extends Event>> ALL_EVENT_TYPES = ImmutableSet.of(Event.class);
 
     interface GroupMailboxListener extends MailboxListener {
         Group getDefaultGroup();
@@ -72,6 +74,14 @@ public interface MailboxListener {
         return true;
     }
 
+    /**
+     * Event types this listener needs to receive, subtypes included. Distributed event buses rely on it to only
+     * route these events to the listener. {@link #isHandling(Event)} still applies to delivered events.
+     */
+    default Set<Class<? extends Event>> getHandledEventTypes() {
+        return ALL_EVENT_TYPES;
+    }
+
     /**
      * Informs this listener about the given event.
      *
@@ -19,10 +19,20 @@
 
 package org.apache.james.mailbox.indexer;
 
+import java.util.Optional;
+
 public interface IndexingDetailInformation {
     int getSuccessfullyReprocessedMailCount();
 
     int getFailedReprocessedMailCount();
 
     ReIndexingExecutionFailures failures();
+
+    /**
+     * Serialized id of the last mailbox that was fully processed, together with all the mailboxes preceding
+     * it in re-indexing order. It can be used to resume re-indexing, see {@link ReIndexer.RunningOptions}.
+     */
+    default Optional<String> checkpoint() {
+        return Optional.empty();
+    }
 }
@@ -19,6 +19,9 @@
 
 package org.apache.james.mailbox.indexer;
 
+import java.util.Objects;
+import java.util.Optional;
+
 import org.apache.james.core.Username;
 import org.apache.james.mailbox.MessageUid;
 import org.apache.james.mailbox.exception.MailboxException;
@@ -26,15 +29,135 @@ import org.apache.james.mailbox.model.MailboxId;
 import org.apache.james.mailbox.model.MailboxPath;
 import org.apache.james.task.Task;
 
+import com.google.common.base.Preconditions;
+
 public interface ReIndexer {
 
-    Task reIndex(Username username) throws MailboxException;
+    /**
+     * Tuning of user and full re-indexing.
+     *
+     * Mailboxes are re-indexed in the order of their serialized ids. Specifying a checkpoint to resume after
+     * skips the mailboxes up to (and including) that checkpoint, allowing a previous run to be resumed.
+     */
+    class RunningOptions {
+        public static class Builder {
+            private Optional<Integer> concurrency;
+            private Optional<Integer> messagesPerSecond;
+            private Optional<String> resumeAfter;
+
+            private Builder() {
+                concurrency = Optional.empty();
+                messagesPerSecond = Optional.empty();
+                resumeAfter = Optional.empty();
+            }
+
+            public Builder concurrency(int concurrency) {
+                return concurrency(Optional.of(concurrency));
+            }
+
+            public Builder concurrency(Optional<Integer> concurrency) {
+                this.concurrency = concurrency;
+                return this;
+            }
+
+            public Builder messagesPerSecond(int messagesPerSecond) {
+                return messagesPerSecond(Optional.of(messagesPerSecond));
+            }
+
+            public Builder messagesPerSecond(Optional<Integer> messagesPerSecond) {
+                this.messagesPerSecond = messagesPerSecond;
+                return this;
+            }
+
+            public Builder resumeAfter(String checkpoint) {
+                return resumeAfter(Optional.of(checkpoint));
+            }
+
+            public Builder resumeAfter(Optional<String> checkpoint) {
+                this.resumeAfter = checkpoint;
+                return this;
+            }
+
+            public RunningOptions build() {
+                int actualConcurrency = concurrency.orElse(DEFAULT_CONCURRENCY);
+                Preconditions.checkArgument(actualConcurrency > 0, "'concurrency' needs to be strictly positive");
+                messagesPerSecond.ifPresent(value -> Preconditions.checkArgument(value > 0, "'messagesPerSecond' needs to be strictly positive"));
+
+                return new RunningOptions(actualConcurrency, messagesPerSecond, resumeAfter);
+            }
+        }
+
+        public static final int DEFAULT_CONCURRENCY = 1;
+        public static final RunningOptions DEFAULT = builder().build();
+
+        public static Builder builder() {
+            return new Builder();
+        }
+
+        private final int concurrency;
+        private final Optional<Integer> messagesPerSecond;
+        private final Optional<String> resumeAfter;
+
+        private RunningOptions(int concurrency, Optional<Integer> messagesPerSecond, Optional<String> resumeAfter) {
+            this.concurrency = concurrency;
+            this.messagesPerSecond = messagesPerSecond;
+            this.resumeAfter = resumeAfter;
+        }
+
+        /**
+         * Count of mailboxes re-indexed in parallel.
+         */
+        public int getConcurrency() {
+            return concurrency;
+        }
+
+        /**
+         * Maximum count of messages re-indexed per second, unlimited when absent.
+         */
+        public Optional<Integer> getMessagesPerSecond() {
+            return messagesPerSecond;
+        }
+
+        /**
+         * Checkpoint of a previous run, see {@link IndexingDetailInformation#checkpoint()}.
+         */
+        public Optional<String> getResumeAfter() {
+            return resumeAfter;
+        }
+
+        @Override
+        public final boolean equals(Object o) {
+            if (o instanceof RunningOptions) {
+                RunningOptions that = (RunningOptions) o;
+
+                return Objects.equals(this.concurrency, that.concurrency)
+                    && Objects.equals(this.messagesPerSecond, that.messagesPerSecond)
+                    && Objects.equals(this.resumeAfter, that.resumeAfter);
+            }
+            return false;
+        }
+
+        @Override
+        public final int hashCode() {
+            return Objects.hash(concurrency, messagesPerSecond, resumeAfter);
+        }
+    }
+
+    default Task reIndex(Username username) throws MailboxException {
+        return reIndex(username, RunningOptions.DEFAULT);
+    }
+
+    Task reIndex(Username username, RunningOptions runningOptions) throws MailboxException;
 
     Task reIndex(MailboxPath path) throws MailboxException;
 
     Task reIndex(MailboxId mailboxId) throws MailboxException;
 
-    Task reIndex() throws MailboxException;
+    default Task reIndex() throws MailboxException {
+        return reIndex(RunningOptions.DEFAULT);
+    }
+
+    Task reIndex(RunningOptions runningOptions) throws MailboxException;
 
     Task reIndex(MailboxPath path, MessageUid uid) throws MailboxException;
 
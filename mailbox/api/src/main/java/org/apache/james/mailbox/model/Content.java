@@ -24,6 +24,8 @@ import java.io.InputStream;
 
 import org.apache.james.mailbox.exception.MailboxException;
 
+import com.google.common.io.ByteStreams;
+
 /**
  * IMAP needs to know the size of the content before it starts to write it out.
  * This interface allows direct writing whilst exposing total size.
@@ -33,6 +35,18 @@ public interface Content {
      * Return the content as {@link InputStream}
      */
     InputStream getInputStream() throws IOException;
+
+    /**
+     * Return at most <code>length</code> octets of the content, starting at <code>offset</code>.
+     *
+     * The default implementation skips the leading octets of {@link #getInputStream()}. Implementations
+     * able to seek into their storage should override it so that partial reads do not pay for the skipped octets.
+     */
+    default InputStream getInputStream(long offset, long length) throws IOException {
+        InputStream inputStream = getInputStream();
+        ByteStreams.skipFully(inputStream, offset);
+        return ByteStreams.limit(inputStream, length);
+    }
     
     /**
      * Size (in octets) of the content.
@@ -39,6 +39,7 @@ import java.util.concurrent.CountDownLatch;
 
 import javax.mail.Flags;
 
+import org.apache.commons.io.IOUtils;
 import org.apache.james.core.Username;
 import org.apache.james.core.quota.QuotaCountLimit;
 import org.apache.james.core.quota.QuotaCountUsage;
@@ -2426,5 +2427,23 @@ public abstract class MailboxManagerTest<T extends MailboxManager> {
                 .first()
                 .satisfies(Throwing.consumer(messageResult -> assertThat(messageResult.hasAttachments()).isFalse()));
         }
+
+        @Test
+        void getMessagesShouldReturnFullContentOfLargeMessages() throws Exception {
+            byte[] largeMessage = ("Subject: large message\r\n" +
+                "\r\n" +
+                Strings.repeat("0123456789abcdef\r\n", 64 * 1024))
+                .getBytes(StandardCharsets.US_ASCII);
+            ComposedMessageId composeId = inboxManager.appendMessage(AppendCommand.builder()
+                .build(largeMessage), session);
+
+            MessageResultIterator messages = inboxManager.getMessages(MessageRange.one(composeId.getUid()), FetchGroup.FULL_CONTENT, session);
+
+            assertThat(messages).toIterable()
+                .hasSize(1)
+                .first()
+                .satisfies(Throwing.consumer(messageResult -> assertThat(IOUtils.toByteArray(messageResult.getFullContent().getInputStream()))
+                    .isEqualTo(largeMessage)));
+        }
     }
 }
@@ -23,10 +23,14 @@ import static org.apache.james.mailbox.cassandra.GhostMailbox.MAILBOX_ID;
 import static org.apache.james.mailbox.cassandra.GhostMailbox.MAILBOX_NAME;
 import static org.apache.james.mailbox.cassandra.GhostMailbox.TYPE;
 
+import java.util.Set;
+
 import org.apache.james.mailbox.events.Event;
 import org.apache.james.mailbox.events.Group;
 import org.apache.james.mailbox.events.MailboxListener;
 
+import com.google.common.collect.ImmutableSet;
+
 /**
  * See https://issues.apache.org/jira/browse/MAILBOX-322 for reading about the Ghost mailbox bug.
  *
@@ -51,6 +55,11 @@ public class MailboxOperationLoggingListener implements MailboxListener.GroupMai
         return event instanceof MailboxRenamed || event instanceof MailboxDeletion || event instanceof MailboxAdded;
     }
 
+    @Override
+    public Set<Class<? extends Event>> getHandledEventTypes() {
+        return ImmutableSet.of(MailboxRenamed.class, MailboxDeletion.class, MailboxAdded.class);
+    }
+
     @Override
     public void event(Event event) {
         if (event instanceof MailboxRenamed) {
@@ -238,9 +238,18 @@ public class CassandraMessageDAO {
     }
 
     public Flux<MessageResult> retrieveMessages(List<ComposedMessageIdWithMetaData> messageIds, FetchType fetchType, Limit limit) {
-        return Flux.fromStream(limit.applyOnStream(messageIds.stream().distinct()))
-            .publishOn(Schedulers.elastic())
-            .flatMap(id -> retrieveRow(id, fetchType)
+        return retrieveMessages(Flux.fromStream(limit.applyOnStream(messageIds.stream().distinct()))
+                .publishOn(Schedulers.elastic()),
+            fetchType);
+    }
+
+    /**
+     * Results are emitted in the order of the supplied ids. At most {@link CassandraConfiguration#getMessageReadChunkSize()}
+     * reads are in flight at once, and ids are only requested upstream as this window frees up.
+     */
+    public Flux<MessageResult> retrieveMessages(Flux<ComposedMessageIdWithMetaData> messageIds, FetchType fetchType) {
+        return messageIds
+            .flatMapSequential(id -> retrieveRow(id, fetchType)
                 .flatMap(resultSet -> message(resultSet, id, fetchType)), configuration.getMessageReadChunkSize());
     }
 
@@ -359,15 +368,15 @@ public class CassandraMessageDAO {
     }
 
     private Mono<byte[]> getBodyContent(Row row) {
-        return getFieldContent(BODY_CONTENT, row);
+        return getFieldContent(BODY_CONTENT, row, LOW_COST);
     }
 
     private Mono<byte[]> getHeaderContent(Row row) {
-        return getFieldContent(HEADER_CONTENT, row);
+        return getFieldContent(HEADER_CONTENT, row, SIZE_BASED);
     }
 
-    private Mono<byte[]> getFieldContent(String field, Row row) {
-        return Mono.from(blobStore.readBytes(blobStore.getDefaultBucketName(), blobIdFactory.from(row.getString(field))));
+    private Mono<byte[]> getFieldContent(String field, Row row, BlobStore.StoragePolicy storagePolicy) {
+        return Mono.from(blobStore.readBytes(blobStore.getDefaultBucketName(), blobIdFactory.from(row.getString(field)), storagePolicy));
     }
 
     public static MessageResult notFound(ComposedMessageIdWithMetaData id) {
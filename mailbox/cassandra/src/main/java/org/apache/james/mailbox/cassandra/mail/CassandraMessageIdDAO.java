@@ -239,18 +239,18 @@ public class CassandraMessageIdDAO {
     }
 
     private Flux<Row> selectAll(CassandraId mailboxId) {
-        return cassandraAsyncExecutor.executeRows(selectAllUids.bind()
+        return cassandraAsyncExecutor.executeRowsPaged(selectAllUids.bind()
                 .setUUID(MAILBOX_ID, mailboxId.asUuid()));
     }
 
     private Flux<Row> selectFrom(CassandraId mailboxId, MessageUid uid) {
-        return cassandraAsyncExecutor.executeRows(selectUidGte.bind()
+        return cassandraAsyncExecutor.executeRowsPaged(selectUidGte.bind()
                 .setUUID(MAILBOX_ID, mailboxId.asUuid())
                 .setLong(IMAP_UID, uid.asLong()));
     }
 
     private Flux<Row> selectRange(CassandraId mailboxId, MessageUid from, MessageUid to) {
-        return cassandraAsyncExecutor.executeRows(selectUidRange.bind()
+        return cassandraAsyncExecutor.executeRowsPaged(selectUidRange.bind()
                 .setUUID(MAILBOX_ID, mailboxId.asUuid())
                 .setLong(IMAP_UID_GTE, from.asLong())
                 .setLong(IMAP_UID_LTE, to.asLong()));
@@ -20,7 +20,6 @@
 package org.apache.james.mailbox.cassandra.mail;
 
 import java.util.Collection;
-import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -166,25 +165,17 @@ public class CassandraMessageMapper implements MessageMapper {
     @Override
     public Iterator<MailboxMessage> findInMailbox(Mailbox mailbox, MessageRange messageRange, FetchType ftype, int max) {
         CassandraId mailboxId = (CassandraId) mailbox.getMailboxId();
-        return retrieveMessageIds(mailboxId, messageRange)
-            .flatMap(ids -> retrieveMessages(ids, ftype, Limit.from(max)))
-            .map(MailboxMessage.class::cast)
-            .sort(Comparator.comparing(MailboxMessage::getUid))
-            .toIterable()
-            .iterator();
-    }
+        int readChunkSize = cassandraConfiguration.getMessageReadChunkSize();
+        Flux<ComposedMessageIdWithMetaData> messageIds = Limit.from(max)
+            .applyOnFlux(messageIdDAO.retrieveMessages(mailboxId, messageRange));
 
-    private Flux<List<ComposedMessageIdWithMetaData>> retrieveMessageIds(CassandraId mailboxId, MessageRange messageRange) {
-        return messageIdDAO.retrieveMessages(mailboxId, messageRange)
-            .window(cassandraConfiguration.getMessageReadChunkSize())
-            .flatMap(flux -> flux.collect(Guavate.toImmutableList()));
-    }
-
-    private Flux<MailboxMessage> retrieveMessages(List<ComposedMessageIdWithMetaData> messageIds, FetchType fetchType, Limit limit) {
-        return messageDAO.retrieveMessages(messageIds, fetchType, limit)
+        return messageDAO.retrieveMessages(messageIds, ftype)
             .filter(CassandraMessageDAO.MessageResult::isFound)
             .map(CassandraMessageDAO.MessageResult::message)
-            .flatMap(stream -> attachmentLoader.addAttachmentToMessage(stream, fetchType));
+            .flatMapSequential(message -> attachmentLoader.addAttachmentToMessage(message, ftype), readChunkSize)
+            .map(MailboxMessage.class::cast)
+            .toIterable(readChunkSize)
+            .iterator();
     }
 
     @Override
@@ -249,6 +240,21 @@ public class CassandraMessageMapper implements MessageMapper {
         return messageMetaData;
     }
 
+    @Override
+    public List<MessageMetaData> move(Mailbox destinationMailbox, List<MailboxMessage> originals) throws MailboxException {
+        List<ComposedMessageIdWithMetaData> composedMessageIdsWithMetaData = originals.stream()
+            .map(MailboxMessage::getComposedMessageIdWithMetaData)
+            .collect(Guavate.toImmutableList());
+
+        List<MessageMetaData> messagesMetaData = copy(destinationMailbox, originals);
+        Flux.fromIterable(composedMessageIdsWithMetaData)
+            .concatMap(this::deleteUsingMailboxId)
+            .then()
+            .block();
+
+        return messagesMetaData;
+    }
+
     @Override
     public void endRequest() {
         // Do nothing
@@ -287,6 +293,25 @@ public class CassandraMessageMapper implements MessageMapper {
                 .thenReturn(message);
     }
 
+    private Mono<List<MailboxMessage>> addUidsAndModseqs(List<MailboxMessage> messages, CassandraId mailboxId) {
+        int count = messages.size();
+        Mono<List<MessageUid>> messageUidsMono = uidProvider
+            .nextUids(mailboxId, count)
+            .switchIfEmpty(Mono.error(() -> new MailboxException("Can not find " + count + " UIDs to save messages in " + mailboxId)));
+
+        Mono<List<ModSeq>> nextModSeqsMono = modSeqProvider.nextModSeqs(mailboxId, count)
+            .switchIfEmpty(Mono.error(() -> new MailboxException("Can not find " + count + " MODSEQs to save messages in " + mailboxId)));
+
+        return Mono.zip(messageUidsMono, nextModSeqsMono)
+                .doOnNext(tuple -> {
+                    for (int i = 0; i < count; i++) {
+                        messages.get(i).setUid(tuple.getT1().get(i));
+                        messages.get(i).setModSeq(tuple.getT2().get(i));
+                    }
+                })
+                .thenReturn(messages);
+    }
+
     private <T> T block(Mono<T> mono) throws MailboxException {
         try {
             return mono.block();
@@ -369,6 +394,15 @@ public class CassandraMessageMapper implements MessageMapper {
         return setInMailbox(mailbox, original);
     }
 
+    @Override
+    public List<MessageMetaData> copy(Mailbox mailbox, List<MailboxMessage> originals) throws MailboxException {
+        if (originals.isEmpty()) {
+            return ImmutableList.of();
+        }
+        originals.forEach(original -> original.setFlags(new FlagsBuilder().add(original.createFlags()).add(Flag.RECENT).build()));
+        return setInMailbox(mailbox, originals);
+    }
+
     @Override
     public Optional<MessageUid> getLastUid(Mailbox mailbox) throws MailboxException {
         return uidProvider.lastUid(mailbox);
@@ -393,6 +427,18 @@ public class CassandraMessageMapper implements MessageMapper {
             .map(MailboxMessage::metaData));
     }
 
+    private List<MessageMetaData> setInMailbox(Mailbox mailbox, List<MailboxMessage> messages) throws MailboxException {
+        CassandraId mailboxId = (CassandraId) mailbox.getMailboxId();
+        return block(addUidsAndModseqs(messages, mailboxId)
+            .flatMapMany(Flux::fromIterable)
+            .concatMap(messageWithUidAndModseq -> insertIds(messageWithUidAndModseq, mailboxId)
+                .thenReturn(messageWithUidAndModseq))
+            .concatMap(messageWithUidAndModseq -> indexTableHandler.updateIndexOnAdd(messageWithUidAndModseq, mailboxId)
+                .thenReturn(messageWithUidAndModseq))
+            .map(MailboxMessage::metaData)
+            .collect(Guavate.toImmutableList()));
+    }
+
     private Mono<Void> save(Mailbox mailbox, MailboxMessage message) throws MailboxException {
         CassandraId mailboxId = (CassandraId) mailbox.getMailboxId();
         return messageDAO.save(message)
@@ -30,9 +30,11 @@ import static org.apache.james.mailbox.cassandra.table.CassandraMessageModseqTab
 import static org.apache.james.mailbox.cassandra.table.CassandraMessageModseqTable.TABLE_NAME;
 
 import java.time.Duration;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletionException;
 import java.util.function.Supplier;
+import java.util.stream.LongStream;
 
 import javax.inject.Inject;
 
@@ -48,6 +50,8 @@ import org.apache.james.mailbox.store.mail.ModSeqProvider;
 import com.datastax.driver.core.ConsistencyLevel;
 import com.datastax.driver.core.PreparedStatement;
 import com.datastax.driver.core.Session;
+import com.github.steveash.guavate.Guavate;
+import com.google.common.base.Preconditions;
 
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
@@ -132,6 +136,13 @@ public class CassandraModSeqProvider implements ModSeqProvider {
             .orElseThrow(() -> new MailboxException("Can not retrieve modseq for " + mailboxId));
     }
 
+    @Override
+    public List<ModSeq> nextModSeqs(MailboxId mailboxId, int count) throws MailboxException {
+        return nextModSeqs((CassandraId) mailboxId, count)
+            .blockOptional()
+            .orElseThrow(() -> new MailboxException("Can not retrieve modseqs for " + mailboxId));
+    }
+
     @Override
     public ModSeq highestModSeq(Mailbox mailbox) throws MailboxException {
         return highestModSeq(mailbox.getMailboxId());
@@ -150,52 +161,63 @@ public class CassandraModSeqProvider implements ModSeqProvider {
             .map(maybeRow -> maybeRow.map(row -> ModSeq.of(row.getLong(NEXT_MODSEQ))));
     }
 
-    private Mono<ModSeq> tryInsertModSeq(CassandraId mailboxId, ModSeq modSeq) {
-        ModSeq nextModSeq = modSeq.next();
+    private Mono<List<ModSeq>> tryInsertModSeq(CassandraId mailboxId, ModSeq modSeq, int count) {
+        ModSeq lastModSeq = ModSeq.of(modSeq.asLong() + count);
         return cassandraAsyncExecutor.executeReturnApplied(
             insert.bind()
                 .setUUID(MAILBOX_ID, mailboxId.asUuid())
-                .setLong(NEXT_MODSEQ, nextModSeq.asLong()))
-            .handle((success, sink) -> successToModSeq(nextModSeq, success).ifPresent(sink::next));
+                .setLong(NEXT_MODSEQ, lastModSeq.asLong()))
+            .handle((success, sink) -> successToModSeqs(modSeq.next(), lastModSeq, success).ifPresent(sink::next));
     }
 
-    private Mono<ModSeq> tryUpdateModSeq(CassandraId mailboxId, ModSeq modSeq) {
-        ModSeq nextModSeq = modSeq.next();
+    private Mono<List<ModSeq>> tryUpdateModSeq(CassandraId mailboxId, ModSeq modSeq, int count) {
+        ModSeq lastModSeq = ModSeq.of(modSeq.asLong() + count);
         return cassandraAsyncExecutor.executeReturnApplied(
             update.bind()
                 .setUUID(MAILBOX_ID, mailboxId.asUuid())
-                .setLong(NEXT_MODSEQ, nextModSeq.asLong())
+                .setLong(NEXT_MODSEQ, lastModSeq.asLong())
                 .setLong(MOD_SEQ_CONDITION, modSeq.asLong()))
-            .handle((success, sink) -> successToModSeq(nextModSeq, success).ifPresent(sink::next));
+            .handle((success, sink) -> successToModSeqs(modSeq.next(), lastModSeq, success).ifPresent(sink::next));
     }
 
-    private Optional<ModSeq> successToModSeq(ModSeq modSeq, Boolean success) {
+    private Optional<List<ModSeq>> successToModSeqs(ModSeq firstModSeq, ModSeq lastModSeq, Boolean success) {
         if (success) {
-            return Optional.of(modSeq);
+            return Optional.of(LongStream.rangeClosed(firstModSeq.asLong(), lastModSeq.asLong())
+                .mapToObj(ModSeq::of)
+                .collect(Guavate.toImmutableList()));
         }
         return Optional.empty();
     }
 
     public Mono<ModSeq> nextModSeq(CassandraId mailboxId) {
+        return nextModSeqs(mailboxId, 1)
+            .map(modSeqs -> modSeqs.get(0));
+    }
+
+    /**
+     * Reserve count consecutive mod-sequences with a single lightweight transaction.
+     */
+    public Mono<List<ModSeq>> nextModSeqs(CassandraId mailboxId, int count) {
+        Preconditions.checkArgument(count > 0, "count should be strictly positive");
         return findHighestModSeq(mailboxId)
             .flatMap(maybeHighestModSeq -> maybeHighestModSeq
-                        .map(highestModSeq -> tryUpdateModSeq(mailboxId, highestModSeq))
-                        .orElseGet(() -> tryInsertModSeq(mailboxId, ModSeq.first())))
-            .switchIfEmpty(handleRetries(mailboxId));
+                        .map(highestModSeq -> tryUpdateModSeq(mailboxId, highestModSeq, count))
+                        .orElseGet(() -> tryInsertModSeq(mailboxId, ModSeq.first(), count)))
+            .switchIfEmpty(handleRetries(mailboxId, count));
     }
 
-    private Mono<ModSeq> handleRetries(CassandraId mailboxId) {
+    private Mono<List<ModSeq>> handleRetries(CassandraId mailboxId, int count) {
         Duration forever = Duration.ofMillis(Long.MAX_VALUE);
         Duration firstBackoff = Duration.ofMillis(10);
-        return tryFindThenUpdateOnce(mailboxId)
+        return tryFindThenUpdateOnce(mailboxId, count)
             .single()
             .retryBackoff(maxModSeqRetries, firstBackoff, forever, Schedulers.elastic());
     }
 
-    private Mono<ModSeq> tryFindThenUpdateOnce(CassandraId mailboxId) {
+    private Mono<List<ModSeq>> tryFindThenUpdateOnce(CassandraId mailboxId, int count) {
         return Mono.defer(() -> findHighestModSeq(mailboxId)
             .<ModSeq>handle((t, sink) -> t.ifPresent(sink::next))
-            .flatMap(highestModSeq -> tryUpdateModSeq(mailboxId, highestModSeq)));
+            .flatMap(highestModSeq -> tryUpdateModSeq(mailboxId, highestModSeq, count)));
     }
 
 }
@@ -30,7 +30,9 @@ import static org.apache.james.mailbox.cassandra.table.CassandraMessageUidTable.
 import static org.apache.james.mailbox.cassandra.table.CassandraMessageUidTable.TABLE_NAME;
 
 import java.time.Duration;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.LongStream;
 
 import javax.inject.Inject;
 
@@ -46,6 +48,8 @@ import org.apache.james.mailbox.store.mail.UidProvider;
 import com.datastax.driver.core.ConsistencyLevel;
 import com.datastax.driver.core.PreparedStatement;
 import com.datastax.driver.core.Session;
+import com.github.steveash.guavate.Guavate;
+import com.google.common.base.Preconditions;
 
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
@@ -83,7 +87,7 @@ public class CassandraUidProvider implements UidProvider {
 
     private PreparedStatement prepareInsert(Session session) {
         return session.prepare(insertInto(TABLE_NAME)
-            .value(NEXT_UID, MessageUid.MIN_VALUE.asLong())
+            .value(NEXT_UID, bindMarker(NEXT_UID))
             .value(MAILBOX_ID, bindMarker(MAILBOX_ID))
             .ifNotExists());
     }
@@ -102,13 +106,30 @@ public class CassandraUidProvider implements UidProvider {
     }
 
     public Mono<MessageUid> nextUid(CassandraId cassandraId) {
-        Mono<MessageUid> updateUid = findHighestUid(cassandraId)
-            .flatMap(messageUid -> tryUpdateUid(cassandraId, messageUid));
+        return nextUids(cassandraId, 1)
+            .map(uids -> uids.get(0));
+    }
+
+    @Override
+    public List<MessageUid> nextUids(MailboxId mailboxId, int count) throws MailboxException {
+        CassandraId cassandraId = (CassandraId) mailboxId;
+        return nextUids(cassandraId, count)
+            .blockOptional()
+            .orElseThrow(() -> new MailboxException("Error during Uid update"));
+    }
+
+    /**
+     * Reserve count consecutive uids with a single lightweight transaction.
+     */
+    public Mono<List<MessageUid>> nextUids(CassandraId cassandraId, int count) {
+        Preconditions.checkArgument(count > 0, "count should be strictly positive");
+        Mono<List<MessageUid>> updateUid = findHighestUid(cassandraId)
+            .flatMap(messageUid -> tryUpdateUid(cassandraId, messageUid, count));
 
         Duration forever = Duration.ofMillis(Long.MAX_VALUE);
         Duration firstBackoff = Duration.ofMillis(10);
         return updateUid
-            .switchIfEmpty(tryInsert(cassandraId))
+            .switchIfEmpty(tryInsert(cassandraId, count))
             .switchIfEmpty(updateUid)
             .single()
             .retryBackoff(maxUidRetries, firstBackoff, forever, Schedulers.elastic());
@@ -128,26 +149,30 @@ public class CassandraUidProvider implements UidProvider {
             .map(row -> MessageUid.of(row.getLong(NEXT_UID)));
     }
 
-    private Mono<MessageUid> tryUpdateUid(CassandraId mailboxId, MessageUid uid) {
-        MessageUid nextUid = uid.next();
+    private Mono<List<MessageUid>> tryUpdateUid(CassandraId mailboxId, MessageUid uid, int count) {
+        MessageUid lastUid = MessageUid.of(uid.asLong() + count);
         return executor.executeReturnApplied(
                 updateStatement.bind()
                         .setUUID(MAILBOX_ID, mailboxId.asUuid())
                         .setLong(CONDITION, uid.asLong())
-                        .setLong(NEXT_UID, nextUid.asLong()))
-                .handle((success, sink) -> successToUid(nextUid, success).ifPresent(sink::next));
+                        .setLong(NEXT_UID, lastUid.asLong()))
+                .handle((success, sink) -> successToUids(uid.next(), lastUid, success).ifPresent(sink::next));
     }
 
-    private Mono<MessageUid> tryInsert(CassandraId mailboxId) {
+    private Mono<List<MessageUid>> tryInsert(CassandraId mailboxId, int count) {
+        MessageUid lastUid = MessageUid.of(MessageUid.MIN_VALUE.asLong() + count - 1);
         return executor.executeReturnApplied(
             insertStatement.bind()
-                .setUUID(MAILBOX_ID, mailboxId.asUuid()))
-            .handle((success, sink) -> successToUid(MessageUid.MIN_VALUE, success).ifPresent(sink::next));
+                .setUUID(MAILBOX_ID, mailboxId.asUuid())
+                .setLong(NEXT_UID, lastUid.asLong()))
+            .handle((success, sink) -> successToUids(MessageUid.MIN_VALUE, lastUid, success).ifPresent(sink::next));
     }
 
-    private Optional<MessageUid> successToUid(MessageUid uid, Boolean success) {
+    private Optional<List<MessageUid>> successToUids(MessageUid firstUid, MessageUid lastUid, Boolean success) {
         if (success) {
-            return Optional.of(uid);
+            return Optional.of(LongStream.rangeClosed(firstUid.asLong(), lastUid.asLong())
+                .mapToObj(MessageUid::of)
+                .collect(Guavate.toImmutableList()));
         }
         return Optional.empty();
     }
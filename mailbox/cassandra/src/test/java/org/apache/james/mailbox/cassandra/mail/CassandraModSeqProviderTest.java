@@ -21,6 +21,7 @@ package org.apache.james.mailbox.cassandra.mail;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.time.Duration;
+import java.util.List;
 import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.concurrent.ExecutionException;
 import java.util.stream.LongStream;
@@ -97,4 +98,29 @@ class CassandraModSeqProviderTest {
 
         assertThat(modSeqs).hasSize(100);
     }
+
+    @Test
+    void nextModSeqsShouldReturnAConsecutiveRange() throws Exception {
+        ModSeq lastModSeq = modSeqProvider.nextModSeq(mailbox);
+
+        List<ModSeq> modSeqs = modSeqProvider.nextModSeqs(mailbox.getMailboxId(), 3);
+
+        assertThat(modSeqs).containsExactly(lastModSeq.next(), lastModSeq.next().next(), lastModSeq.next().next().next());
+        assertThat(modSeqProvider.highestModSeq(mailbox)).isEqualTo(modSeqs.get(2));
+    }
+
+    @Test
+    void nextModSeqsShouldReserveDisjointRangesWhenParallelCalls() throws ExecutionException, InterruptedException {
+        int rangeSize = 4;
+
+        ConcurrentSkipListSet<ModSeq> modSeqs = new ConcurrentSkipListSet<>();
+        ConcurrentTestRunner.builder()
+            .operation(
+                (threadNumber, step) -> modSeqs.addAll(modSeqProvider.nextModSeqs(mailbox.getMailboxId(), rangeSize)))
+            .threadCount(10)
+            .operationCount(5)
+            .runSuccessfullyWithin(Duration.ofMinutes(1));
+
+        assertThat(modSeqs).hasSize(10 * 5 * rangeSize);
+    }
 }
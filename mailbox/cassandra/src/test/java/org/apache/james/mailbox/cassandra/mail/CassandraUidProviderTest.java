@@ -21,6 +21,7 @@ package org.apache.james.mailbox.cassandra.mail;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.time.Duration;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.concurrent.ExecutionException;
@@ -96,4 +97,37 @@ class CassandraUidProviderTest {
 
         assertThat(messageUids).hasSize(nbEntries);
     }
+
+    @Test
+    void nextUidsShouldReturnAConsecutiveRange() throws Exception {
+        uidProvider.nextUid(mailbox);
+
+        List<MessageUid> uids = uidProvider.nextUids(mailbox.getMailboxId(), 5);
+
+        assertThat(uids).extracting(MessageUid::asLong).containsExactly(2L, 3L, 4L, 5L, 6L);
+        assertThat(uidProvider.lastUid(mailbox)).contains(MessageUid.of(6));
+    }
+
+    @Test
+    void nextUidShouldFollowAReservedRange() throws Exception {
+        uidProvider.nextUids(mailbox.getMailboxId(), 10);
+
+        assertThat(uidProvider.nextUid(mailbox)).isEqualTo(MessageUid.of(11));
+    }
+
+    @Test
+    void nextUidsShouldReserveDisjointRangesWhenParallelCalls() throws ExecutionException, InterruptedException {
+        int threadCount = 10;
+        int operationCount = 5;
+        int rangeSize = 4;
+
+        ConcurrentSkipListSet<MessageUid> messageUids = new ConcurrentSkipListSet<>();
+        ConcurrentTestRunner.builder()
+            .operation((threadNumber, step) -> messageUids.addAll(uidProvider.nextUids(mailbox.getMailboxId(), rangeSize)))
+            .threadCount(threadCount)
+            .operationCount(operationCount)
+            .runSuccessfullyWithin(Duration.ofMinutes(1));
+
+        assertThat(messageUids).hasSize(threadCount * operationCount * rangeSize);
+    }
 }
@@ -23,11 +23,14 @@ import java.util.Objects;
 import java.util.Optional;
 
 import org.apache.commons.configuration2.Configuration;
+import org.apache.james.backends.es.BulkIndexer;
 import org.apache.james.backends.es.IndexName;
 import org.apache.james.backends.es.ReadAliasName;
 import org.apache.james.backends.es.WriteAliasName;
 import org.apache.james.util.OptionalUtils;
 
+import com.google.common.base.Preconditions;
+
 public class ElasticSearchMailboxConfiguration {
 
     public static class Builder {
@@ -35,12 +38,18 @@ public class ElasticSearchMailboxConfiguration {
         private Optional<ReadAliasName> readAliasMailboxName;
         private Optional<WriteAliasName> writeAliasMailboxName;
         private Optional<IndexAttachments> indexAttachment;
+        private Optional<Integer> bulkMaxBatchSize;
+        private Optional<Integer> bulkMaxConcurrency;
+        private Optional<Integer> bulkMaxRetries;
 
         Builder() {
             indexMailboxName = Optional.empty();
             readAliasMailboxName = Optional.empty();
             writeAliasMailboxName = Optional.empty();
             indexAttachment = Optional.empty();
+            bulkMaxBatchSize = Optional.empty();
+            bulkMaxConcurrency = Optional.empty();
+            bulkMaxRetries = Optional.empty();
         }
 
         Builder indexMailboxName(Optional<IndexName> indexMailboxName) {
@@ -64,14 +73,37 @@ public class ElasticSearchMailboxConfiguration {
             return this;
         }
 
+        Builder bulkMaxBatchSize(Optional<Integer> bulkMaxBatchSize) {
+            this.bulkMaxBatchSize = bulkMaxBatchSize;
+            return this;
+        }
+
+        Builder bulkMaxConcurrency(Optional<Integer> bulkMaxConcurrency) {
+            this.bulkMaxConcurrency = bulkMaxConcurrency;
+            return this;
+        }
 
+        Builder bulkMaxRetries(Optional<Integer> bulkMaxRetries) {
+            this.bulkMaxRetries = bulkMaxRetries;
+            return this;
+        }
 
         public ElasticSearchMailboxConfiguration build() {
+            int maxBatchSize = bulkMaxBatchSize.orElse(BulkIndexer.DEFAULT_MAX_BATCH_SIZE);
+            int maxConcurrency = bulkMaxConcurrency.orElse(BulkIndexer.DEFAULT_MAX_CONCURRENCY);
+            int maxRetries = bulkMaxRetries.orElse(BulkIndexer.DEFAULT_MAX_RETRIES);
+            Preconditions.checkState(maxBatchSize > 0, "'%s' needs to be strictly positive", ELASTICSEARCH_BULK_MAX_BATCH_SIZE);
+            Preconditions.checkState(maxConcurrency > 0, "'%s' needs to be strictly positive", ELASTICSEARCH_BULK_MAX_CONCURRENCY);
+            Preconditions.checkState(maxRetries >= 0, "'%s' needs to be positive", ELASTICSEARCH_BULK_MAX_RETRIES);
+
             return new ElasticSearchMailboxConfiguration(
                 indexMailboxName.orElse(MailboxElasticSearchConstants.DEFAULT_MAILBOX_INDEX),
                 readAliasMailboxName.orElse(MailboxElasticSearchConstants.DEFAULT_MAILBOX_READ_ALIAS),
                 writeAliasMailboxName.orElse(MailboxElasticSearchConstants.DEFAULT_MAILBOX_WRITE_ALIAS),
-                indexAttachment.orElse(IndexAttachments.YES));
+                indexAttachment.orElse(IndexAttachments.YES),
+                maxBatchSize,
+                maxConcurrency,
+                maxRetries);
         }
     }
 
@@ -86,6 +118,9 @@ public class ElasticSearchMailboxConfiguration {
     private static final String ELASTICSEARCH_ALIAS_READ_MAILBOX_NAME = "elasticsearch.alias.read.mailbox.name";
     private static final String ELASTICSEARCH_ALIAS_WRITE_MAILBOX_NAME = "elasticsearch.alias.write.mailbox.name";
     private static final String ELASTICSEARCH_INDEX_ATTACHMENTS = "elasticsearch.indexAttachments";
+    private static final String ELASTICSEARCH_BULK_MAX_BATCH_SIZE = "elasticsearch.bulk.maxBatchSize";
+    private static final String ELASTICSEARCH_BULK_MAX_CONCURRENCY = "elasticsearch.bulk.maxConcurrency";
+    private static final String ELASTICSEARCH_BULK_MAX_RETRIES = "elasticsearch.bulk.maxRetries";
     private static final boolean DEFAULT_INDEX_ATTACHMENTS = true;
 
     public static final ElasticSearchMailboxConfiguration DEFAULT_CONFIGURATION = builder().build();
@@ -96,6 +131,9 @@ public class ElasticSearchMailboxConfiguration {
             .readAliasMailboxName(computeMailboxReadAlias(configuration))
             .writeAliasMailboxName(computeMailboxWriteAlias(configuration))
             .indexAttachment(provideIndexAttachments(configuration))
+            .bulkMaxBatchSize(Optional.ofNullable(configuration.getInteger(ELASTICSEARCH_BULK_MAX_BATCH_SIZE, null)))
+            .bulkMaxConcurrency(Optional.ofNullable(configuration.getInteger(ELASTICSEARCH_BULK_MAX_CONCURRENCY, null)))
+            .bulkMaxRetries(Optional.ofNullable(configuration.getInteger(ELASTICSEARCH_BULK_MAX_RETRIES, null)))
             .build();
     }
 
@@ -136,13 +174,20 @@ public class ElasticSearchMailboxConfiguration {
     private final ReadAliasName readAliasMailboxName;
     private final WriteAliasName writeAliasMailboxName;
     private final IndexAttachments indexAttachment;
+    private final int bulkMaxBatchSize;
+    private final int bulkMaxConcurrency;
+    private final int bulkMaxRetries;
 
     private ElasticSearchMailboxConfiguration(IndexName indexMailboxName, ReadAliasName readAliasMailboxName,
-                                              WriteAliasName writeAliasMailboxName, IndexAttachments indexAttachment) {
+                                              WriteAliasName writeAliasMailboxName, IndexAttachments indexAttachment,
+                                              int bulkMaxBatchSize, int bulkMaxConcurrency, int bulkMaxRetries) {
         this.indexMailboxName = indexMailboxName;
         this.readAliasMailboxName = readAliasMailboxName;
         this.writeAliasMailboxName = writeAliasMailboxName;
         this.indexAttachment = indexAttachment;
+        this.bulkMaxBatchSize = bulkMaxBatchSize;
+        this.bulkMaxConcurrency = bulkMaxConcurrency;
+        this.bulkMaxRetries = bulkMaxRetries;
     }
 
 
@@ -162,6 +207,18 @@ public class ElasticSearchMailboxConfiguration {
         return indexAttachment;
     }
 
+    public int getBulkMaxBatchSize() {
+        return bulkMaxBatchSize;
+    }
+
+    public int getBulkMaxConcurrency() {
+        return bulkMaxConcurrency;
+    }
+
+    public int getBulkMaxRetries() {
+        return bulkMaxRetries;
+    }
+
     @Override
     public final boolean equals(Object o) {
         if (o instanceof ElasticSearchMailboxConfiguration) {
@@ -170,13 +227,17 @@ public class ElasticSearchMailboxConfiguration {
             return Objects.equals(this.indexAttachment, that.indexAttachment)
                 && Objects.equals(this.indexMailboxName, that.indexMailboxName)
                 && Objects.equals(this.readAliasMailboxName, that.readAliasMailboxName)
-                && Objects.equals(this.writeAliasMailboxName, that.writeAliasMailboxName);
+                && Objects.equals(this.writeAliasMailboxName, that.writeAliasMailboxName)
+                && Objects.equals(this.bulkMaxBatchSize, that.bulkMaxBatchSize)
+                && Objects.equals(this.bulkMaxConcurrency, that.bulkMaxConcurrency)
+                && Objects.equals(this.bulkMaxRetries, that.bulkMaxRetries);
         }
         return false;
     }
 
     @Override
     public final int hashCode() {
-        return Objects.hash(indexMailboxName, readAliasMailboxName, writeAliasMailboxName, indexAttachment, writeAliasMailboxName);
+        return Objects.hash(indexMailboxName, readAliasMailboxName, writeAliasMailboxName, indexAttachment, writeAliasMailboxName,
+            bulkMaxBatchSize, bulkMaxConcurrency, bulkMaxRetries);
     }
 }
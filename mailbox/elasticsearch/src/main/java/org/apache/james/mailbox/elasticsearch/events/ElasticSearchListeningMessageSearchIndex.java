@@ -20,7 +20,6 @@ package org.apache.james.mailbox.elasticsearch.events;
 
 import static org.elasticsearch.index.query.QueryBuilders.termQuery;
 
-import java.io.IOException;
 import java.util.Collection;
 import java.util.EnumSet;
 import java.util.List;
@@ -30,6 +29,7 @@ import java.util.stream.Stream;
 import javax.inject.Inject;
 import javax.inject.Named;
 
+import org.apache.james.backends.es.BulkIndexer;
 import org.apache.james.backends.es.DocumentId;
 import org.apache.james.backends.es.ElasticSearchIndexer;
 import org.apache.james.backends.es.RoutingKey;
@@ -63,6 +63,9 @@ import com.github.steveash.guavate.Guavate;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
 
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
 public class ElasticSearchListeningMessageSearchIndex extends ListeningMessageSearchIndex {
     public static class ElasticSearchListeningMessageSearchIndexGroup extends Group {
 
@@ -73,6 +76,7 @@ public class ElasticSearchListeningMessageSearchIndex extends ListeningMessageSe
     private static final Group GROUP = new ElasticSearchListeningMessageSearchIndexGroup();
 
     private final ElasticSearchIndexer elasticSearchIndexer;
+    private final BulkIndexer bulkIndexer;
     private final ElasticSearchSearcher searcher;
     private final MessageToElasticSearchJson messageToElasticSearchJson;
     private final RoutingKey.Factory<MailboxId> routingKeyFactory;
@@ -80,10 +84,12 @@ public class ElasticSearchListeningMessageSearchIndex extends ListeningMessageSe
     @Inject
     public ElasticSearchListeningMessageSearchIndex(MailboxSessionMapperFactory factory,
                                                     @Named(MailboxElasticSearchConstants.InjectionNames.MAILBOX) ElasticSearchIndexer indexer,
+                                                    @Named(MailboxElasticSearchConstants.InjectionNames.MAILBOX) BulkIndexer bulkIndexer,
                                                     ElasticSearchSearcher searcher, MessageToElasticSearchJson messageToElasticSearchJson,
                                                     SessionProvider sessionProvider, RoutingKey.Factory<MailboxId> routingKeyFactory) {
         super(factory, sessionProvider);
         this.elasticSearchIndexer = indexer;
+        this.bulkIndexer = bulkIndexer;
         this.messageToElasticSearchJson = messageToElasticSearchJson;
         this.searcher = searcher;
         this.routingKeyFactory = routingKeyFactory;
@@ -135,16 +141,27 @@ public class ElasticSearchListeningMessageSearchIndex extends ListeningMessageSe
     }
 
     @Override
-    public void add(MailboxSession session, Mailbox mailbox, MailboxMessage message) throws IOException {
+    public void add(MailboxSession session, Mailbox mailbox, MailboxMessage message) {
+        index(session, mailbox, message).block();
+    }
+
+    @Override
+    protected void addAll(MailboxSession session, Mailbox mailbox, Stream<MailboxMessage> messages) {
+        Flux.fromStream(messages)
+            .flatMap(message -> index(session, mailbox, message), bulkIndexer.getMaxBatchSize())
+            .then()
+            .block();
+    }
+
+    private Mono<Void> index(MailboxSession session, Mailbox mailbox, MailboxMessage message) {
         LOGGER.info("Indexing mailbox {}-{} of user {} on message {}",
             mailbox.getName(),
             mailbox.getMailboxId(),
             session.getUser().asString(),
             message.getUid());
 
-        String jsonContent = generateIndexedJson(mailbox, message, session);
-
-        elasticSearchIndexer.index(indexIdFor(mailbox, message.getUid()), jsonContent, routingKeyFactory.from(mailbox.getMailboxId()));
+        return Mono.fromCallable(() -> generateIndexedJson(mailbox, message, session))
+            .flatMap(jsonContent -> bulkIndexer.index(indexIdFor(mailbox, message.getUid()), jsonContent, routingKeyFactory.from(mailbox.getMailboxId())));
     }
 
     private String generateIndexedJson(Mailbox mailbox, MailboxMessage message, MailboxSession session) throws JsonProcessingException {
@@ -162,12 +179,14 @@ public class ElasticSearchListeningMessageSearchIndex extends ListeningMessageSe
     }
 
     @Override
-    public void delete(MailboxSession session, Mailbox mailbox, Collection<MessageUid> expungedUids) throws IOException {
-            elasticSearchIndexer
-                .delete(expungedUids.stream()
-                    .map(uid ->  indexIdFor(mailbox, uid))
-                    .collect(Guavate.toImmutableList()),
-                    routingKeyFactory.from(mailbox.getMailboxId()));
+    public void delete(MailboxSession session, Mailbox mailbox, Collection<MessageUid> expungedUids) {
+        RoutingKey routingKey = routingKeyFactory.from(mailbox.getMailboxId());
+
+        Flux.fromIterable(expungedUids)
+            .flatMap(uid -> bulkIndexer.delete(indexIdFor(mailbox, uid), routingKey)
+                .onErrorResume(BulkIndexer.DocumentWriteFailure.class, this::logFailure))
+            .then()
+            .block();
     }
 
     @Override
@@ -181,14 +200,17 @@ public class ElasticSearchListeningMessageSearchIndex extends ListeningMessageSe
     }
 
     @Override
-    public void update(MailboxSession session, Mailbox mailbox, List<UpdatedFlags> updatedFlagsList) throws IOException {
-        ImmutableList<UpdatedRepresentation> updates = updatedFlagsList.stream()
+    public void update(MailboxSession session, Mailbox mailbox, List<UpdatedFlags> updatedFlagsList) {
+        RoutingKey routingKey = routingKeyFactory.from(mailbox.getMailboxId());
+
+        Flux.fromIterable(updatedFlagsList)
             .map(Throwing.<UpdatedFlags, UpdatedRepresentation>function(
                 updatedFlags -> createUpdatedDocumentPartFromUpdatedFlags(mailbox, updatedFlags))
                 .sneakyThrow())
-            .collect(Guavate.toImmutableList());
-
-        elasticSearchIndexer.update(updates, routingKeyFactory.from(mailbox.getMailboxId()));
+            .flatMap(update -> bulkIndexer.update(update, routingKey)
+                .onErrorResume(BulkIndexer.DocumentWriteFailure.class, this::logFailure))
+            .then()
+            .block();
     }
 
     private UpdatedRepresentation createUpdatedDocumentPartFromUpdatedFlags(Mailbox mailbox, UpdatedFlags updatedFlags) throws JsonProcessingException {
@@ -202,6 +224,11 @@ public class ElasticSearchListeningMessageSearchIndex extends ListeningMessageSe
         return DocumentId.fromString(String.join(ID_SEPARATOR, mailbox.getMailboxId().serialize(), String.valueOf(uid.asLong())));
     }
 
+    private Mono<Void> logFailure(BulkIndexer.DocumentWriteFailure failure) {
+        LOGGER.warn("Error while updating index", failure);
+        return Mono.empty();
+    }
+
     private void logIfNoMessageId(SearchResult searchResult) {
         if (!searchResult.getMessageId().isPresent()) {
             LOGGER.error("No messageUid for {} in mailbox {}", searchResult.getMessageUid(), searchResult.getMailboxId());
@@ -20,8 +20,10 @@
 package org.apache.james.mailbox.elasticsearch;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import org.apache.commons.configuration2.PropertiesConfiguration;
+import org.apache.james.backends.es.BulkIndexer;
 import org.apache.james.backends.es.IndexName;
 import org.apache.james.backends.es.ReadAliasName;
 import org.apache.james.backends.es.WriteAliasName;
@@ -224,4 +226,41 @@ class ElasticSearchMailboxConfigurationTest {
             .isEqualTo(IndexAttachments.YES);
     }
 
-}
\ No newline at end of file
+
+    @Test
+    void bulkSettingsShouldReturnDefaultValuesWhenMissing() {
+        PropertiesConfiguration configuration = new PropertiesConfiguration();
+        configuration.addProperty("elasticsearch.hosts", "127.0.0.1");
+
+        ElasticSearchMailboxConfiguration elasticSearchConfiguration = ElasticSearchMailboxConfiguration.fromProperties(configuration);
+
+        assertThat(elasticSearchConfiguration.getBulkMaxBatchSize()).isEqualTo(BulkIndexer.DEFAULT_MAX_BATCH_SIZE);
+        assertThat(elasticSearchConfiguration.getBulkMaxConcurrency()).isEqualTo(BulkIndexer.DEFAULT_MAX_CONCURRENCY);
+        assertThat(elasticSearchConfiguration.getBulkMaxRetries()).isEqualTo(BulkIndexer.DEFAULT_MAX_RETRIES);
+    }
+
+    @Test
+    void bulkSettingsShouldReturnConfiguredValues() {
+        PropertiesConfiguration configuration = new PropertiesConfiguration();
+        configuration.addProperty("elasticsearch.hosts", "127.0.0.1");
+        configuration.addProperty("elasticsearch.bulk.maxBatchSize", 500);
+        configuration.addProperty("elasticsearch.bulk.maxConcurrency", 8);
+        configuration.addProperty("elasticsearch.bulk.maxRetries", 0);
+
+        ElasticSearchMailboxConfiguration elasticSearchConfiguration = ElasticSearchMailboxConfiguration.fromProperties(configuration);
+
+        assertThat(elasticSearchConfiguration.getBulkMaxBatchSize()).isEqualTo(500);
+        assertThat(elasticSearchConfiguration.getBulkMaxConcurrency()).isEqualTo(8);
+        assertThat(elasticSearchConfiguration.getBulkMaxRetries()).isEqualTo(0);
+    }
+
+    @Test
+    void fromPropertiesShouldThrowWhenBulkMaxBatchSizeIsNotPositive() {
+        PropertiesConfiguration configuration = new PropertiesConfiguration();
+        configuration.addProperty("elasticsearch.hosts", "127.0.0.1");
+        configuration.addProperty("elasticsearch.bulk.maxBatchSize", 0);
+
+        assertThatThrownBy(() -> ElasticSearchMailboxConfiguration.fromProperties(configuration))
+            .isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,461 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+
+package org.apache.james.mailbox.events;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import javax.inject.Inject;
+import javax.mail.Flags;
+
+import org.apache.james.core.Username;
+import org.apache.james.mailbox.MailboxSession;
+import org.apache.james.mailbox.MessageUid;
+import org.apache.james.mailbox.ModSeq;
+import org.apache.james.mailbox.events.MailboxListener.Added;
+import org.apache.james.mailbox.events.MailboxListener.Expunged;
+import org.apache.james.mailbox.events.MailboxListener.FlagsUpdated;
+import org.apache.james.mailbox.events.MailboxListener.MetaDataHoldingEvent;
+import org.apache.james.mailbox.model.MailboxId;
+import org.apache.james.mailbox.model.MailboxPath;
+import org.apache.james.mailbox.model.MessageId;
+import org.apache.james.mailbox.model.MessageMetaData;
+import org.apache.james.mailbox.model.UpdatedFlags;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSortedMap;
+
+/**
+ * Compact binary representation of the events carrying per message data: {@link Added}, {@link Expunged} and
+ * {@link FlagsUpdated}. Other events are left to the JSON serializer.
+ *
+ * UIDs, modSeqs and internal dates are delta encoded as variable length integers, UUID identifiers take 16 bytes
+ * and user flags are written once in a per event string table then referenced by index.
+ */
+public class BinaryEventCodec {
+    static final byte VERSION = 1;
+
+    private static final byte ADDED = 1;
+    private static final byte EXPUNGED = 2;
+    private static final byte FLAGS_UPDATED = 3;
+
+    private static final byte STRING_IDENTIFIER = 0;
+    private static final byte UUID_IDENTIFIER = 1;
+    private static final int UUID_LENGTH = 36;
+
+    private static final Flags.Flag[] SYSTEM_FLAGS = {
+        Flags.Flag.ANSWERED,
+        Flags.Flag.DELETED,
+        Flags.Flag.DRAFT,
+        Flags.Flag.FLAGGED,
+        Flags.Flag.RECENT,
+        Flags.Flag.SEEN,
+        Flags.Flag.USER
+    };
+
+    private final MailboxId.Factory mailboxIdFactory;
+    private final MessageId.Factory messageIdFactory;
+
+    @Inject
+    public BinaryEventCodec(MailboxId.Factory mailboxIdFactory, MessageId.Factory messageIdFactory) {
+        this.mailboxIdFactory = mailboxIdFactory;
+        this.messageIdFactory = messageIdFactory;
+    }
+
+    public boolean supports(Event event) {
+        return event instanceof Added || event instanceof Expunged || event instanceof FlagsUpdated;
+    }
+
+    public byte[] encode(Event event) {
+        Preconditions.checkArgument(supports(event), "%s can not be encoded as binary", event.getClass().getName());
+
+        Writer writer = new Writer();
+        writer.writeByte(VERSION);
+        if (event instanceof Added) {
+            writer.writeByte(ADDED);
+            writeMetaDataHoldingEvent(writer, (Added) event, ((Added) event).getAdded());
+        } else if (event instanceof Expunged) {
+            writer.writeByte(EXPUNGED);
+            writeMetaDataHoldingEvent(writer, (Expunged) event, ((Expunged) event).getExpunged());
+        } else {
+            writer.writeByte(FLAGS_UPDATED);
+            writeFlagsUpdated(writer, (FlagsUpdated) event);
+        }
+        return writer.toByteArray();
+    }
+
+    public Event decode(byte[] bytes) {
+        try {
+            Reader reader = new Reader(bytes);
+            byte version = reader.readByte();
+            Preconditions.checkArgument(version == VERSION, "Unsupported binary event version %s", version);
+
+            byte type = reader.readByte();
+            switch (type) {
+            case ADDED:
+                return readAdded(reader);
+            case EXPUNGED:
+                return readExpunged(reader);
+            case FLAGS_UPDATED:
+                return readFlagsUpdated(reader);
+            default:
+                throw new IllegalArgumentException("Unknown binary event type " + type);
+            }
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated binary event", e);
+        }
+    }
+
+    private void writeMetaDataHoldingEvent(Writer writer, MetaDataHoldingEvent event, Map<MessageUid, MessageMetaData> metaData) {
+        writeHeader(writer, event);
+        FlagTable flagTable = FlagTable.of(metaData.values().stream().map(MessageMetaData::getFlags));
+        flagTable.write(writer);
+
+        writer.writeVarLong(metaData.size());
+        long previousUid = 0;
+        long previousModSeq = 0;
+        long previousInternalDate = 0;
+        for (MessageMetaData messageMetaData : metaData.values()) {
+            long uid = messageMetaData.getUid().asLong();
+            long modSeq = messageMetaData.getModSeq().asLong();
+            long internalDate = messageMetaData.getInternalDate().getTime();
+
+            writer.writeSignedVarLong(uid - previousUid);
+            writer.writeSignedVarLong(modSeq - previousModSeq);
+            flagTable.writeFlags(writer, messageMetaData.getFlags());
+            writer.writeVarLong(messageMetaData.getSize());
+            writer.writeSignedVarLong(internalDate - previousInternalDate);
+            writer.writeIdentifier(messageMetaData.getMessageId().serialize());
+
+            previousUid = uid;
+            previousModSeq = modSeq;
+            previousInternalDate = internalDate;
+        }
+    }
+
+    private void writeFlagsUpdated(Writer writer, FlagsUpdated event) {
+        writeHeader(writer, event);
+        List<UpdatedFlags> updatedFlags = event.getUpdatedFlags();
+        FlagTable flagTable = FlagTable.of(updatedFlags.stream()
+            .flatMap(flags -> Stream.of(flags.getOldFlags(), flags.getNewFlags())));
+        flagTable.write(writer);
+
+        writer.writeVarLong(updatedFlags.size());
+        long previousUid = 0;
+        long previousModSeq = 0;
+        for (UpdatedFlags flags : updatedFlags) {
+            long uid = flags.getUid().asLong();
+            long modSeq = flags.getModSeq().asLong();
+
+            writer.writeSignedVarLong(uid - previousUid);
+            writer.writeSignedVarLong(modSeq - previousModSeq);
+            flagTable.writeFlags(writer, flags.getOldFlags());
+            flagTable.writeFlags(writer, flags.getNewFlags());
+
+            previousUid = uid;
+            previousModSeq = modSeq;
+        }
+    }
+
+    private void writeHeader(Writer writer, MailboxListener.MailboxEvent event) {
+        UUID eventId = event.getEventId().getId();
+        writer.writeLong(eventId.getMostSignificantBits());
+        writer.writeLong(eventId.getLeastSignificantBits());
+        writer.writeLong(event.getSessionId().getValue());
+        writer.writeString(event.getUsername().asString());
+        writer.writeIdentifier(event.getMailboxId().serialize());
+
+        MailboxPath path = event.getMailboxPath();
+        writer.writeString(path.getNamespace());
+        writer.writeBoolean(path.getUser() != null);
+        if (path.getUser() != null) {
+            writer.writeString(path.getUser().asString());
+        }
+        writer.writeString(path.getName());
+    }
+
+    private Added readAdded(Reader reader) {
+        Header header = readHeader(reader);
+        ImmutableSortedMap.Builder<MessageUid, MessageMetaData> added = ImmutableSortedMap.naturalOrder();
+        readMetaData(reader, metaData -> added.put(metaData.getUid(), metaData));
+        return new Added(header.sessionId, header.username, header.path, header.mailboxId, added.build(), header.eventId);
+    }
+
+    private Expunged readExpunged(Reader reader) {
+        Header header = readHeader(reader);
+        ImmutableMap.Builder<MessageUid, MessageMetaData> expunged = ImmutableMap.builder();
+        readMetaData(reader, metaData -> expunged.put(metaData.getUid(), metaData));
+        return new Expunged(header.sessionId, header.username, header.path, header.mailboxId, expunged.build(), header.eventId);
+    }
+
+    private void readMetaData(Reader reader, Consumer<MessageMetaData> consumer) {
+        String[] flagTable = readFlagTable(reader);
+
+        long count = reader.readVarLong();
+        long uid = 0;
+        long modSeq = 0;
+        long internalDate = 0;
+        for (long i = 0; i < count; i++) {
+            uid += reader.readSignedVarLong();
+            modSeq += reader.readSignedVarLong();
+            Flags flags = readFlags(reader, flagTable);
+            long size = reader.readVarLong();
+            internalDate += reader.readSignedVarLong();
+            MessageId messageId = messageIdFactory.fromString(reader.readIdentifier());
+
+            consumer.accept(new MessageMetaData(MessageUid.of(uid), ModSeq.of(modSeq), flags, size, new Date(internalDate), messageId));
+        }
+    }
+
+    private FlagsUpdated readFlagsUpdated(Reader reader) {
+        Header header = readHeader(reader);
+        String[] flagTable = readFlagTable(reader);
+
+        long count = reader.readVarLong();
+        ImmutableList.Builder<UpdatedFlags> updatedFlags = ImmutableList.builder();
+        long uid = 0;
+        long modSeq = 0;
+        for (long i = 0; i < count; i++) {
+            uid += reader.readSignedVarLong();
+            modSeq += reader.readSignedVarLong();
+            updatedFlags.add(UpdatedFlags.builder()
+                .uid(MessageUid.of(uid))
+                .modSeq(ModSeq.of(modSeq))
+                .oldFlags(readFlags(reader, flagTable))
+                .newFlags(readFlags(reader, flagTable))
+                .build());
+        }
+        return new FlagsUpdated(header.sessionId, header.username, header.path, header.mailboxId, updatedFlags.build(), header.eventId);
+    }
+
+    private Header readHeader(Reader reader) {
+        Event.EventId eventId = Event.EventId.of(new UUID(reader.readLong(), reader.readLong()));
+        MailboxSession.SessionId sessionId = MailboxSession.SessionId.of(reader.readLong());
+        Username username = Username.of(reader.readString());
+        MailboxId mailboxId = mailboxIdFactory.fromString(reader.readIdentifier());
+
+        String namespace = reader.readString();
+        Username pathUser = reader.readBoolean() ? Username.of(reader.readString()) : null;
+        MailboxPath path = new MailboxPath(namespace, pathUser, reader.readString());
+
+        return new Header(eventId, sessionId, username, mailboxId, path);
+    }
+
+    private String[] readFlagTable(Reader reader) {
+        String[] table = new String[Math.toIntExact(reader.readVarLong())];
+        for (int i = 0; i < table.length; i++) {
+            table[i] = reader.readString();
+        }
+        return table;
+    }
+
+    private Flags readFlags(Reader reader, String[] flagTable) {
+        Flags flags = new Flags();
+        byte systemFlags = reader.readByte();
+        for (int i = 0; i < SYSTEM_FLAGS.length; i++) {
+            if ((systemFlags & (1 << i)) != 0) {
+                flags.add(SYSTEM_FLAGS[i]);
+            }
+        }
+        long userFlagCount = reader.readVarLong();
+        for (long i = 0; i < userFlagCount; i++) {
+            flags.add(flagTable[Math.toIntExact(reader.readVarLong())]);
+        }
+        return flags;
+    }
+
+    private static class Header {
+        private final Event.EventId eventId;
+        private final MailboxSession.SessionId sessionId;
+        private final Username username;
+        private final MailboxId mailboxId;
+        private final MailboxPath path;
+
+        private Header(Event.EventId eventId, MailboxSession.SessionId sessionId, Username username, MailboxId mailboxId, MailboxPath path) {
+            this.eventId = eventId;
+            this.sessionId = sessionId;
+            this.username = username;
+            this.mailboxId = mailboxId;
+            this.path = path;
+        }
+    }
+
+    private static class FlagTable {
+        static FlagTable of(Stream<Flags> flags) {
+            Map<String, Integer> indexes = new LinkedHashMap<>();
+            flags.flatMap(flag -> Stream.of(flag.getUserFlags()))
+                .forEach(userFlag -> indexes.putIfAbsent(userFlag, indexes.size()));
+            return new FlagTable(indexes);
+        }
+
+        private final Map<String, Integer> indexes;
+
+        private FlagTable(Map<String, Integer> indexes) {
+            this.indexes = indexes;
+        }
+
+        void write(Writer writer) {
+            writer.writeVarLong(indexes.size());
+            indexes.keySet().forEach(writer::writeString);
+        }
+
+        void writeFlags(Writer writer, Flags flags) {
+            byte systemFlags = 0;
+            for (int i = 0; i < SYSTEM_FLAGS.length; i++) {
+                if (flags.contains(SYSTEM_FLAGS[i])) {
+                    systemFlags |= 1 << i;
+                }
+            }
+            writer.writeByte(systemFlags);
+
+            String[] userFlags = flags.getUserFlags();
+            writer.writeVarLong(userFlags.length);
+            for (String userFlag : userFlags) {
+                writer.writeVarLong(indexes.get(userFlag));
+            }
+        }
+    }
+
+    private static class Writer {
+        private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        void writeByte(int value) {
+            output.write(value);
+        }
+
+        void writeBoolean(boolean value) {
+            output.write(value ? 1 : 0);
+        }
+
+        void writeLong(long value) {
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                output.write((int) (value >>> shift));
+            }
+        }
+
+        void writeVarLong(long value) {
+            long remaining = value;
+            while ((remaining & ~0x7FL) != 0) {
+                output.write((int) ((remaining & 0x7F) | 0x80));
+                remaining >>>= 7;
+            }
+            output.write((int) remaining);
+        }
+
+        void writeSignedVarLong(long value) {
+            writeVarLong((value << 1) ^ (value >> 63));
+        }
+
+        void writeString(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(bytes.length);
+            output.write(bytes, 0, bytes.length);
+        }
+
+        void writeIdentifier(String identifier) {
+            if (identifier.length() == UUID_LENGTH && identifier.charAt(8) == '-') {
+                try {
+                    UUID uuid = UUID.fromString(identifier);
+                    if (uuid.toString().equals(identifier)) {
+                        writeByte(UUID_IDENTIFIER);
+                        writeLong(uuid.getMostSignificantBits());
+                        writeLong(uuid.getLeastSignificantBits());
+                        return;
+                    }
+                } catch (IllegalArgumentException e) {
+                    // Not a UUID, written as a string
+                }
+            }
+            writeByte(STRING_IDENTIFIER);
+            writeString(identifier);
+        }
+
+        byte[] toByteArray() {
+            return output.toByteArray();
+        }
+    }
+
+    private static class Reader {
+        private final ByteBuffer buffer;
+
+        Reader(byte[] bytes) {
+            this.buffer = ByteBuffer.wrap(bytes);
+        }
+
+        byte readByte() {
+            return buffer.get();
+        }
+
+        boolean readBoolean() {
+            return buffer.get() != 0;
+        }
+
+        long readLong() {
+            return buffer.getLong();
+        }
+
+        long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte current = buffer.get();
+                value |= (long) (current & 0x7F) << shift;
+                if ((current & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Malformed variable length integer");
+        }
+
+        long readSignedVarLong() {
+            long value = readVarLong();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        String readString() {
+            byte[] bytes = new byte[Math.toIntExact(readVarLong())];
+            buffer.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        String readIdentifier() {
+            byte kind = readByte();
+            switch (kind) {
+            case UUID_IDENTIFIER:
+                return new UUID(readLong(), readLong()).toString();
+            case STRING_IDENTIFIER:
+                return readString();
+            default:
+                throw new IllegalArgumentException("Unknown identifier kind " + kind);
+            }
+        }
+    }
+}
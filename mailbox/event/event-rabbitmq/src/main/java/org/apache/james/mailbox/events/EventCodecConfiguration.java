@@ -0,0 +1,115 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+
+package org.apache.james.mailbox.events;
+
+import java.util.Objects;
+import java.util.Optional;
+
+import org.apache.commons.configuration2.Configuration;
+import org.apache.james.event.json.EventSerializer;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+
+/**
+ * Chooses how events are published. Received events are decoded according to their content type whatever this
+ * configuration is: only enable the binary format once every node of the cluster is able to decode it.
+ */
+public class EventCodecConfiguration {
+    static final String CODEC_PROPERTY = "event.bus.codec";
+    static final String COMPRESSION_THRESHOLD_PROPERTY = "event.bus.codec.compressionThreshold";
+    static final String JSON_CODEC = "json";
+    static final String BINARY_CODEC = "binary";
+
+    public static final EventCodecConfiguration JSON = new EventCodecConfiguration(false, Optional.empty());
+    public static final EventCodecConfiguration DEFAULT = JSON;
+
+    public static EventCodecConfiguration from(Configuration configuration) {
+        String codec = configuration.getString(CODEC_PROPERTY, JSON_CODEC);
+        Optional<Integer> compressionThreshold = Optional.ofNullable(configuration.getInteger(COMPRESSION_THRESHOLD_PROPERTY, null));
+
+        if (codec.equalsIgnoreCase(BINARY_CODEC)) {
+            return compressionThreshold
+                .map(EventCodecConfiguration::binaryWithCompression)
+                .orElseGet(EventCodecConfiguration::binary);
+        }
+        Preconditions.checkArgument(codec.equalsIgnoreCase(JSON_CODEC), "Unknown event codec '%s', expecting '%s' or '%s'", codec, JSON_CODEC, BINARY_CODEC);
+        Preconditions.checkArgument(!compressionThreshold.isPresent(), "%s requires the %s codec", COMPRESSION_THRESHOLD_PROPERTY, BINARY_CODEC);
+        return JSON;
+    }
+
+    public static EventCodecConfiguration binary() {
+        return new EventCodecConfiguration(true, Optional.empty());
+    }
+
+    public static EventCodecConfiguration binaryWithCompression(int compressionThresholdInBytes) {
+        Preconditions.checkArgument(compressionThresholdInBytes >= 0, "compressionThresholdInBytes is not allowed to be negative");
+
+        return new EventCodecConfiguration(true, Optional.of(compressionThresholdInBytes));
+    }
+
+    private final boolean binaryEnabled;
+    private final Optional<Integer> compressionThreshold;
+
+    private EventCodecConfiguration(boolean binaryEnabled, Optional<Integer> compressionThreshold) {
+        this.binaryEnabled = binaryEnabled;
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    public EventMessageCodec codec(EventSerializer eventSerializer, BinaryEventCodec binaryEventCodec) {
+        return new EventMessageCodec(eventSerializer, binaryEventCodec, this);
+    }
+
+    public boolean isBinaryEnabled() {
+        return binaryEnabled;
+    }
+
+    /**
+     * Binary events at least this large, in bytes, are compressed.
+     */
+    public Optional<Integer> getCompressionThreshold() {
+        return compressionThreshold;
+    }
+
+    @Override
+    public final boolean equals(Object o) {
+        if (o instanceof EventCodecConfiguration) {
+            EventCodecConfiguration that = (EventCodecConfiguration) o;
+
+            return Objects.equals(this.binaryEnabled, that.binaryEnabled)
+                && Objects.equals(this.compressionThreshold, that.compressionThreshold);
+        }
+        return false;
+    }
+
+    @Override
+    public final int hashCode() {
+        return Objects.hash(binaryEnabled, compressionThreshold);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+            .add("binaryEnabled", binaryEnabled)
+            .add("compressionThreshold", compressionThreshold)
+            .toString();
+    }
+}
@@ -22,14 +22,17 @@ package org.apache.james.mailbox.events;
 import static com.rabbitmq.client.MessageProperties.PERSISTENT_TEXT_PLAIN;
 import static org.apache.james.backends.rabbitmq.Constants.DIRECT_EXCHANGE;
 import static org.apache.james.backends.rabbitmq.Constants.DURABLE;
+import static org.apache.james.backends.rabbitmq.Constants.EMPTY_ROUTING_KEY;
+import static org.apache.james.backends.rabbitmq.Constants.HEADERS_EXCHANGE;
 import static org.apache.james.mailbox.events.RabbitMQEventBus.EVENT_BUS_ID;
 import static org.apache.james.mailbox.events.RabbitMQEventBus.MAILBOX_EVENT_EXCHANGE_NAME;
+import static org.apache.james.mailbox.events.RabbitMQEventBus.MAILBOX_EVENT_GROUP_EXCHANGE_NAME;
 
-import java.nio.charset.StandardCharsets;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
 
-import org.apache.james.event.json.EventSerializer;
 import org.apache.james.mailbox.events.RoutingKeyConverter.RoutingKey;
 import org.apache.james.util.MDCBuilder;
 import org.apache.james.util.MDCStructuredLogger;
@@ -53,29 +56,31 @@ import reactor.util.function.Tuples;
 class EventDispatcher {
     private static final Logger LOGGER = LoggerFactory.getLogger(EventDispatcher.class);
 
-    private final EventSerializer eventSerializer;
+    private final EventMessageCodec eventMessageCodec;
     private final Sender sender;
     private final LocalListenerRegistry localListenerRegistry;
-    private final AMQP.BasicProperties basicProperties;
+    private final EventBusId eventBusId;
+    private final Map<Class<? extends Event>, Map<String, Object>> headers;
     private final MailboxListenerExecutor mailboxListenerExecutor;
 
-    EventDispatcher(EventBusId eventBusId, EventSerializer eventSerializer, Sender sender, LocalListenerRegistry localListenerRegistry, MailboxListenerExecutor mailboxListenerExecutor) {
-        this.eventSerializer = eventSerializer;
+    EventDispatcher(EventBusId eventBusId, EventMessageCodec eventMessageCodec, Sender sender, LocalListenerRegistry localListenerRegistry, MailboxListenerExecutor mailboxListenerExecutor) {
+        this.eventMessageCodec = eventMessageCodec;
         this.sender = sender;
         this.localListenerRegistry = localListenerRegistry;
-        this.basicProperties = new AMQP.BasicProperties.Builder()
-            .headers(ImmutableMap.of(EVENT_BUS_ID, eventBusId.asString()))
-            .deliveryMode(PERSISTENT_TEXT_PLAIN.getDeliveryMode())
-            .priority(PERSISTENT_TEXT_PLAIN.getPriority())
-            .contentType(PERSISTENT_TEXT_PLAIN.getContentType())
-            .build();
+        this.eventBusId = eventBusId;
+        this.headers = new ConcurrentHashMap<>();
         this.mailboxListenerExecutor = mailboxListenerExecutor;
     }
 
     void start() {
-        sender.declareExchange(ExchangeSpecification.exchange(MAILBOX_EVENT_EXCHANGE_NAME)
-            .durable(DURABLE)
-            .type(DIRECT_EXCHANGE))
+        Flux.concat(
+            sender.declareExchange(ExchangeSpecification.exchange(MAILBOX_EVENT_EXCHANGE_NAME)
+                .durable(DURABLE)
+                .type(DIRECT_EXCHANGE)),
+            sender.declareExchange(ExchangeSpecification.exchange(MAILBOX_EVENT_GROUP_EXCHANGE_NAME)
+                .durable(DURABLE)
+                .type(HEADERS_EXCHANGE)))
+            .then()
             .block();
     }
 
@@ -83,7 +88,7 @@ class EventDispatcher {
         return Flux
             .concat(
                 dispatchToLocalListeners(event, keys),
-                dispatchToRemoteListeners(serializeEvent(event), keys))
+                dispatchToRemoteListeners(event, keys))
             .subscribeOn(Schedulers.elastic())
             .doOnError(throwable -> LOGGER.error("error while dispatching event", throwable))
             .then()
@@ -123,16 +128,29 @@ class EventDispatcher {
             .addField(EventBus.StructuredLoggingFields.REGISTRATION_KEYS, keys);
     }
 
-    private Mono<Void> dispatchToRemoteListeners(byte[] serializedEvent, Set<RegistrationKey> keys) {
-        Stream<RoutingKey> routingKeys = Stream.concat(Stream.of(RoutingKey.empty()), keys.stream().map(RoutingKey::of));
+    private Mono<Void> dispatchToRemoteListeners(Event event, Set<RegistrationKey> keys) {
+        EventMessageCodec.EncodedEvent encodedEvent = eventMessageCodec.encode(event);
+        byte[] serializedEvent = encodedEvent.getBody();
+        AMQP.BasicProperties properties = basicProperties(event, encodedEvent);
 
-        Stream<OutboundMessage> outboundMessages = routingKeys
-            .map(routingKey -> new OutboundMessage(MAILBOX_EVENT_EXCHANGE_NAME, routingKey.asString(), basicProperties, serializedEvent));
+        OutboundMessage groupMessage = new OutboundMessage(MAILBOX_EVENT_GROUP_EXCHANGE_NAME, EMPTY_ROUTING_KEY, properties, serializedEvent);
+        Stream<OutboundMessage> keyMessages = keys.stream()
+            .map(RoutingKey::of)
+            .map(routingKey -> new OutboundMessage(MAILBOX_EVENT_EXCHANGE_NAME, routingKey.asString(), properties, serializedEvent));
 
-        return sender.send(Flux.fromStream(outboundMessages));
+        return sender.send(Flux.fromStream(Stream.concat(Stream.of(groupMessage), keyMessages)));
     }
 
-    private byte[] serializeEvent(Event event) {
-        return eventSerializer.toJson(event).getBytes(StandardCharsets.UTF_8);
+    private AMQP.BasicProperties basicProperties(Event event, EventMessageCodec.EncodedEvent encodedEvent) {
+        Map<String, Object> eventHeaders = headers.computeIfAbsent(event.getClass(), eventType -> ImmutableMap.<String, Object>builder()
+            .put(EVENT_BUS_ID, eventBusId.asString())
+            .putAll(EventTypeRouting.headers(eventType))
+            .build());
+
+        return encodedEvent.describe(new AMQP.BasicProperties.Builder()
+                .headers(eventHeaders)
+                .deliveryMode(PERSISTENT_TEXT_PLAIN.getDeliveryMode())
+                .priority(PERSISTENT_TEXT_PLAIN.getPriority()))
+            .build();
     }
 }
@@ -0,0 +1,40 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+
+package org.apache.james.mailbox.events;
+
+import java.util.Objects;
+
+/**
+ * Assigns events to the execution lanes of a group. Events of a mailbox always share a lane, and so do the other
+ * events of a user, hence they are handled in the order they were delivered.
+ */
+class EventLanes {
+    static int laneOf(Event event, int laneCount) {
+        return Math.floorMod(Objects.hashCode(orderingKey(event)), laneCount);
+    }
+
+    private static Object orderingKey(Event event) {
+        if (event instanceof MailboxListener.MailboxEvent) {
+            return ((MailboxListener.MailboxEvent) event).getMailboxId();
+        }
+        return event.getUsername();
+    }
+}
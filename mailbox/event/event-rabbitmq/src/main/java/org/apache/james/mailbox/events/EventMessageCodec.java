@@ -0,0 +1,126 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+
+package org.apache.james.mailbox.events;
+
+import static com.rabbitmq.client.MessageProperties.PERSISTENT_TEXT_PLAIN;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import org.apache.james.event.json.EventSerializer;
+
+import com.google.common.io.ByteStreams;
+import com.rabbitmq.client.AMQP;
+
+/**
+ * Encodes events as RabbitMQ message bodies. The content type and content encoding of each message tell how it was
+ * encoded, so nodes publishing JSON and nodes publishing binary events can share the same queues.
+ */
+public class EventMessageCodec {
+    static final String JSON_CONTENT_TYPE = PERSISTENT_TEXT_PLAIN.getContentType();
+    static final String BINARY_CONTENT_TYPE = "application/vnd.apache.james.mailbox-event";
+    static final String DEFLATE_ENCODING = "deflate";
+
+    public static class EncodedEvent {
+        private final byte[] body;
+        private final String contentType;
+        private final Optional<String> contentEncoding;
+
+        private EncodedEvent(byte[] body, String contentType, Optional<String> contentEncoding) {
+            this.body = body;
+            this.contentType = contentType;
+            this.contentEncoding = contentEncoding;
+        }
+
+        public byte[] getBody() {
+            return body;
+        }
+
+        public AMQP.BasicProperties.Builder describe(AMQP.BasicProperties.Builder properties) {
+            return properties
+                .contentType(contentType)
+                .contentEncoding(contentEncoding.orElse(null));
+        }
+    }
+
+    private final EventSerializer eventSerializer;
+    private final BinaryEventCodec binaryEventCodec;
+    private final EventCodecConfiguration configuration;
+
+    EventMessageCodec(EventSerializer eventSerializer, BinaryEventCodec binaryEventCodec, EventCodecConfiguration configuration) {
+        this.eventSerializer = eventSerializer;
+        this.binaryEventCodec = binaryEventCodec;
+        this.configuration = configuration;
+    }
+
+    public EncodedEvent encode(Event event) {
+        if (configuration.isBinaryEnabled() && binaryEventCodec.supports(event)) {
+            byte[] body = binaryEventCodec.encode(event);
+            boolean compress = configuration.getCompressionThreshold()
+                .map(threshold -> body.length >= threshold)
+                .orElse(false);
+            if (compress) {
+                return new EncodedEvent(deflate(body), BINARY_CONTENT_TYPE, Optional.of(DEFLATE_ENCODING));
+            }
+            return new EncodedEvent(body, BINARY_CONTENT_TYPE, Optional.empty());
+        }
+        return new EncodedEvent(eventSerializer.toJson(event).getBytes(StandardCharsets.UTF_8), JSON_CONTENT_TYPE, Optional.empty());
+    }
+
+    public Event decode(byte[] body, AMQP.BasicProperties properties) {
+        byte[] decompressed = decompress(body, properties);
+        if (BINARY_CONTENT_TYPE.equals(properties.getContentType())) {
+            return binaryEventCodec.decode(decompressed);
+        }
+        return eventSerializer.fromJson(new String(decompressed, StandardCharsets.UTF_8)).get();
+    }
+
+    private byte[] decompress(byte[] body, AMQP.BasicProperties properties) {
+        if (DEFLATE_ENCODING.equals(properties.getContentEncoding())) {
+            return inflate(body);
+        }
+        return body;
+    }
+
+    private byte[] deflate(byte[] body) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream(body.length / 2);
+        try (DeflaterOutputStream deflater = new DeflaterOutputStream(output)) {
+            deflater.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return output.toByteArray();
+    }
+
+    private byte[] inflate(byte[] body) {
+        try (InflaterInputStream inflater = new InflaterInputStream(new ByteArrayInputStream(body))) {
+            return ByteStreams.toByteArray(inflater);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+
+package org.apache.james.mailbox.events;
+
+import java.util.Map;
+import java.util.Set;
+
+import com.github.steveash.guavate.Guavate;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.reflect.TypeToken;
+
+/**
+ * Carries the type of an event as AMQP headers, one header per type of its hierarchy, so that a headers exchange
+ * binding matching any of the handled event types routes exactly the events a group listener is interested in.
+ */
+class EventTypeRouting {
+    static final String EVENT_TYPE_HEADER_PREFIX = "eventType:";
+    static final String X_MATCH = "x-match";
+    static final String MATCH_ANY = "any";
+    private static final Boolean PRESENT = true;
+
+    static Map<String, Object> headers(Class<? extends Event> eventType) {
+        return TypeToken.of(eventType)
+            .getTypes()
+            .rawTypes()
+            .stream()
+            .filter(Event.class::isAssignableFrom)
+            .collect(Guavate.toImmutableMap(EventTypeRouting::headerName, type -> PRESENT));
+    }
+
+    /**
+     * An empty set of handled event types means no filtering: every event is routed.
+     */
+    static Map<String, Object> bindingArguments(Set<Class<? extends Event>> handledEventTypes) {
+        Set<Class<? extends Event>> routedEventTypes = handledEventTypes.isEmpty() ? MailboxListener.ALL_EVENT_TYPES : handledEventTypes;
+
+        return ImmutableMap.<String, Object>builder()
+            .put(X_MATCH, MATCH_ANY)
+            .putAll(routedEventTypes.stream()
+                .collect(Guavate.toImmutableMap(EventTypeRouting::headerName, type -> PRESENT)))
+            .build();
+    }
+
+    private static String headerName(Class<?> eventType) {
+        return EVENT_TYPE_HEADER_PREFIX + eventType.getName();
+    }
+}
@@ -26,9 +26,6 @@ import static org.apache.james.backends.rabbitmq.Constants.EMPTY_ROUTING_KEY;
 import static org.apache.james.mailbox.events.GroupRegistration.RETRY_COUNT;
 import static org.apache.james.mailbox.events.RabbitMQEventBus.MAILBOX_EVENT;
 
-import java.nio.charset.StandardCharsets;
-
-import org.apache.james.event.json.EventSerializer;
 import org.apache.james.util.MDCStructuredLogger;
 import org.apache.james.util.StructuredLogger;
 import org.slf4j.Logger;
@@ -74,16 +71,16 @@ class GroupConsumerRetry {
     private final RetryBackoffConfiguration retryBackoff;
     private final EventDeadLetters eventDeadLetters;
     private final Group group;
-    private final EventSerializer eventSerializer;
+    private final EventMessageCodec eventMessageCodec;
 
     GroupConsumerRetry(Sender sender, Group group, RetryBackoffConfiguration retryBackoff,
-                       EventDeadLetters eventDeadLetters, EventSerializer eventSerializer) {
+                       EventDeadLetters eventDeadLetters, EventMessageCodec eventMessageCodec) {
         this.sender = sender;
         this.retryExchangeName = RetryExchangeName.of(group);
         this.retryBackoff = retryBackoff;
         this.eventDeadLetters = eventDeadLetters;
         this.group = group;
-        this.eventSerializer = eventSerializer;
+        this.eventMessageCodec = eventMessageCodec;
     }
 
     Mono<Void> createRetryExchange(GroupRegistration.WorkQueueName queueName) {
@@ -112,18 +109,17 @@ class GroupConsumerRetry {
     }
 
     private Mono<Void> sendRetryMessage(Event event, int currentRetryCount) {
-        byte[] eventAsBytes = eventSerializer.toJson(event).getBytes(StandardCharsets.UTF_8);
+        EventMessageCodec.EncodedEvent encodedEvent = eventMessageCodec.encode(event);
 
         Mono<OutboundMessage> retryMessage = Mono.just(new OutboundMessage(
             retryExchangeName.asString(),
             EMPTY_ROUTING_KEY,
-            new AMQP.BasicProperties.Builder()
-                .headers(ImmutableMap.of(RETRY_COUNT, currentRetryCount + 1))
-                .deliveryMode(PERSISTENT_TEXT_PLAIN.getDeliveryMode())
-                .priority(PERSISTENT_TEXT_PLAIN.getPriority())
-                .contentType(PERSISTENT_TEXT_PLAIN.getContentType())
+            encodedEvent.describe(new AMQP.BasicProperties.Builder()
+                    .headers(ImmutableMap.of(RETRY_COUNT, currentRetryCount + 1))
+                    .deliveryMode(PERSISTENT_TEXT_PLAIN.getDeliveryMode())
+                    .priority(PERSISTENT_TEXT_PLAIN.getPriority()))
                 .build(),
-            eventAsBytes));
+            encodedEvent.getBody()));
 
         return sender.send(retryMessage)
             .doOnError(throwable -> createStructuredLogger(event)
@@ -0,0 +1,108 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+
+package org.apache.james.mailbox.events;
+
+import java.util.Objects;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+
+/**
+ * Controls how a group consumes its work queue: events are spread on {@code laneCount} lanes, each lane executing its
+ * events one after the other, while at most {@code prefetch} unacknowledged deliveries are held by the consumer.
+ */
+public class GroupExecutionConfiguration {
+
+    @FunctionalInterface
+    public interface RequireLaneCount {
+        RequirePrefetch laneCount(int laneCount);
+    }
+
+    @FunctionalInterface
+    public interface RequirePrefetch {
+        ReadyToBuild prefetch(int prefetch);
+    }
+
+    public static class ReadyToBuild {
+        private final int laneCount;
+        private final int prefetch;
+
+        private ReadyToBuild(int laneCount, int prefetch) {
+            this.laneCount = laneCount;
+            this.prefetch = prefetch;
+        }
+
+        public GroupExecutionConfiguration build() {
+            return new GroupExecutionConfiguration(laneCount, prefetch);
+        }
+    }
+
+    public static RequireLaneCount builder() {
+        return laneCount -> prefetch -> new ReadyToBuild(laneCount, prefetch);
+    }
+
+    static final int DEFAULT_LANE_COUNT = EventBus.EXECUTION_RATE;
+    static final int DEFAULT_PREFETCH = EventBus.EXECUTION_RATE;
+    public static final GroupExecutionConfiguration DEFAULT = new GroupExecutionConfiguration(DEFAULT_LANE_COUNT, DEFAULT_PREFETCH);
+
+    private final int laneCount;
+    private final int prefetch;
+
+    private GroupExecutionConfiguration(int laneCount, int prefetch) {
+        Preconditions.checkArgument(laneCount > 0, "laneCount needs to be strictly positive");
+        Preconditions.checkArgument(prefetch > 0, "prefetch needs to be strictly positive");
+
+        this.laneCount = laneCount;
+        this.prefetch = prefetch;
+    }
+
+    public int getLaneCount() {
+        return laneCount;
+    }
+
+    public int getPrefetch() {
+        return prefetch;
+    }
+
+    @Override
+    public final boolean equals(Object o) {
+        if (o instanceof GroupExecutionConfiguration) {
+            GroupExecutionConfiguration that = (GroupExecutionConfiguration) o;
+
+            return Objects.equals(this.laneCount, that.laneCount)
+                && Objects.equals(this.prefetch, that.prefetch);
+        }
+        return false;
+    }
+
+    @Override
+    public final int hashCode() {
+        return Objects.hash(laneCount, prefetch);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+            .add("laneCount", laneCount)
+            .add("prefetch", prefetch)
+            .toString();
+    }
+}
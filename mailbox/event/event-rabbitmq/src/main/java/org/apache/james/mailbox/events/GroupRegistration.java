@@ -26,14 +26,13 @@ import static org.apache.james.backends.rabbitmq.Constants.EXCLUSIVE;
 import static org.apache.james.backends.rabbitmq.Constants.NO_ARGUMENTS;
 import static org.apache.james.mailbox.events.RabbitMQEventBus.MAILBOX_EVENT;
 import static org.apache.james.mailbox.events.RabbitMQEventBus.MAILBOX_EVENT_EXCHANGE_NAME;
+import static org.apache.james.mailbox.events.RabbitMQEventBus.MAILBOX_EVENT_GROUP_EXCHANGE_NAME;
 import static org.apache.james.mailbox.events.RetryBackoffConfiguration.FOREVER;
 
-import java.nio.charset.StandardCharsets;
 import java.util.Objects;
 import java.util.Optional;
 
 import org.apache.james.backends.rabbitmq.ReceiverProvider;
-import org.apache.james.event.json.EventSerializer;
 import org.apache.james.util.MDCBuilder;
 
 import com.github.fge.lambdas.Throwing;
@@ -41,6 +40,7 @@ import com.google.common.base.Preconditions;
 
 import reactor.core.Disposable;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.GroupedFlux;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
 import reactor.rabbitmq.AcknowledgableDelivery;
@@ -49,6 +49,8 @@ import reactor.rabbitmq.ConsumeOptions;
 import reactor.rabbitmq.QueueSpecification;
 import reactor.rabbitmq.Receiver;
 import reactor.rabbitmq.Sender;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
 
 class GroupRegistration implements Registration {
     static class WorkQueueName {
@@ -72,34 +74,39 @@ class GroupRegistration implements Registration {
 
     static final String RETRY_COUNT = "retry-count";
     static final int DEFAULT_RETRY_COUNT = 0;
+    private static final int RETRY_LANE = -1;
 
     private final MailboxListener mailboxListener;
     private final WorkQueueName queueName;
     private final Receiver receiver;
     private final Runnable unregisterGroup;
     private final Sender sender;
-    private final EventSerializer eventSerializer;
+    private final EventMessageCodec eventMessageCodec;
     private final GroupConsumerRetry retryHandler;
     private final WaitDelayGenerator delayGenerator;
     private final Group group;
     private final RetryBackoffConfiguration retryBackoff;
     private final MailboxListenerExecutor mailboxListenerExecutor;
+    private final GroupExecutionConfiguration executionConfiguration;
+    private final LegacyGroupBinding legacyGroupBinding;
     private Optional<Disposable> receiverSubscriber;
 
-    GroupRegistration(Sender sender, ReceiverProvider receiverProvider, EventSerializer eventSerializer,
+    GroupRegistration(Sender sender, ReceiverProvider receiverProvider, EventMessageCodec eventMessageCodec,
                       MailboxListener mailboxListener, Group group, RetryBackoffConfiguration retryBackoff,
-                      EventDeadLetters eventDeadLetters,
-                      Runnable unregisterGroup, MailboxListenerExecutor mailboxListenerExecutor) {
-        this.eventSerializer = eventSerializer;
+                      GroupExecutionConfiguration executionConfiguration, LegacyGroupBinding legacyGroupBinding,
+                      EventDeadLetters eventDeadLetters, Runnable unregisterGroup, MailboxListenerExecutor mailboxListenerExecutor) {
+        this.eventMessageCodec = eventMessageCodec;
         this.mailboxListener = mailboxListener;
         this.queueName = WorkQueueName.of(group);
         this.sender = sender;
         this.receiver = receiverProvider.createReceiver();
         this.retryBackoff = retryBackoff;
+        this.executionConfiguration = executionConfiguration;
+        this.legacyGroupBinding = legacyGroupBinding;
         this.mailboxListenerExecutor = mailboxListenerExecutor;
         this.receiverSubscriber = Optional.empty();
         this.unregisterGroup = unregisterGroup;
-        this.retryHandler = new GroupConsumerRetry(sender, group, retryBackoff, eventDeadLetters, eventSerializer);
+        this.retryHandler = new GroupConsumerRetry(sender, group, retryBackoff, eventDeadLetters, eventMessageCodec);
         this.delayGenerator = WaitDelayGenerator.of(retryBackoff);
         this.group = group;
     }
@@ -122,23 +129,65 @@ class GroupRegistration implements Registration {
                 .autoDelete(!AUTO_DELETE)
                 .arguments(NO_ARGUMENTS)),
             sender.bind(BindingSpecification.binding()
-                .exchange(MAILBOX_EVENT_EXCHANGE_NAME)
+                .exchange(MAILBOX_EVENT_GROUP_EXCHANGE_NAME)
                 .queue(queueName.asString())
-                .routingKey(EMPTY_ROUTING_KEY)))
+                .routingKey(EMPTY_ROUTING_KEY)
+                .arguments(EventTypeRouting.bindingArguments(mailboxListener.getHandledEventTypes()))),
+            removeLegacyBindingIfRequested())
             .then();
     }
 
+    private Mono<?> removeLegacyBindingIfRequested() {
+        if (legacyGroupBinding == LegacyGroupBinding.REMOVE) {
+            return sender.unbind(legacyBinding());
+        }
+        return Mono.empty();
+    }
+
+    /**
+     * Work queues used to receive every event through the event exchange. See {@link LegacyGroupBinding}.
+     */
+    private BindingSpecification legacyBinding() {
+        return BindingSpecification.binding()
+            .exchange(MAILBOX_EVENT_EXCHANGE_NAME)
+            .queue(queueName.asString())
+            .routingKey(EMPTY_ROUTING_KEY)
+            .arguments(NO_ARGUMENTS);
+    }
+
+    /**
+     * Deliveries are spread on ordered lanes by {@link EventLanes}: lanes run concurrently, while the events of a lane
+     * are executed one after the other, in delivery order.
+     *
+     * Retried deliveries already lost their order and wait for their retry delay before being executed: they are
+     * executed concurrently on a separate lane so that this delay does not hold back the ordered lanes.
+     */
     private Disposable consumeWorkQueue() {
-        return receiver.consumeManualAck(queueName.asString(), new ConsumeOptions().qos(EventBus.EXECUTION_RATE))
+        int laneCount = executionConfiguration.getLaneCount();
+        return receiver.consumeManualAck(queueName.asString(), new ConsumeOptions().qos(executionConfiguration.getPrefetch()))
             .publishOn(Schedulers.parallel())
             .filter(delivery -> Objects.nonNull(delivery.getBody()))
-            .flatMap(this::deliver)
+            .map(delivery -> Tuples.of(delivery, eventMessageCodec.decode(delivery.getBody(), delivery.getProperties())))
+            .groupBy(delivery -> laneOf(delivery, laneCount))
+            .flatMap(this::deliverLane, laneCount + 1)
             .subscribe();
     }
 
-    private Mono<Void> deliver(AcknowledgableDelivery acknowledgableDelivery) {
-        byte[] eventAsBytes = acknowledgableDelivery.getBody();
-        Event event = eventSerializer.fromJson(new String(eventAsBytes, StandardCharsets.UTF_8)).get();
+    private int laneOf(Tuple2<AcknowledgableDelivery, Event> delivery, int laneCount) {
+        if (getRetryCount(delivery.getT1()) > DEFAULT_RETRY_COUNT) {
+            return RETRY_LANE;
+        }
+        return EventLanes.laneOf(delivery.getT2(), laneCount);
+    }
+
+    private Flux<Void> deliverLane(GroupedFlux<Integer, Tuple2<AcknowledgableDelivery, Event>> lane) {
+        if (lane.key() == RETRY_LANE) {
+            return lane.flatMap(delivery -> deliver(delivery.getT1(), delivery.getT2()), executionConfiguration.getPrefetch());
+        }
+        return lane.concatMap(delivery -> deliver(delivery.getT1(), delivery.getT2()));
+    }
+
+    private Mono<Void> deliver(AcknowledgableDelivery acknowledgableDelivery, Event event) {
         int currentRetryCount = getRetryCount(acknowledgableDelivery);
 
         return delayGenerator.delayIfHaveTo(currentRetryCount)
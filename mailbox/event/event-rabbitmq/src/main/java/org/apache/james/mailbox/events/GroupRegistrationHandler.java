@@ -24,26 +24,29 @@ import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.james.backends.rabbitmq.ReceiverProvider;
-import org.apache.james.event.json.EventSerializer;
 
 import reactor.rabbitmq.Sender;
 
 class GroupRegistrationHandler {
     private final Map<Group, GroupRegistration> groupRegistrations;
-    private final EventSerializer eventSerializer;
+    private final EventMessageCodec eventMessageCodec;
     private final Sender sender;
     private final ReceiverProvider receiverProvider;
     private final RetryBackoffConfiguration retryBackoff;
+    private final GroupExecutionConfiguration executionConfiguration;
+    private final LegacyGroupBinding legacyGroupBinding;
     private final EventDeadLetters eventDeadLetters;
     private final MailboxListenerExecutor mailboxListenerExecutor;
 
-    GroupRegistrationHandler(EventSerializer eventSerializer, Sender sender, ReceiverProvider receiverProvider,
-                             RetryBackoffConfiguration retryBackoff,
-                             EventDeadLetters eventDeadLetters, MailboxListenerExecutor mailboxListenerExecutor) {
-        this.eventSerializer = eventSerializer;
+    GroupRegistrationHandler(EventMessageCodec eventMessageCodec, Sender sender, ReceiverProvider receiverProvider,
+                             RetryBackoffConfiguration retryBackoff, GroupExecutionConfiguration executionConfiguration,
+                             LegacyGroupBinding legacyGroupBinding, EventDeadLetters eventDeadLetters, MailboxListenerExecutor mailboxListenerExecutor) {
+        this.eventMessageCodec = eventMessageCodec;
         this.sender = sender;
         this.receiverProvider = receiverProvider;
         this.retryBackoff = retryBackoff;
+        this.executionConfiguration = executionConfiguration;
+        this.legacyGroupBinding = legacyGroupBinding;
         this.eventDeadLetters = eventDeadLetters;
         this.mailboxListenerExecutor = mailboxListenerExecutor;
         this.groupRegistrations = new ConcurrentHashMap<>();
@@ -73,10 +76,12 @@ class GroupRegistrationHandler {
         return new GroupRegistration(
             sender,
             receiverProvider,
-            eventSerializer,
+            eventMessageCodec,
             listener,
             group,
             retryBackoff,
+            executionConfiguration,
+            legacyGroupBinding,
             eventDeadLetters,
             () -> groupRegistrations.remove(group),
             mailboxListenerExecutor);
@@ -25,14 +25,12 @@ import static org.apache.james.backends.rabbitmq.Constants.EXCLUSIVE;
 import static org.apache.james.mailbox.events.RabbitMQEventBus.EVENT_BUS_ID;
 import static org.apache.james.mailbox.events.RetryBackoffConfiguration.FOREVER;
 
-import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.apache.james.backends.rabbitmq.ReceiverProvider;
-import org.apache.james.event.json.EventSerializer;
 import org.apache.james.util.MDCBuilder;
 import org.apache.james.util.MDCStructuredLogger;
 import org.apache.james.util.StructuredLogger;
@@ -61,7 +59,7 @@ class KeyRegistrationHandler {
 
     private final EventBusId eventBusId;
     private final LocalListenerRegistry localListenerRegistry;
-    private final EventSerializer eventSerializer;
+    private final EventMessageCodec eventMessageCodec;
     private final Sender sender;
     private final RoutingKeyConverter routingKeyConverter;
     private final Receiver receiver;
@@ -72,12 +70,12 @@ class KeyRegistrationHandler {
     private Optional<Disposable> receiverSubscriber;
     private AtomicBoolean registrationQueueInitialized = new AtomicBoolean(false);
 
-    KeyRegistrationHandler(EventBusId eventBusId, EventSerializer eventSerializer,
+    KeyRegistrationHandler(EventBusId eventBusId, EventMessageCodec eventMessageCodec,
                            Sender sender, ReceiverProvider receiverProvider,
                            RoutingKeyConverter routingKeyConverter, LocalListenerRegistry localListenerRegistry,
                            MailboxListenerExecutor mailboxListenerExecutor, RetryBackoffConfiguration retryBackoff) {
         this.eventBusId = eventBusId;
-        this.eventSerializer = eventSerializer;
+        this.eventMessageCodec = eventMessageCodec;
         this.sender = sender;
         this.routingKeyConverter = routingKeyConverter;
         this.localListenerRegistry = localListenerRegistry;
@@ -178,7 +176,7 @@ class KeyRegistrationHandler {
     }
 
     private Event toEvent(Delivery delivery) {
-        return eventSerializer.fromJson(new String(delivery.getBody(), StandardCharsets.UTF_8)).get();
+        return eventMessageCodec.decode(delivery.getBody(), delivery.getProperties());
     }
 
     private StructuredLogger structuredLogger(Event event, RegistrationKey key) {
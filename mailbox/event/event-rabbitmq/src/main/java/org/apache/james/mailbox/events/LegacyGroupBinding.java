@@ -0,0 +1,43 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+
+package org.apache.james.mailbox.events;
+
+import org.apache.commons.configuration2.Configuration;
+
+/**
+ * Group work queues used to be bound to the event exchange with the empty routing key. Nodes routing events by type
+ * no longer publish group events there, but nodes that are not upgraded yet still do: keeping that binding during a
+ * rolling upgrade makes their events reach every group. Once the whole cluster is upgraded, the binding is useless and
+ * {@link #REMOVE} makes group registrations drop it on start.
+ */
+public enum LegacyGroupBinding {
+    KEEP,
+    REMOVE;
+
+    static final String REMOVE_LEGACY_GROUP_BINDING_PROPERTY = "event.bus.group.legacyBinding.remove";
+
+    public static LegacyGroupBinding from(Configuration configuration) {
+        if (configuration.getBoolean(REMOVE_LEGACY_GROUP_BINDING_PROPERTY, false)) {
+            return REMOVE;
+        }
+        return KEEP;
+    }
+}
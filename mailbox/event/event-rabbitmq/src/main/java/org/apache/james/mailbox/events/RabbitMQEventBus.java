@@ -39,11 +39,14 @@ public class RabbitMQEventBus implements EventBus, Startable {
     private static final String NOT_RUNNING_ERROR_MESSAGE = "Event Bus is not running";
     static final String MAILBOX_EVENT = "mailboxEvent";
     static final String MAILBOX_EVENT_EXCHANGE_NAME = MAILBOX_EVENT + "-exchange";
+    static final String MAILBOX_EVENT_GROUP_EXCHANGE_NAME = MAILBOX_EVENT + "-groupExchange";
     static final String EVENT_BUS_ID = "eventBusId";
 
-    private final EventSerializer eventSerializer;
+    private final EventMessageCodec eventMessageCodec;
     private final RoutingKeyConverter routingKeyConverter;
     private final RetryBackoffConfiguration retryBackoff;
+    private final GroupExecutionConfiguration groupExecutionConfiguration;
+    private final LegacyGroupBinding legacyGroupBinding;
     private final EventBusId eventBusId;
     private final EventDeadLetters eventDeadLetters;
     private final MailboxListenerExecutor mailboxListenerExecutor;
@@ -58,16 +61,19 @@ public class RabbitMQEventBus implements EventBus, Startable {
 
     @Inject
     public RabbitMQEventBus(Sender sender, ReceiverProvider receiverProvider, EventSerializer eventSerializer,
-                            RetryBackoffConfiguration retryBackoff,
-                            RoutingKeyConverter routingKeyConverter,
+                            BinaryEventCodec binaryEventCodec, EventCodecConfiguration codecConfiguration,
+                            RetryBackoffConfiguration retryBackoff, GroupExecutionConfiguration groupExecutionConfiguration,
+                            LegacyGroupBinding legacyGroupBinding, RoutingKeyConverter routingKeyConverter,
                             EventDeadLetters eventDeadLetters, MetricFactory metricFactory) {
         this.sender = sender;
         this.receiverProvider = receiverProvider;
         this.mailboxListenerExecutor = new MailboxListenerExecutor(metricFactory);
         this.eventBusId = EventBusId.random();
-        this.eventSerializer = eventSerializer;
+        this.eventMessageCodec = codecConfiguration.codec(eventSerializer, binaryEventCodec);
         this.routingKeyConverter = routingKeyConverter;
         this.retryBackoff = retryBackoff;
+        this.groupExecutionConfiguration = groupExecutionConfiguration;
+        this.legacyGroupBinding = legacyGroupBinding;
         this.eventDeadLetters = eventDeadLetters;
         this.isRunning = false;
         this.isStopping = false;
@@ -77,9 +83,9 @@ public class RabbitMQEventBus implements EventBus, Startable {
         if (!isRunning && !isStopping) {
 
             LocalListenerRegistry localListenerRegistry = new LocalListenerRegistry();
-            keyRegistrationHandler = new KeyRegistrationHandler(eventBusId, eventSerializer, sender, receiverProvider, routingKeyConverter, localListenerRegistry, mailboxListenerExecutor, retryBackoff);
-            groupRegistrationHandler = new GroupRegistrationHandler(eventSerializer, sender, receiverProvider, retryBackoff, eventDeadLetters, mailboxListenerExecutor);
-            eventDispatcher = new EventDispatcher(eventBusId, eventSerializer, sender, localListenerRegistry, mailboxListenerExecutor);
+            keyRegistrationHandler = new KeyRegistrationHandler(eventBusId, eventMessageCodec, sender, receiverProvider, routingKeyConverter, localListenerRegistry, mailboxListenerExecutor, retryBackoff);
+            groupRegistrationHandler = new GroupRegistrationHandler(eventMessageCodec, sender, receiverProvider, retryBackoff, groupExecutionConfiguration, legacyGroupBinding, eventDeadLetters, mailboxListenerExecutor);
+            eventDispatcher = new EventDispatcher(eventBusId, eventMessageCodec, sender, localListenerRegistry, mailboxListenerExecutor);
 
             eventDispatcher.start();
             keyRegistrationHandler.start();
@@ -92,9 +98,9 @@ public class RabbitMQEventBus implements EventBus, Startable {
         if (!isRunning && !isStopping) {
 
             LocalListenerRegistry localListenerRegistry = new LocalListenerRegistry();
-            keyRegistrationHandler = new KeyRegistrationHandler(eventBusId, eventSerializer, sender, receiverProvider, routingKeyConverter, localListenerRegistry, mailboxListenerExecutor, retryBackoff);
-            groupRegistrationHandler = new GroupRegistrationHandler(eventSerializer, sender, receiverProvider, retryBackoff, eventDeadLetters, mailboxListenerExecutor);
-            eventDispatcher = new EventDispatcher(eventBusId, eventSerializer, sender, localListenerRegistry, mailboxListenerExecutor);
+            keyRegistrationHandler = new KeyRegistrationHandler(eventBusId, eventMessageCodec, sender, receiverProvider, routingKeyConverter, localListenerRegistry, mailboxListenerExecutor, retryBackoff);
+            groupRegistrationHandler = new GroupRegistrationHandler(eventMessageCodec, sender, receiverProvider, retryBackoff, groupExecutionConfiguration, legacyGroupBinding, eventDeadLetters, mailboxListenerExecutor);
+            eventDispatcher = new EventDispatcher(eventBusId, eventMessageCodec, sender, localListenerRegistry, mailboxListenerExecutor);
 
             keyRegistrationHandler.declareQueue();
 
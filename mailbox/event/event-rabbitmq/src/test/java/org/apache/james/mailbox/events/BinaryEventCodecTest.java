@@ -0,0 +1,233 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+
+package org.apache.james.mailbox.events;
+
+import static org.apache.james.mailbox.events.EventBusTestFixture.EVENT;
+import static org.apache.james.mailbox.events.EventBusTestFixture.EVENT_ID;
+import static org.apache.james.mailbox.events.EventBusTestFixture.MAILBOX_PATH;
+import static org.apache.james.mailbox.events.EventBusTestFixture.SESSION_ID;
+import static org.apache.james.mailbox.events.EventBusTestFixture.TEST_ID;
+import static org.apache.james.mailbox.events.EventBusTestFixture.USERNAME;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Arrays;
+import java.util.Date;
+
+import javax.mail.Flags;
+
+import org.apache.james.mailbox.MessageUid;
+import org.apache.james.mailbox.ModSeq;
+import org.apache.james.mailbox.model.MailboxId;
+import org.apache.james.mailbox.model.MailboxPath;
+import org.apache.james.mailbox.model.MessageId;
+import org.apache.james.mailbox.model.MessageMetaData;
+import org.apache.james.mailbox.model.TestId;
+import org.apache.james.mailbox.model.TestMessageId;
+import org.apache.james.mailbox.model.UpdatedFlags;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSortedMap;
+
+class BinaryEventCodecTest {
+    // 36 characters preceded by their length, instead of 16 bytes
+    private static final int UUID_AS_STRING_OVERHEAD = 36 + 1 - 16;
+    private static final Flags FLAGS = new Flags(Flags.Flag.SEEN);
+    private static final Flags FLAGS_WITH_USER_FLAGS = flags("$Forwarded", "custom");
+    private static final MessageMetaData META_DATA_1 = new MessageMetaData(MessageUid.of(36), ModSeq.of(12), FLAGS, 1024, new Date(1563000000000L), TestMessageId.of(42));
+    private static final MessageMetaData META_DATA_2 = new MessageMetaData(MessageUid.of(38), ModSeq.of(11), FLAGS_WITH_USER_FLAGS, 2048, new Date(1562000000000L), TestMessageId.of(43));
+    private static final MailboxListener.Added ADDED = new MailboxListener.Added(SESSION_ID, USERNAME, MAILBOX_PATH, TEST_ID,
+        ImmutableSortedMap.of(META_DATA_1.getUid(), META_DATA_1, META_DATA_2.getUid(), META_DATA_2), EVENT_ID);
+
+    private static Flags flags(String... userFlags) {
+        Flags flags = new Flags(Flags.Flag.ANSWERED);
+        flags.add(Flags.Flag.DRAFT);
+        Arrays.stream(userFlags).forEach(flags::add);
+        return flags;
+    }
+
+    private BinaryEventCodec testee;
+
+    @BeforeEach
+    void setUp() {
+        testee = new BinaryEventCodec(new TestId.Factory(), new TestMessageId.Factory());
+    }
+
+    @Test
+    void supportsShouldBeFalseForEventsWithoutMessageData() {
+        assertThat(testee.supports(EVENT)).isFalse();
+    }
+
+    @Test
+    void encodeShouldThrowOnUnsupportedEvents() {
+        assertThatThrownBy(() -> testee.encode(EVENT))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void addedShouldRoundTrip() {
+        assertThat(testee.decode(testee.encode(ADDED)))
+            .usingRecursiveComparison()
+            .isEqualTo(ADDED);
+    }
+
+    @Test
+    void expungedShouldRoundTrip() {
+        MailboxListener.Expunged expunged = new MailboxListener.Expunged(SESSION_ID, USERNAME, MAILBOX_PATH, TEST_ID,
+            ImmutableMap.of(META_DATA_2.getUid(), META_DATA_2, META_DATA_1.getUid(), META_DATA_1), EVENT_ID);
+
+        assertThat(testee.decode(testee.encode(expunged)))
+            .usingRecursiveComparison()
+            .isEqualTo(expunged);
+    }
+
+    @Test
+    void flagsUpdatedShouldRoundTrip() {
+        MailboxListener.FlagsUpdated flagsUpdated = new MailboxListener.FlagsUpdated(SESSION_ID, USERNAME, MAILBOX_PATH, TEST_ID,
+            ImmutableList.of(
+                UpdatedFlags.builder()
+                    .uid(MessageUid.of(36))
+                    .modSeq(ModSeq.of(35))
+                    .oldFlags(FLAGS)
+                    .newFlags(FLAGS_WITH_USER_FLAGS)
+                    .build(),
+                UpdatedFlags.builder()
+                    .uid(MessageUid.of(12))
+                    .modSeq(ModSeq.of(36))
+                    .oldFlags(flags("custom"))
+                    .newFlags(new Flags())
+                    .build()),
+            EVENT_ID);
+
+        assertThat(testee.decode(testee.encode(flagsUpdated)))
+            .usingRecursiveComparison()
+            .isEqualTo(flagsUpdated);
+    }
+
+    @Test
+    void eventsWithoutMessagesShouldRoundTrip() {
+        MailboxListener.Added added = new MailboxListener.Added(SESSION_ID, USERNAME, MAILBOX_PATH, TEST_ID, ImmutableSortedMap.of(), EVENT_ID);
+
+        assertThat(testee.decode(testee.encode(added)))
+            .usingRecursiveComparison()
+            .isEqualTo(added);
+    }
+
+    @Test
+    void pathWithoutUserShouldRoundTrip() {
+        MailboxPath sharedPath = new MailboxPath("#public", null, "shared");
+        MailboxListener.Added added = new MailboxListener.Added(SESSION_ID, USERNAME, sharedPath, TEST_ID,
+            ImmutableSortedMap.of(META_DATA_1.getUid(), META_DATA_1), EVENT_ID);
+
+        assertThat(testee.decode(testee.encode(added)))
+            .usingRecursiveComparison()
+            .isEqualTo(added);
+    }
+
+    @Test
+    void uuidIdentifiersShouldRoundTrip() {
+        UuidId mailboxId = new UuidId("b1c5a0e0-3b5c-11ea-a8b8-27b6c8ba7b3b");
+        UuidId messageId = new UuidId("c2d5a0e0-3b5c-11ea-a8b8-27b6c8ba7b3b");
+        BinaryEventCodec uuidTestee = new BinaryEventCodec(new UuidId.Factory(), new UuidId.Factory());
+        MessageMetaData metaData = new MessageMetaData(MessageUid.of(36), ModSeq.of(12), FLAGS, 1024, new Date(1563000000000L), messageId);
+        MailboxListener.Added added = new MailboxListener.Added(SESSION_ID, USERNAME, MAILBOX_PATH, mailboxId,
+            ImmutableSortedMap.of(metaData.getUid(), metaData), EVENT_ID);
+
+        assertThat(uuidTestee.decode(uuidTestee.encode(added)))
+            .usingRecursiveComparison()
+            .isEqualTo(added);
+    }
+
+    @Test
+    void uuidIdentifiersShouldBeWrittenAsBytes() {
+        UuidId uuidId = new UuidId("b1c5a0e0-3b5c-11ea-a8b8-27b6c8ba7b3b");
+        UuidId otherUuidId = new UuidId("B1C5A0E0-3B5C-11EA-A8B8-27B6C8BA7B3B");
+        BinaryEventCodec uuidTestee = new BinaryEventCodec(new UuidId.Factory(), new UuidId.Factory());
+
+        int uuidLength = uuidTestee.encode(new MailboxListener.Added(SESSION_ID, USERNAME, MAILBOX_PATH, uuidId, ImmutableSortedMap.of(), EVENT_ID)).length;
+        int stringLength = uuidTestee.encode(new MailboxListener.Added(SESSION_ID, USERNAME, MAILBOX_PATH, otherUuidId, ImmutableSortedMap.of(), EVENT_ID)).length;
+
+        assertThat(stringLength - uuidLength).isEqualTo(UUID_AS_STRING_OVERHEAD);
+    }
+
+    @Test
+    void decodeShouldThrowOnUnknownVersion() {
+        byte[] bytes = testee.encode(ADDED);
+        bytes[0] = BinaryEventCodec.VERSION + 1;
+
+        assertThatThrownBy(() -> testee.decode(bytes))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void decodeShouldThrowOnTruncatedEvents() {
+        byte[] bytes = testee.encode(ADDED);
+
+        assertThatThrownBy(() -> testee.decode(Arrays.copyOf(bytes, bytes.length / 2)))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static class UuidId implements MailboxId, MessageId {
+        static class Factory implements MailboxId.Factory, MessageId.Factory {
+            @Override
+            public UuidId fromString(String serialized) {
+                return new UuidId(serialized);
+            }
+
+            @Override
+            public MessageId generate() {
+                throw new UnsupportedOperationException();
+            }
+        }
+
+        private final String value;
+
+        UuidId(String value) {
+            this.value = value;
+        }
+
+        @Override
+        public String serialize() {
+            return value;
+        }
+
+        @Override
+        public boolean isSerializable() {
+            return true;
+        }
+
+        @Override
+        public final boolean equals(Object o) {
+            if (o instanceof UuidId) {
+                return value.equals(((UuidId) o).value);
+            }
+            return false;
+        }
+
+        @Override
+        public final int hashCode() {
+            return value.hashCode();
+        }
+    }
+}
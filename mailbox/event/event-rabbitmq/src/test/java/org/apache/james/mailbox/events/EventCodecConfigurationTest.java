@@ -0,0 +1,102 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+
+package org.apache.james.mailbox.events;
+
+import static org.apache.james.mailbox.events.EventCodecConfiguration.CODEC_PROPERTY;
+import static org.apache.james.mailbox.events.EventCodecConfiguration.COMPRESSION_THRESHOLD_PROPERTY;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.apache.commons.configuration2.PropertiesConfiguration;
+import org.junit.jupiter.api.Test;
+
+import nl.jqno.equalsverifier.EqualsVerifier;
+
+class EventCodecConfigurationTest {
+
+    @Test
+    void shouldMatchBeanContract() {
+        EqualsVerifier.forClass(EventCodecConfiguration.class)
+            .verify();
+    }
+
+    @Test
+    void fromShouldReturnDefaultWhenEmpty() {
+        assertThat(EventCodecConfiguration.from(new PropertiesConfiguration()))
+            .isEqualTo(EventCodecConfiguration.DEFAULT);
+    }
+
+    @Test
+    void fromShouldReturnJsonWhenConfigured() {
+        PropertiesConfiguration configuration = new PropertiesConfiguration();
+        configuration.addProperty(CODEC_PROPERTY, "json");
+
+        assertThat(EventCodecConfiguration.from(configuration))
+            .isEqualTo(EventCodecConfiguration.JSON);
+    }
+
+    @Test
+    void fromShouldReturnBinaryWhenConfigured() {
+        PropertiesConfiguration configuration = new PropertiesConfiguration();
+        configuration.addProperty(CODEC_PROPERTY, "binary");
+
+        assertThat(EventCodecConfiguration.from(configuration))
+            .isEqualTo(EventCodecConfiguration.binary());
+    }
+
+    @Test
+    void fromShouldReturnBinaryWithCompressionWhenThresholdConfigured() {
+        PropertiesConfiguration configuration = new PropertiesConfiguration();
+        configuration.addProperty(CODEC_PROPERTY, "binary");
+        configuration.addProperty(COMPRESSION_THRESHOLD_PROPERTY, 4096);
+
+        assertThat(EventCodecConfiguration.from(configuration))
+            .isEqualTo(EventCodecConfiguration.binaryWithCompression(4096));
+    }
+
+    @Test
+    void fromShouldThrowWhenUnknownCodec() {
+        PropertiesConfiguration configuration = new PropertiesConfiguration();
+        configuration.addProperty(CODEC_PROPERTY, "xml");
+
+        assertThatThrownBy(() -> EventCodecConfiguration.from(configuration))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void fromShouldThrowWhenCompressionThresholdWithJson() {
+        PropertiesConfiguration configuration = new PropertiesConfiguration();
+        configuration.addProperty(COMPRESSION_THRESHOLD_PROPERTY, 4096);
+
+        assertThatThrownBy(() -> EventCodecConfiguration.from(configuration))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void fromShouldThrowWhenNegativeCompressionThreshold() {
+        PropertiesConfiguration configuration = new PropertiesConfiguration();
+        configuration.addProperty(CODEC_PROPERTY, "binary");
+        configuration.addProperty(COMPRESSION_THRESHOLD_PROPERTY, -1);
+
+        assertThatThrownBy(() -> EventCodecConfiguration.from(configuration))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
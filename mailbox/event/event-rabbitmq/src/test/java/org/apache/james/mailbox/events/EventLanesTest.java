@@ -0,0 +1,99 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+
+package org.apache.james.mailbox.events;
+
+import static org.apache.james.mailbox.events.EventBusTestFixture.EVENT;
+import static org.apache.james.mailbox.events.EventBusTestFixture.EVENT_ID_2;
+import static org.apache.james.mailbox.events.EventBusTestFixture.EVENT_UNSUPPORTED_BY_LISTENER;
+import static org.apache.james.mailbox.events.EventBusTestFixture.MAILBOX_PATH;
+import static org.apache.james.mailbox.events.EventBusTestFixture.SESSION_ID;
+import static org.apache.james.mailbox.events.EventBusTestFixture.USERNAME;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.stream.IntStream;
+
+import org.apache.james.core.Username;
+import org.apache.james.mailbox.model.TestId;
+import org.junit.jupiter.api.Test;
+
+class EventLanesTest {
+    private static final int LANE_COUNT = 8;
+
+    private static Event userEvent(Username username) {
+        return new Event() {
+            @Override
+            public Username getUsername() {
+                return username;
+            }
+
+            @Override
+            public boolean isNoop() {
+                return false;
+            }
+
+            @Override
+            public EventId getEventId() {
+                return EVENT_ID_2;
+            }
+        };
+    }
+
+    @Test
+    void laneOfShouldBeWithinLaneCount() {
+        assertThat(IntStream.range(-100, 100)
+                .mapToObj(id -> new MailboxListener.MailboxAdded(SESSION_ID, USERNAME, MAILBOX_PATH, TestId.of(id), EVENT_ID_2))
+                .map(event -> EventLanes.laneOf(event, LANE_COUNT)))
+            .allMatch(lane -> lane >= 0 && lane < LANE_COUNT);
+    }
+
+    @Test
+    void laneOfShouldSpreadMailboxesOnAllLanes() {
+        assertThat(IntStream.range(0, 100)
+                .mapToObj(id -> new MailboxListener.MailboxAdded(SESSION_ID, USERNAME, MAILBOX_PATH, TestId.of(id), EVENT_ID_2))
+                .map(event -> EventLanes.laneOf(event, LANE_COUNT))
+                .distinct())
+            .hasSize(LANE_COUNT);
+    }
+
+    @Test
+    void eventsOfTheSameMailboxShouldShareALane() {
+        assertThat(EventLanes.laneOf(EVENT, LANE_COUNT))
+            .isEqualTo(EventLanes.laneOf(EVENT_UNSUPPORTED_BY_LISTENER, LANE_COUNT));
+    }
+
+    @Test
+    void eventsWithoutMailboxOfTheSameUserShouldShareALane() {
+        assertThat(EventLanes.laneOf(userEvent(Username.of("bob")), LANE_COUNT))
+            .isEqualTo(EventLanes.laneOf(userEvent(Username.of("bob")), LANE_COUNT));
+    }
+
+    @Test
+    void laneOfShouldTolerateEventsWithoutUser() {
+        assertThat(EventLanes.laneOf(userEvent(null), LANE_COUNT))
+            .isEqualTo(0);
+    }
+
+    @Test
+    void laneOfShouldAlwaysBeZeroWhenSingleLane() {
+        assertThat(EventLanes.laneOf(EVENT, 1))
+            .isEqualTo(0);
+    }
+}
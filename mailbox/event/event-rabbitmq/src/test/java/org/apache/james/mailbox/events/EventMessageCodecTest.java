@@ -0,0 +1,123 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+
+package org.apache.james.mailbox.events;
+
+import static org.apache.james.mailbox.events.EventBusTestFixture.EVENT;
+import static org.apache.james.mailbox.events.EventBusTestFixture.EVENT_ID;
+import static org.apache.james.mailbox.events.EventBusTestFixture.MAILBOX_PATH;
+import static org.apache.james.mailbox.events.EventBusTestFixture.SESSION_ID;
+import static org.apache.james.mailbox.events.EventBusTestFixture.TEST_ID;
+import static org.apache.james.mailbox.events.EventBusTestFixture.USERNAME;
+import static org.apache.james.mailbox.events.EventMessageCodec.BINARY_CONTENT_TYPE;
+import static org.apache.james.mailbox.events.EventMessageCodec.DEFLATE_ENCODING;
+import static org.apache.james.mailbox.events.EventMessageCodec.JSON_CONTENT_TYPE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Date;
+
+import javax.mail.Flags;
+
+import org.apache.james.event.json.EventSerializer;
+import org.apache.james.mailbox.MessageUid;
+import org.apache.james.mailbox.ModSeq;
+import org.apache.james.mailbox.model.MessageMetaData;
+import org.apache.james.mailbox.model.TestId;
+import org.apache.james.mailbox.model.TestMessageId;
+import org.apache.james.mailbox.store.quota.DefaultUserQuotaRootResolver;
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableSortedMap;
+import com.rabbitmq.client.AMQP;
+
+class EventMessageCodecTest {
+    private static final MessageMetaData META_DATA = new MessageMetaData(MessageUid.of(36), ModSeq.of(12), new Flags(Flags.Flag.SEEN), 1024, new Date(1563000000000L), TestMessageId.of(42));
+    private static final MailboxListener.Added ADDED = new MailboxListener.Added(SESSION_ID, USERNAME, MAILBOX_PATH, TEST_ID,
+        ImmutableSortedMap.of(META_DATA.getUid(), META_DATA), EVENT_ID);
+
+    private EventMessageCodec testee(EventCodecConfiguration configuration) {
+        return new EventMessageCodec(
+            new EventSerializer(new TestId.Factory(), new TestMessageId.Factory(), new DefaultUserQuotaRootResolver.DefaultQuotaRootDeserializer()),
+            new BinaryEventCodec(new TestId.Factory(), new TestMessageId.Factory()),
+            configuration);
+    }
+
+    private AMQP.BasicProperties properties(EventMessageCodec.EncodedEvent encodedEvent) {
+        return encodedEvent.describe(new AMQP.BasicProperties.Builder()).build();
+    }
+
+    @Test
+    void encodeShouldUseJsonByDefault() {
+        EventMessageCodec.EncodedEvent encodedEvent = testee(EventCodecConfiguration.DEFAULT).encode(ADDED);
+
+        assertThat(properties(encodedEvent).getContentType()).isEqualTo(JSON_CONTENT_TYPE);
+    }
+
+    @Test
+    void encodeShouldUseBinaryWhenEnabled() {
+        EventMessageCodec.EncodedEvent encodedEvent = testee(EventCodecConfiguration.binary()).encode(ADDED);
+
+        assertThat(properties(encodedEvent).getContentType()).isEqualTo(BINARY_CONTENT_TYPE);
+        assertThat(properties(encodedEvent).getContentEncoding()).isNull();
+    }
+
+    @Test
+    void encodeShouldFallbackToJsonForEventsNotSupportedByTheBinaryCodec() {
+        EventMessageCodec.EncodedEvent encodedEvent = testee(EventCodecConfiguration.binary()).encode(EVENT);
+
+        assertThat(properties(encodedEvent).getContentType()).isEqualTo(JSON_CONTENT_TYPE);
+    }
+
+    @Test
+    void encodeShouldCompressEventsAboveThreshold() {
+        EventMessageCodec.EncodedEvent encodedEvent = testee(EventCodecConfiguration.binaryWithCompression(0)).encode(ADDED);
+
+        assertThat(properties(encodedEvent).getContentEncoding()).isEqualTo(DEFLATE_ENCODING);
+    }
+
+    @Test
+    void encodeShouldNotCompressEventsBelowThreshold() {
+        EventMessageCodec.EncodedEvent encodedEvent = testee(EventCodecConfiguration.binaryWithCompression(1024 * 1024)).encode(ADDED);
+
+        assertThat(properties(encodedEvent).getContentEncoding()).isNull();
+    }
+
+    @Test
+    void decodeShouldReadCompressedBinaryEvents() {
+        EventMessageCodec testee = testee(EventCodecConfiguration.binaryWithCompression(0));
+        EventMessageCodec.EncodedEvent encodedEvent = testee.encode(ADDED);
+
+        assertThat(testee.decode(encodedEvent.getBody(), properties(encodedEvent))).isEqualTo(ADDED);
+    }
+
+    @Test
+    void decodeShouldReadBinaryEventsWhatEverTheConfiguration() {
+        EventMessageCodec.EncodedEvent encodedEvent = testee(EventCodecConfiguration.binary()).encode(ADDED);
+
+        assertThat(testee(EventCodecConfiguration.JSON).decode(encodedEvent.getBody(), properties(encodedEvent))).isEqualTo(ADDED);
+    }
+
+    @Test
+    void decodeShouldReadJsonEventsWhatEverTheConfiguration() {
+        EventMessageCodec.EncodedEvent encodedEvent = testee(EventCodecConfiguration.JSON).encode(EVENT);
+
+        assertThat(testee(EventCodecConfiguration.binary()).decode(encodedEvent.getBody(), properties(encodedEvent))).isEqualTo(EVENT);
+    }
+}
@@ -0,0 +1,79 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+
+package org.apache.james.mailbox.events;
+
+import static org.apache.james.mailbox.events.EventBusTestFixture.EVENT;
+import static org.apache.james.mailbox.events.EventTypeRouting.EVENT_TYPE_HEADER_PREFIX;
+import static org.apache.james.mailbox.events.EventTypeRouting.MATCH_ANY;
+import static org.apache.james.mailbox.events.EventTypeRouting.X_MATCH;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableSet;
+
+class EventTypeRoutingTest {
+    @Test
+    void headersShouldContainEveryEventTypeOfTheHierarchy() {
+        assertThat(EventTypeRouting.headers(MailboxListener.Added.class).keySet())
+            .containsOnly(
+                EVENT_TYPE_HEADER_PREFIX + MailboxListener.Added.class.getName(),
+                EVENT_TYPE_HEADER_PREFIX + MailboxListener.MetaDataHoldingEvent.class.getName(),
+                EVENT_TYPE_HEADER_PREFIX + MailboxListener.MessageEvent.class.getName(),
+                EVENT_TYPE_HEADER_PREFIX + MailboxListener.MailboxEvent.class.getName(),
+                EVENT_TYPE_HEADER_PREFIX + Event.class.getName());
+    }
+
+    @Test
+    void headersShouldNotContainTypesThatAreNotEvents() {
+        assertThat(EventTypeRouting.headers(EVENT.getClass()).keySet())
+            .doesNotContain(
+                EVENT_TYPE_HEADER_PREFIX + Object.class.getName(),
+                EVENT_TYPE_HEADER_PREFIX + MailboxListener.class.getName());
+    }
+
+    @Test
+    void bindingArgumentsShouldMatchAnyOfTheHandledTypes() {
+        assertThat(EventTypeRouting.bindingArguments(ImmutableSet.of(MailboxListener.Added.class, MailboxListener.Expunged.class)))
+            .containsOnlyKeys(
+                X_MATCH,
+                EVENT_TYPE_HEADER_PREFIX + MailboxListener.Added.class.getName(),
+                EVENT_TYPE_HEADER_PREFIX + MailboxListener.Expunged.class.getName())
+            .containsEntry(X_MATCH, MATCH_ANY);
+    }
+
+    @Test
+    void headersShouldMatchBindingArgumentsOfSupertypes() {
+        String messageEventHeader = EVENT_TYPE_HEADER_PREFIX + MailboxListener.MessageEvent.class.getName();
+        Map<String, Object> bindingArguments = EventTypeRouting.bindingArguments(ImmutableSet.of(MailboxListener.MessageEvent.class));
+
+        assertThat(EventTypeRouting.headers(MailboxListener.Added.class))
+            .containsEntry(messageEventHeader, bindingArguments.get(messageEventHeader));
+    }
+
+    @Test
+    void bindingArgumentsShouldMatchAllEventsWhenNoHandledType() {
+        assertThat(EventTypeRouting.bindingArguments(ImmutableSet.of()))
+            .isEqualTo(EventTypeRouting.bindingArguments(MailboxListener.ALL_EVENT_TYPES));
+    }
+}
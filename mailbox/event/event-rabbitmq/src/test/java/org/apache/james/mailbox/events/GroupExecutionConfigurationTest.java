@@ -0,0 +1,70 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+
+package org.apache.james.mailbox.events;
+
+import static org.apache.james.mailbox.events.GroupExecutionConfiguration.DEFAULT_LANE_COUNT;
+import static org.apache.james.mailbox.events.GroupExecutionConfiguration.DEFAULT_PREFETCH;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+import nl.jqno.equalsverifier.EqualsVerifier;
+
+class GroupExecutionConfigurationTest {
+
+    @Test
+    void shouldMatchBeanContract() {
+        EqualsVerifier.forClass(GroupExecutionConfiguration.class)
+            .verify();
+    }
+
+    @Test
+    void buildShouldThrowWhenZeroLaneCount() {
+        assertThatThrownBy(() -> GroupExecutionConfiguration.builder()
+            .laneCount(0)
+            .prefetch(DEFAULT_PREFETCH)
+            .build())
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("laneCount needs to be strictly positive");
+    }
+
+    @Test
+    void buildShouldThrowWhenZeroPrefetch() {
+        assertThatThrownBy(() -> GroupExecutionConfiguration.builder()
+            .laneCount(DEFAULT_LANE_COUNT)
+            .prefetch(0)
+            .build())
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("prefetch needs to be strictly positive");
+    }
+
+    @Test
+    void buildShouldReturnCorrespondingValues() {
+        GroupExecutionConfiguration configuration = GroupExecutionConfiguration.builder()
+            .laneCount(32)
+            .prefetch(64)
+            .build();
+
+        assertThat(configuration.getLaneCount()).isEqualTo(32);
+        assertThat(configuration.getPrefetch()).isEqualTo(64);
+    }
+}
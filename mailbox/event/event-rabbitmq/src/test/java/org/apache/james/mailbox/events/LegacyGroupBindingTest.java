@@ -0,0 +1,52 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+
+package org.apache.james.mailbox.events;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.apache.commons.configuration2.PropertiesConfiguration;
+import org.junit.jupiter.api.Test;
+
+class LegacyGroupBindingTest {
+    @Test
+    void fromShouldKeepTheLegacyBindingByDefault() {
+        assertThat(LegacyGroupBinding.from(new PropertiesConfiguration()))
+            .isEqualTo(LegacyGroupBinding.KEEP);
+    }
+
+    @Test
+    void fromShouldRemoveTheLegacyBindingWhenRequested() {
+        PropertiesConfiguration configuration = new PropertiesConfiguration();
+        configuration.addProperty("event.bus.group.legacyBinding.remove", true);
+
+        assertThat(LegacyGroupBinding.from(configuration))
+            .isEqualTo(LegacyGroupBinding.REMOVE);
+    }
+
+    @Test
+    void fromShouldKeepTheLegacyBindingWhenExplicitlyFalse() {
+        PropertiesConfiguration configuration = new PropertiesConfiguration();
+        configuration.addProperty("event.bus.group.legacyBinding.remove", false);
+
+        assertThat(LegacyGroupBinding.from(configuration))
+            .isEqualTo(LegacyGroupBinding.KEEP);
+    }
+}
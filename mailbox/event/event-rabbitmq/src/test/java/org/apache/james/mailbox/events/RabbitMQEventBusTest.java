@@ -24,33 +24,49 @@ import static org.apache.james.backends.rabbitmq.Constants.DIRECT_EXCHANGE;
 import static org.apache.james.backends.rabbitmq.Constants.DURABLE;
 import static org.apache.james.backends.rabbitmq.Constants.EMPTY_ROUTING_KEY;
 import static org.apache.james.backends.rabbitmq.Constants.EXCLUSIVE;
+import static org.apache.james.backends.rabbitmq.Constants.HEADERS_EXCHANGE;
 import static org.apache.james.backends.rabbitmq.Constants.NO_ARGUMENTS;
 import static org.apache.james.mailbox.events.EventBusConcurrentTestContract.newCountingListener;
 import static org.apache.james.mailbox.events.EventBusTestFixture.ALL_GROUPS;
 import static org.apache.james.mailbox.events.EventBusTestFixture.EVENT;
+import static org.apache.james.mailbox.events.EventBusTestFixture.EVENT_ID;
+import static org.apache.james.mailbox.events.EventBusTestFixture.FIVE_HUNDRED_MS;
 import static org.apache.james.mailbox.events.EventBusTestFixture.GROUP_A;
 import static org.apache.james.mailbox.events.EventBusTestFixture.KEY_1;
+import static org.apache.james.mailbox.events.EventBusTestFixture.MAILBOX_PATH;
 import static org.apache.james.mailbox.events.EventBusTestFixture.NO_KEYS;
+import static org.apache.james.mailbox.events.EventBusTestFixture.ONE_SECOND;
+import static org.apache.james.mailbox.events.EventBusTestFixture.SESSION_ID;
+import static org.apache.james.mailbox.events.EventBusTestFixture.TEST_ID;
+import static org.apache.james.mailbox.events.EventBusTestFixture.USERNAME;
 import static org.apache.james.mailbox.events.EventBusTestFixture.newAsyncListener;
 import static org.apache.james.mailbox.events.EventBusTestFixture.newListener;
 import static org.apache.james.mailbox.events.GroupRegistration.WorkQueueName.MAILBOX_EVENT_WORK_QUEUE_PREFIX;
 import static org.apache.james.mailbox.events.RabbitMQEventBus.MAILBOX_EVENT;
 import static org.apache.james.mailbox.events.RabbitMQEventBus.MAILBOX_EVENT_EXCHANGE_NAME;
+import static org.apache.james.mailbox.events.RabbitMQEventBus.MAILBOX_EVENT_GROUP_EXCHANGE_NAME;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.awaitility.Awaitility.await;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.after;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.Closeable;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.Date;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import javax.mail.Flags;
 
 import org.apache.james.backends.rabbitmq.RabbitMQExtension;
 import org.apache.james.backends.rabbitmq.RabbitMQExtension.DockerRestartPolicy;
@@ -58,8 +74,11 @@ import org.apache.james.backends.rabbitmq.RabbitMQFixture;
 import org.apache.james.backends.rabbitmq.RabbitMQManagementAPI;
 import org.apache.james.backends.rabbitmq.ReceiverProvider;
 import org.apache.james.event.json.EventSerializer;
+import org.apache.james.mailbox.MessageUid;
+import org.apache.james.mailbox.ModSeq;
 import org.apache.james.mailbox.events.EventBusTestFixture.GroupA;
 import org.apache.james.mailbox.events.EventBusTestFixture.MailboxListenerCountingSuccessfulExecution;
+import org.apache.james.mailbox.model.MessageMetaData;
 import org.apache.james.mailbox.model.TestId;
 import org.apache.james.mailbox.model.TestMessageId;
 import org.apache.james.mailbox.store.quota.DefaultUserQuotaRootResolver;
@@ -75,7 +94,9 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.RegisterExtension;
 import org.mockito.stubbing.Answer;
 
+import com.github.steveash.guavate.Guavate;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableSortedMap;
 import reactor.core.publisher.Mono;
 import reactor.rabbitmq.BindingSpecification;
 import reactor.rabbitmq.ExchangeSpecification;
@@ -95,6 +116,7 @@ class RabbitMQEventBusTest implements GroupContract.SingleEventBusGroupContract,
     private RabbitMQEventBus eventBus3;
     private RabbitMQEventBus eventBusWithKeyHandlerNotStarted;
     private EventSerializer eventSerializer;
+    private BinaryEventCodec binaryEventCodec;
     private RoutingKeyConverter routingKeyConverter;
     private MemoryEventDeadLetters memoryEventDeadLetters;
 
@@ -109,6 +131,7 @@ class RabbitMQEventBusTest implements GroupContract.SingleEventBusGroupContract,
 
         TestId.Factory mailboxIdFactory = new TestId.Factory();
         eventSerializer = new EventSerializer(mailboxIdFactory, new TestMessageId.Factory(), new DefaultUserQuotaRootResolver.DefaultQuotaRootDeserializer());
+        binaryEventCodec = new BinaryEventCodec(mailboxIdFactory, new TestMessageId.Factory());
         routingKeyConverter = RoutingKeyConverter.forFactories(new MailboxIdRegistrationKey.Factory(mailboxIdFactory));
 
         eventBus = newEventBus();
@@ -134,6 +157,9 @@ class RabbitMQEventBusTest implements GroupContract.SingleEventBusGroupContract,
         rabbitMQExtension.getSender()
             .delete(ExchangeSpecification.exchange(MAILBOX_EVENT_EXCHANGE_NAME))
             .block();
+        rabbitMQExtension.getSender()
+            .delete(ExchangeSpecification.exchange(MAILBOX_EVENT_GROUP_EXCHANGE_NAME))
+            .block();
     }
 
     private RabbitMQEventBus newEventBus() {
@@ -141,7 +167,12 @@ class RabbitMQEventBusTest implements GroupContract.SingleEventBusGroupContract,
     }
 
     private RabbitMQEventBus newEventBus(Sender sender, ReceiverProvider receiverProvider) {
-        return new RabbitMQEventBus(sender, receiverProvider, eventSerializer, RetryBackoffConfiguration.DEFAULT, routingKeyConverter, memoryEventDeadLetters, new RecordingMetricFactory());
+        return newEventBus(sender, receiverProvider, EventCodecConfiguration.DEFAULT);
+    }
+
+    private RabbitMQEventBus newEventBus(Sender sender, ReceiverProvider receiverProvider, EventCodecConfiguration codecConfiguration) {
+        return new RabbitMQEventBus(sender, receiverProvider, eventSerializer, binaryEventCodec, codecConfiguration,
+            RetryBackoffConfiguration.DEFAULT, GroupExecutionConfiguration.DEFAULT, LegacyGroupBinding.KEEP, routingKeyConverter, memoryEventDeadLetters, new RecordingMetricFactory());
     }
 
     @Override
@@ -183,6 +214,97 @@ class RabbitMQEventBusTest implements GroupContract.SingleEventBusGroupContract,
             .anyMatch(exchange -> exchange.getName().equals(retryExchangeName.asString()));
     }
 
+    @Nested
+    class BinaryCodecTest {
+        private final MessageMetaData metaData = new MessageMetaData(MessageUid.of(36), ModSeq.of(12), new Flags("custom"), 1024, new Date(), TestMessageId.of(42));
+        private final MailboxListener.Added added = new MailboxListener.Added(SESSION_ID, USERNAME, MAILBOX_PATH, TEST_ID,
+            ImmutableSortedMap.of(metaData.getUid(), metaData), EVENT_ID);
+
+        private RabbitMQEventBus binaryEventBus;
+
+        @BeforeEach
+        void setUp() {
+            binaryEventBus = newEventBus(rabbitMQExtension.getSender(), rabbitMQExtension.getReceiverProvider(),
+                EventCodecConfiguration.binaryWithCompression(0));
+            binaryEventBus.start();
+        }
+
+        @AfterEach
+        void tearDown() {
+            binaryEventBus.stop();
+        }
+
+        @Test
+        void groupListenersShouldReceiveBinaryEventsFromAnotherEventBus() throws Exception {
+            MailboxListener listener = newListener();
+            when(listener.isHandling(any())).thenReturn(true);
+            eventBus.register(listener, GROUP_A);
+
+            binaryEventBus.dispatch(added, NO_KEYS).block();
+
+            verify(listener, timeout(ONE_SECOND.toMillis())).event(added);
+        }
+
+        @Test
+        void keyListenersShouldReceiveBinaryEventsFromAnotherEventBus() throws Exception {
+            MailboxListener listener = newListener();
+            when(listener.isHandling(any())).thenReturn(true);
+            eventBus.register(listener, KEY_1);
+
+            binaryEventBus.dispatch(added, ImmutableSet.of(KEY_1)).block();
+
+            verify(listener, timeout(ONE_SECOND.toMillis())).event(added);
+        }
+
+        @Test
+        void binaryEventBusShouldReceiveJsonEvents() throws Exception {
+            MailboxListener listener = newListener();
+            binaryEventBus.register(listener, GROUP_A);
+
+            eventBus.dispatch(EVENT, NO_KEYS).block();
+
+            verify(listener, timeout(ONE_SECOND.toMillis())).event(EVENT);
+        }
+    }
+
+    @Test
+    void groupListenerShouldNotReceiveEventsItDoesNotHandle() throws Exception {
+        MailboxListener listener = newListener();
+        when(listener.isHandling(any())).thenReturn(true);
+        when(listener.getHandledEventTypes()).thenReturn(ImmutableSet.of(MailboxListener.Expunged.class));
+        eventBus.register(listener, GROUP_A);
+
+        eventBus.dispatch(EVENT, NO_KEYS).block();
+
+        verify(listener, after(FIVE_HUNDRED_MS.toMillis()).never())
+            .event(any());
+    }
+
+    @Test
+    void groupListenerShouldReceiveSubtypesOfEventsItHandles() {
+        MailboxListener listener = newListener();
+        when(listener.getHandledEventTypes()).thenReturn(ImmutableSet.of(MailboxListener.MailboxEvent.class));
+        eventBus.register(listener, GROUP_A);
+
+        eventBus.dispatch(EVENT, NO_KEYS).block();
+
+        assertThatListenerReceiveOneEvent(listener);
+    }
+
+    @Test
+    void groupListenerShouldReceiveEventsOfAMailboxInDispatchOrder() {
+        EventCollector listener = new EventCollector();
+        eventBus.register(listener, GROUP_A);
+        List<Event> events = IntStream.range(0, 100)
+            .mapToObj(i -> new MailboxListener.MailboxAdded(SESSION_ID, USERNAME, MAILBOX_PATH, TEST_ID, Event.EventId.random()))
+            .collect(Guavate.toImmutableList());
+
+        events.forEach(event -> eventBus.dispatch(event, NO_KEYS).block());
+
+        RabbitMQFixture.awaitAtMostThirtySeconds
+            .untilAsserted(() -> assertThat(listener.getEvents()).containsExactlyElementsOf(events));
+    }
+
     @Nested
     class ConcurrentTest implements EventBusConcurrentTestContract.MultiEventBusConcurrentContract,
         EventBusConcurrentTestContract.SingleEventBusConcurrentContract {
@@ -279,9 +401,10 @@ class RabbitMQEventBusTest implements GroupContract.SingleEventBusGroupContract,
                 .arguments(NO_ARGUMENTS))
                 .block();
             sender.bind(BindingSpecification.binding()
-                .exchange(MAILBOX_EVENT_EXCHANGE_NAME)
+                .exchange(MAILBOX_EVENT_GROUP_EXCHANGE_NAME)
                 .queue(MAILBOX_WORK_QUEUE_NAME)
-                .routingKey(EMPTY_ROUTING_KEY))
+                .routingKey(EMPTY_ROUTING_KEY)
+                .arguments(EventTypeRouting.bindingArguments(MailboxListener.ALL_EVENT_TYPES)))
                 .block();
         }
 
@@ -393,6 +516,17 @@ class RabbitMQEventBusTest implements GroupContract.SingleEventBusGroupContract,
                     });
             }
 
+            @Test
+            void startShouldCreateEventGroupExchange() {
+                eventBus.start();
+                assertThat(rabbitManagementAPI.listExchanges())
+                    .filteredOn(exchange -> exchange.getName().equals(MAILBOX_EVENT_GROUP_EXCHANGE_NAME))
+                    .hasOnlyOneElementSatisfying(exchange -> {
+                        assertThat(exchange.isDurable()).isTrue();
+                        assertThat(exchange.getType()).isEqualTo(HEADERS_EXCHANGE);
+                    });
+            }
+
             @Test
             void dispatchShouldWorkAfterRestartForOldRegistration() throws Exception {
                 eventBus.start();
@@ -0,0 +1,103 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.mailbox.lucene.search;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.SearcherFactory;
+import org.apache.lucene.search.SearcherManager;
+
+/**
+ * Shares a near-real-time {@link IndexSearcher} on top of an {@link IndexWriter}.
+ *
+ * The searcher is only reopened when the index was modified since the last refresh, and reopening
+ * only loads the segments that changed. Writes done before {@link #acquire()} are always visible to
+ * the returned searcher.
+ */
+class IndexSearcherProvider implements Closeable {
+
+    /**
+     * Lease on the shared {@link IndexSearcher}, to be closed once the search is done.
+     */
+    class Lease implements Closeable {
+        private final IndexSearcher searcher;
+
+        private Lease(IndexSearcher searcher) {
+            this.searcher = searcher;
+        }
+
+        IndexSearcher searcher() {
+            return searcher;
+        }
+
+        @Override
+        public void close() throws IOException {
+            searcherManager.release(searcher);
+        }
+    }
+
+    private final SearcherManager searcherManager;
+    private final AtomicLong changes;
+    private volatile long refreshedChanges;
+
+    IndexSearcherProvider(IndexWriter writer) throws IOException {
+        this.searcherManager = new SearcherManager(writer, true, new SearcherFactory());
+        this.changes = new AtomicLong();
+        this.refreshedChanges = 0;
+    }
+
+    /**
+     * Record that the underlying index was modified, so that the next {@link #acquire()} or
+     * {@link #refresh()} reopens the searcher.
+     */
+    void markChanged() {
+        changes.incrementAndGet();
+    }
+
+    Lease acquire() throws IOException {
+        refresh();
+        return new Lease(searcherManager.acquire());
+    }
+
+    /**
+     * Reopen the shared searcher if the index changed since the last refresh.
+     */
+    void refresh() throws IOException {
+        if (refreshedChanges >= changes.get()) {
+            return;
+        }
+        synchronized (this) {
+            long target = changes.get();
+            if (refreshedChanges < target) {
+                searcherManager.maybeRefresh();
+                refreshedChanges = target;
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        searcherManager.close();
+    }
+}
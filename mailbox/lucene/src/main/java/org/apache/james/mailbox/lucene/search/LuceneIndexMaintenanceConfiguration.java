@@ -0,0 +1,72 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.mailbox.lucene.search;
+
+import java.util.Objects;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Background maintenance of the {@link LuceneMessageSearchIndex}. An interval of 0 disables the matching task.
+ */
+public class LuceneIndexMaintenanceConfiguration {
+    private static final long DISABLED = 0;
+
+    public static final LuceneIndexMaintenanceConfiguration DEFAULT_CONFIGURATION = new LuceneIndexMaintenanceConfiguration(DISABLED, DISABLED);
+
+    public static LuceneIndexMaintenanceConfiguration of(long refreshIntervalInMs, long commitIntervalInMs) {
+        Preconditions.checkArgument(refreshIntervalInMs >= 0, "'refreshIntervalInMs' should be positive");
+        Preconditions.checkArgument(commitIntervalInMs >= 0, "'commitIntervalInMs' should be positive");
+
+        return new LuceneIndexMaintenanceConfiguration(refreshIntervalInMs, commitIntervalInMs);
+    }
+
+    private final long refreshIntervalInMs;
+    private final long commitIntervalInMs;
+
+    private LuceneIndexMaintenanceConfiguration(long refreshIntervalInMs, long commitIntervalInMs) {
+        this.refreshIntervalInMs = refreshIntervalInMs;
+        this.commitIntervalInMs = commitIntervalInMs;
+    }
+
+    public long getRefreshIntervalInMs() {
+        return refreshIntervalInMs;
+    }
+
+    public long getCommitIntervalInMs() {
+        return commitIntervalInMs;
+    }
+
+    @Override
+    public final boolean equals(Object o) {
+        if (o instanceof LuceneIndexMaintenanceConfiguration) {
+            LuceneIndexMaintenanceConfiguration that = (LuceneIndexMaintenanceConfiguration) o;
+
+            return Objects.equals(this.refreshIntervalInMs, that.refreshIntervalInMs)
+                && Objects.equals(this.commitIntervalInMs, that.commitIntervalInMs);
+        }
+        return false;
+    }
+
+    @Override
+    public final int hashCode() {
+        return Objects.hash(refreshIntervalInMs, commitIntervalInMs);
+    }
+}
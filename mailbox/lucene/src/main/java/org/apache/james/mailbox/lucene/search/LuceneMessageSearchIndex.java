@@ -35,6 +35,10 @@ import java.util.Locale;
 import java.util.Optional;
 import java.util.Set;
 import java.util.TimeZone;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 
 import javax.annotation.PreDestroy;
@@ -96,7 +100,6 @@ import org.apache.lucene.document.Field;
 import org.apache.lucene.document.Field.Index;
 import org.apache.lucene.document.Field.Store;
 import org.apache.lucene.document.NumericField;
-import org.apache.lucene.index.IndexReader;
 import org.apache.lucene.index.IndexWriter;
 import org.apache.lucene.index.IndexWriterConfig;
 import org.apache.lucene.index.IndexWriterConfig.OpenMode;
@@ -122,6 +125,7 @@ import org.slf4j.LoggerFactory;
 import com.github.steveash.guavate.Guavate;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 /**
  * Lucene based {@link ListeningMessageSearchIndex} which offers message searching via a Lucene index
@@ -358,6 +362,10 @@ public class LuceneMessageSearchIndex extends ListeningMessageSearchIndex {
     private final MessageId.Factory messageIdFactory;
     private final IndexWriter writer;
     private final Directory directory;
+    private final IndexSearcherProvider searcherProvider;
+    private final ScheduledExecutorService scheduler;
+    private Optional<ScheduledFuture<?>> refreshTask = Optional.empty();
+    private Optional<ScheduledFuture<?>> commitTask = Optional.empty();
 
     private int maxQueryResults = DEFAULT_MAX_QUERY_RESULTS;
 
@@ -369,8 +377,20 @@ public class LuceneMessageSearchIndex extends ListeningMessageSearchIndex {
         MailboxId.Factory mailboxIdFactory,
         Directory directory,
         MessageId.Factory messageIdFactory,
-        SessionProvider sessionProvider) throws IOException {
+        SessionProvider sessionProvider,
+        LuceneIndexMaintenanceConfiguration maintenanceConfiguration) throws IOException {
         this(factory, mailboxIdFactory, directory, false, true, messageIdFactory, sessionProvider);
+        setRefreshIntervalInMs(maintenanceConfiguration.getRefreshIntervalInMs());
+        setCommitIntervalInMs(maintenanceConfiguration.getCommitIntervalInMs());
+    }
+
+    public LuceneMessageSearchIndex(
+        MailboxSessionMapperFactory factory,
+        MailboxId.Factory mailboxIdFactory,
+        Directory directory,
+        MessageId.Factory messageIdFactory,
+        SessionProvider sessionProvider) throws IOException {
+        this(factory, mailboxIdFactory, directory, messageIdFactory, sessionProvider, LuceneIndexMaintenanceConfiguration.DEFAULT_CONFIGURATION);
     }
 
     public LuceneMessageSearchIndex(
@@ -386,11 +406,18 @@ public class LuceneMessageSearchIndex extends ListeningMessageSearchIndex {
         this.messageIdFactory = messageIdFactory;
         this.directory = directory;
         this.writer = new IndexWriter(this.directory,  createConfig(createAnalyzer(lenient), dropIndexOnStart));
+        this.searcherProvider = new IndexSearcherProvider(writer);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+            .setNameFormat("lucene-index-maintenance-%d")
+            .setDaemon(true)
+            .build());
     }
 
     @PreDestroy
     public void close() throws IOException {
+        scheduler.shutdownNow();
         try {
+            searcherProvider.close();
             writer.close();
         } finally {
             if (IndexWriter.isLocked(directory)) {
@@ -417,6 +444,44 @@ public class LuceneMessageSearchIndex extends ListeningMessageSearchIndex {
         this.maxQueryResults = maxQueryResults;
     }
     
+    /**
+     * Reopen the shared searcher in the background every given milliseconds, so that searches following
+     * index updates do not have to pay for it. Searches always see previous index updates, this only moves
+     * the reopening cost out of the search path. 0 (the default) disables background refresh.
+     */
+    public synchronized void setRefreshIntervalInMs(long refreshIntervalInMs) {
+        refreshTask.ifPresent(task -> task.cancel(false));
+        refreshTask = schedule(refreshIntervalInMs, searcherProvider::refresh);
+    }
+
+    /**
+     * Commit the index every given milliseconds. 0 (the default) disables periodic commits: the index
+     * is then only committed upon {@link #commit()} and {@link #close()}.
+     */
+    public synchronized void setCommitIntervalInMs(long commitIntervalInMs) {
+        commitTask.ifPresent(task -> task.cancel(false));
+        commitTask = schedule(commitIntervalInMs, this::commit);
+    }
+
+    private Optional<ScheduledFuture<?>> schedule(long intervalInMs, IndexOperation operation) {
+        Preconditions.checkArgument(intervalInMs >= 0, "'intervalInMs' should be positive");
+        if (intervalInMs == 0) {
+            return Optional.empty();
+        }
+        return Optional.of(scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                operation.run();
+            } catch (IOException e) {
+                LOGGER.error("Error while maintaining the lucene index", e);
+            }
+        }, intervalInMs, intervalInMs, TimeUnit.MILLISECONDS));
+    }
+
+    @FunctionalInterface
+    private interface IndexOperation {
+        void run() throws IOException;
+    }
+
     protected IndexWriterConfig createConfig(Analyzer analyzer, boolean dropIndexOnStart) {
         IndexWriterConfig config = new IndexWriterConfig(Version.LUCENE_31, analyzer);
         if (dropIndexOnStart) {
@@ -480,7 +545,8 @@ public class LuceneMessageSearchIndex extends ListeningMessageSearchIndex {
 
         Query inMailboxes = buildQueryFromMailboxes(mailboxIds);
         
-        try (IndexSearcher searcher = new IndexSearcher(IndexReader.open(writer, true))) {
+        try (IndexSearcherProvider.Lease lease = searcherProvider.acquire()) {
+            IndexSearcher searcher = lease.searcher();
             BooleanQuery query = new BooleanQuery();
             query.add(inMailboxes, BooleanClause.Occur.MUST);
             // Not return flags documents
@@ -935,7 +1001,8 @@ public class LuceneMessageSearchIndex extends ListeningMessageSearchIndex {
         query.add(inMailboxes, BooleanClause.Occur.MUST);
 
 
-        try (IndexSearcher searcher = new IndexSearcher(IndexReader.open(writer, true))) {
+        try (IndexSearcherProvider.Lease lease = searcherProvider.acquire()) {
+            IndexSearcher searcher = lease.searcher();
             Set<MessageUid> uids = new HashSet<>();
 
             // query for all the documents sorted by uid
@@ -1181,6 +1248,7 @@ public class LuceneMessageSearchIndex extends ListeningMessageSearchIndex {
 
         writer.addDocument(doc);
         writer.addDocument(flagsDoc);
+        searcherProvider.markChanged();
     }
 
     @Override
@@ -1191,7 +1259,8 @@ public class LuceneMessageSearchIndex extends ListeningMessageSearchIndex {
     }
 
     private void update(Mailbox mailbox, MessageUid uid, Flags f) throws IOException {
-        try (IndexSearcher searcher = new IndexSearcher(IndexReader.open(writer, true))) {
+        try (IndexSearcherProvider.Lease lease = searcherProvider.acquire()) {
+            IndexSearcher searcher = lease.searcher();
             BooleanQuery query = new BooleanQuery();
             query.add(new TermQuery(new Term(MAILBOX_ID_FIELD, mailbox.getMailboxId().serialize())), BooleanClause.Occur.MUST);
             query.add(createQuery(MessageRange.one(uid)), BooleanClause.Occur.MUST);
@@ -1207,6 +1276,7 @@ public class LuceneMessageSearchIndex extends ListeningMessageSearchIndex {
                     indexFlags(doc, f);
 
                     writer.updateDocument(new Term(ID_FIELD, doc.get(ID_FIELD)), doc);
+                    searcherProvider.markChanged();
 
                 }
             }
@@ -1283,6 +1353,7 @@ public class LuceneMessageSearchIndex extends ListeningMessageSearchIndex {
         query.add(createQuery(range), BooleanClause.Occur.MUST);
 
         writer.deleteDocuments(query);
+        searcherProvider.markChanged();
     }
 
     public void commit() throws IOException {
@@ -0,0 +1,130 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.mailbox.lucene.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+
+import org.apache.lucene.analysis.KeywordAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.Field.Index;
+import org.apache.lucene.document.Field.Store;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.store.RAMDirectory;
+import org.apache.lucene.util.Version;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class IndexSearcherProviderTest {
+    private static final String FIELD = "field";
+
+    private IndexWriter writer;
+    private IndexSearcherProvider testee;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        writer = new IndexWriter(new RAMDirectory(), new IndexWriterConfig(Version.LUCENE_31, new KeywordAnalyzer()));
+        testee = new IndexSearcherProvider(writer);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        testee.close();
+        writer.close();
+    }
+
+    @Test
+    void searcherShouldBeSharedWhenNoChanges() throws IOException {
+        try (IndexSearcherProvider.Lease first = testee.acquire();
+             IndexSearcherProvider.Lease second = testee.acquire()) {
+            assertThat(first.searcher()).isSameAs(second.searcher());
+        }
+    }
+
+    @Test
+    void searcherShouldSeeChangesMarkedBeforeAcquire() throws IOException {
+        addDocument("value");
+        testee.markChanged();
+
+        assertThat(count("value")).isEqualTo(1);
+    }
+
+    @Test
+    void searcherShouldBeReopenedAfterChanges() throws IOException {
+        IndexSearcher before;
+        try (IndexSearcherProvider.Lease lease = testee.acquire()) {
+            before = lease.searcher();
+        }
+
+        addDocument("value");
+        testee.markChanged();
+
+        try (IndexSearcherProvider.Lease lease = testee.acquire()) {
+            assertThat(lease.searcher()).isNotSameAs(before);
+        }
+    }
+
+    @Test
+    void refreshShouldMakeChangesVisibleToFollowingSearches() throws IOException {
+        addDocument("value");
+        testee.markChanged();
+        testee.refresh();
+
+        IndexSearcher refreshed;
+        try (IndexSearcherProvider.Lease lease = testee.acquire()) {
+            refreshed = lease.searcher();
+            assertThat(lease.searcher().search(new TermQuery(new Term(FIELD, "value")), 10).totalHits).isEqualTo(1);
+        }
+        try (IndexSearcherProvider.Lease lease = testee.acquire()) {
+            assertThat(lease.searcher()).isSameAs(refreshed);
+        }
+    }
+
+    @Test
+    void searcherShouldSeeDeletesMarkedBeforeAcquire() throws IOException {
+        addDocument("value");
+        testee.markChanged();
+        assertThat(count("value")).isEqualTo(1);
+
+        writer.deleteDocuments(new Term(FIELD, "value"));
+        testee.markChanged();
+
+        assertThat(count("value")).isEqualTo(0);
+    }
+
+    private void addDocument(String value) throws IOException {
+        Document document = new Document();
+        document.add(new Field(FIELD, value, Store.YES, Index.NOT_ANALYZED));
+        writer.addDocument(document);
+    }
+
+    private int count(String value) throws IOException {
+        try (IndexSearcherProvider.Lease lease = testee.acquire()) {
+            return lease.searcher().search(new TermQuery(new Term(FIELD, value)), 10).totalHits;
+        }
+    }
+}
@@ -19,6 +19,7 @@
 package org.apache.james.quota.search.elasticsearch.events;
 
 import java.io.IOException;
+import java.util.Set;
 
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -33,6 +34,8 @@ import org.apache.james.mailbox.events.MailboxListener;
 import org.apache.james.quota.search.elasticsearch.QuotaRatioElasticSearchConstants;
 import org.apache.james.quota.search.elasticsearch.json.QuotaRatioToElasticSearchJson;
 
+import com.google.common.collect.ImmutableSet;
+
 public class ElasticSearchQuotaMailboxListener implements MailboxListener.GroupMailboxListener {
     public static class ElasticSearchQuotaMailboxListenerGroup extends Group {
 
@@ -63,6 +66,11 @@ public class ElasticSearchQuotaMailboxListener implements MailboxListener.GroupM
         return event instanceof QuotaUsageUpdatedEvent;
     }
 
+    @Override
+    public Set<Class<? extends Event>> getHandledEventTypes() {
+        return ImmutableSet.of(QuotaUsageUpdatedEvent.class);
+    }
+
     @Override
     public void event(Event event) throws IOException {
         handleEvent((QuotaUsageUpdatedEvent) event);
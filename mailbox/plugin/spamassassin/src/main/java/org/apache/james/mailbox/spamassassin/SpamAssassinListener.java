@@ -20,6 +20,7 @@ package org.apache.james.mailbox.spamassassin;
 
 import java.io.InputStream;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Stream;
 
 import javax.inject.Inject;
@@ -49,6 +50,7 @@ import com.github.fge.lambdas.Throwing;
 import com.github.steveash.guavate.Guavate;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 
 public class SpamAssassinListener implements SpamEventListener {
     public static class SpamAssassinListenerGroup extends Group {
@@ -89,6 +91,11 @@ public class SpamAssassinListener implements SpamEventListener {
         return event instanceof MessageMoveEvent || event instanceof Added;
     }
 
+    @Override
+    public Set<Class<? extends Event>> getHandledEventTypes() {
+        return ImmutableSet.of(MessageMoveEvent.class, Added.class);
+    }
+
     @Override
     public void event(Event event) throws MailboxException {
         Username username = Username.of(getClass().getCanonicalName());
@@ -23,12 +23,11 @@ import static org.apache.james.mailbox.extension.PreDeletionHook.DeleteOperation
 import static org.apache.james.mailbox.store.mail.AbstractMessageMapper.UNLIMITED;
 
 import java.io.BufferedInputStream;
-import java.io.BufferedOutputStream;
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.EnumSet;
 import java.util.Iterator;
@@ -41,9 +40,11 @@ import java.util.stream.Stream;
 import javax.mail.Flags;
 import javax.mail.Flags.Flag;
 import javax.mail.internet.SharedInputStream;
+import javax.mail.util.SharedByteArrayInputStream;
 import javax.mail.util.SharedFileInputStream;
 
 import org.apache.commons.io.input.TeeInputStream;
+import org.apache.commons.io.output.DeferredFileOutputStream;
 import org.apache.james.mailbox.MailboxManager;
 import org.apache.james.mailbox.MailboxManager.MessageCapabilities;
 import org.apache.james.mailbox.MailboxPathLocker;
@@ -119,6 +120,14 @@ import reactor.core.scheduler.Schedulers;
  * {@link MailboxSession}'s.
  */
 public class StoreMessageManager implements MessageManager {
+
+    /**
+     * System property setting the size, in bytes, under which appended messages are buffered in memory. Larger
+     * messages are spooled to a temporary file. Defaults to 100 KB.
+     */
+    public static final String APPEND_MEMORY_THRESHOLD = "james.message.append.memorythreshold";
+    public static final int DEFAULT_APPEND_MEMORY_THRESHOLD = 100 * 1024;
+
     /**
      * The minimal Permanent flags the {@link MessageManager} must support. <br>
      * 
@@ -161,6 +170,7 @@ public class StoreMessageManager implements MessageManager {
     private final Factory messageIdFactory;
     private final BatchSizes batchSizes;
     private final PreDeletionHooks preDeletionHooks;
+    private final int appendMemoryThreshold;
 
     public StoreMessageManager(EnumSet<MailboxManager.MessageCapabilities> messageCapabilities, MailboxSessionMapperFactory mapperFactory,
                                MessageSearchIndex index, EventBus eventBus,
@@ -180,6 +190,7 @@ public class StoreMessageManager implements MessageManager {
         this.batchSizes = batchSizes;
         this.storeRightManager = storeRightManager;
         this.preDeletionHooks = preDeletionHooks;
+        this.appendMemoryThreshold = Integer.getInteger(APPEND_MEMORY_THRESHOLD, DEFAULT_APPEND_MEMORY_THRESHOLD);
     }
 
     /**
@@ -311,20 +322,15 @@ public class StoreMessageManager implements MessageManager {
 
     @Override
     public ComposedMessageId appendMessage(InputStream msgIn, Date internalDate, final MailboxSession mailboxSession, boolean isRecent, Flags flagsToBeSet) throws MailboxException {
-        File file = null;
-
         if (!isWriteable(mailboxSession)) {
             throw new ReadOnlyException(getMailboxPath());
         }
 
+        // Copy the message while parsing it. Messages smaller than the threshold are kept in memory, larger
+        // ones are spooled to a temporary file. We will work with this copy as source for the InputStream
+        DeferredFileOutputStream out = new DeferredFileOutputStream(appendMemoryThreshold, "imap", ".msg", null);
         try {
-            // Create a temporary file and copy the message to it. We will work
-            // with the file as
-            // source for the InputStream
-            file = File.createTempFile("imap", ".msg");
-            try (FileOutputStream out = new FileOutputStream(file);
-                 BufferedOutputStream bufferedOut = new BufferedOutputStream(out);
-                 BufferedInputStream tmpMsgIn = new BufferedInputStream(new TeeInputStream(msgIn, bufferedOut));
+            try (BufferedInputStream tmpMsgIn = new BufferedInputStream(new TeeInputStream(msgIn, out));
                  BodyOffsetInputStream bIn = new BodyOffsetInputStream(tmpMsgIn)) {
                 // Disable line length... This should be handled by the smtp server
                 // component and not the parser itself
@@ -340,20 +346,31 @@ public class StoreMessageManager implements MessageManager {
                 if (internalDate == null) {
                     internalDate = new Date();
                 }
-                consumeStream(bufferedOut, tmpMsgIn);
+                consumeStream(out, tmpMsgIn);
                 int bodyStartOctet = getBodyStartOctet(bIn);
-                return createAndDispatchMessage(internalDate, mailboxSession, file, propertyBuilder, flags, bodyStartOctet);
+                return createAndDispatchMessage(internalDate, mailboxSession, out, propertyBuilder, flags, bodyStartOctet);
             }
         } catch (IOException | MimeException e) {
             throw new MailboxException("Unable to parse message", e);
         } finally {
-            // delete the temporary file if one was specified
-            if (file != null) {
-                if (!file.delete()) {
-                    // Don't throw an IOException. The message could be appended
-                    // and the temporary file
-                    // will be deleted hopefully some day
-                }
+            releaseCopy(out);
+        }
+    }
+
+    private void releaseCopy(DeferredFileOutputStream out) {
+        // The copy is only closed by consumeStream on success: close it before deleting the spooled file
+        try {
+            out.close();
+        } catch (IOException e) {
+            LOG.warn("Unable to close the copy of an appended message", e);
+        }
+        // delete the temporary file if the message was spooled to disk
+        File file = out.getFile();
+        if (file != null && !out.isInMemory()) {
+            if (!file.delete()) {
+                // Don't throw an IOException. The message could be appended
+                // and the temporary file
+                // will be deleted hopefully some day
             }
         }
     }
@@ -424,14 +441,14 @@ public class StoreMessageManager implements MessageManager {
         }
     }
 
-    private void consumeStream(BufferedOutputStream bufferedOut, BufferedInputStream tmpMsgIn) throws IOException {
+    private void consumeStream(DeferredFileOutputStream out, BufferedInputStream tmpMsgIn) throws IOException {
         byte[] discard = new byte[4096];
         while (tmpMsgIn.read(discard) != -1) {
             // consume the rest of the stream so everything get copied to
-            // the file now
+            // the buffer or the file now
             // via the TeeInputStream
         }
-        bufferedOut.flush();
+        out.close();
     }
 
     private int getBodyStartOctet(BodyOffsetInputStream bIn) {
@@ -442,34 +459,40 @@ public class StoreMessageManager implements MessageManager {
         return bodyStartOctet;
     }
 
-    private ComposedMessageId createAndDispatchMessage(Date internalDate, MailboxSession mailboxSession, File file, PropertyBuilder propertyBuilder, Flags flags, int bodyStartOctet) throws IOException, MailboxException {
-        try (SharedFileInputStream contentIn = new SharedFileInputStream(file)) {
-            final int size = (int) file.length();
+    private ComposedMessageId createAndDispatchMessage(Date internalDate, MailboxSession mailboxSession, DeferredFileOutputStream out, PropertyBuilder propertyBuilder, Flags flags, int bodyStartOctet) throws IOException, MailboxException {
+        final int size = (int) out.getByteCount();
+        if (out.isInMemory()) {
+            return createAndDispatchMessage(internalDate, mailboxSession, new SharedByteArrayInputStream(out.getData()), size, propertyBuilder, flags, bodyStartOctet);
+        }
+        try (SharedFileInputStream contentIn = new SharedFileInputStream(out.getFile())) {
+            return createAndDispatchMessage(internalDate, mailboxSession, contentIn, size, propertyBuilder, flags, bodyStartOctet);
+        }
+    }
 
-            final List<MessageAttachment> attachments = extractAttachments(contentIn);
-            propertyBuilder.setHasAttachment(hasNonInlinedAttachment(attachments));
+    private ComposedMessageId createAndDispatchMessage(Date internalDate, MailboxSession mailboxSession, SharedInputStream contentIn, int size, PropertyBuilder propertyBuilder, Flags flags, int bodyStartOctet) throws MailboxException {
+        final List<MessageAttachment> attachments = extractAttachments(contentIn.newStream(0, -1));
+        propertyBuilder.setHasAttachment(hasNonInlinedAttachment(attachments));
 
-            final MailboxMessage message = createMessage(internalDate, size, bodyStartOctet, contentIn, flags, propertyBuilder, attachments);
+        final MailboxMessage message = createMessage(internalDate, size, bodyStartOctet, contentIn, flags, propertyBuilder, attachments);
 
-            new QuotaChecker(quotaManager, quotaRootResolver, mailbox).tryAddition(1, size);
+        new QuotaChecker(quotaManager, quotaRootResolver, mailbox).tryAddition(1, size);
 
-            return locker.executeWithLock(getMailboxPath(), () -> {
-                MessageMetaData data = appendMessageToStore(message, attachments, mailboxSession);
+        return locker.executeWithLock(getMailboxPath(), () -> {
+            MessageMetaData data = appendMessageToStore(message, attachments, mailboxSession);
 
-                Mailbox mailbox = getMailboxEntity();
+            Mailbox mailbox = getMailboxEntity();
 
-                eventBus.dispatch(EventFactory.added()
-                    .randomEventId()
-                    .mailboxSession(mailboxSession)
-                    .mailbox(mailbox)
-                    .addMetaData(message.metaData())
-                    .build(),
-                    new MailboxIdRegistrationKey(mailbox.getMailboxId()))
-                    .subscribeOn(Schedulers.elastic())
-                    .block();
-                return new ComposedMessageId(mailbox.getMailboxId(), data.getMessageId(), data.getUid());
-            }, MailboxPathLocker.LockType.Write);
-        }
+            eventBus.dispatch(EventFactory.added()
+                .randomEventId()
+                .mailboxSession(mailboxSession)
+                .mailbox(mailbox)
+                .addMetaData(message.metaData())
+                .build(),
+                new MailboxIdRegistrationKey(mailbox.getMailboxId()))
+                .subscribeOn(Schedulers.elastic())
+                .block();
+            return new ComposedMessageId(mailbox.getMailboxId(), data.getMessageId(), data.getUid());
+        }, MailboxPathLocker.LockType.Write);
     }
 
     private PropertyBuilder getPropertyBuilder(MaximalBodyDescriptor descriptor, String mediaType, String subType) {
@@ -506,7 +529,7 @@ public class StoreMessageManager implements MessageManager {
             .anyMatch(messageAttachment -> !messageAttachment.isInlinedWithCid());
     }
 
-    private List<MessageAttachment> extractAttachments(SharedFileInputStream contentIn) {
+    private List<MessageAttachment> extractAttachments(InputStream contentIn) {
         try {
             return messageParser.retrieveAttachments(contentIn);
         } catch (Exception e) {
@@ -755,32 +778,38 @@ public class StoreMessageManager implements MessageManager {
     }
 
     private Iterator<MessageMetaData> copy(Iterator<MailboxMessage> originalRows, MailboxSession session) throws MailboxException {
-        final List<MessageMetaData> copiedRows = new ArrayList<>();
+        final List<MailboxMessage> originalMessages = new ArrayList<>();
         final MessageMapper messageMapper = mapperFactory.getMessageMapper(session);
 
         while (originalRows.hasNext()) {
             final MailboxMessage originalMessage = originalRows.next();
             new QuotaChecker(quotaManager, quotaRootResolver, mailbox)
                 .tryAddition(1, originalMessage.getFullContentOctets());
-            MessageMetaData data = messageMapper.execute(
-                () -> messageMapper.copy(getMailboxEntity(), originalMessage));
-            copiedRows.add(data);
+            originalMessages.add(originalMessage);
         }
-        return copiedRows.iterator();
+        if (originalMessages.isEmpty()) {
+            return Collections.emptyIterator();
+        }
+        return messageMapper.execute(
+            () -> messageMapper.copy(getMailboxEntity(), originalMessages))
+            .iterator();
     }
 
     private MoveResult move(Iterator<MailboxMessage> originalRows, MailboxSession session) throws MailboxException {
-        final List<MessageMetaData> movedRows = new ArrayList<>();
+        final List<MailboxMessage> originalMessages = new ArrayList<>();
         final List<MessageMetaData> originalRowsCopy = new ArrayList<>();
         final MessageMapper messageMapper = mapperFactory.getMessageMapper(session);
 
         while (originalRows.hasNext()) {
             final MailboxMessage originalMessage = originalRows.next();
             originalRowsCopy.add(originalMessage.metaData());
-            MessageMetaData data = messageMapper.execute(
-                () -> messageMapper.move(getMailboxEntity(), originalMessage));
-            movedRows.add(data);
+            originalMessages.add(originalMessage);
+        }
+        if (originalMessages.isEmpty()) {
+            return new MoveResult(Collections.emptyIterator(), originalRowsCopy.iterator());
         }
+        List<MessageMetaData> movedRows = messageMapper.execute(
+            () -> messageMapper.move(getMailboxEntity(), originalMessages));
         return new MoveResult(movedRows.iterator(), originalRowsCopy.iterator());
     }
 
@@ -39,6 +39,8 @@ import org.apache.james.mailbox.store.mail.model.MailboxMessage;
 import org.apache.james.mailbox.store.mail.model.Property;
 import org.apache.james.mailbox.store.transaction.Mapper;
 
+import com.google.common.collect.ImmutableList;
+
 /**
  * Maps {@link MailboxMessage} in a {@link org.apache.james.mailbox.MessageManager}. A {@link MessageMapper} has a lifecycle from the start of a request
  * to the end of the request.
@@ -126,6 +128,38 @@ public interface MessageMapper extends Mapper {
      * @param original the original to move
      */
     MessageMetaData move(Mailbox mailbox,MailboxMessage original) throws MailboxException;
+
+    /**
+     * Copy the given {@link MailboxMessage}s to a new mailbox and return the metadata of the copies, in the same order.
+     *
+     * Implementations may override it to allocate uids and mod-sequences for the whole batch at once.
+     *
+     * @param mailbox the Mailbox to copy to
+     * @param originals the originals to copy
+     */
+    default List<MessageMetaData> copy(Mailbox mailbox, List<MailboxMessage> originals) throws MailboxException {
+        ImmutableList.Builder<MessageMetaData> copies = ImmutableList.builder();
+        for (MailboxMessage original : originals) {
+            copies.add(copy(mailbox, original));
+        }
+        return copies.build();
+    }
+
+    /**
+     * Move the given {@link MailboxMessage}s to a new mailbox and return the metadata of the moved messages, in the same order.
+     *
+     * Implementations may override it to allocate uids and mod-sequences for the whole batch at once.
+     *
+     * @param mailbox the Mailbox to move to
+     * @param originals the originals to move
+     */
+    default List<MessageMetaData> move(Mailbox mailbox, List<MailboxMessage> originals) throws MailboxException {
+        ImmutableList.Builder<MessageMetaData> moves = ImmutableList.builder();
+        for (MailboxMessage original : originals) {
+            moves.add(move(mailbox, original));
+        }
+        return moves.build();
+    }
     
     
     /**
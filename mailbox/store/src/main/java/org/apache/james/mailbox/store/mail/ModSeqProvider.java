@@ -18,11 +18,16 @@
  ****************************************************************/
 package org.apache.james.mailbox.store.mail;
 
+import java.util.List;
+
 import org.apache.james.mailbox.ModSeq;
 import org.apache.james.mailbox.exception.MailboxException;
 import org.apache.james.mailbox.model.Mailbox;
 import org.apache.james.mailbox.model.MailboxId;
 
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+
 /**
  * Take care of provide mod-seqences for a given {@link Mailbox}. Be aware that implementations
  * need to be thread-safe!
@@ -56,4 +61,17 @@ public interface ModSeqProvider {
      * Return the highest mod-sequence which were used for the {@link Mailbox}
      */
     ModSeq highestModSeq(MailboxId mailboxId) throws MailboxException;
+
+    /**
+     * Return count mod-sequences which can be used for the {@link Mailbox}, in ascending order.
+     * Implementations should override it when they can reserve the whole range at once.
+     */
+    default List<ModSeq> nextModSeqs(MailboxId mailboxId, int count) throws MailboxException {
+        Preconditions.checkArgument(count > 0, "count should be strictly positive");
+        ImmutableList.Builder<ModSeq> modSeqs = ImmutableList.builder();
+        for (int i = 0; i < count; i++) {
+            modSeqs.add(nextModSeq(mailboxId));
+        }
+        return modSeqs.build();
+    }
 }
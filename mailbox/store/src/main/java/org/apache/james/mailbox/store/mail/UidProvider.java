@@ -18,6 +18,7 @@
  ****************************************************************/
 package org.apache.james.mailbox.store.mail;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.apache.james.mailbox.MessageUid;
@@ -25,6 +26,9 @@ import org.apache.james.mailbox.exception.MailboxException;
 import org.apache.james.mailbox.model.Mailbox;
 import org.apache.james.mailbox.model.MailboxId;
 
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+
 /**
  * Take care of provide uids for a given {@link Mailbox}. Be aware that implementations
  * need to be thread-safe!
@@ -44,4 +48,17 @@ public interface UidProvider {
     Optional<MessageUid> lastUid(Mailbox mailbox) throws MailboxException;
 
     MessageUid nextUid(MailboxId mailboxId) throws MailboxException;
+
+    /**
+     * Return count uids which can be used while appending MailboxMessages to the {@link Mailbox}, in ascending order.
+     * Implementations should override it when they can reserve the whole range at once.
+     */
+    default List<MessageUid> nextUids(MailboxId mailboxId, int count) throws MailboxException {
+        Preconditions.checkArgument(count > 0, "count should be strictly positive");
+        ImmutableList.Builder<MessageUid> uids = ImmutableList.builder();
+        for (int i = 0; i < count; i++) {
+            uids.add(nextUid(mailboxId));
+        }
+        return uids.build();
+    }
 }
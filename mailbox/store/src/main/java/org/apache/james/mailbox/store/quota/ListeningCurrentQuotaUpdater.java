@@ -19,6 +19,7 @@
 package org.apache.james.mailbox.store.quota;
 
 import java.time.Instant;
+import java.util.Set;
 
 import javax.inject.Inject;
 
@@ -66,6 +67,11 @@ public class ListeningCurrentQuotaUpdater implements MailboxListener.GroupMailbo
         return event instanceof Added || event instanceof Expunged || event instanceof MailboxDeletion;
     }
 
+    @Override
+    public Set<Class<? extends Event>> getHandledEventTypes() {
+        return ImmutableSet.of(Added.class, Expunged.class, MailboxDeletion.class);
+    }
+
     @Override
     public void event(Event event) throws MailboxException {
             if (event instanceof Added) {
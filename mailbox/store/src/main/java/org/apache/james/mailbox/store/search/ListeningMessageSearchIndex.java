@@ -20,6 +20,7 @@ package org.apache.james.mailbox.store.search;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Stream;
 
 import org.apache.james.mailbox.MailboxSession;
@@ -39,7 +40,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.github.fge.lambdas.Throwing;
-import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 
 /**
  * {@link MessageSearchIndex} which needs to get registered as global {@link MailboxListener} and so get
@@ -51,7 +52,7 @@ public abstract class ListeningMessageSearchIndex implements MessageSearchIndex,
     protected static final int UNLIMITED = -1;
     private final MailboxSessionMapperFactory factory;
     private final SessionProvider sessionProvider;
-    private static final ImmutableList<Class<? extends Event>> INTERESTING_EVENTS = ImmutableList.of(Added.class, Expunged.class, FlagsUpdated.class, MailboxDeletion.class);
+    private static final ImmutableSet<Class<? extends Event>> INTERESTING_EVENTS = ImmutableSet.of(Added.class, Expunged.class, FlagsUpdated.class, MailboxDeletion.class);
 
     public ListeningMessageSearchIndex(MailboxSessionMapperFactory factory, SessionProvider sessionProvider) {
         this.factory = factory;
@@ -63,6 +64,11 @@ public abstract class ListeningMessageSearchIndex implements MessageSearchIndex,
         return INTERESTING_EVENTS.contains(event.getClass());
     }
 
+    @Override
+    public Set<Class<? extends Event>> getHandledEventTypes() {
+        return INTERESTING_EVENTS;
+    }
+
     /**
      * Process the {@link Event} and update the index if
      * something relevant is received
@@ -93,11 +99,10 @@ public abstract class ListeningMessageSearchIndex implements MessageSearchIndex,
         }
     }
 
-    private void handleAdded(MailboxSession session, Mailbox mailbox, Added added) {
-        MessageRange.toRanges(added.getUids())
+    private void handleAdded(MailboxSession session, Mailbox mailbox, Added added) throws Exception {
+        addAll(session, mailbox, MessageRange.toRanges(added.getUids())
             .stream()
-            .flatMap(range -> retrieveMailboxMessages(session, mailbox, range))
-            .forEach(Throwing.<MailboxMessage>consumer(mailboxMessage -> add(session, mailbox, mailboxMessage)).sneakyThrow());
+            .flatMap(range -> retrieveMailboxMessages(session, mailbox, range)));
     }
 
     private Stream<MailboxMessage> retrieveMailboxMessages(MailboxSession session, Mailbox mailbox, MessageRange range) {
@@ -119,6 +124,20 @@ public abstract class ListeningMessageSearchIndex implements MessageSearchIndex,
      */
     public abstract void add(MailboxSession session, Mailbox mailbox, MailboxMessage message) throws Exception;
 
+    /**
+     * Add the {@link MailboxMessage}s for the given {@link Mailbox} to the index.
+     *
+     * Messages are added one by one by default. Implementations able to index several messages at once should
+     * override this method.
+     *
+     * @param session The mailbox session performing the message addition
+     * @param mailbox mailbox on which the message addition was performed
+     * @param messages The added messages, lazily retrieved
+     */
+    protected void addAll(MailboxSession session, Mailbox mailbox, Stream<MailboxMessage> messages) throws Exception {
+        messages.forEach(Throwing.<MailboxMessage>consumer(mailboxMessage -> add(session, mailbox, mailboxMessage)).sneakyThrow());
+    }
+
     /**
      * Delete the concerned UIDs for the given {@link Mailbox} from the index
      *
@@ -21,9 +21,13 @@ package org.apache.james.mailbox.store.streaming;
 import java.io.IOException;
 import java.io.InputStream;
 
+import javax.mail.internet.SharedInputStream;
+
 import org.apache.james.mailbox.model.Content;
 import org.apache.james.mailbox.store.mail.model.Message;
 
+import com.google.common.io.ByteStreams;
+
 /**
  * {@link Content} which is stored in a {@link InputStream}
  */
@@ -65,4 +69,19 @@ public final class InputStreamContent implements Content {
        
     }
 
+    /**
+     * Shared streams are sliced directly, which avoids reading the skipped octets
+     */
+    @Override
+    public InputStream getInputStream(long offset, long length) throws IOException {
+        InputStream inputStream = getInputStream();
+        if (inputStream instanceof SharedInputStream) {
+            InputStream range = ((SharedInputStream) inputStream).newStream(offset, offset + length);
+            inputStream.close();
+            return range;
+        }
+        ByteStreams.skipFully(inputStream, offset);
+        return ByteStreams.limit(inputStream, length);
+    }
+
 }
@@ -612,6 +612,37 @@ public abstract class MessageMapperTest {
         assertThat(messageMapper.getMailboxCounters(benwaInboxMailbox).getUnseen()).isEqualTo(expectedUnseenMessages);
     }
 
+    @Test
+    void batchCopyShouldAssignIncreasingUidsAndModSeqs() throws MailboxException {
+        saveMessages();
+        MessageUid lastUid = messageMapper.getLastUid(benwaWorkMailbox).get();
+        ModSeq highestModSeq = messageMapper.getHighestModSeq(benwaWorkMailbox);
+
+        List<MessageMetaData> metaData = messageMapper.copy(benwaWorkMailbox, ImmutableList.of(
+            SimpleMailboxMessage.copy(benwaWorkMailbox.getMailboxId(), message1),
+            SimpleMailboxMessage.copy(benwaWorkMailbox.getMailboxId(), message2),
+            SimpleMailboxMessage.copy(benwaWorkMailbox.getMailboxId(), message3)));
+
+        assertThat(metaData).hasSize(3);
+        assertThat(metaData.get(0).getUid()).isGreaterThan(lastUid);
+        assertThat(metaData.get(1).getUid()).isGreaterThan(metaData.get(0).getUid());
+        assertThat(metaData.get(2).getUid()).isGreaterThan(metaData.get(1).getUid());
+        assertThat(metaData.get(0).getModSeq()).isGreaterThan(highestModSeq);
+        assertThat(metaData.get(2).getModSeq()).isGreaterThan(metaData.get(1).getModSeq());
+        assertThat(messageMapper.countMessagesInMailbox(benwaWorkMailbox)).isEqualTo(4);
+    }
+
+    @Test
+    void batchCopyShouldMarkMessagesAsRecent() throws MailboxException {
+        saveMessages();
+        List<MessageMetaData> metaData = messageMapper.copy(benwaWorkMailbox, ImmutableList.of(
+            SimpleMailboxMessage.copy(benwaWorkMailbox.getMailboxId(), message1),
+            SimpleMailboxMessage.copy(benwaWorkMailbox.getMailboxId(), message2)));
+
+        assertThat(messageMapper.findRecentMessageUidsInMailbox(benwaWorkMailbox))
+            .contains(metaData.get(0).getUid(), metaData.get(1).getUid());
+    }
+
     @Test
     void copiedMessageShouldBeMarkedAsRecent() throws MailboxException {
         saveMessages();
@@ -0,0 +1,66 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.mailbox.store.streaming;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import javax.mail.util.SharedByteArrayInputStream;
+
+import org.apache.james.mailbox.store.mail.model.Message;
+import org.apache.james.mailbox.store.streaming.InputStreamContent.Type;
+import org.junit.jupiter.api.Test;
+
+class InputStreamContentTest {
+    private static final String FULL_CONTENT = "Subject: test\r\n\r\nbody of the message";
+    private static final int BODY_START = 17;
+
+    @Test
+    void getInputStreamShouldReturnRangeOfFullContent() throws Exception {
+        Message message = mock(Message.class);
+        when(message.getFullContent()).thenReturn(new SharedByteArrayInputStream(FULL_CONTENT.getBytes(StandardCharsets.US_ASCII)));
+
+        assertThat(new InputStreamContent(message, Type.Full).getInputStream(9, 4))
+            .hasContent("test");
+    }
+
+    @Test
+    void getInputStreamShouldBeRelativeToBodyStartForBodyContent() throws Exception {
+        Message message = mock(Message.class);
+        when(message.getBodyContent()).thenReturn(new SharedByteArrayInputStream(FULL_CONTENT.getBytes(StandardCharsets.US_ASCII))
+            .newStream(BODY_START, -1));
+
+        assertThat(new InputStreamContent(message, Type.Body).getInputStream(5, 2))
+            .hasContent("of");
+    }
+
+    @Test
+    void getInputStreamShouldSkipLeadingOctetsOfNonSharedStreams() throws Exception {
+        Message message = mock(Message.class);
+        when(message.getFullContent()).thenReturn(new ByteArrayInputStream(FULL_CONTENT.getBytes(StandardCharsets.US_ASCII)));
+
+        assertThat(new InputStreamContent(message, Type.Full).getInputStream(BODY_START, 4))
+            .hasContent("body");
+    }
+}
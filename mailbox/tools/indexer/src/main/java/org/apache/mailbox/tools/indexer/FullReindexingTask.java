@@ -25,6 +25,7 @@ import javax.inject.Inject;
 
 import org.apache.james.json.DTOModule;
 import org.apache.james.mailbox.exception.MailboxException;
+import org.apache.james.mailbox.indexer.ReIndexer.RunningOptions;
 import org.apache.james.server.task.json.dto.TaskDTO;
 import org.apache.james.server.task.json.dto.TaskDTOModule;
 import org.apache.james.task.Task;
@@ -39,13 +40,16 @@ public class FullReindexingTask implements Task {
 
     private final ReIndexerPerformer reIndexerPerformer;
     private final ReprocessingContext reprocessingContext;
+    private final RunningOptions runningOptions;
 
     public static TaskDTOModule<FullReindexingTask, FullReindexingTaskDTO> module(ReIndexerPerformer reIndexerPerformer) {
         return DTOModule
             .forDomainObject(FullReindexingTask.class)
             .convertToDTO(FullReindexingTask.FullReindexingTaskDTO.class)
-            .toDomainObjectConverter(dto -> new FullReindexingTask(reIndexerPerformer))
-            .toDTOConverter((task, type) -> new FullReindexingTaskDTO(type))
+            .toDomainObjectConverter(dto -> new FullReindexingTask(reIndexerPerformer, dto.getRunningOptions()
+                .map(RunningOptionsDTO::toDomainObject)
+                .orElse(RunningOptions.DEFAULT)))
+            .toDTOConverter((task, type) -> new FullReindexingTaskDTO(type, Optional.of(RunningOptionsDTO.toDTO(task.getRunningOptions()))))
             .typeName(FULL_RE_INDEXING.asString())
             .withFactory(TaskDTOModule::new);
     }
@@ -53,9 +57,12 @@ public class FullReindexingTask implements Task {
     public static class FullReindexingTaskDTO implements TaskDTO {
 
         private final String type;
+        private final Optional<RunningOptionsDTO> runningOptions;
 
-        public FullReindexingTaskDTO(@JsonProperty("type") String type) {
+        public FullReindexingTaskDTO(@JsonProperty("type") String type,
+                                     @JsonProperty("runningOptions") Optional<RunningOptionsDTO> runningOptions) {
             this.type = type;
+            this.runningOptions = runningOptions;
         }
 
         @Override
@@ -63,23 +70,36 @@ public class FullReindexingTask implements Task {
             return type;
         }
 
+        public Optional<RunningOptionsDTO> getRunningOptions() {
+            return runningOptions;
+        }
+
     }
 
     @Inject
     public FullReindexingTask(ReIndexerPerformer reIndexerPerformer) {
+        this(reIndexerPerformer, RunningOptions.DEFAULT);
+    }
+
+    public FullReindexingTask(ReIndexerPerformer reIndexerPerformer, RunningOptions runningOptions) {
         this.reIndexerPerformer = reIndexerPerformer;
-        this.reprocessingContext = new ReprocessingContext();
+        this.runningOptions = runningOptions;
+        this.reprocessingContext = new ReprocessingContext(runningOptions.getResumeAfter());
     }
 
     @Override
     public Result run() {
         try {
-            return reIndexerPerformer.reIndex(reprocessingContext);
+            return reIndexerPerformer.reIndex(reprocessingContext, runningOptions);
         } catch (MailboxException e) {
             return Result.PARTIAL;
         }
     }
 
+    public RunningOptions getRunningOptions() {
+        return runningOptions;
+    }
+
     @Override
     public TaskType type() {
         return FULL_RE_INDEXING;
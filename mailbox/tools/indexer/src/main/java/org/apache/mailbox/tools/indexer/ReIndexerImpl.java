@@ -72,13 +72,13 @@ public class ReIndexerImpl implements ReIndexer {
     }
 
     @Override
-    public Task reIndex() {
-        return new FullReindexingTask(reIndexerPerformer);
+    public Task reIndex(RunningOptions runningOptions) {
+        return new FullReindexingTask(reIndexerPerformer, runningOptions);
     }
 
     @Override
-    public Task reIndex(Username username) {
-        return new UserReindexingTask(reIndexerPerformer, username);
+    public Task reIndex(Username username, RunningOptions runningOptions) {
+        return new UserReindexingTask(reIndexerPerformer, username, runningOptions);
     }
 
     @Override
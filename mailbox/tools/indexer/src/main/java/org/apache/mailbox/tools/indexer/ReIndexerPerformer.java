@@ -19,6 +19,8 @@
 
 package org.apache.mailbox.tools.indexer;
 
+import java.util.Comparator;
+import java.util.List;
 import java.util.Optional;
 import java.util.stream.Stream;
 
@@ -29,6 +31,7 @@ import org.apache.james.mailbox.MailboxManager;
 import org.apache.james.mailbox.MailboxSession;
 import org.apache.james.mailbox.MessageUid;
 import org.apache.james.mailbox.exception.MailboxException;
+import org.apache.james.mailbox.indexer.ReIndexer.RunningOptions;
 import org.apache.james.mailbox.indexer.ReIndexingExecutionFailures;
 import org.apache.james.mailbox.model.Mailbox;
 import org.apache.james.mailbox.model.MailboxId;
@@ -47,7 +50,13 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.github.fge.lambdas.Throwing;
+import com.github.steveash.guavate.Guavate;
 import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.RateLimiter;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 public class ReIndexerPerformer {
     private static final Logger LOGGER = LoggerFactory.getLogger(ReIndexerPerformer.class);
@@ -71,6 +80,10 @@ public class ReIndexerPerformer {
     }
 
     Task.Result reIndex(MailboxId mailboxId, ReprocessingContext reprocessingContext) throws Exception {
+        return reIndex(mailboxId, reprocessingContext, Optional.empty());
+    }
+
+    private Task.Result reIndex(MailboxId mailboxId, ReprocessingContext reprocessingContext, Optional<RateLimiter> rateLimiter) throws Exception {
         LOGGER.info("Intend to reindex mailbox with mailboxId {}", mailboxId.serialize());
         MailboxSession mailboxSession = mailboxManager.createSystemSession(RE_INDEXER_PERFORMER_USER);
         Mailbox mailbox = mailboxSessionMapperFactory.getMailboxMapper(mailboxSession).findMailboxById(mailboxId);
@@ -79,7 +92,10 @@ public class ReIndexerPerformer {
             return Iterators.toStream(
                 mailboxSessionMapperFactory.getMessageMapper(mailboxSession)
                     .listAllMessageUids(mailbox))
-                .map(uid -> handleMessageReIndexing(mailboxSession, mailbox, uid, reprocessingContext))
+                .map(uid -> {
+                    rateLimiter.ifPresent(RateLimiter::acquire);
+                    return handleMessageReIndexing(mailboxSession, mailbox, uid, reprocessingContext);
+                })
                 .reduce(Task::combine)
                 .orElse(Task.Result.COMPLETED);
         } finally {
@@ -107,7 +123,7 @@ public class ReIndexerPerformer {
         }
     }
 
-    Task.Result reIndex(ReprocessingContext reprocessingContext) throws MailboxException {
+    Task.Result reIndex(ReprocessingContext reprocessingContext, RunningOptions runningOptions) throws MailboxException {
         MailboxSession mailboxSession = mailboxManager.createSystemSession(RE_INDEXER_PERFORMER_USER);
         LOGGER.info("Starting a full reindex");
         Stream<MailboxId> mailboxIds = mailboxSessionMapperFactory.getMailboxMapper(mailboxSession).list()
@@ -115,13 +131,13 @@ public class ReIndexerPerformer {
             .map(Mailbox::getMailboxId);
 
         try {
-            return reIndex(mailboxIds, reprocessingContext);
+            return reIndex(mailboxIds, reprocessingContext, runningOptions);
         } finally {
             LOGGER.info("Full reindex finished");
         }
     }
 
-    Task.Result reIndex(Username username, ReprocessingContext reprocessingContext) throws MailboxException {
+    Task.Result reIndex(Username username, ReprocessingContext reprocessingContext, RunningOptions runningOptions) throws MailboxException {
         MailboxSession mailboxSession = mailboxManager.createSystemSession(username);
         LOGGER.info("Starting a reindex for user {}", username.asString());
 
@@ -130,7 +146,7 @@ public class ReIndexerPerformer {
             .map(MailboxMetaData::getId);
 
         try {
-            return reIndex(mailboxIds, reprocessingContext);
+            return reIndex(mailboxIds, reprocessingContext, runningOptions);
         } finally {
             LOGGER.info("User {} reindex finished", username.asString());
         }
@@ -171,18 +187,34 @@ public class ReIndexerPerformer {
         }
     }
 
-    private Task.Result reIndex(Stream<MailboxId> mailboxIds, ReprocessingContext reprocessingContext) {
-        return mailboxIds
-            .map(mailboxId -> {
-                try {
-                    return reIndex(mailboxId, reprocessingContext);
-                } catch (Throwable e) {
-                    LOGGER.error("Error while proceeding to full reindexing on mailbox with mailboxId {}", mailboxId.serialize(), e);
-                    return Task.Result.PARTIAL;
-                }
-            })
+    private Task.Result reIndex(Stream<MailboxId> mailboxIds, ReprocessingContext reprocessingContext, RunningOptions runningOptions) {
+        Optional<RateLimiter> rateLimiter = runningOptions.getMessagesPerSecond().map(RateLimiter::create);
+        List<MailboxId> orderedMailboxIds = mailboxIds
+            .filter(mailboxId -> runningOptions.getResumeAfter()
+                .map(checkpoint -> mailboxId.serialize().compareTo(checkpoint) > 0)
+                .orElse(true))
+            .sorted(Comparator.comparing(MailboxId::serialize))
+            .collect(Guavate.toImmutableList());
+
+        return Flux.fromIterable(orderedMailboxIds)
+            .index()
+            .doOnNext(positionedMailboxId -> reprocessingContext.recordMailboxStarted(positionedMailboxId.getT1(), positionedMailboxId.getT2()))
+            .flatMap(positionedMailboxId -> Mono.fromCallable(() -> reIndex(positionedMailboxId.getT1(), positionedMailboxId.getT2(), reprocessingContext, rateLimiter))
+                .subscribeOn(Schedulers.elastic()), runningOptions.getConcurrency())
             .reduce(Task::combine)
-            .orElse(Task.Result.COMPLETED);
+            .switchIfEmpty(Mono.just(Task.Result.COMPLETED))
+            .block();
+    }
+
+    private Task.Result reIndex(long position, MailboxId mailboxId, ReprocessingContext reprocessingContext, Optional<RateLimiter> rateLimiter) {
+        try {
+            Task.Result result = reIndex(mailboxId, reprocessingContext, rateLimiter);
+            reprocessingContext.recordMailboxCompleted(position);
+            return result;
+        } catch (Throwable e) {
+            LOGGER.error("Error while proceeding to full reindexing on mailbox with mailboxId {}", mailboxId.serialize(), e);
+            return Task.Result.PARTIAL;
+        }
     }
 
     private Task.Result handleMessageReIndexing(MailboxSession mailboxSession, Mailbox mailbox, MessageUid uid, ReprocessingContext reprocessingContext) {
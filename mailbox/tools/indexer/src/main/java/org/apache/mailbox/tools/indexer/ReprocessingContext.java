@@ -19,6 +19,10 @@
 
 package org.apache.mailbox.tools.indexer;
 
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -32,11 +36,21 @@ class ReprocessingContext {
     private final AtomicInteger successfullyReprocessedMails;
     private final AtomicInteger failedReprocessingMails;
     private final ConcurrentLinkedDeque<ReIndexingExecutionFailures.ReIndexingFailure> failures;
+    private final TreeMap<Long, MailboxId> startedMailboxes;
+    private final Set<Long> completedMailboxes;
+    private Optional<String> checkpoint;
 
     ReprocessingContext() {
+        this(Optional.empty());
+    }
+
+    ReprocessingContext(Optional<String> checkpoint) {
         failedReprocessingMails = new AtomicInteger(0);
         successfullyReprocessedMails = new AtomicInteger(0);
         failures = new ConcurrentLinkedDeque<>();
+        startedMailboxes = new TreeMap<>();
+        completedMailboxes = new HashSet<>();
+        this.checkpoint = checkpoint;
     }
 
     void recordFailureDetailsForMessage(MailboxId mailboxId, MessageUid uid) {
@@ -48,6 +62,24 @@ class ReprocessingContext {
         successfullyReprocessedMails.incrementAndGet();
     }
 
+    /**
+     * Record that the mailbox at the given position of the re-indexing order started being processed.
+     */
+    synchronized void recordMailboxStarted(long position, MailboxId mailboxId) {
+        startedMailboxes.put(position, mailboxId);
+    }
+
+    /**
+     * Record that the mailbox at the given position of the re-indexing order was fully processed. The checkpoint
+     * moves forward once all the mailboxes preceding it were processed too.
+     */
+    synchronized void recordMailboxCompleted(long position) {
+        completedMailboxes.add(position);
+        while (!startedMailboxes.isEmpty() && completedMailboxes.remove(startedMailboxes.firstKey())) {
+            checkpoint = Optional.of(startedMailboxes.pollFirstEntry().getValue().serialize());
+        }
+    }
+
     int successfullyReprocessedMailCount() {
         return successfullyReprocessedMails.get();
     }
@@ -59,4 +91,8 @@ class ReprocessingContext {
     ReIndexingExecutionFailures failures() {
         return new ReIndexingExecutionFailures(ImmutableList.copyOf(failures));
     }
+
+    synchronized Optional<String> checkpoint() {
+        return checkpoint;
+    }
 }
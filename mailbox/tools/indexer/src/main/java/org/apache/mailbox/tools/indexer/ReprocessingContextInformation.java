@@ -21,6 +21,7 @@ package org.apache.mailbox.tools.indexer;
 
 import java.time.Clock;
 import java.time.Instant;
+import java.util.Optional;
 
 import org.apache.james.mailbox.indexer.IndexingDetailInformation;
 import org.apache.james.mailbox.indexer.ReIndexingExecutionFailures;
@@ -46,19 +47,27 @@ public class ReprocessingContextInformation implements TaskExecutionDetails.Addi
             reprocessingContext.successfullyReprocessedMailCount(),
             reprocessingContext.failedReprocessingMailCount(),
             reprocessingContext.failures(),
+            reprocessingContext.checkpoint(),
             Clock.systemUTC().instant());
     }
 
     private final int successfullyReprocessedMailCount;
     private final int failedReprocessedMailCount;
     private final ReIndexingExecutionFailures failures;
+    private final Optional<String> checkpoint;
     private final Instant timestamp;
 
     ReprocessingContextInformation(int successfullyReprocessedMailCount, int failedReprocessedMailCount,
                                    ReIndexingExecutionFailures failures, Instant timestamp) {
+        this(successfullyReprocessedMailCount, failedReprocessedMailCount, failures, Optional.empty(), timestamp);
+    }
+
+    ReprocessingContextInformation(int successfullyReprocessedMailCount, int failedReprocessedMailCount,
+                                   ReIndexingExecutionFailures failures, Optional<String> checkpoint, Instant timestamp) {
         this.successfullyReprocessedMailCount = successfullyReprocessedMailCount;
         this.failedReprocessedMailCount = failedReprocessedMailCount;
         this.failures = failures;
+        this.checkpoint = checkpoint;
         this.timestamp = timestamp;
     }
 
@@ -83,6 +92,12 @@ public class ReprocessingContextInformation implements TaskExecutionDetails.Addi
         return SerializableReIndexingExecutionFailures.from(failures());
     }
 
+    @Override
+    @JsonProperty("checkpoint")
+    public Optional<String> checkpoint() {
+        return checkpoint;
+    }
+
     @Override
     public Instant timestamp() {
         return timestamp;
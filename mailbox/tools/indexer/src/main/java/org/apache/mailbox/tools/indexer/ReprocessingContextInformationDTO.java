@@ -22,6 +22,7 @@ import java.time.Instant;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Stream;
 
 import org.apache.james.json.DTOModule;
@@ -66,7 +67,7 @@ public class ReprocessingContextInformationDTO implements AdditionalInformationD
                 @JsonProperty("failedReprocessedMailCount") int failedReprocessedMailCount,
                 @JsonProperty("failures") List<ReindexingFailureDTO> failures,
                 @JsonProperty("timestamp") Instant timestamp) {
-                super(type, successfullyReprocessedMailCount, failedReprocessedMailCount, failures, timestamp);
+                super(type, successfullyReprocessedMailCount, failedReprocessedMailCount, failures, Optional.empty(), timestamp);
             }
         }
 
@@ -101,27 +102,34 @@ public class ReprocessingContextInformationDTO implements AdditionalInformationD
                 @JsonProperty("successfullyReprocessedMailCount") int successfullyReprocessedMailCount,
                 @JsonProperty("failedReprocessedMailCount") int failedReprocessedMailCount,
                 @JsonProperty("failures") List<ReindexingFailureDTO> failures,
+                @JsonProperty("checkpoint") Optional<String> checkpoint,
                 @JsonProperty("timestamp") Instant timestamp) {
-                super(type, successfullyReprocessedMailCount, failedReprocessedMailCount, failures, timestamp);
+                super(type, successfullyReprocessedMailCount, failedReprocessedMailCount, failures, checkpoint, timestamp);
             }
         }
 
         public static final AdditionalInformationDTOModule<ReprocessingContextInformationForFullReindexingTask, DTO> serializationModule(MailboxId.Factory mailboxIdFactory) {
             return DTOModule.forDomainObject(ReprocessingContextInformationForFullReindexingTask.class)
                 .convertToDTO(DTO.class)
-                .toDomainObjectConverter(dto -> new ReprocessingContextInformationForFullReindexingTask(dto.successfullyReprocessedMailCount, dto.failedReprocessedMailCount, deserializeFailures(mailboxIdFactory, dto.failures), dto.getTimestamp()))
+                .toDomainObjectConverter(dto -> new ReprocessingContextInformationForFullReindexingTask(dto.successfullyReprocessedMailCount, dto.failedReprocessedMailCount, deserializeFailures(mailboxIdFactory, dto.failures), dto.checkpoint, dto.getTimestamp()))
                 .toDTOConverter((details, type) -> new DTO(
                     type,
                     details.getSuccessfullyReprocessedMailCount(),
                     details.getFailedReprocessedMailCount(),
                     serializeFailures(details.failures()),
+                    details.checkpoint(),
                     details.timestamp()))
                 .typeName(FullReindexingTask.FULL_RE_INDEXING.asString())
                 .withFactory(AdditionalInformationDTOModule::new);
         }
 
         ReprocessingContextInformationForFullReindexingTask(int successfullyReprocessedMailCount, int failedReprocessedMailCount, ReIndexingExecutionFailures failures, Instant timestamp) {
-            super(successfullyReprocessedMailCount, failedReprocessedMailCount, failures, timestamp);
+            this(successfullyReprocessedMailCount, failedReprocessedMailCount, failures, Optional.empty(), timestamp);
+        }
+
+        ReprocessingContextInformationForFullReindexingTask(int successfullyReprocessedMailCount, int failedReprocessedMailCount, ReIndexingExecutionFailures failures,
+                                                            Optional<String> checkpoint, Instant timestamp) {
+            super(successfullyReprocessedMailCount, failedReprocessedMailCount, failures, checkpoint, timestamp);
         }
     }
 
@@ -172,6 +180,7 @@ public class ReprocessingContextInformationDTO implements AdditionalInformationD
     protected final int successfullyReprocessedMailCount;
     protected final int failedReprocessedMailCount;
     protected final List<ReindexingFailureDTO> failures;
+    protected final Optional<String> checkpoint;
     protected final Instant timestamp;
 
 
@@ -179,11 +188,13 @@ public class ReprocessingContextInformationDTO implements AdditionalInformationD
                                       @JsonProperty("successfullyReprocessedMailCount") int successfullyReprocessedMailCount,
                                       @JsonProperty("failedReprocessedMailCount") int failedReprocessedMailCount,
                                       @JsonProperty("failures") List<ReindexingFailureDTO> failures,
+                                      @JsonProperty("checkpoint") Optional<String> checkpoint,
                                       @JsonProperty("timestamp") Instant timestamp) {
         this.type = type;
         this.successfullyReprocessedMailCount = successfullyReprocessedMailCount;
         this.failedReprocessedMailCount = failedReprocessedMailCount;
         this.failures = failures;
+        this.checkpoint = checkpoint;
         this.timestamp = timestamp;
     }
 
@@ -199,6 +210,10 @@ public class ReprocessingContextInformationDTO implements AdditionalInformationD
         return failures;
     }
 
+    public Optional<String> getCheckpoint() {
+        return checkpoint;
+    }
+
     public Instant getTimestamp() {
         return timestamp;
     }
@@ -20,6 +20,7 @@ package org.apache.mailbox.tools.indexer;
 
 import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 
 import org.apache.james.json.DTOModule;
 import org.apache.james.mailbox.model.MailboxId;
@@ -65,6 +66,7 @@ public class SingleMailboxReindexingTaskAdditionalInformationDTO implements Addi
             type,
             successfullyReprocessedMailCount,
             failedReprocessedMailCount, failures,
+            Optional.empty(),
             timestamp);
     }
 
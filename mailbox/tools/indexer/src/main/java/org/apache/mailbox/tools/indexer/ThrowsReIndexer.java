@@ -40,12 +40,12 @@ public class ThrowsReIndexer implements ReIndexer {
     }
 
     @Override
-    public Task reIndex() throws MailboxException {
+    public Task reIndex(RunningOptions runningOptions) throws MailboxException {
         throw new MailboxException("Not implemented");
     }
 
     @Override
-    public Task reIndex(Username username) throws MailboxException {
+    public Task reIndex(Username username, RunningOptions runningOptions) throws MailboxException {
         throw new MailboxException("Not implemented");
     }
 
@@ -27,6 +27,7 @@ import javax.inject.Inject;
 
 import org.apache.james.core.Username;
 import org.apache.james.mailbox.exception.MailboxException;
+import org.apache.james.mailbox.indexer.ReIndexer.RunningOptions;
 import org.apache.james.mailbox.indexer.ReIndexingExecutionFailures;
 import org.apache.james.task.Task;
 import org.apache.james.task.TaskExecutionDetails;
@@ -39,8 +40,9 @@ public class UserReindexingTask implements Task {
     public static class AdditionalInformation extends ReprocessingContextInformation {
         private final Username username;
 
-        AdditionalInformation(Username username, int successfullyReprocessedMailCount, int failedReprocessedMailCount, ReIndexingExecutionFailures failures, Instant timestamp) {
-            super(successfullyReprocessedMailCount, failedReprocessedMailCount, failures, timestamp);
+        AdditionalInformation(Username username, int successfullyReprocessedMailCount, int failedReprocessedMailCount, ReIndexingExecutionFailures failures,
+                              Optional<String> checkpoint, Instant timestamp) {
+            super(successfullyReprocessedMailCount, failedReprocessedMailCount, failures, checkpoint, timestamp);
             this.username = username;
         }
 
@@ -53,12 +55,18 @@ public class UserReindexingTask implements Task {
     private final ReIndexerPerformer reIndexerPerformer;
     private final Username username;
     private final ReprocessingContext reprocessingContext;
+    private final RunningOptions runningOptions;
 
     @Inject
     public UserReindexingTask(ReIndexerPerformer reIndexerPerformer, Username username) {
+        this(reIndexerPerformer, username, RunningOptions.DEFAULT);
+    }
+
+    public UserReindexingTask(ReIndexerPerformer reIndexerPerformer, Username username, RunningOptions runningOptions) {
         this.reIndexerPerformer = reIndexerPerformer;
         this.username = username;
-        this.reprocessingContext = new ReprocessingContext();
+        this.runningOptions = runningOptions;
+        this.reprocessingContext = new ReprocessingContext(runningOptions.getResumeAfter());
     }
 
     public static class Factory {
@@ -72,14 +80,17 @@ public class UserReindexingTask implements Task {
 
         public UserReindexingTask create(UserReindexingTaskDTO dto) {
             Username username = Username.of(dto.getUsername());
-            return new UserReindexingTask(reIndexerPerformer, username);
+            RunningOptions runningOptions = dto.getRunningOptions()
+                .map(RunningOptionsDTO::toDomainObject)
+                .orElse(RunningOptions.DEFAULT);
+            return new UserReindexingTask(reIndexerPerformer, username, runningOptions);
         }
     }
 
     @Override
     public Result run() {
         try {
-            return reIndexerPerformer.reIndex(username, reprocessingContext);
+            return reIndexerPerformer.reIndex(username, reprocessingContext, runningOptions);
         } catch (MailboxException e) {
             return Result.PARTIAL;
         }
@@ -89,6 +100,10 @@ public class UserReindexingTask implements Task {
         return username;
     }
 
+    public RunningOptions getRunningOptions() {
+        return runningOptions;
+    }
+
     @Override
     public TaskType type() {
         return USER_RE_INDEXING;
@@ -100,6 +115,7 @@ public class UserReindexingTask implements Task {
             reprocessingContext.successfullyReprocessedMailCount(),
             reprocessingContext.failedReprocessingMailCount(),
             reprocessingContext.failures(),
+            reprocessingContext.checkpoint(),
             Clock.systemUTC().instant())
         );
     }
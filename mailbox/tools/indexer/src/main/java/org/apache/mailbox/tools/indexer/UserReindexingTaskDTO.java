@@ -18,6 +18,8 @@
  ****************************************************************/
 package org.apache.mailbox.tools.indexer;
 
+import java.util.Optional;
+
 import org.apache.james.json.DTOModule;
 import org.apache.james.server.task.json.dto.TaskDTO;
 import org.apache.james.server.task.json.dto.TaskDTOModule;
@@ -37,15 +39,19 @@ public class UserReindexingTaskDTO implements TaskDTO {
     }
 
     public static UserReindexingTaskDTO of(UserReindexingTask task, String type) {
-        return new UserReindexingTaskDTO(type, task.getUsername().asString());
+        return new UserReindexingTaskDTO(type, task.getUsername().asString(), Optional.of(RunningOptionsDTO.toDTO(task.getRunningOptions())));
     }
 
     private final String type;
     private final String username;
+    private final Optional<RunningOptionsDTO> runningOptions;
 
-    private UserReindexingTaskDTO(@JsonProperty("type") String type, @JsonProperty("username") String username) {
+    private UserReindexingTaskDTO(@JsonProperty("type") String type,
+                                  @JsonProperty("username") String username,
+                                  @JsonProperty("runningOptions") Optional<RunningOptionsDTO> runningOptions) {
         this.type = type;
         this.username = username;
+        this.runningOptions = runningOptions;
     }
 
     @Override
@@ -57,4 +63,8 @@ public class UserReindexingTaskDTO implements TaskDTO {
         return username;
     }
 
+    public Optional<RunningOptionsDTO> getRunningOptions() {
+        return runningOptions;
+    }
+
 }
@@ -18,12 +18,16 @@
  ****************************************************************/
 package org.apache.mailbox.tools.indexer;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
 
 import java.time.Instant;
+import java.util.Optional;
 
 import org.apache.james.JsonSerializationVerifier;
+import org.apache.james.json.JsonGenericSerializer;
 import org.apache.james.mailbox.MessageUid;
+import org.apache.james.mailbox.indexer.ReIndexer.RunningOptions;
 import org.apache.james.mailbox.indexer.ReIndexingExecutionFailures;
 import org.apache.james.mailbox.model.TestId;
 import org.apache.mailbox.tools.indexer.ReprocessingContextInformationDTO.ReprocessingContextInformationForFullReindexingTask;
@@ -43,8 +47,11 @@ class FullReindexingTaskSerializationTest {
     private final int successfullyReprocessedMailCount = 42;
     private final int failedReprocessedMailCount = 2;
 
-    private final String serializedFullReindexingTask = "{\"type\": \"full-reindexing\"}";
+    private final String serializedFullReindexingTask = "{\"type\": \"full-reindexing\", \"runningOptions\": {\"concurrency\": 1}}";
+    private final String legacySerializedFullReindexingTask = "{\"type\": \"full-reindexing\"}";
+    private final String serializedFullReindexingTaskWithOptions = "{\"type\": \"full-reindexing\", \"runningOptions\": {\"concurrency\": 8, \"messagesPerSecond\": 100, \"resumeAfter\": \"1\"}}";
     private final String serializedAdditionalInformation = "{\"type\": \"full-reindexing\", \"successfullyReprocessedMailCount\":42,\"failedReprocessedMailCount\":2,\"failures\":[{\"mailboxId\":\"1\",\"uids\":[10]},{\"mailboxId\":\"2\",\"uids\":[20]}], \"timestamp\":\"2018-11-13T12:00:55Z\"}";
+    private final String serializedAdditionalInformationWithCheckpoint = "{\"type\": \"full-reindexing\", \"successfullyReprocessedMailCount\":42,\"failedReprocessedMailCount\":2,\"failures\":[{\"mailboxId\":\"1\",\"uids\":[10]},{\"mailboxId\":\"2\",\"uids\":[20]}], \"checkpoint\":\"2\", \"timestamp\":\"2018-11-13T12:00:55Z\"}";
 
     private ReIndexingExecutionFailures reIndexingExecutionFailures;
     private ReIndexerPerformer reIndexerPerformer;
@@ -66,6 +73,39 @@ class FullReindexingTaskSerializationTest {
             .verify();
     }
 
+    @Test
+    void fullReindexingWithRunningOptionsShouldBeSerializable() throws Exception {
+        RunningOptions runningOptions = RunningOptions.builder()
+            .concurrency(8)
+            .messagesPerSecond(100)
+            .resumeAfter("1")
+            .build();
+
+        JsonSerializationVerifier.dtoModule(FullReindexingTask.module(reIndexerPerformer))
+            .bean(new FullReindexingTask(reIndexerPerformer, runningOptions))
+            .json(serializedFullReindexingTaskWithOptions)
+            .verify();
+    }
+
+    @Test
+    void legacyFullReindexingShouldUseDefaultRunningOptions() throws Exception {
+        FullReindexingTask task = JsonGenericSerializer.forModules(FullReindexingTask.module(reIndexerPerformer))
+            .withoutNestedType()
+            .deserialize(legacySerializedFullReindexingTask);
+
+        assertThat(task.getRunningOptions()).isEqualTo(RunningOptions.DEFAULT);
+    }
+
+    @Test
+    void additionalInformationWithCheckpointShouldBeSerializable() throws Exception {
+        ReprocessingContextInformationForFullReindexingTask details = new ReprocessingContextInformationForFullReindexingTask(successfullyReprocessedMailCount, failedReprocessedMailCount, reIndexingExecutionFailures, Optional.of("2"), TIMESTAMP);
+
+        JsonSerializationVerifier.dtoModule(ReprocessingContextInformationForFullReindexingTask.serializationModule(new TestId.Factory()))
+            .bean(details)
+            .json(serializedAdditionalInformationWithCheckpoint)
+            .verify();
+    }
+
     @Test
     void additionalInformationShouldBeSerializable() throws Exception {
         ReprocessingContextInformationForFullReindexingTask details = new ReprocessingContextInformationForFullReindexingTask(successfullyReprocessedMailCount, failedReprocessedMailCount, reIndexingExecutionFailures, TIMESTAMP);
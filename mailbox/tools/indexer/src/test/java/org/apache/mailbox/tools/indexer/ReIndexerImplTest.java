@@ -31,6 +31,7 @@ import org.apache.james.mailbox.MailboxSession;
 import org.apache.james.mailbox.MessageManager;
 import org.apache.james.mailbox.MessageUid;
 import org.apache.james.mailbox.exception.MailboxNotFoundException;
+import org.apache.james.mailbox.indexer.IndexingDetailInformation;
 import org.apache.james.mailbox.indexer.ReIndexer;
 import org.apache.james.mailbox.inmemory.InMemoryId;
 import org.apache.james.mailbox.inmemory.InMemoryMailboxManager;
@@ -42,6 +43,7 @@ import org.apache.james.mailbox.model.MailboxPath;
 import org.apache.james.mailbox.store.MailboxSessionMapperFactory;
 import org.apache.james.mailbox.store.mail.model.MailboxMessage;
 import org.apache.james.mailbox.store.search.ListeningMessageSearchIndex;
+import org.apache.james.task.Task;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
@@ -117,6 +119,47 @@ public class ReIndexerImplTest {
         });
     }
 
+    @Test
+    void reIndexAllShouldSkipMailboxesUpToResumeAfter() throws Exception {
+        MailboxSession systemSession = mailboxManager.createSystemSession(USERNAME);
+        MailboxId inboxId = mailboxManager.createMailbox(INBOX, systemSession).get();
+        MailboxPath otherPath = MailboxPath.forUser(USERNAME, "other");
+        MailboxId otherId = mailboxManager.createMailbox(otherPath, systemSession).get();
+        mailboxManager.getMailbox(INBOX, systemSession)
+            .appendMessage(MessageManager.AppendCommand.builder().build("header: value\r\n\r\nbody"), systemSession);
+        mailboxManager.getMailbox(otherPath, systemSession)
+            .appendMessage(MessageManager.AppendCommand.builder().build("header: value\r\n\r\nbody"), systemSession);
+
+        reIndexer.reIndex(ReIndexer.RunningOptions.builder()
+                .resumeAfter(inboxId.serialize())
+                .build())
+            .run();
+
+        ArgumentCaptor<MailboxId> mailboxCaptor = ArgumentCaptor.forClass(MailboxId.class);
+        verify(messageSearchIndex).deleteAll(any(MailboxSession.class), mailboxCaptor.capture());
+        verify(messageSearchIndex).add(any(MailboxSession.class), any(Mailbox.class), any(MailboxMessage.class));
+        verifyNoMoreInteractions(messageSearchIndex);
+
+        assertThat(mailboxCaptor.getValue()).isEqualTo(otherId);
+    }
+
+    @Test
+    void reIndexAllShouldReportLastMailboxAsCheckpoint() throws Exception {
+        MailboxSession systemSession = mailboxManager.createSystemSession(USERNAME);
+        mailboxManager.createMailbox(INBOX, systemSession).get();
+        MailboxId otherId = mailboxManager.createMailbox(MailboxPath.forUser(USERNAME, "other"), systemSession).get();
+
+        Task task = reIndexer.reIndex(ReIndexer.RunningOptions.builder()
+            .concurrency(2)
+            .messagesPerSecond(10)
+            .build());
+        task.run();
+
+        assertThat(task.details())
+            .hasValueSatisfying(details -> assertThat(((IndexingDetailInformation) details).checkpoint())
+                .contains(otherId.serialize()));
+    }
+
     @Test
     void userReIndexShouldCallMessageSearchIndex() throws Exception {
         MailboxSession systemSession = mailboxManager.createSystemSession(USERNAME);
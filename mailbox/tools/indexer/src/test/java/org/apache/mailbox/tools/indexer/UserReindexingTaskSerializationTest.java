@@ -18,13 +18,17 @@
  ****************************************************************/
 package org.apache.mailbox.tools.indexer;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
 
 import java.time.Instant;
+import java.util.Optional;
 
 import org.apache.james.JsonSerializationVerifier;
 import org.apache.james.core.Username;
+import org.apache.james.json.JsonGenericSerializer;
 import org.apache.james.mailbox.MessageUid;
+import org.apache.james.mailbox.indexer.ReIndexer.RunningOptions;
 import org.apache.james.mailbox.indexer.ReIndexingExecutionFailures;
 import org.apache.james.mailbox.model.TestId;
 import org.junit.jupiter.api.BeforeEach;
@@ -38,8 +42,11 @@ class UserReindexingTaskSerializationTest {
 
     private final int successfullyReprocessedMailCount = 42;
     private final int failedReprocessedMailCount = 2;
-    private final String serializedUserReindexingTask = "{\"type\": \"user-reindexing\", \"username\": \"foo@apache.org\"}";
+    private final String serializedUserReindexingTask = "{\"type\": \"user-reindexing\", \"username\": \"foo@apache.org\", \"runningOptions\": {\"concurrency\": 1}}";
+    private final String legacySerializedUserReindexingTask = "{\"type\": \"user-reindexing\", \"username\": \"foo@apache.org\"}";
+    private final String serializedUserReindexingTaskWithOptions = "{\"type\": \"user-reindexing\", \"username\": \"foo@apache.org\", \"runningOptions\": {\"concurrency\": 8, \"messagesPerSecond\": 100, \"resumeAfter\": \"1\"}}";
     private final String serializedAdditionalInformation = "{\"type\": \"user-reindexing\", \"user\": \"foo@apache.org\", \"successfullyReprocessedMailCount\":42,\"failedReprocessedMailCount\":2,\"failures\":[{\"mailboxId\":\"1\",\"uids\":[10]},{\"mailboxId\":\"2\",\"uids\":[20]}], \"timestamp\":\"2018-11-13T12:00:55Z\"}";
+    private final String serializedAdditionalInformationWithCheckpoint = "{\"type\": \"user-reindexing\", \"user\": \"foo@apache.org\", \"successfullyReprocessedMailCount\":42,\"failedReprocessedMailCount\":2,\"failures\":[{\"mailboxId\":\"1\",\"uids\":[10]},{\"mailboxId\":\"2\",\"uids\":[20]}], \"checkpoint\":\"2\", \"timestamp\":\"2018-11-13T12:00:55Z\"}";
 
     private final TestId mailboxId = TestId.of(1L);
     private final MessageUid messageUid = MessageUid.of(10L);
@@ -68,13 +75,45 @@ class UserReindexingTaskSerializationTest {
             .verify();
     }
 
+    @Test
+    void userReindexingWithRunningOptionsShouldBeSerializable() throws Exception {
+        RunningOptions runningOptions = RunningOptions.builder()
+            .concurrency(8)
+            .messagesPerSecond(100)
+            .resumeAfter("1")
+            .build();
+
+        JsonSerializationVerifier.dtoModule(UserReindexingTaskDTO.module(factory))
+            .bean(new UserReindexingTask(reIndexerPerformer, USERNAME, runningOptions))
+            .json(serializedUserReindexingTaskWithOptions)
+            .verify();
+    }
+
+    @Test
+    void legacyUserReindexingShouldUseDefaultRunningOptions() throws Exception {
+        UserReindexingTask task = JsonGenericSerializer.forModules(UserReindexingTaskDTO.module(factory))
+            .withoutNestedType()
+            .deserialize(legacySerializedUserReindexingTask);
+
+        assertThat(task.getRunningOptions()).isEqualTo(RunningOptions.DEFAULT);
+    }
+
     @Test
     void additionalInformationShouldBeSerializable() throws Exception {
-        UserReindexingTask.AdditionalInformation details = new UserReindexingTask.AdditionalInformation(USERNAME, successfullyReprocessedMailCount, failedReprocessedMailCount, reIndexingExecutionFailures, TIMESTAMP);
+        UserReindexingTask.AdditionalInformation details = new UserReindexingTask.AdditionalInformation(USERNAME, successfullyReprocessedMailCount, failedReprocessedMailCount, reIndexingExecutionFailures, Optional.empty(), TIMESTAMP);
         JsonSerializationVerifier.dtoModule(UserReindexingTaskAdditionalInformationDTO.serializationModule(new TestId.Factory()))
             .bean(details)
             .json(serializedAdditionalInformation)
             .verify();
     }
+
+    @Test
+    void additionalInformationWithCheckpointShouldBeSerializable() throws Exception {
+        UserReindexingTask.AdditionalInformation details = new UserReindexingTask.AdditionalInformation(USERNAME, successfullyReprocessedMailCount, failedReprocessedMailCount, reIndexingExecutionFailures, Optional.of("2"), TIMESTAMP);
+        JsonSerializationVerifier.dtoModule(UserReindexingTaskAdditionalInformationDTO.serializationModule(new TestId.Factory()))
+            .bean(details)
+            .json(serializedAdditionalInformationWithCheckpoint)
+            .verify();
+    }
 }
 
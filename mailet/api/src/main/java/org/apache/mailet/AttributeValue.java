@@ -37,6 +37,7 @@ import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.common.base.MoreObjects;
 import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
 
 /** 
  * Strong typing for attribute value, which represents the value of an attribute stored in a mail.
@@ -45,6 +46,14 @@ import com.google.common.base.Preconditions;
  */
 public class AttributeValue<T> {
     private static final Logger LOGGER = LoggerFactory.getLogger(AttributeValue.class);
+    private static final ImmutableList<Serializer<?>> IMMUTABLE_VALUE_SERIALIZERS = ImmutableList.of(
+        Serializer.BOOLEAN_SERIALIZER,
+        Serializer.STRING_SERIALIZER,
+        Serializer.INT_SERIALIZER,
+        Serializer.LONG_SERIALIZER,
+        Serializer.FLOAT_SERIALIZER,
+        Serializer.DOUBLE_SERIALIZER,
+        Serializer.URL_SERIALIZER);
 
     public static AttributeValue<Boolean> of(Boolean value) {
         Preconditions.checkNotNull(value, "value should not be null");
@@ -220,9 +229,14 @@ public class AttributeValue<T> {
         }
     }
 
-    //FIXME : poor performance
+    /**
+     * Immutable values are shared, other values are deep copied through their serialized form.
+     */
     @SuppressWarnings("unchecked")
     public AttributeValue<T> duplicate() {
+        if (IMMUTABLE_VALUE_SERIALIZERS.contains(serializer)) {
+            return this;
+        }
         return (AttributeValue<T>) fromJson(toJson());
     }
 
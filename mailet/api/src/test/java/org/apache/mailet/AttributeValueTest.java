@@ -639,6 +639,24 @@ class AttributeValueTest {
             .isThrownBy(() -> AttributeValue.fromJsonString("{\"serializer\":\"MapSerializer\"}"));
     }
 
+    @Test
+    void duplicateShouldShareImmutableValues() {
+        AttributeValue<String> value = AttributeValue.of("value");
+
+        assertThat(value.duplicate()).isSameAs(value);
+    }
+
+    @Test
+    void duplicateShouldCopyMutableValues() {
+        TestSerializable serializable = new TestSerializable("me");
+        AttributeValue<java.io.Serializable> value = AttributeValue.ofSerializable(serializable);
+
+        AttributeValue<java.io.Serializable> duplicate = value.duplicate();
+
+        assertThat(duplicate).isEqualTo(value);
+        assertThat(duplicate.value()).isNotSameAs(serializable);
+    }
+
     @Test
     void valueAsShouldCastValueWhenRightType() {
         assertThat(AttributeValue.of("value").valueAs(String.class))
@@ -33,6 +33,10 @@ import org.apache.james.imap.encode.main.DefaultImapEncoderFactory;
 import org.apache.james.imap.main.DefaultImapDecoderFactory;
 import org.apache.james.imap.processor.main.DefaultImapProcessorFactory;
 import org.apache.james.mailbox.MailboxManager;
+import org.apache.james.mailbox.events.BinaryEventCodec;
+import org.apache.james.mailbox.events.EventCodecConfiguration;
+import org.apache.james.mailbox.events.GroupExecutionConfiguration;
+import org.apache.james.mailbox.events.LegacyGroupBinding;
 import org.apache.james.mailbox.events.MailboxIdRegistrationKey;
 import org.apache.james.mailbox.events.MemoryEventDeadLetters;
 import org.apache.james.mailbox.events.RabbitMQEventBus;
@@ -110,8 +114,9 @@ public class RabbitMQEventBusHostSystem extends JamesImapHostSystem {
         EventSerializer eventSerializer = new EventSerializer(mailboxIdFactory, messageIdFactory, new DefaultUserQuotaRootResolver.DefaultQuotaRootDeserializer());
         RoutingKeyConverter routingKeyConverter = new RoutingKeyConverter(ImmutableSet.of(new MailboxIdRegistrationKey.Factory(mailboxIdFactory)));
         return new RabbitMQEventBus(reactorRabbitMQChannelPool.getSender(), reactorRabbitMQChannelPool::createReceiver,
-            eventSerializer, RetryBackoffConfiguration.DEFAULT, routingKeyConverter, new MemoryEventDeadLetters(),
-            new RecordingMetricFactory());
+            eventSerializer, new BinaryEventCodec(mailboxIdFactory, messageIdFactory), EventCodecConfiguration.DEFAULT,
+            RetryBackoffConfiguration.DEFAULT, GroupExecutionConfiguration.DEFAULT, LegacyGroupBinding.KEEP, routingKeyConverter,
+            new MemoryEventDeadLetters(), new RecordingMetricFactory());
     }
 
     @Override
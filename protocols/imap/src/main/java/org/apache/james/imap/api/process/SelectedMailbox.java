@@ -20,6 +20,7 @@
 package org.apache.james.imap.api.process;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import javax.mail.Flags;
@@ -149,6 +150,17 @@ public interface SelectedMailbox {
      */
     int remove(MessageUid uid);
 
+    /**
+     * Removes the given UIDs in a single batch.
+     *
+     * @param uids
+     *            not null
+     * @return the message sequence numbers the UIDs held when removed one
+     *         after the other, in ascending UID order, or
+     *         {@link #NO_SUCH_MESSAGE} for UIDs that were not found
+     */
+    List<Integer> removeAll(Collection<MessageUid> uids);
+
     /**
      * Return a Collection which holds all uids reflecting the Messages which
      * flags were updated
@@ -173,21 +173,16 @@ public abstract class AbstractMailboxProcessor<R extends ImapRequest> extends Ab
     }
 
     private void addExpungedResponses(SelectedMailbox selected, Collection<MessageUid> expungedUids, ImapProcessor.Responder responder) {
-        for (MessageUid uid : expungedUids) {
-
-            // we need to remove the message in the loop to the sequence numbers
-            // are updated correctly.
-            // See 7.4.1. EXPUNGE Response
-            final int msn = selected.remove(uid);
+        // Returned sequence numbers account for the previously expunged messages
+        // See 7.4.1. EXPUNGE Response
+        for (int msn : selected.removeAll(expungedUids)) {
             ExpungeResponse response = new ExpungeResponse(msn);
             responder.respond(response);
         }
     }
     
     private void addVanishedResponse(SelectedMailbox selected, Collection<MessageUid> expungedUids, ImapProcessor.Responder responder) {
-        for (MessageUid uid : expungedUids) {
-            selected.remove(uid);
-        }
+        selected.removeAll(expungedUids);
         UidRange[] uidRange = uidRanges(MessageRange.toRanges(expungedUids));
         responder.respond(new VanishedResponse(uidRange, false));
     }
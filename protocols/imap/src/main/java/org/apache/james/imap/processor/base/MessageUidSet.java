@@ -0,0 +1,211 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+
+package org.apache.james.imap.processor.base;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import org.apache.james.mailbox.MessageUid;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Sorted set of {@link MessageUid} backed by a primitive <code>long[]</code>.
+ *
+ * Lookups are O(log n) binary searches, appends of increasing UIDs are amortized O(1) and batch insertions or
+ * removals are done in a single O(n + m) pass. This avoids holding one boxed object per message for each
+ * selected mailbox.
+ *
+ * This class is not thread safe: callers are expected to synchronize accesses.
+ */
+final class MessageUidSet {
+    private static final long[] EMPTY = new long[0];
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] uids;
+    private int size;
+
+    MessageUidSet() {
+        this.uids = EMPTY;
+        this.size = 0;
+    }
+
+    boolean add(MessageUid uid) {
+        long value = uid.asLong();
+        if (size == 0 || uids[size - 1] < value) {
+            ensureCapacity(size + 1);
+            uids[size] = value;
+            size++;
+            return true;
+        }
+        int position = Arrays.binarySearch(uids, 0, size, value);
+        if (position >= 0) {
+            return false;
+        }
+        int insertionPoint = -(position + 1);
+        ensureCapacity(size + 1);
+        System.arraycopy(uids, insertionPoint, uids, insertionPoint + 1, size - insertionPoint);
+        uids[insertionPoint] = value;
+        size++;
+        return true;
+    }
+
+    void addAll(Collection<MessageUid> addedUids) {
+        if (addedUids.isEmpty()) {
+            return;
+        }
+        long[] added = toSortedArray(addedUids);
+        long[] merged = new long[size + added.length];
+        int mergedSize = 0;
+        int i = 0;
+        int j = 0;
+        while (i < size || j < added.length) {
+            long next;
+            if (j == added.length || (i < size && uids[i] <= added[j])) {
+                next = uids[i];
+                i++;
+            } else {
+                next = added[j];
+                j++;
+            }
+            if (mergedSize == 0 || merged[mergedSize - 1] != next) {
+                merged[mergedSize] = next;
+                mergedSize++;
+            }
+        }
+        uids = merged;
+        size = mergedSize;
+    }
+
+    boolean remove(MessageUid uid) {
+        int position = indexOf(uid);
+        if (position < 0) {
+            return false;
+        }
+        System.arraycopy(uids, position + 1, uids, position, size - position - 1);
+        size--;
+        return true;
+    }
+
+    /**
+     * @return the count of UIDs that were effectively removed
+     */
+    int removeAll(Collection<MessageUid> removedUids) {
+        if (removedUids.isEmpty()) {
+            return 0;
+        }
+        long[] removed = toSortedArray(removedUids);
+        return removeSorted(removed, removed.length);
+    }
+
+    /**
+     * @return the count of UIDs that were effectively removed
+     */
+    int removeAll(MessageUidSet removedUids) {
+        return removeSorted(removedUids.uids, removedUids.size);
+    }
+
+    /**
+     * @return the position of this UID in the set, or a negative value if it is not contained
+     */
+    int indexOf(MessageUid uid) {
+        int position = Arrays.binarySearch(uids, 0, size, uid.asLong());
+        if (position < 0) {
+            return -1;
+        }
+        return position;
+    }
+
+    boolean contains(MessageUid uid) {
+        return indexOf(uid) >= 0;
+    }
+
+    MessageUid get(int index) {
+        Preconditions.checkElementIndex(index, size);
+        return MessageUid.of(uids[index]);
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    void clear() {
+        uids = EMPTY;
+        size = 0;
+    }
+
+    /**
+     * @return an immutable snapshot of this set, sorted by ascending UID
+     */
+    List<MessageUid> asList() {
+        ImmutableList.Builder<MessageUid> result = ImmutableList.builderWithExpectedSize(size);
+        for (int i = 0; i < size; i++) {
+            result.add(MessageUid.of(uids[i]));
+        }
+        return result.build();
+    }
+
+    private void ensureCapacity(int minCapacity) {
+        if (minCapacity > uids.length) {
+            int grownCapacity = uids.length + (uids.length >> 1);
+            uids = Arrays.copyOf(uids, Math.max(minCapacity, Math.max(grownCapacity, MIN_CAPACITY)));
+        }
+    }
+
+    private int removeSorted(long[] removed, int removedSize) {
+        if (removedSize == 0 || size == 0) {
+            return 0;
+        }
+        int written = 0;
+        int j = 0;
+        for (int read = 0; read < size; read++) {
+            long value = uids[read];
+            while (j < removedSize && removed[j] < value) {
+                j++;
+            }
+            if (j < removedSize && removed[j] == value) {
+                continue;
+            }
+            uids[written] = value;
+            written++;
+        }
+        int removedCount = size - written;
+        size = written;
+        return removedCount;
+    }
+
+    private static long[] toSortedArray(Collection<MessageUid> messageUids) {
+        long[] result = new long[messageUids.size()];
+        int i = 0;
+        for (MessageUid uid : messageUids) {
+            result[i] = uid.asLong();
+            i++;
+        }
+        Arrays.sort(result);
+        return result;
+    }
+}
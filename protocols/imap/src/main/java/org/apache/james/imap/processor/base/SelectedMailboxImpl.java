@@ -19,14 +19,10 @@
 
 package org.apache.james.imap.processor.base;
 
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
-import java.util.Set;
-import java.util.TreeSet;
 import java.util.stream.Stream;
 
 import javax.mail.Flags;
@@ -50,6 +46,8 @@ import org.apache.james.mailbox.model.SearchQuery;
 import org.apache.james.mailbox.model.UpdatedFlags;
 
 import com.github.steveash.guavate.Guavate;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSortedSet;
 
 /**
  * Default implementation of {@link SelectedMailbox}
@@ -62,10 +60,10 @@ public class SelectedMailboxImpl implements SelectedMailbox, MailboxListener {
     private final MailboxSession.SessionId sessionId;
     private final MailboxSession mailboxSession;
     private final UidMsnConverter uidMsnConverter;
-    private final Set<MessageUid> recentUids = new TreeSet<>();
-    private final Set<MessageUid> flagUpdateUids = new TreeSet<>();
+    private final MessageUidSet recentUids = new MessageUidSet();
+    private final MessageUidSet flagUpdateUids = new MessageUidSet();
     private final Flags.Flag uninterestingFlag = Flags.Flag.RECENT;
-    private final Set<MessageUid> expungedUids = new TreeSet<>();
+    private final MessageUidSet expungedUids = new MessageUidSet();
 
     private boolean recentUidRemoved = false;
     private boolean isDeletedByOtherSession = false;
@@ -134,7 +132,7 @@ public class SelectedMailboxImpl implements SelectedMailbox, MailboxListener {
     @Override
     public synchronized Collection<MessageUid> getRecent() {
         checkExpungedRecents();
-        return new ArrayList<>(recentUids);
+        return recentUids.asList();
     }
 
     @Override
@@ -154,8 +152,8 @@ public class SelectedMailboxImpl implements SelectedMailbox, MailboxListener {
     }
 
     private void checkExpungedRecents() {
-        for (MessageUid uid : expungedUids()) {
-            removeRecent(uid);
+        if (recentUids.removeAll(expungedUids) > 0) {
+            recentUidRemoved = true;
         }
     }
 
@@ -189,6 +187,24 @@ public class SelectedMailboxImpl implements SelectedMailbox, MailboxListener {
         return result;
     }
 
+    @Override
+    public synchronized List<Integer> removeAll(Collection<MessageUid> uids) {
+        ImmutableList.Builder<Integer> msns = ImmutableList.builder();
+        int removedCount = 0;
+        for (MessageUid uid : ImmutableSortedSet.copyOf(uids)) {
+            Optional<Integer> msn = uidMsnConverter.getMsn(uid);
+            if (msn.isPresent()) {
+                // Previously removed UIDs are lower, hence shifted this message sequence number
+                msns.add(msn.get() - removedCount);
+                removedCount++;
+            } else {
+                msns.add(NO_SUCH_MESSAGE);
+            }
+        }
+        uidMsnConverter.removeAll(uids);
+        return msns.build();
+    }
+
     private boolean interestingFlags(UpdatedFlags updated) {
         boolean result;
         final Iterator<Flags.Flag> it = updated.systemFlagIterator();
@@ -266,20 +282,18 @@ public class SelectedMailboxImpl implements SelectedMailbox, MailboxListener {
      */
     @Override
     public synchronized Collection<MessageUid> flagUpdateUids() {
-        // copy the TreeSet to fix possible
+        // return a snapshot to fix possible
         // java.util.ConcurrentModificationException
         // See IMAP-278
-        return Collections.unmodifiableSet(new TreeSet<>(flagUpdateUids));
-        
+        return flagUpdateUids.asList();
     }
 
     @Override
     public synchronized Collection<MessageUid> expungedUids() {
-        // copy the TreeSet to fix possible
+        // return a snapshot to fix possible
         // java.util.ConcurrentModificationException
         // See IMAP-278
-        return Collections.unmodifiableSet(new TreeSet<>(expungedUids));
-        
+        return expungedUids.asList();
     }
 
     @Override
@@ -19,37 +19,30 @@
 
 package org.apache.james.imap.processor.base;
 
-import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
-import java.util.TreeSet;
 
 import org.apache.james.mailbox.MessageUid;
 
 import com.google.common.annotations.VisibleForTesting;
-import com.google.common.collect.Lists;
 
 public class UidMsnConverter {
 
     public static final int FIRST_MSN = 1;
 
-    @VisibleForTesting final ArrayList<MessageUid> uids;
+    @VisibleForTesting final MessageUidSet uids;
 
     public UidMsnConverter() {
-        this.uids = Lists.newArrayList();
+        this.uids = new MessageUidSet();
     }
 
     public synchronized void addAll(List<MessageUid> addedUids) {
-        TreeSet<MessageUid> tmp = new TreeSet<>();
-        tmp.addAll(uids);
-        tmp.addAll(addedUids);
-        uids.clear();
-        uids.addAll(tmp);
+        uids.addAll(addedUids);
     }
 
     public synchronized Optional<Integer> getMsn(MessageUid uid) {
-        int position = Collections.binarySearch(uids, uid);
+        int position = uids.indexOf(uid);
         if (position < 0) {
             return Optional.empty();
         }
@@ -82,6 +75,13 @@ public class UidMsnConverter {
         uids.remove(uid);
     }
 
+    /**
+     * Removes the given UIDs in a single pass, which is cheaper than removing them one by one on large mailboxes.
+     */
+    public synchronized void removeAll(Collection<MessageUid> removedUids) {
+        uids.removeAll(removedUids);
+    }
+
     public synchronized boolean isEmpty() {
         return uids.isEmpty();
     }
@@ -91,21 +91,7 @@ public class UidMsnConverter {
     }
 
     public synchronized void addUid(MessageUid uid) {
-        if (uids.contains(uid)) {
-            return;
-        }
-        if (isLastUid(uid)) {
-            uids.add(uid);
-        } else {
-            uids.add(uid);
-            Collections.sort(uids);
-        }
-    }
-
-    private boolean isLastUid(MessageUid uid) {
-        Optional<MessageUid> lastUid = getLastUid();
-        return !lastUid.isPresent() ||
-            lastUid.get().compareTo(uid) < 0;
+        uids.add(uid);
     }
 
     private int getLastMsn() {
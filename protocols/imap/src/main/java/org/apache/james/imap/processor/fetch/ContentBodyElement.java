@@ -59,4 +59,11 @@ class ContentBodyElement implements BodyElement {
     public InputStream getInputStream() throws IOException {
         return content.getInputStream();
     }
+
+    /**
+     * Read a range of the content, letting the underlying {@link Content} seek to <code>offset</code> when it can
+     */
+    public InputStream getInputStream(long offset, long length) throws IOException {
+        return content.getInputStream(offset, length);
+    }
 }
\ No newline at end of file
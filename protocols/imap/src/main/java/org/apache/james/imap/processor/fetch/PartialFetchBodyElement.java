@@ -19,6 +19,7 @@
 
 package org.apache.james.imap.processor.fetch;
 
+import java.io.ByteArrayInputStream;
 import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
@@ -68,7 +69,14 @@ final class PartialFetchBodyElement implements BodyElement {
 
     @Override
     public InputStream getInputStream() throws IOException {
-        return new LimitingInputStream(delegate.getInputStream(), firstOctet, size());
+        long size = size();
+        if (size == 0) {
+            return new ByteArrayInputStream(new byte[0]);
+        }
+        if (delegate instanceof ContentBodyElement) {
+            return ((ContentBodyElement) delegate).getInputStream(firstOctet, size);
+        }
+        return new LimitingInputStream(delegate.getInputStream(), firstOctet, size);
     }
 
     private static final class LimitingInputStream extends FilterInputStream {
@@ -136,7 +144,9 @@ final class PartialFetchBodyElement implements BodyElement {
             }
 
             int i = super.read(b, off, readLimit);
-            pos += i;
+            if (i > 0) {
+                pos += i;
+            }
             return i;
 
         }
@@ -0,0 +1,131 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+
+package org.apache.james.imap.processor.base;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.apache.james.mailbox.MessageUid;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+
+public class MessageUidSetTest {
+    private static final MessageUid UID_1 = MessageUid.of(1);
+    private static final MessageUid UID_2 = MessageUid.of(2);
+    private static final MessageUid UID_3 = MessageUid.of(3);
+    private static final MessageUid UID_4 = MessageUid.of(4);
+
+    private MessageUidSet testee;
+
+    @Before
+    public void setUp() {
+        testee = new MessageUidSet();
+    }
+
+    @Test
+    public void addShouldKeepUidsSorted() {
+        testee.add(UID_3);
+        testee.add(UID_1);
+        testee.add(UID_2);
+
+        assertThat(testee.asList()).containsExactly(UID_1, UID_2, UID_3);
+    }
+
+    @Test
+    public void addShouldReturnFalseWhenAlreadyContained() {
+        testee.add(UID_1);
+
+        assertThat(testee.add(UID_1)).isFalse();
+        assertThat(testee.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void addShouldGrowBeyondInitialCapacity() {
+        for (long i = 1000; i > 0; i--) {
+            testee.add(MessageUid.of(i));
+        }
+
+        assertThat(testee.size()).isEqualTo(1000);
+        assertThat(testee.get(0)).isEqualTo(UID_1);
+        assertThat(testee.get(999)).isEqualTo(MessageUid.of(1000));
+    }
+
+    @Test
+    public void addAllShouldMergeAndDeduplicate() {
+        testee.add(UID_2);
+        testee.add(UID_4);
+
+        testee.addAll(ImmutableList.of(UID_4, UID_3, UID_1, UID_3));
+
+        assertThat(testee.asList()).containsExactly(UID_1, UID_2, UID_3, UID_4);
+    }
+
+    @Test
+    public void removeShouldReturnFalseWhenNotContained() {
+        testee.add(UID_1);
+
+        assertThat(testee.remove(UID_2)).isFalse();
+        assertThat(testee.asList()).containsExactly(UID_1);
+    }
+
+    @Test
+    public void removeAllShouldReturnRemovedCount() {
+        testee.addAll(ImmutableList.of(UID_1, UID_2, UID_3));
+
+        assertThat(testee.removeAll(ImmutableList.of(UID_3, UID_4, UID_1))).isEqualTo(2);
+        assertThat(testee.asList()).containsExactly(UID_2);
+    }
+
+    @Test
+    public void removeAllShouldAcceptAnotherSet() {
+        testee.addAll(ImmutableList.of(UID_1, UID_2, UID_3));
+        MessageUidSet removed = new MessageUidSet();
+        removed.addAll(ImmutableList.of(UID_2, UID_4));
+
+        assertThat(testee.removeAll(removed)).isEqualTo(1);
+        assertThat(testee.asList()).containsExactly(UID_1, UID_3);
+    }
+
+    @Test
+    public void indexOfShouldReturnPositionWhenContained() {
+        testee.addAll(ImmutableList.of(UID_1, UID_3));
+
+        assertThat(testee.indexOf(UID_3)).isEqualTo(1);
+    }
+
+    @Test
+    public void indexOfShouldReturnNegativeWhenNotContained() {
+        testee.addAll(ImmutableList.of(UID_1, UID_3));
+
+        assertThat(testee.indexOf(UID_2)).isNegative();
+    }
+
+    @Test
+    public void clearShouldEmptyTheSet() {
+        testee.addAll(ImmutableList.of(UID_1, UID_3));
+
+        testee.clear();
+
+        assertThat(testee.isEmpty()).isTrue();
+        assertThat(testee.contains(UID_1)).isFalse();
+    }
+}
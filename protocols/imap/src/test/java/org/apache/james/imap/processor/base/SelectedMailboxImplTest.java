@@ -37,6 +37,7 @@ import java.util.stream.Stream;
 import javax.mail.Flags;
 
 import org.apache.james.core.Username;
+import org.apache.james.imap.api.process.SelectedMailbox;
 import org.apache.james.imap.encode.FakeImapSession;
 import org.apache.james.mailbox.MailboxManager;
 import org.apache.james.mailbox.MailboxSession;
@@ -62,6 +63,8 @@ import org.mockito.stubbing.Answer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.collect.ImmutableList;
+
 
 public class SelectedMailboxImplTest {
 
@@ -145,6 +148,19 @@ public class SelectedMailboxImplTest {
             .isEqualTo(1);
     }
 
+    @Test
+    public void removeAllShouldReturnMessageSequenceNumbersAsIfRemovedOneByOne() throws Exception {
+        SelectedMailboxImpl selectedMailbox = new SelectedMailboxImpl(
+            mailboxManager,
+            eventBus,
+            imapSession,
+            messageManager);
+
+        assertThat(selectedMailbox.removeAll(ImmutableList.of(MessageUid.of(3), MessageUid.of(1), MessageUid.of(2))))
+            .containsExactly(1, SelectedMailbox.NO_SUCH_MESSAGE, 1);
+        assertThat(selectedMailbox.existsCount()).isZero();
+    }
+
     private Answer<Stream<MessageUid>> delayedSearchAnswer() {
         return invocation -> {
             Thread.sleep(1000);
@@ -377,6 +377,27 @@ public class UidMsnConverterTest {
                 2, messageUid3));
     }
 
+    @Test
+    public void removeAllShouldKeepAMonoticMSNToUIDConversionMapping() {
+        testee.addAll(ImmutableList.of(messageUid1, messageUid2, messageUid3, messageUid4));
+
+        testee.removeAll(ImmutableList.of(messageUid3, messageUid1));
+
+        assertThat(mapTesteeInternalDataToMsnByUid())
+            .isEqualTo(ImmutableMap.of(1, messageUid2,
+                2, messageUid4));
+    }
+
+    @Test
+    public void removeAllShouldIgnoreUnknownUids() {
+        testee.addAll(ImmutableList.of(messageUid1, messageUid3));
+
+        testee.removeAll(ImmutableList.of(messageUid2, messageUid3, messageUid4));
+
+        assertThat(mapTesteeInternalDataToMsnByUid())
+            .isEqualTo(ImmutableMap.of(1, messageUid1));
+    }
+
     @Test
     public void addAndRemoveShouldLeadToMonoticMSNToUIDConversionWhenMixed() throws Exception {
         int initialCount = 1000;
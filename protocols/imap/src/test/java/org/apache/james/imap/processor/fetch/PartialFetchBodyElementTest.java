@@ -21,9 +21,15 @@ package org.apache.james.imap.processor.fetch;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
 import org.apache.james.imap.message.response.FetchResponse.BodyElement;
+import org.apache.james.mailbox.model.Content;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -97,4 +103,33 @@ public class PartialFetchBodyElementTest {
 
         assertThat(element.size()).describedAs("Content size is less than start. Size should be zero.").isEqualTo(NUMBER_OF_OCTETS);
     }
+
+    @Test
+    public void getInputStreamShouldReturnTheRequestedRange() throws Exception {
+        Content content = mock(Content.class);
+        when(content.size()).thenReturn(100L);
+        when(content.getInputStream(10, 20)).thenReturn(new ByteArrayInputStream("0123456789abcdefghij".getBytes(StandardCharsets.US_ASCII)));
+        PartialFetchBodyElement element = new PartialFetchBodyElement(new ContentBodyElement("Name", content), 10, 20);
+
+        assertThat(element.getInputStream()).hasContent("0123456789abcdefghij");
+        verify(content, never()).getInputStream();
+    }
+
+    @Test
+    public void getInputStreamShouldSkipLeadingOctetsOfOtherBodyElements() throws Exception {
+        when(mockBodyElement.size()).thenReturn(26L);
+        when(mockBodyElement.getInputStream()).thenReturn(new ByteArrayInputStream("abcdefghijklmnopqrstuvwxyz".getBytes(StandardCharsets.US_ASCII)));
+        PartialFetchBodyElement element = new PartialFetchBodyElement(mockBodyElement, 20, NUMBER_OF_OCTETS);
+
+        assertThat(element.getInputStream()).hasContent("uvwxyz");
+    }
+
+    @Test
+    public void getInputStreamShouldBeEmptyWhenStartIsAfterTheEnd() throws Exception {
+        when(mockBodyElement.size()).thenReturn(26L);
+        PartialFetchBodyElement element = new PartialFetchBodyElement(mockBodyElement, 30, NUMBER_OF_OCTETS);
+
+        assertThat(element.getInputStream()).hasContent("");
+        verify(mockBodyElement, never()).getInputStream();
+    }
 }
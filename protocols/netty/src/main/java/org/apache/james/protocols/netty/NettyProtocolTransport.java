@@ -117,31 +117,12 @@ public class NettyProtocolTransport extends AbstractProtocolTransport {
         }
         if (!isTLSStarted()) {
             if (in instanceof FileInputStream) {
-                FileChannel fChannel = ((FileInputStream) in).getChannel();
-                try {
-                    channel.write(new DefaultFileRegion(fChannel, 0, fChannel.size(), true));
-
-                } catch (IOException e) {
-                    // We handle this later
-                    channel.write(new ChunkedStream(new ExceptionInputStream(e)));
-                }
+                writeStream(in);
                 return;
 
             } else if (in instanceof CombinedInputStream) {
                 for (InputStream pIn : (CombinedInputStream) in) {
-                    if (pIn instanceof FileInputStream) {
-                        FileChannel fChannel = ((FileInputStream) in).getChannel();
-                        try {
-                            channel.write(new DefaultFileRegion(fChannel, 0, fChannel.size(), true));
-                            return;
-
-                        } catch (IOException e) {
-                            // We handle this later
-                            channel.write(new ChunkedStream(new ExceptionInputStream(e)));
-                        }
-                    } else {
-                        channel.write(new ChunkedStream(in));
-                    }
+                    writeStream(pIn);
                 }
                 return;
             }
@@ -149,6 +130,23 @@ public class NettyProtocolTransport extends AbstractProtocolTransport {
         channel.write(new ChunkedStream(in));
     }
 
+    /**
+     * Write a single stream, using a zero-copy {@link DefaultFileRegion} for file backed parts
+     */
+    private void writeStream(InputStream in) {
+        if (in instanceof FileInputStream) {
+            FileChannel fChannel = ((FileInputStream) in).getChannel();
+            try {
+                channel.write(new DefaultFileRegion(fChannel, 0, fChannel.size(), true));
+            } catch (IOException e) {
+                // We handle this later
+                channel.write(new ChunkedStream(new ExceptionInputStream(e)));
+            }
+        } else {
+            channel.write(new ChunkedStream(in));
+        }
+    }
+
     @Override
     public void setReadable(boolean readable) {
         channel.setReadable(readable);
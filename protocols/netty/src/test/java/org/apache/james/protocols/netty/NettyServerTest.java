@@ -19,12 +19,15 @@
 
 package org.apache.james.protocols.netty;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
 
 import javax.net.ssl.SSLContext;
 
 import org.apache.james.protocols.api.Encryption;
 import org.apache.james.protocols.api.Protocol;
+import org.jboss.netty.bootstrap.ServerBootstrap;
+import org.jboss.netty.buffer.DirectChannelBufferFactory;
 import org.jboss.netty.util.HashedWheelTimer;
 import org.junit.After;
 import org.junit.Before;
@@ -81,4 +84,29 @@ public class NettyServerTest {
             .frameHandlerFactory(channelHandlerFactory)
             .build();
     }
+
+    @Test
+    public void configureBootstrapShouldUseHeapBuffersByDefault() {
+        NettyServer server = new NettyServer.Factory(hashedWheelTimer)
+            .protocol(mock(Protocol.class))
+            .build();
+        ServerBootstrap bootstrap = new ServerBootstrap();
+
+        server.configureBootstrap(bootstrap);
+
+        assertThat(bootstrap.getOption("child.bufferFactory")).isNull();
+    }
+
+    @Test
+    public void configureBootstrapShouldUseDirectBuffersWhenEnabled() {
+        NettyServer server = new NettyServer.Factory(hashedWheelTimer)
+            .protocol(mock(Protocol.class))
+            .build();
+        server.setUseDirectBuffers(true);
+        ServerBootstrap bootstrap = new ServerBootstrap();
+
+        server.configureBootstrap(bootstrap);
+
+        assertThat(bootstrap.getOption("child.bufferFactory")).isInstanceOf(DirectChannelBufferFactory.class);
+    }
 }
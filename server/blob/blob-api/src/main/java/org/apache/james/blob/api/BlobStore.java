@@ -43,6 +43,17 @@ public interface BlobStore {
 
     InputStream read(BucketName bucketName, BlobId blobId);
 
+    /**
+     * Reads a blob knowing the {@link StoragePolicy} it was saved with, letting implementations take it into account.
+     */
+    default Publisher<byte[]> readBytes(BucketName bucketName, BlobId blobId, StoragePolicy storagePolicy) {
+        return readBytes(bucketName, blobId);
+    }
+
+    default InputStream read(BucketName bucketName, BlobId blobId, StoragePolicy storagePolicy) {
+        return read(bucketName, blobId);
+    }
+
     BucketName getDefaultBucketName();
 
     Publisher<Void> deleteBucket(BucketName bucketName);
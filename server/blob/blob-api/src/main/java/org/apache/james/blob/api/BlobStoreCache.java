@@ -0,0 +1,40 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.blob.api;
+
+import org.reactivestreams.Publisher;
+
+/**
+ * Stores copies of small, frequently read blobs of the default bucket so that a {@link CachedBlobStore}
+ * can serve them without reaching the backing {@link BlobStore}.
+ *
+ * Blobs are immutable once saved, hence implementations are free to evict entries at any time.
+ */
+public interface BlobStoreCache {
+
+    Publisher<Void> cache(BlobId blobId, byte[] data);
+
+    /**
+     * @return the cached content, or an empty publisher when the blob is not cached
+     */
+    Publisher<byte[]> read(BlobId blobId);
+
+    Publisher<Void> remove(BlobId blobId);
+}
@@ -0,0 +1,198 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.blob.api;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Optional;
+
+import org.apache.james.metrics.api.Metric;
+import org.apache.james.metrics.api.MetricFactory;
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Preconditions;
+import com.google.common.io.ByteStreams;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Read-through cache tier in front of a {@link BlobStore}.
+ *
+ * Only blobs of the default bucket no bigger than the size threshold, stored with a {@link StoragePolicy} other than
+ * {@link StoragePolicy#LOW_COST} (typically message headers), are cached. The same check applies when saving such
+ * blobs and when populating the cache on a read miss. Reads not given a policy are answered by the cache on hits,
+ * but are treated as {@link StoragePolicy#LOW_COST} on misses. Blobs saved from a stream are not written through.
+ */
+public class CachedBlobStore implements BlobStore {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CachedBlobStore.class);
+
+    static final String BLOB_STORE_CACHE_METRIC_PREFIX = "blobStoreCache:";
+    static final String HIT_COUNT_METRIC_NAME = BLOB_STORE_CACHE_METRIC_PREFIX + "hit";
+    static final String MISS_COUNT_METRIC_NAME = BLOB_STORE_CACHE_METRIC_PREFIX + "miss";
+
+    private final BlobStoreCache cache;
+    private final BlobStore backend;
+    private final int sizeThresholdInBytes;
+    private final Metric hitMetric;
+    private final Metric missMetric;
+
+    public CachedBlobStore(BlobStoreCache cache, BlobStore backend, int sizeThresholdInBytes, MetricFactory metricFactory) {
+        Preconditions.checkArgument(sizeThresholdInBytes >= 0, "'sizeThresholdInBytes' needs to be positive");
+
+        this.cache = cache;
+        this.backend = backend;
+        this.sizeThresholdInBytes = sizeThresholdInBytes;
+        this.hitMetric = metricFactory.generate(HIT_COUNT_METRIC_NAME);
+        this.missMetric = metricFactory.generate(MISS_COUNT_METRIC_NAME);
+    }
+
+    @Override
+    public Publisher<BlobId> save(BucketName bucketName, byte[] data, StoragePolicy storagePolicy) {
+        return Mono.from(backend.save(bucketName, data, storagePolicy))
+            .flatMap(blobId -> {
+                if (shouldCache(bucketName, storagePolicy, data.length)) {
+                    return populateCache(blobId, data).thenReturn(blobId);
+                }
+                return Mono.just(blobId);
+            });
+    }
+
+    @Override
+    public Publisher<BlobId> save(BucketName bucketName, InputStream data, StoragePolicy storagePolicy) {
+        return backend.save(bucketName, data, storagePolicy);
+    }
+
+    @Override
+    public Publisher<byte[]> readBytes(BucketName bucketName, BlobId blobId) {
+        return readBytes(bucketName, blobId, StoragePolicy.LOW_COST);
+    }
+
+    @Override
+    public Publisher<byte[]> readBytes(BucketName bucketName, BlobId blobId, StoragePolicy storagePolicy) {
+        if (!isDefaultBucket(bucketName)) {
+            return backend.readBytes(bucketName, blobId, storagePolicy);
+        }
+        return readFromCache(blobId)
+            .switchIfEmpty(Mono.defer(() -> Mono.from(backend.readBytes(bucketName, blobId, storagePolicy))
+                .flatMap(data -> {
+                    if (shouldCache(bucketName, storagePolicy, data.length)) {
+                        return populateCache(blobId, data);
+                    }
+                    return Mono.just(data);
+                })));
+    }
+
+    @Override
+    public InputStream read(BucketName bucketName, BlobId blobId) {
+        return read(bucketName, blobId, StoragePolicy.LOW_COST);
+    }
+
+    @Override
+    public InputStream read(BucketName bucketName, BlobId blobId, StoragePolicy storagePolicy) {
+        if (!isDefaultBucket(bucketName)) {
+            return backend.read(bucketName, blobId, storagePolicy);
+        }
+        Optional<byte[]> cached = readFromCache(blobId).blockOptional();
+        if (cached.isPresent()) {
+            return new ByteArrayInputStream(cached.get());
+        }
+        InputStream backendStream = backend.read(bucketName, blobId, storagePolicy);
+        if (storagePolicy == StoragePolicy.LOW_COST) {
+            return backendStream;
+        }
+        return readAndPopulateIfSmall(blobId, backendStream);
+    }
+
+    /**
+     * Buffers up to the size threshold of the blob: small blobs are cached, bigger ones keep being streamed.
+     */
+    private InputStream readAndPopulateIfSmall(BlobId blobId, InputStream backendStream) {
+        int bufferSize = sizeThresholdInBytes + 1;
+        BufferedInputStream stream = new BufferedInputStream(backendStream, bufferSize);
+        try {
+            stream.mark(bufferSize);
+            byte[] buffer = new byte[bufferSize];
+            int read = ByteStreams.read(stream, buffer, 0, bufferSize);
+            if (read <= sizeThresholdInBytes) {
+                stream.close();
+                byte[] data = Arrays.copyOf(buffer, read);
+                populateCache(blobId, data).block();
+                return new ByteArrayInputStream(data);
+            }
+            stream.reset();
+            return stream;
+        } catch (IOException e) {
+            throw new ObjectStoreIOException("Failed reading blob " + blobId.asString(), e);
+        }
+    }
+
+    @Override
+    public BucketName getDefaultBucketName() {
+        return backend.getDefaultBucketName();
+    }
+
+    @Override
+    public Publisher<Void> deleteBucket(BucketName bucketName) {
+        return backend.deleteBucket(bucketName);
+    }
+
+    @Override
+    public Publisher<Void> delete(BucketName bucketName, BlobId blobId) {
+        if (!isDefaultBucket(bucketName)) {
+            return backend.delete(bucketName, blobId);
+        }
+        return Mono.from(cache.remove(blobId))
+            .then(Mono.from(backend.delete(bucketName, blobId)));
+    }
+
+    private Mono<byte[]> readFromCache(BlobId blobId) {
+        return Mono.from(cache.read(blobId))
+            .onErrorResume(e -> {
+                LOGGER.warn("Failed reading blob {} from the cache, falling back to the backend", blobId.asString(), e);
+                return Mono.empty();
+            })
+            .doOnNext(any -> hitMetric.increment())
+            .switchIfEmpty(Mono.fromRunnable(missMetric::increment));
+    }
+
+    private Mono<byte[]> populateCache(BlobId blobId, byte[] data) {
+        return Mono.from(cache.cache(blobId, data))
+            .onErrorResume(e -> {
+                LOGGER.warn("Failed caching blob {}", blobId.asString(), e);
+                return Mono.empty();
+            })
+            .thenReturn(data);
+    }
+
+    private boolean shouldCache(BucketName bucketName, StoragePolicy storagePolicy, int size) {
+        return isDefaultBucket(bucketName)
+            && storagePolicy != StoragePolicy.LOW_COST
+            && size <= sizeThresholdInBytes;
+    }
+
+    private boolean isDefaultBucket(BucketName bucketName) {
+        return backend.getDefaultBucketName().equals(bucketName);
+    }
+}
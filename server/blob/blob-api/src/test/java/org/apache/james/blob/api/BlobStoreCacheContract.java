@@ -0,0 +1,121 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.blob.api;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import reactor.core.publisher.Mono;
+
+public interface BlobStoreCacheContract {
+
+    byte[] DATA = "blob content".getBytes(StandardCharsets.UTF_8);
+    byte[] OTHER_DATA = "other blob content".getBytes(StandardCharsets.UTF_8);
+
+    BlobStoreCache testee();
+
+    BlobId.Factory blobIdFactory();
+
+    @Test
+    default void readShouldReturnEmptyWhenNotCached() {
+        BlobId blobId = blobIdFactory().randomId();
+
+        assertThat(Mono.from(testee().read(blobId)).blockOptional())
+            .isEmpty();
+    }
+
+    @Test
+    default void readShouldReturnCachedContent() {
+        BlobId blobId = blobIdFactory().randomId();
+
+        Mono.from(testee().cache(blobId, DATA)).block();
+
+        assertThat(Mono.from(testee().read(blobId)).block())
+            .isEqualTo(DATA);
+    }
+
+    @Test
+    default void cacheShouldOverridePreviousContent() {
+        BlobId blobId = blobIdFactory().randomId();
+
+        Mono.from(testee().cache(blobId, DATA)).block();
+        Mono.from(testee().cache(blobId, OTHER_DATA)).block();
+
+        assertThat(Mono.from(testee().read(blobId)).block())
+            .isEqualTo(OTHER_DATA);
+    }
+
+    @Test
+    default void cacheShouldSupportEmptyContent() {
+        BlobId blobId = blobIdFactory().randomId();
+
+        Mono.from(testee().cache(blobId, new byte[0])).block();
+
+        assertThat(Mono.from(testee().read(blobId)).block())
+            .isEmpty();
+    }
+
+    @Test
+    default void cachedContentShouldNotBeAlteredByCallers() {
+        BlobId blobId = blobIdFactory().randomId();
+        byte[] data = DATA.clone();
+
+        Mono.from(testee().cache(blobId, data)).block();
+        data[0] = 0;
+        Mono.from(testee().read(blobId)).block()[1] = 0;
+
+        assertThat(Mono.from(testee().read(blobId)).block())
+            .isEqualTo(DATA);
+    }
+
+    @Test
+    default void readShouldNotReturnOtherBlobs() {
+        BlobId blobId = blobIdFactory().randomId();
+
+        Mono.from(testee().cache(blobId, DATA)).block();
+
+        assertThat(Mono.from(testee().read(blobIdFactory().randomId())).blockOptional())
+            .isEmpty();
+    }
+
+    @Test
+    default void readShouldReturnEmptyWhenRemoved() {
+        BlobId blobId = blobIdFactory().randomId();
+
+        Mono.from(testee().cache(blobId, DATA)).block();
+        Mono.from(testee().remove(blobId)).block();
+
+        assertThat(Mono.from(testee().read(blobId)).blockOptional())
+            .isEmpty();
+    }
+
+    @Test
+    default void removeShouldNotFailWhenNotCached() {
+        BlobId blobId = blobIdFactory().randomId();
+
+        Mono.from(testee().remove(blobId)).block();
+
+        assertThat(Mono.from(testee().read(blobId)).blockOptional())
+            .isEmpty();
+    }
+}
@@ -0,0 +1,122 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.blob.cassandra;
+
+import static com.datastax.driver.core.ConsistencyLevel.ONE;
+import static com.datastax.driver.core.querybuilder.QueryBuilder.bindMarker;
+import static com.datastax.driver.core.querybuilder.QueryBuilder.delete;
+import static com.datastax.driver.core.querybuilder.QueryBuilder.eq;
+import static com.datastax.driver.core.querybuilder.QueryBuilder.insertInto;
+import static com.datastax.driver.core.querybuilder.QueryBuilder.select;
+import static com.datastax.driver.core.querybuilder.QueryBuilder.ttl;
+import static org.apache.james.blob.cassandra.BlobTables.BlobCache.DATA;
+import static org.apache.james.blob.cassandra.BlobTables.BlobCache.ID;
+import static org.apache.james.blob.cassandra.BlobTables.BlobCache.TABLE_NAME;
+import static org.apache.james.blob.cassandra.BlobTables.BlobCache.TTL_FOR_ROW;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+
+import org.apache.james.backends.cassandra.utils.CassandraAsyncExecutor;
+import org.apache.james.blob.api.BlobId;
+import org.apache.james.blob.api.BlobStoreCache;
+
+import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.Row;
+import com.datastax.driver.core.Session;
+import com.google.common.base.Preconditions;
+import com.google.common.primitives.Ints;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * {@link BlobStoreCache} backed by a dedicated Cassandra table, expiring entries with a TTL.
+ *
+ * Blobs being immutable, reads use a consistency level of ONE: a missing entry simply leads to a cache miss.
+ */
+public class CassandraBlobStoreCache implements BlobStoreCache {
+    private final CassandraAsyncExecutor cassandraAsyncExecutor;
+    private final PreparedStatement insertStatement;
+    private final PreparedStatement selectStatement;
+    private final PreparedStatement deleteStatement;
+    private final int ttlInSeconds;
+
+    public CassandraBlobStoreCache(Session session, Duration ttl) {
+        Preconditions.checkArgument(ttl.getSeconds() > 0, "'ttl' needs to be at least one second");
+
+        this.cassandraAsyncExecutor = new CassandraAsyncExecutor(session);
+        this.ttlInSeconds = Ints.checkedCast(ttl.getSeconds());
+        this.insertStatement = prepareInsert(session);
+        this.selectStatement = prepareSelect(session);
+        this.deleteStatement = prepareDelete(session);
+    }
+
+    private PreparedStatement prepareInsert(Session session) {
+        return session.prepare(insertInto(TABLE_NAME)
+            .value(ID, bindMarker(ID))
+            .value(DATA, bindMarker(DATA))
+            .using(ttl(bindMarker(TTL_FOR_ROW))));
+    }
+
+    private PreparedStatement prepareSelect(Session session) {
+        return session.prepare(select()
+            .from(TABLE_NAME)
+            .where(eq(ID, bindMarker(ID))));
+    }
+
+    private PreparedStatement prepareDelete(Session session) {
+        return session.prepare(delete()
+            .from(TABLE_NAME)
+            .where(eq(ID, bindMarker(ID))));
+    }
+
+    @Override
+    public Mono<Void> cache(BlobId blobId, byte[] data) {
+        return cassandraAsyncExecutor.executeVoid(insertStatement.bind()
+            .setString(ID, blobId.asString())
+            .setBytes(DATA, ByteBuffer.wrap(data))
+            .setInt(TTL_FOR_ROW, ttlInSeconds)
+            .setConsistencyLevel(ONE));
+    }
+
+    @Override
+    public Mono<byte[]> read(BlobId blobId) {
+        return cassandraAsyncExecutor.executeSingleRow(selectStatement.bind()
+                .setString(ID, blobId.asString())
+                .setConsistencyLevel(ONE))
+            .map(this::toByteArray);
+    }
+
+    @Override
+    public Mono<Void> remove(BlobId blobId) {
+        return cassandraAsyncExecutor.executeVoid(deleteStatement.bind()
+            .setString(ID, blobId.asString()));
+    }
+
+    private byte[] toByteArray(Row row) {
+        ByteBuffer byteBuffer = row.getBytes(DATA);
+        if (byteBuffer == null) {
+            return new byte[0];
+        }
+        byte[] data = new byte[byteBuffer.remaining()];
+        byteBuffer.get(data);
+        return data;
+    }
+}
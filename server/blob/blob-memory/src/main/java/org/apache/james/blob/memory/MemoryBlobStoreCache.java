@@ -0,0 +1,68 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.blob.memory;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.james.blob.api.BlobId;
+import org.apache.james.blob.api.BlobStoreCache;
+
+import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * In-heap {@link BlobStoreCache} bounded by the total size of the cached blobs, in bytes.
+ *
+ * Blobs are copied in and out, so that callers can not alter the cached content.
+ */
+public class MemoryBlobStoreCache implements BlobStoreCache {
+    private final Cache<BlobId, byte[]> cache;
+
+    public MemoryBlobStoreCache(long maxSizeInBytes, Duration ttl) {
+        Preconditions.checkArgument(maxSizeInBytes > 0, "'maxSizeInBytes' needs to be strictly positive");
+        Preconditions.checkArgument(!ttl.isNegative() && !ttl.isZero(), "'ttl' needs to be strictly positive");
+
+        this.cache = CacheBuilder.newBuilder()
+            .maximumWeight(maxSizeInBytes)
+            .weigher((BlobId blobId, byte[] data) -> data.length)
+            .expireAfterWrite(ttl.toMillis(), TimeUnit.MILLISECONDS)
+            .build();
+    }
+
+    @Override
+    public Mono<Void> cache(BlobId blobId, byte[] data) {
+        return Mono.fromRunnable(() -> cache.put(blobId, data.clone()));
+    }
+
+    @Override
+    public Mono<byte[]> read(BlobId blobId) {
+        return Mono.justOrEmpty(cache.getIfPresent(blobId))
+            .map(byte[]::clone);
+    }
+
+    @Override
+    public Mono<Void> remove(BlobId blobId) {
+        return Mono.fromRunnable(() -> cache.invalidate(blobId));
+    }
+}
@@ -0,0 +1,213 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.blob.memory;
+
+import static org.apache.james.blob.api.BlobStore.StoragePolicy.LOW_COST;
+import static org.apache.james.blob.api.BlobStore.StoragePolicy.SIZE_BASED;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import org.apache.james.blob.api.BlobId;
+import org.apache.james.blob.api.BlobStore;
+import org.apache.james.blob.api.BlobStoreContract;
+import org.apache.james.blob.api.BucketName;
+import org.apache.james.blob.api.CachedBlobStore;
+import org.apache.james.blob.api.HashBlobId;
+import org.apache.james.metrics.tests.RecordingMetricFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.google.common.base.Strings;
+
+import reactor.core.publisher.Mono;
+
+class CachedBlobStoreTest implements BlobStoreContract {
+
+    private static final HashBlobId.Factory BLOB_ID_FACTORY = new HashBlobId.Factory();
+    private static final int SIZE_THRESHOLD = 1024;
+    private static final byte[] SMALL_CONTENT = "small content".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] BIG_CONTENT = Strings.repeat("big content\n", 1024).getBytes(StandardCharsets.UTF_8);
+    private static final String HIT_METRIC = "blobStoreCache:hit";
+    private static final String MISS_METRIC = "blobStoreCache:miss";
+
+    private MemoryBlobStore backend;
+    private MemoryBlobStoreCache cache;
+    private RecordingMetricFactory metricFactory;
+    private CachedBlobStore testee;
+
+    @BeforeEach
+    void setUp() {
+        backend = new MemoryBlobStore(BLOB_ID_FACTORY, new MemoryDumbBlobStore());
+        cache = new MemoryBlobStoreCache(1024 * 1024, Duration.ofMinutes(10));
+        metricFactory = new RecordingMetricFactory();
+        testee = new CachedBlobStore(cache, backend, SIZE_THRESHOLD, metricFactory);
+    }
+
+    @Override
+    public BlobStore testee() {
+        return testee;
+    }
+
+    @Override
+    public BlobId.Factory blobIdFactory() {
+        return BLOB_ID_FACTORY;
+    }
+
+    @Test
+    void saveShouldCacheSmallBlobs() {
+        BlobId blobId = Mono.from(testee.save(BucketName.DEFAULT, SMALL_CONTENT, SIZE_BASED)).block();
+
+        assertThat(cache.read(blobId).block()).isEqualTo(SMALL_CONTENT);
+    }
+
+    @Test
+    void saveShouldNotCacheLowCostBlobs() {
+        BlobId blobId = Mono.from(testee.save(BucketName.DEFAULT, SMALL_CONTENT, LOW_COST)).block();
+
+        assertThat(cache.read(blobId).blockOptional()).isEmpty();
+    }
+
+    @Test
+    void saveShouldNotCacheBigBlobs() {
+        BlobId blobId = Mono.from(testee.save(BucketName.DEFAULT, BIG_CONTENT, SIZE_BASED)).block();
+
+        assertThat(cache.read(blobId).blockOptional()).isEmpty();
+    }
+
+    @Test
+    void saveShouldNotCacheBlobsOfOtherBuckets() {
+        BlobId blobId = Mono.from(testee.save(BucketName.of("other"), SMALL_CONTENT, SIZE_BASED)).block();
+
+        assertThat(cache.read(blobId).blockOptional()).isEmpty();
+    }
+
+    @Test
+    void saveInputStreamShouldNotCacheBlobs() {
+        BlobId blobId = Mono.from(testee.save(BucketName.DEFAULT, new ByteArrayInputStream(SMALL_CONTENT), SIZE_BASED)).block();
+
+        assertThat(cache.read(blobId).blockOptional()).isEmpty();
+    }
+
+    @Test
+    void readBytesShouldPopulateCacheOnMiss() {
+        BlobId blobId = backend.save(BucketName.DEFAULT, SMALL_CONTENT, SIZE_BASED).block();
+
+        Mono.from(testee.readBytes(BucketName.DEFAULT, blobId, SIZE_BASED)).block();
+
+        assertThat(cache.read(blobId).block()).isEqualTo(SMALL_CONTENT);
+    }
+
+    @Test
+    void readBytesShouldNotPopulateCacheWithBigBlobs() {
+        BlobId blobId = backend.save(BucketName.DEFAULT, BIG_CONTENT, SIZE_BASED).block();
+
+        Mono.from(testee.readBytes(BucketName.DEFAULT, blobId, SIZE_BASED)).block();
+
+        assertThat(cache.read(blobId).blockOptional()).isEmpty();
+    }
+
+    @Test
+    void readBytesShouldNotPopulateCacheWithLowCostBlobs() {
+        BlobId blobId = backend.save(BucketName.DEFAULT, SMALL_CONTENT, LOW_COST).block();
+
+        Mono.from(testee.readBytes(BucketName.DEFAULT, blobId, LOW_COST)).block();
+
+        assertThat(cache.read(blobId).blockOptional()).isEmpty();
+    }
+
+    @Test
+    void readBytesWithoutStoragePolicyShouldNotPopulateCache() {
+        BlobId blobId = backend.save(BucketName.DEFAULT, SMALL_CONTENT, SIZE_BASED).block();
+
+        Mono.from(testee.readBytes(BucketName.DEFAULT, blobId)).block();
+
+        assertThat(cache.read(blobId).blockOptional()).isEmpty();
+    }
+
+    @Test
+    void readShouldPopulateCacheOnMiss() {
+        BlobId blobId = backend.save(BucketName.DEFAULT, SMALL_CONTENT, SIZE_BASED).block();
+
+        assertThat(testee.read(BucketName.DEFAULT, blobId, SIZE_BASED))
+            .hasSameContentAs(new ByteArrayInputStream(SMALL_CONTENT));
+        assertThat(cache.read(blobId).block()).isEqualTo(SMALL_CONTENT);
+    }
+
+    @Test
+    void readShouldNotPopulateCacheWithBigBlobs() {
+        BlobId blobId = backend.save(BucketName.DEFAULT, BIG_CONTENT, SIZE_BASED).block();
+
+        assertThat(testee.read(BucketName.DEFAULT, blobId, SIZE_BASED))
+            .hasSameContentAs(new ByteArrayInputStream(BIG_CONTENT));
+        assertThat(cache.read(blobId).blockOptional()).isEmpty();
+    }
+
+    @Test
+    void readShouldNotPopulateCacheWithLowCostBlobs() {
+        BlobId blobId = backend.save(BucketName.DEFAULT, SMALL_CONTENT, LOW_COST).block();
+
+        assertThat(testee.read(BucketName.DEFAULT, blobId, LOW_COST))
+            .hasSameContentAs(new ByteArrayInputStream(SMALL_CONTENT));
+        assertThat(cache.read(blobId).blockOptional()).isEmpty();
+    }
+
+    @Test
+    void readBytesShouldReturnCachedContent() {
+        BlobId blobId = BLOB_ID_FACTORY.randomId();
+        cache.cache(blobId, SMALL_CONTENT).block();
+
+        assertThat(Mono.from(testee.readBytes(BucketName.DEFAULT, blobId)).block())
+            .isEqualTo(SMALL_CONTENT);
+    }
+
+    @Test
+    void readShouldReturnCachedContent() {
+        BlobId blobId = BLOB_ID_FACTORY.randomId();
+        cache.cache(blobId, SMALL_CONTENT).block();
+
+        assertThat(testee.read(BucketName.DEFAULT, blobId))
+            .hasSameContentAs(new ByteArrayInputStream(SMALL_CONTENT));
+    }
+
+    @Test
+    void readBytesShouldRecordHitsAndMisses() {
+        BlobId blobId = Mono.from(testee.save(BucketName.DEFAULT, BIG_CONTENT, SIZE_BASED)).block();
+        Mono.from(testee.readBytes(BucketName.DEFAULT, blobId)).block();
+
+        BlobId smallBlobId = Mono.from(testee.save(BucketName.DEFAULT, SMALL_CONTENT, SIZE_BASED)).block();
+        Mono.from(testee.readBytes(BucketName.DEFAULT, smallBlobId)).block();
+        Mono.from(testee.readBytes(BucketName.DEFAULT, smallBlobId)).block();
+
+        assertThat(metricFactory.countFor(HIT_METRIC)).isEqualTo(2);
+        assertThat(metricFactory.countFor(MISS_METRIC)).isEqualTo(1);
+    }
+
+    @Test
+    void deleteShouldRemoveCachedContent() {
+        BlobId blobId = Mono.from(testee.save(BucketName.DEFAULT, SMALL_CONTENT, SIZE_BASED)).block();
+
+        Mono.from(testee.delete(BucketName.DEFAULT, blobId)).block();
+
+        assertThat(cache.read(blobId).blockOptional()).isEmpty();
+    }
+}
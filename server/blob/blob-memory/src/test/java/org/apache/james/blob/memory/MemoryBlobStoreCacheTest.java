@@ -0,0 +1,86 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.blob.memory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.apache.james.blob.api.BlobId;
+import org.apache.james.blob.api.BlobStoreCache;
+import org.apache.james.blob.api.BlobStoreCacheContract;
+import org.apache.james.blob.api.HashBlobId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import reactor.core.publisher.Mono;
+
+class MemoryBlobStoreCacheTest implements BlobStoreCacheContract {
+
+    private static final HashBlobId.Factory BLOB_ID_FACTORY = new HashBlobId.Factory();
+    private static final Duration TTL = Duration.ofMinutes(10);
+
+    private MemoryBlobStoreCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new MemoryBlobStoreCache(1024 * 1024, TTL);
+    }
+
+    @Override
+    public BlobStoreCache testee() {
+        return cache;
+    }
+
+    @Override
+    public BlobId.Factory blobIdFactory() {
+        return BLOB_ID_FACTORY;
+    }
+
+    @Test
+    void cacheShouldEvictEntriesWhenExceedingMaxSize() {
+        MemoryBlobStoreCache smallCache = new MemoryBlobStoreCache(DATA.length * 10, TTL);
+        List<BlobId> blobIds = IntStream.range(0, 100)
+            .mapToObj(i -> BLOB_ID_FACTORY.randomId())
+            .collect(Collectors.toList());
+
+        blobIds.forEach(blobId -> smallCache.cache(blobId, DATA).block());
+
+        long cachedCount = blobIds.stream()
+            .filter(blobId -> smallCache.read(blobId).blockOptional().isPresent())
+            .count();
+        assertThat(cachedCount).isLessThanOrEqualTo(10);
+    }
+
+    @Test
+    void readShouldReturnEmptyWhenExpired() {
+        MemoryBlobStoreCache shortLivedCache = new MemoryBlobStoreCache(1024, Duration.ofMillis(100));
+        BlobId blobId = BLOB_ID_FACTORY.randomId();
+
+        shortLivedCache.cache(blobId, DATA).block();
+
+        await().atMost(org.awaitility.Duration.FIVE_SECONDS)
+            .untilAsserted(() -> assertThat(shortLivedCache.read(blobId).blockOptional()).isEmpty());
+    }
+}
@@ -126,7 +126,7 @@ public class MimeMessageCopyOnWriteProxy extends MimeMessage implements Disposab
     protected synchronized MimeMessage getWrappedMessageForWriting() throws MessagingException {
         if (refCount.getReferenceCount() > 1) {
             refCount.decrementReferenceCount();
-            refCount = new MessageReferenceTracker(new MimeMessageWrapper(refCount.getWrapped()));
+            refCount = new MessageReferenceTracker(MimeMessageWrapper.copyOf(refCount.getWrapped()));
         }
         return refCount.getWrapped();
     }
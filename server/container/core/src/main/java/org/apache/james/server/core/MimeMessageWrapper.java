@@ -29,6 +29,7 @@ import java.io.OutputStream;
 import java.io.SequenceInputStream;
 import java.io.UnsupportedEncodingException;
 import java.util.Enumeration;
+import java.util.Optional;
 import java.util.UUID;
 
 import javax.activation.DataHandler;
@@ -40,6 +41,7 @@ import javax.mail.internet.MimeMessage;
 import javax.mail.util.SharedByteArrayInputStream;
 
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.CountingInputStream;
 import org.apache.james.lifecycle.api.Disposable;
 import org.apache.james.lifecycle.api.LifecycleUtil;
 
@@ -84,6 +86,12 @@ public class MimeMessageWrapper extends MimeMessage implements Disposable {
 
     private long initialHeaderSize;
 
+    /**
+     * Offset of the body within the source, known once headers were loaded from it. Allows to read the body from the
+     * source without parsing the headers again.
+     */
+    private long bodyOffset = -1;
+
     private MimeMessageWrapper(Session session) {
         super(session);
         this.headers = null;
@@ -161,6 +169,44 @@ public class MimeMessageWrapper extends MimeMessage implements Disposable {
         }
     }
 
+    /**
+     * Copies the given message.
+     *
+     * When the original message is a {@link MimeMessageWrapper} whose body was not modified, the copy shares its
+     * underlying {@link MimeMessageSource} and only duplicates the headers, rather than writing the whole message
+     * again. The shared source is disposed together with the last message using it.
+     */
+    public static MimeMessageWrapper copyOf(MimeMessage original) throws MessagingException {
+        if (original instanceof MimeMessageWrapper) {
+            Optional<MimeMessageWrapper> bodySharingCopy = ((MimeMessageWrapper) original).copySharingBody();
+            if (bodySharingCopy.isPresent()) {
+                return bodySharingCopy.get();
+            }
+        }
+        return new MimeMessageWrapper(original);
+    }
+
+    private synchronized Optional<MimeMessageWrapper> copySharingBody() throws MessagingException {
+        if (source == null || bodyModified) {
+            return Optional.empty();
+        }
+        if (!(source instanceof SharedMimeMessageSource)) {
+            source = SharedMimeMessageSource.wrap(source);
+        }
+
+        MimeMessageWrapper copy = new MimeMessageWrapper(session, ((SharedMimeMessageSource) source).retain());
+        copy.flags = getFlags();
+        copy.bodyOffset = bodyOffset;
+        if (headersModified) {
+            copy.headers = new MailHeaders(new InternetHeadersInputStream(headers.getAllHeaderLines()));
+            copy.initialHeaderSize = initialHeaderSize;
+            copy.headersModified = true;
+            copy.modified = modified;
+            copy.saved = saved;
+        }
+        return Optional.of(copy);
+    }
+
     /**
      * Overrides default javamail behaviour by not altering the Message-ID by
      * default, see <a href="https://issues.apache.org/jira/browse/JAMES-875">JAMES-875</a> and
@@ -193,8 +239,9 @@ public class MimeMessageWrapper extends MimeMessage implements Disposable {
         if (headers != null) {
             // Another thread has already loaded these headers
         } else if (source != null) {
-            try (InputStream in = source.getInputStream()) {
+            try (CountingInputStream in = new CountingInputStream(source.getInputStream())) {
                 headers = createInternetHeaders(in);
+                bodyOffset = in.getByteCount();
             } catch (IOException ioe) {
                 throw new MessagingException("Unable to parse headers from stream: " + ioe.getMessage(), ioe);
             }
@@ -235,6 +282,16 @@ public class MimeMessageWrapper extends MimeMessage implements Disposable {
         }
     }
 
+    /**
+     * Get whether the complete message was loaded, as opposed to only its headers. The body of an unmodified message
+     * is otherwise read straight from its source.
+     *
+     * @return messageParsed
+     */
+    public synchronized boolean isFullyLoaded() {
+        return messageParsed;
+    }
+
     /**
      * Get whether the message has been modified.
      * 
@@ -298,22 +355,13 @@ public class MimeMessageWrapper extends MimeMessage implements Disposable {
             // and write to this outputstream
 
             // First handle the headers
-            try (InputStream in = source.getInputStream()) {
-                InternetHeaders myHeaders;
-                MailHeaders parsedHeaders = new MailHeaders(in);
-
-                // check if we should use the parsed headers or not
-                if (!isHeaderModified()) {
-                    myHeaders = parsedHeaders;
-                } else {
+            try (InputStream in = openBodyFromSource()) {
+                if (isHeaderModified() && !saved) {
                     // The headers was modified so we need to call saveChanges() just to be sure
                     // See JAMES-1320
-                    if (!saved) {
-                        saveChanges();
-                    }
-                    myHeaders = headers;
+                    saveChanges();
                 }
-                Enumeration<String> filteredHeaders = myHeaders.getNonMatchingHeaderLines(ignoreList);
+                Enumeration<String> filteredHeaders = headers.getNonMatchingHeaderLines(ignoreList);
                 IOUtils.copy(new InternetHeadersInputStream(filteredHeaders), headerOs);
                 IOUtils.copy(in, bodyOs);
             }
@@ -608,8 +656,19 @@ public class MimeMessageWrapper extends MimeMessage implements Disposable {
         }
     }
 
+    /**
+     * Reads the unmodified body straight from the source rather than loading the complete message, so that reading
+     * the content of a message does not require to buffer it.
+     */
     @Override
-    protected InputStream getContentStream() throws MessagingException {
+    protected synchronized InputStream getContentStream() throws MessagingException {
+        if (!messageParsed && !bodyModified && source != null) {
+            try {
+                return openBodyFromSource();
+            } catch (IOException e) {
+                throw new MessagingException("Unable to read the stream", e);
+            }
+        }
         if (!messageParsed) {
             loadMessage();
         }
@@ -618,13 +677,9 @@ public class MimeMessageWrapper extends MimeMessage implements Disposable {
 
     @Override
     public synchronized InputStream getRawInputStream() throws MessagingException {
-        if (!messageParsed && !isModified() && source != null) {
-            InputStream is;
+        if (!messageParsed && !bodyModified && source != null) {
             try {
-                is = source.getInputStream();
-                // skip the headers.
-                new MailHeaders(is);
-                return is;
+                return openBodyFromSource();
             } catch (IOException e) {
                 throw new MessagingException("Unable to read the stream", e);
             }
@@ -633,6 +688,28 @@ public class MimeMessageWrapper extends MimeMessage implements Disposable {
         }
     }
 
+    /**
+     * Open a stream on the source positioned at the beginning of the body. Headers are loaded if needed.
+     */
+    private synchronized InputStream openBodyFromSource() throws IOException, MessagingException {
+        if (headers == null) {
+            loadHeaders();
+        }
+        InputStream in = source.getInputStream();
+        try {
+            if (bodyOffset >= 0) {
+                IOUtils.skipFully(in, bodyOffset);
+            } else {
+                // skip the headers.
+                new MailHeaders(in);
+            }
+            return in;
+        } catch (IOException | MessagingException e) {
+            in.close();
+            throw e;
+        }
+    }
+
     /**
      * Return an {@link InputStream} which holds the full content of the
      * message. This method tries to optimize this call as far as possible. This
@@ -658,11 +735,9 @@ public class MimeMessageWrapper extends MimeMessage implements Disposable {
                 if (!bodyModified && source != null) {
                     // ok only the headers were modified so we don't need to
                     // copy the whole message content into memory
-                    InputStream in = source.getInputStream();
-                    
                     // skip over headers from original stream we want to use the
                     // in memory ones
-                    new MailHeaders(in);
+                    InputStream in = openBodyFromSource();
 
                     // now construct the new stream using the in memory headers
                     // and the body from the original source
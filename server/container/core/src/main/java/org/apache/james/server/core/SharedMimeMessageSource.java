@@ -0,0 +1,89 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+
+package org.apache.james.server.core;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.james.lifecycle.api.Disposable;
+import org.apache.james.lifecycle.api.LifecycleUtil;
+
+/**
+ * Reference counted view of a {@link MimeMessageSource} allowing several messages to share the same immutable data.
+ *
+ * Each holder gets its own handle through {@link #retain()}. Disposing a handle is idempotent, and the underlying
+ * source is disposed together with the last handle.
+ */
+class SharedMimeMessageSource extends MimeMessageSource implements Disposable {
+
+    private static class ReferenceTracker {
+        private final MimeMessageSource source;
+        private final AtomicInteger referenceCount = new AtomicInteger(0);
+
+        private ReferenceTracker(MimeMessageSource source) {
+            this.source = source;
+        }
+    }
+
+    static SharedMimeMessageSource wrap(MimeMessageSource source) {
+        return new SharedMimeMessageSource(new ReferenceTracker(source));
+    }
+
+    private final ReferenceTracker tracker;
+    private final AtomicBoolean disposed = new AtomicBoolean(false);
+
+    private SharedMimeMessageSource(ReferenceTracker tracker) {
+        this.tracker = tracker;
+        tracker.referenceCount.incrementAndGet();
+    }
+
+    SharedMimeMessageSource retain() {
+        return new SharedMimeMessageSource(tracker);
+    }
+
+    int getReferenceCount() {
+        return tracker.referenceCount.get();
+    }
+
+    @Override
+    public String getSourceId() {
+        return tracker.source.getSourceId();
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        return tracker.source.getInputStream();
+    }
+
+    @Override
+    public long getMessageSize() throws IOException {
+        return tracker.source.getMessageSize();
+    }
+
+    @Override
+    public void dispose() {
+        if (disposed.compareAndSet(false, true) && tracker.referenceCount.decrementAndGet() == 0) {
+            LifecycleUtil.dispose(tracker.source);
+        }
+    }
+}
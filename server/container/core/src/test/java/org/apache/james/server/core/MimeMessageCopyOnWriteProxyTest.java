@@ -21,11 +21,18 @@ package org.apache.james.server.core;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Fail.fail;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import javax.mail.MessagingException;
 import javax.mail.internet.MimeMessage;
 import javax.mail.util.SharedByteArrayInputStream;
 
 import org.apache.james.core.builder.MimeMessageBuilder;
+import org.apache.james.lifecycle.api.Disposable;
 import org.apache.james.lifecycle.api.LifecycleUtil;
 import org.apache.mailet.Mail;
 import org.junit.jupiter.api.BeforeAll;
@@ -277,6 +284,84 @@ public class MimeMessageCopyOnWriteProxyTest extends MimeMessageFromStreamTest {
         LifecycleUtil.dispose(messageFromSources);
     }
 
+    @Test
+    void headerModificationOfADuplicateShouldShareTheBody() throws Exception {
+        MimeMessageCopyOnWriteProxy messageFromSources = (MimeMessageCopyOnWriteProxy) getMessageFromSources(
+                mimeMessageAsString);
+        MailImpl mail = MailImpl.builder()
+            .name("test")
+            .sender("test@test.com")
+            .addRecipient("recipient@test.com")
+            .mimeMessage(messageFromSources)
+            .build();
+        MailImpl mailClone = MailImpl.duplicate(mail);
+
+        mailClone.getMessage().setSubject("new Subject");
+
+        MimeMessageWrapper original = (MimeMessageWrapper) getWrappedMessage(mail.getMessage());
+        MimeMessageWrapper copy = (MimeMessageWrapper) getWrappedMessage(mailClone.getMessage());
+        assertThat(copy).isNotSameAs(original);
+        assertThat(copy.isBodyModified()).isFalse();
+        assertThat(((SharedMimeMessageSource) copy.source).getReferenceCount()).isEqualTo(2);
+        assertThat(asString(mail.getMessage())).isEqualTo(mimeMessageAsString);
+        assertThat(asString(mailClone.getMessage())).contains("Subject: new Subject\r\n").endsWith(sep + body);
+        LifecycleUtil.dispose(mail);
+        LifecycleUtil.dispose(mailClone);
+        LifecycleUtil.dispose(messageFromSources);
+    }
+
+    @Test
+    void sharedSourceShouldBeDisposedWithTheLastMessageUsingIt() throws Exception {
+        DisposeCountingSource source = new DisposeCountingSource(mimeMessageAsString);
+        MimeMessageCopyOnWriteProxy messageFromSources = new MimeMessageCopyOnWriteProxy(source);
+        MailImpl mail = MailImpl.builder()
+            .name("test")
+            .sender("test@test.com")
+            .addRecipient("recipient@test.com")
+            .mimeMessage(messageFromSources)
+            .build();
+        MailImpl mailClone = MailImpl.duplicate(mail);
+        mailClone.getMessage().setSubject("new Subject");
+
+        LifecycleUtil.dispose(mail);
+        LifecycleUtil.dispose(messageFromSources);
+        assertThat(source.disposeCount.get()).isZero();
+        assertThat(mailClone.getMessage().getSubject()).isEqualTo("new Subject");
+
+        LifecycleUtil.dispose(mailClone);
+        assertThat(source.disposeCount.get()).isEqualTo(1);
+    }
+
+    private static class DisposeCountingSource extends MimeMessageSource implements Disposable {
+        private final byte[] content;
+        private final AtomicInteger disposeCount = new AtomicInteger(0);
+
+        DisposeCountingSource(String content) {
+            this.content = content.getBytes(StandardCharsets.US_ASCII);
+        }
+
+        @Override
+        public String getSourceId() {
+            return "disposeCounting";
+        }
+
+        @Override
+        public InputStream getInputStream() {
+            return new SharedByteArrayInputStream(content);
+        }
+
+        @Override
+        public void dispose() {
+            disposeCount.incrementAndGet();
+        }
+    }
+
+    private static String asString(MimeMessage message) throws IOException, MessagingException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        message.writeTo(outputStream);
+        return new String(outputStream.toByteArray(), StandardCharsets.US_ASCII);
+    }
+
     private static MimeMessage getWrappedMessage(MimeMessage m) {
         while (m instanceof MimeMessageCopyOnWriteProxy) {
             m = ((MimeMessageCopyOnWriteProxy) m).getWrappedMessage();
@@ -108,10 +108,51 @@ public class MimeMessageWrapperTest extends MimeMessageFromStreamTest {
         assertThat(mw.getSubject()).isEqualTo("foo");
         assertThat(mw.messageParsed()).isFalse();
         assertThat(mw.getContent()).isEqualTo("bar\r\n");
-        assertThat(mw.messageParsed()).isTrue();
+        assertThat(mw.messageParsed()).isFalse();
         assertThat(mw.isModified()).isFalse();
     }
 
+    @Test
+    public void readingTheBodyShouldNotLoadTheMessage() throws MessagingException, IOException {
+        mw.messageLoadable = false;
+
+        assertThat(mw.getContent()).isEqualTo("bar\r\n");
+        assertThat(mw.getLineCount()).isEqualTo(1);
+        assertThat(mw.isFullyLoaded()).isFalse();
+    }
+
+    @Test
+    public void writingAMessageWithModifiedHeadersShouldNotLoadTheMessage() throws Exception {
+        mw.messageLoadable = false;
+
+        mw.setHeader("X-Test", "value");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        mw.writeTo(out);
+
+        assertThat(out.toString()).contains("Subject: foo\r\n", "X-Test: value\r\n").endsWith(sep + body);
+        assertThat(mw.isFullyLoaded()).isFalse();
+    }
+
+    @Test
+    public void rawInputStreamShouldReturnTheBodyWhenHeadersAreModified() throws Exception {
+        mw.messageLoadable = false;
+
+        mw.setHeader("X-Test", "value");
+
+        try (InputStream rawInputStream = mw.getRawInputStream()) {
+            assertThat(rawInputStream).hasSameContentAs(new SharedByteArrayInputStream(body.getBytes()));
+        }
+    }
+
+    @Test
+    public void modifyingTheBodyShouldBeReflectedWithoutLoadingTheMessage() throws Exception {
+        mw.setText("new body");
+        mw.saveChanges();
+
+        assertThat(mw.getContent()).isEqualTo("new body");
+        assertThat(mw.isFullyLoaded()).isFalse();
+    }
+
     /**
      * this is commented out due optimisation reverts (JAMES-559) public void
      * testDeferredMessageLoadingWhileWriting() throws MessagingException,
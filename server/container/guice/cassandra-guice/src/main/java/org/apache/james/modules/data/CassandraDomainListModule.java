@@ -23,6 +23,7 @@ import org.apache.james.backends.cassandra.components.CassandraModule;
 import org.apache.james.domainlist.api.DomainList;
 import org.apache.james.domainlist.cassandra.CassandraDomainList;
 import org.apache.james.domainlist.lib.DomainListConfiguration;
+import org.apache.james.metrics.api.GaugeRegistry;
 import org.apache.james.server.core.configuration.ConfigurationProvider;
 import org.apache.james.utils.InitializationOperation;
 import org.apache.james.utils.InitilizationOperationBuilder;
@@ -50,9 +51,12 @@ public class CassandraDomainListModule extends AbstractModule {
     }
 
     @ProvidesIntoSet
-    InitializationOperation configureDomainList(DomainListConfiguration configuration, CassandraDomainList cassandraDomainList) {
+    InitializationOperation configureDomainList(DomainListConfiguration configuration, CassandraDomainList cassandraDomainList, GaugeRegistry gaugeRegistry) {
         return InitilizationOperationBuilder
             .forClass(CassandraDomainList.class)
-            .init(() -> cassandraDomainList.configure(configuration));
+            .init(() -> {
+                cassandraDomainList.configure(configuration);
+                cassandraDomainList.registerCacheGauges(gaugeRegistry);
+            });
     }
 }
@@ -19,6 +19,7 @@
 package org.apache.james.modules.data;
 
 import org.apache.james.backends.cassandra.components.CassandraModule;
+import org.apache.james.metrics.api.GaugeRegistry;
 import org.apache.james.rrt.api.AliasReverseResolver;
 import org.apache.james.rrt.api.CanSendFrom;
 import org.apache.james.rrt.api.RecipientRewriteTable;
@@ -53,9 +54,12 @@ public class CassandraRecipientRewriteTableModule extends AbstractModule {
     }
 
     @ProvidesIntoSet
-    InitializationOperation configureRecipientRewriteTable(ConfigurationProvider configurationProvider, CassandraRecipientRewriteTable recipientRewriteTable) {
+    InitializationOperation configureRecipientRewriteTable(ConfigurationProvider configurationProvider, CassandraRecipientRewriteTable recipientRewriteTable, GaugeRegistry gaugeRegistry) {
         return InitilizationOperationBuilder
             .forClass(CassandraRecipientRewriteTable.class)
-            .init(() -> recipientRewriteTable.configure(configurationProvider.getConfiguration("recipientrewritetable")));
+            .init(() -> {
+                recipientRewriteTable.configure(configurationProvider.getConfiguration("recipientrewritetable"));
+                recipientRewriteTable.registerCacheGauges(gaugeRegistry);
+            });
     }
 }
@@ -22,7 +22,9 @@ package org.apache.james.modules.eventstore;
 import org.apache.james.backends.cassandra.components.CassandraModule;
 import org.apache.james.eventsourcing.Event;
 import org.apache.james.eventsourcing.eventstore.EventStore;
+import org.apache.james.eventsourcing.eventstore.SnapshotStore;
 import org.apache.james.eventsourcing.eventstore.cassandra.CassandraEventStore;
+import org.apache.james.eventsourcing.eventstore.cassandra.CassandraSnapshotStore;
 import org.apache.james.eventsourcing.eventstore.cassandra.dto.EventDTO;
 import org.apache.james.eventsourcing.eventstore.cassandra.dto.EventDTOModule;
 
@@ -37,6 +39,8 @@ public class CassandraEventStoreModule extends AbstractModule {
     protected void configure() {
         bind(CassandraEventStore.class).in(Scopes.SINGLETON);
         bind(EventStore.class).to(CassandraEventStore.class);
+        bind(CassandraSnapshotStore.class).in(Scopes.SINGLETON);
+        bind(SnapshotStore.class).to(CassandraSnapshotStore.class);
 
         Multibinder.newSetBinder(binder(), CassandraModule.class)
             .addBinding()
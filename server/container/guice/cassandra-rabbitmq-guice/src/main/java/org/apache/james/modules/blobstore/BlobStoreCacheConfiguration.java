@@ -0,0 +1,164 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.modules.blobstore;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.commons.configuration2.Configuration;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.james.util.DurationParser;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+
+public class BlobStoreCacheConfiguration {
+
+    public enum CacheImplName {
+        LOCAL("local"),
+        CASSANDRA("cassandra");
+
+        static String supportedImplNames() {
+            return Stream.of(CacheImplName.values())
+                .map(CacheImplName::getName)
+                .collect(Collectors.joining(", "));
+        }
+
+        static CacheImplName from(String name) {
+            return Stream.of(values())
+                .filter(cacheName -> cacheName.getName().equalsIgnoreCase(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException(String.format("%s is not a valid name of blob store cache, " +
+                    "please use one of supported values in: %s", name, supportedImplNames())));
+        }
+
+        private final String name;
+
+        CacheImplName(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+
+    static final String ENABLED_PROPERTY = "cache.enable";
+    static final String IMPLEMENTATION_PROPERTY = "cache.implementation";
+    static final String SIZE_THRESHOLD_PROPERTY = "cache.sizeThresholdInBytes";
+    static final String TTL_PROPERTY = "cache.ttl";
+    static final String LOCAL_MAX_SIZE_PROPERTY = "cache.local.maxSizeInBytes";
+
+    static final int DEFAULT_SIZE_THRESHOLD = 8 * 1024;
+    static final Duration DEFAULT_TTL = Duration.ofDays(7);
+    static final long DEFAULT_LOCAL_MAX_SIZE = 64 * 1024 * 1024;
+
+    public static final BlobStoreCacheConfiguration DISABLED = new BlobStoreCacheConfiguration(false, CacheImplName.LOCAL,
+        DEFAULT_SIZE_THRESHOLD, DEFAULT_TTL, DEFAULT_LOCAL_MAX_SIZE);
+
+    static BlobStoreCacheConfiguration from(Configuration configuration) {
+        boolean enabled = configuration.getBoolean(ENABLED_PROPERTY, false);
+        CacheImplName implementation = Optional.ofNullable(configuration.getString(IMPLEMENTATION_PROPERTY))
+            .filter(StringUtils::isNotBlank)
+            .map(StringUtils::trim)
+            .map(CacheImplName::from)
+            .orElse(CacheImplName.LOCAL);
+        int sizeThreshold = configuration.getInt(SIZE_THRESHOLD_PROPERTY, DEFAULT_SIZE_THRESHOLD);
+        Duration ttl = Optional.ofNullable(configuration.getString(TTL_PROPERTY))
+            .filter(StringUtils::isNotBlank)
+            .map(rawValue -> DurationParser.parse(rawValue, ChronoUnit.SECONDS))
+            .orElse(DEFAULT_TTL);
+        long localMaxSize = configuration.getLong(LOCAL_MAX_SIZE_PROPERTY, DEFAULT_LOCAL_MAX_SIZE);
+
+        return new BlobStoreCacheConfiguration(enabled, implementation, sizeThreshold, ttl, localMaxSize);
+    }
+
+    private final boolean enabled;
+    private final CacheImplName implementation;
+    private final int sizeThresholdInBytes;
+    private final Duration ttl;
+    private final long localMaxSizeInBytes;
+
+    BlobStoreCacheConfiguration(boolean enabled, CacheImplName implementation, int sizeThresholdInBytes, Duration ttl, long localMaxSizeInBytes) {
+        Preconditions.checkArgument(sizeThresholdInBytes >= 0, "'%s' needs to be positive", SIZE_THRESHOLD_PROPERTY);
+        Preconditions.checkArgument(ttl.getSeconds() > 0, "'%s' needs to be at least one second", TTL_PROPERTY);
+        Preconditions.checkArgument(localMaxSizeInBytes > 0, "'%s' needs to be strictly positive", LOCAL_MAX_SIZE_PROPERTY);
+
+        this.enabled = enabled;
+        this.implementation = implementation;
+        this.sizeThresholdInBytes = sizeThresholdInBytes;
+        this.ttl = ttl;
+        this.localMaxSizeInBytes = localMaxSizeInBytes;
+    }
+
+    boolean isEnabled() {
+        return enabled;
+    }
+
+    CacheImplName getImplementation() {
+        return implementation;
+    }
+
+    int getSizeThresholdInBytes() {
+        return sizeThresholdInBytes;
+    }
+
+    Duration getTtl() {
+        return ttl;
+    }
+
+    long getLocalMaxSizeInBytes() {
+        return localMaxSizeInBytes;
+    }
+
+    @Override
+    public final boolean equals(Object o) {
+        if (o instanceof BlobStoreCacheConfiguration) {
+            BlobStoreCacheConfiguration that = (BlobStoreCacheConfiguration) o;
+
+            return Objects.equals(this.enabled, that.enabled)
+                && Objects.equals(this.implementation, that.implementation)
+                && Objects.equals(this.sizeThresholdInBytes, that.sizeThresholdInBytes)
+                && Objects.equals(this.ttl, that.ttl)
+                && Objects.equals(this.localMaxSizeInBytes, that.localMaxSizeInBytes);
+        }
+        return false;
+    }
+
+    @Override
+    public final int hashCode() {
+        return Objects.hash(enabled, implementation, sizeThresholdInBytes, ttl, localMaxSizeInBytes);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+            .add("enabled", enabled)
+            .add("implementation", implementation)
+            .add("sizeThresholdInBytes", sizeThresholdInBytes)
+            .add("ttl", ttl)
+            .add("localMaxSizeInBytes", localMaxSizeInBytes)
+            .toString();
+    }
+}
@@ -0,0 +1,99 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.modules.blobstore;
+
+import java.io.FileNotFoundException;
+
+import javax.inject.Named;
+import javax.inject.Provider;
+import javax.inject.Singleton;
+
+import org.apache.commons.configuration2.Configuration;
+import org.apache.commons.configuration2.ex.ConfigurationException;
+import org.apache.james.backends.cassandra.components.CassandraModule;
+import org.apache.james.blob.api.BlobStore;
+import org.apache.james.blob.api.BlobStoreCache;
+import org.apache.james.blob.api.CachedBlobStore;
+import org.apache.james.blob.api.MetricableBlobStore;
+import org.apache.james.blob.cassandra.CassandraBlobCacheModule;
+import org.apache.james.blob.cassandra.CassandraBlobStoreCache;
+import org.apache.james.blob.memory.MemoryBlobStoreCache;
+import org.apache.james.metrics.api.MetricFactory;
+import org.apache.james.modules.mailbox.ConfigurationComponent;
+import org.apache.james.utils.PropertiesProvider;
+
+import com.datastax.driver.core.Session;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.inject.AbstractModule;
+import com.google.inject.Provides;
+import com.google.inject.multibindings.ProvidesIntoSet;
+
+public class BlobStoreCacheModule extends AbstractModule {
+    public static final String UNCACHED_BLOB_STORE = "uncachedBlobStore";
+
+    @VisibleForTesting
+    @ProvidesIntoSet
+    CassandraModule provideCassandraBlobCacheModule(BlobStoreCacheConfiguration cacheConfiguration) {
+        if (cacheConfiguration.isEnabled() && cacheConfiguration.getImplementation() == BlobStoreCacheConfiguration.CacheImplName.CASSANDRA) {
+            return CassandraBlobCacheModule.MODULE;
+        }
+        return CassandraModule.EMPTY_MODULE;
+    }
+
+    @VisibleForTesting
+    @Provides
+    @Singleton
+    BlobStoreCacheConfiguration provideCacheConfiguration(PropertiesProvider propertiesProvider) throws ConfigurationException {
+        try {
+            Configuration configuration = propertiesProvider.getConfigurations(ConfigurationComponent.NAMES);
+            return BlobStoreCacheConfiguration.from(configuration);
+        } catch (FileNotFoundException e) {
+            return BlobStoreCacheConfiguration.DISABLED;
+        }
+    }
+
+    @Provides
+    @Singleton
+    BlobStoreCache provideBlobStoreCache(BlobStoreCacheConfiguration cacheConfiguration, Provider<Session> sessionProvider) {
+        switch (cacheConfiguration.getImplementation()) {
+            case LOCAL:
+                return new MemoryBlobStoreCache(cacheConfiguration.getLocalMaxSizeInBytes(), cacheConfiguration.getTtl());
+            case CASSANDRA:
+                return new CassandraBlobStoreCache(sessionProvider.get(), cacheConfiguration.getTtl());
+            default:
+                throw new RuntimeException(String.format("can not get the right blob store cache with configuration %s",
+                    cacheConfiguration.toString()));
+        }
+    }
+
+    @VisibleForTesting
+    @Provides
+    @Named(MetricableBlobStore.BLOB_STORE_IMPLEMENTATION)
+    @Singleton
+    BlobStore provideBlobStore(BlobStoreCacheConfiguration cacheConfiguration,
+                               @Named(UNCACHED_BLOB_STORE) BlobStore uncachedBlobStore,
+                               Provider<BlobStoreCache> cacheProvider,
+                               MetricFactory metricFactory) {
+        if (cacheConfiguration.isEnabled()) {
+            return new CachedBlobStore(cacheProvider.get(), uncachedBlobStore, cacheConfiguration.getSizeThresholdInBytes(), metricFactory);
+        }
+        return uncachedBlobStore;
+    }
+}
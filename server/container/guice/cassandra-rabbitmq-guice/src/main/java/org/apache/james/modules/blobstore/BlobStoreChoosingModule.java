@@ -29,7 +29,6 @@ import org.apache.commons.configuration2.Configuration;
 import org.apache.commons.configuration2.ex.ConfigurationException;
 import org.apache.james.backends.cassandra.components.CassandraModule;
 import org.apache.james.blob.api.BlobStore;
-import org.apache.james.blob.api.MetricableBlobStore;
 import org.apache.james.blob.cassandra.CassandraBlobModule;
 import org.apache.james.blob.cassandra.CassandraBlobStore;
 import org.apache.james.blob.objectstorage.ObjectStorageBlobStore;
@@ -51,6 +50,7 @@ public class BlobStoreChoosingModule extends AbstractModule {
     @Override
     protected void configure() {
         install(new ObjectStorageDependenciesModule());
+        install(new BlobStoreCacheModule());
 
         Multibinder<CassandraModule> cassandraDataDefinitions = Multibinder.newSetBinder(binder(), CassandraModule.class);
         cassandraDataDefinitions.addBinding().toInstance(CassandraBlobModule.MODULE);
@@ -71,7 +71,7 @@ public class BlobStoreChoosingModule extends AbstractModule {
 
     @VisibleForTesting
     @Provides
-    @Named(MetricableBlobStore.BLOB_STORE_IMPLEMENTATION)
+    @Named(BlobStoreCacheModule.UNCACHED_BLOB_STORE)
     @Singleton
     BlobStore provideBlobStore(BlobStoreChoosingConfiguration choosingConfiguration,
                                Provider<CassandraBlobStore> cassandraBlobStoreProvider,
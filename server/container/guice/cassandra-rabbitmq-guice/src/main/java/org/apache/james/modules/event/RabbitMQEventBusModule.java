@@ -19,8 +19,17 @@
 
 package org.apache.james.modules.event;
 
+import static org.apache.james.modules.rabbitmq.RabbitMQModule.RABBITMQ_CONFIGURATION_NAME;
+
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+import org.apache.commons.configuration2.Configuration;
 import org.apache.james.event.json.EventSerializer;
 import org.apache.james.mailbox.events.EventBus;
+import org.apache.james.mailbox.events.EventCodecConfiguration;
+import org.apache.james.mailbox.events.GroupExecutionConfiguration;
+import org.apache.james.mailbox.events.LegacyGroupBinding;
 import org.apache.james.mailbox.events.MailboxIdRegistrationKey;
 import org.apache.james.mailbox.events.RabbitMQEventBus;
 import org.apache.james.mailbox.events.RegistrationKey;
@@ -29,6 +38,7 @@ import org.apache.james.utils.InitializationOperation;
 import org.apache.james.utils.InitilizationOperationBuilder;
 
 import com.google.inject.AbstractModule;
+import com.google.inject.Provides;
 import com.google.inject.Scopes;
 import com.google.inject.multibindings.Multibinder;
 import com.google.inject.multibindings.ProvidesIntoSet;
@@ -46,6 +56,19 @@ public class RabbitMQEventBusModule extends AbstractModule {
             .addBinding().to(MailboxIdRegistrationKey.Factory.class);
 
         bind(RetryBackoffConfiguration.class).toInstance(RetryBackoffConfiguration.DEFAULT);
+        bind(GroupExecutionConfiguration.class).toInstance(GroupExecutionConfiguration.DEFAULT);
+    }
+
+    @Provides
+    @Singleton
+    EventCodecConfiguration provideEventCodecConfiguration(@Named(RABBITMQ_CONFIGURATION_NAME) Configuration configuration) {
+        return EventCodecConfiguration.from(configuration);
+    }
+
+    @Provides
+    @Singleton
+    LegacyGroupBinding provideLegacyGroupBinding(@Named(RABBITMQ_CONFIGURATION_NAME) Configuration configuration) {
+        return LegacyGroupBinding.from(configuration);
     }
 
     @ProvidesIntoSet
@@ -0,0 +1,49 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.modules.server;
+
+import java.io.FileNotFoundException;
+import java.util.Optional;
+
+import org.apache.commons.configuration2.ex.ConfigurationException;
+import org.apache.james.task.ConcurrentWorkerConfiguration;
+import org.apache.james.utils.PropertiesProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Provides;
+import com.google.inject.Singleton;
+
+public class TaskManagerWorkerModule extends AbstractModule {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TaskManagerWorkerModule.class);
+    private static final String TASK_MANAGER_CONFIGURATION_NAME = "taskmanager";
+
+    @Singleton
+    @Provides
+    Optional<ConcurrentWorkerConfiguration> provideConcurrentWorkerConfiguration(PropertiesProvider propertiesProvider) throws ConfigurationException {
+        try {
+            return ConcurrentWorkerConfiguration.from(propertiesProvider.getConfiguration(TASK_MANAGER_CONFIGURATION_NAME));
+        } catch (FileNotFoundException e) {
+            LOGGER.info("Could not find " + TASK_MANAGER_CONFIGURATION_NAME + " configuration file, tasks are run one after the other");
+            return Optional.empty();
+        }
+    }
+}
@@ -22,6 +22,7 @@ import org.apache.commons.configuration2.ex.ConfigurationException;
 import org.apache.james.domainlist.api.DomainList;
 import org.apache.james.domainlist.jpa.JPADomainList;
 import org.apache.james.domainlist.lib.DomainListConfiguration;
+import org.apache.james.metrics.api.GaugeRegistry;
 import org.apache.james.server.core.configuration.ConfigurationProvider;
 import org.apache.james.utils.InitializationOperation;
 import org.apache.james.utils.InitilizationOperationBuilder;
@@ -46,9 +47,12 @@ public class JPADomainListModule extends AbstractModule {
     }
 
     @ProvidesIntoSet
-    InitializationOperation configureDomainList(DomainListConfiguration configuration, JPADomainList jpaDomainList) {
+    InitializationOperation configureDomainList(DomainListConfiguration configuration, JPADomainList jpaDomainList, GaugeRegistry gaugeRegistry) {
         return InitilizationOperationBuilder
             .forClass(JPADomainList.class)
-            .init(() -> jpaDomainList.configure(configuration));
+            .init(() -> {
+                jpaDomainList.configure(configuration);
+                jpaDomainList.registerCacheGauges(gaugeRegistry);
+            });
     }
 }
@@ -18,6 +18,7 @@
  ****************************************************************/
 package org.apache.james.modules.data;
 
+import org.apache.james.metrics.api.GaugeRegistry;
 import org.apache.james.rrt.api.AliasReverseResolver;
 import org.apache.james.rrt.api.CanSendFrom;
 import org.apache.james.rrt.api.RecipientRewriteTable;
@@ -44,9 +45,12 @@ public class JPARecipientRewriteTableModule extends AbstractModule {
     }
 
     @ProvidesIntoSet
-    InitializationOperation configureRRT(ConfigurationProvider configurationProvider, JPARecipientRewriteTable recipientRewriteTable) {
+    InitializationOperation configureRRT(ConfigurationProvider configurationProvider, JPARecipientRewriteTable recipientRewriteTable, GaugeRegistry gaugeRegistry) {
         return InitilizationOperationBuilder
             .forClass(JPARecipientRewriteTable.class)
-            .init(() -> recipientRewriteTable.configure(configurationProvider.getConfiguration("recipientrewritetable")));
+            .init(() -> {
+                recipientRewriteTable.configure(configurationProvider.getConfiguration("recipientrewritetable"));
+                recipientRewriteTable.registerCacheGauges(gaugeRegistry);
+            });
     }
 }
@@ -0,0 +1,90 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.modules.mailbox;
+
+import java.util.Objects;
+
+import org.apache.commons.configuration2.Configuration;
+
+import com.google.common.base.Preconditions;
+
+public class LuceneSearchConfiguration {
+    static final String USE_MMAP_DIRECTORY = "lucene.useMMapDirectory";
+    static final String REFRESH_INTERVAL_IN_MS = "lucene.refreshIntervalInMs";
+    static final String COMMIT_INTERVAL_IN_MS = "lucene.commitIntervalInMs";
+
+    private static final boolean DEFAULT_USE_MMAP_DIRECTORY = false;
+    private static final long DEFAULT_REFRESH_INTERVAL_IN_MS = 0;
+    private static final long DEFAULT_COMMIT_INTERVAL_IN_MS = 0;
+
+    public static final LuceneSearchConfiguration DEFAULT_CONFIGURATION = new LuceneSearchConfiguration(
+        DEFAULT_USE_MMAP_DIRECTORY, DEFAULT_REFRESH_INTERVAL_IN_MS, DEFAULT_COMMIT_INTERVAL_IN_MS);
+
+    public static LuceneSearchConfiguration fromProperties(Configuration configuration) {
+        long refreshIntervalInMs = configuration.getLong(REFRESH_INTERVAL_IN_MS, DEFAULT_REFRESH_INTERVAL_IN_MS);
+        long commitIntervalInMs = configuration.getLong(COMMIT_INTERVAL_IN_MS, DEFAULT_COMMIT_INTERVAL_IN_MS);
+        Preconditions.checkState(refreshIntervalInMs >= 0, "'%s' needs to be positive", REFRESH_INTERVAL_IN_MS);
+        Preconditions.checkState(commitIntervalInMs >= 0, "'%s' needs to be positive", COMMIT_INTERVAL_IN_MS);
+
+        return new LuceneSearchConfiguration(
+            configuration.getBoolean(USE_MMAP_DIRECTORY, DEFAULT_USE_MMAP_DIRECTORY),
+            refreshIntervalInMs,
+            commitIntervalInMs);
+    }
+
+    private final boolean useMMapDirectory;
+    private final long refreshIntervalInMs;
+    private final long commitIntervalInMs;
+
+    private LuceneSearchConfiguration(boolean useMMapDirectory, long refreshIntervalInMs, long commitIntervalInMs) {
+        this.useMMapDirectory = useMMapDirectory;
+        this.refreshIntervalInMs = refreshIntervalInMs;
+        this.commitIntervalInMs = commitIntervalInMs;
+    }
+
+    public boolean useMMapDirectory() {
+        return useMMapDirectory;
+    }
+
+    public long getRefreshIntervalInMs() {
+        return refreshIntervalInMs;
+    }
+
+    public long getCommitIntervalInMs() {
+        return commitIntervalInMs;
+    }
+
+    @Override
+    public final boolean equals(Object o) {
+        if (o instanceof LuceneSearchConfiguration) {
+            LuceneSearchConfiguration that = (LuceneSearchConfiguration) o;
+
+            return Objects.equals(this.useMMapDirectory, that.useMMapDirectory)
+                && Objects.equals(this.refreshIntervalInMs, that.refreshIntervalInMs)
+                && Objects.equals(this.commitIntervalInMs, that.commitIntervalInMs);
+        }
+        return false;
+    }
+
+    @Override
+    public final int hashCode() {
+        return Objects.hash(useMMapDirectory, refreshIntervalInMs, commitIntervalInMs);
+    }
+}
@@ -19,15 +19,22 @@
 
 package org.apache.james.modules.mailbox;
 
+import java.io.FileNotFoundException;
 import java.io.IOException;
 
+import org.apache.commons.configuration2.ex.ConfigurationException;
 import org.apache.james.filesystem.api.FileSystem;
 import org.apache.james.mailbox.events.MailboxListener;
+import org.apache.james.mailbox.lucene.search.LuceneIndexMaintenanceConfiguration;
 import org.apache.james.mailbox.lucene.search.LuceneMessageSearchIndex;
 import org.apache.james.mailbox.store.search.ListeningMessageSearchIndex;
 import org.apache.james.mailbox.store.search.MessageSearchIndex;
+import org.apache.james.utils.PropertiesProvider;
 import org.apache.lucene.store.Directory;
 import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.store.MMapDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import com.google.inject.AbstractModule;
 import com.google.inject.Provides;
@@ -36,6 +43,8 @@ import com.google.inject.Singleton;
 import com.google.inject.multibindings.Multibinder;
 
 public class LuceneSearchMailboxModule extends AbstractModule {
+    private static final Logger LOGGER = LoggerFactory.getLogger(LuceneSearchMailboxModule.class);
+    private static final String LUCENE_CONFIGURATION_NAME = "lucene";
 
     @Override
     protected void configure() {
@@ -50,7 +59,27 @@ public class LuceneSearchMailboxModule extends AbstractModule {
 
     @Provides
     @Singleton
-    Directory provideDirectory(FileSystem fileSystem) throws IOException {
+    LuceneIndexMaintenanceConfiguration provideLuceneIndexMaintenanceConfiguration(LuceneSearchConfiguration configuration) {
+        return LuceneIndexMaintenanceConfiguration.of(configuration.getRefreshIntervalInMs(), configuration.getCommitIntervalInMs());
+    }
+
+    @Provides
+    @Singleton
+    Directory provideDirectory(FileSystem fileSystem, LuceneSearchConfiguration configuration) throws IOException {
+        if (configuration.useMMapDirectory()) {
+            return new MMapDirectory(fileSystem.getBasedir());
+        }
         return FSDirectory.open(fileSystem.getBasedir());
     }
+
+    @Provides
+    @Singleton
+    LuceneSearchConfiguration provideLuceneSearchConfiguration(PropertiesProvider propertiesProvider) throws ConfigurationException {
+        try {
+            return LuceneSearchConfiguration.fromProperties(propertiesProvider.getConfiguration(LUCENE_CONFIGURATION_NAME));
+        } catch (FileNotFoundException e) {
+            LOGGER.info("Could not find " + LUCENE_CONFIGURATION_NAME + " configuration file. Using default lucene settings");
+            return LuceneSearchConfiguration.DEFAULT_CONFIGURATION;
+        }
+    }
 }
@@ -31,6 +31,7 @@ import org.apache.james.mailrepository.api.Protocol;
 import org.apache.james.mailrepository.memory.MailRepositoryStoreConfiguration;
 import org.apache.james.mailrepository.memory.MemoryMailRepository;
 import org.apache.james.mailrepository.memory.MemoryMailRepositoryUrlStore;
+import org.apache.james.metrics.api.GaugeRegistry;
 import org.apache.james.modules.server.MailStoreRepositoryModule;
 import org.apache.james.rrt.api.AliasReverseResolver;
 import org.apache.james.rrt.api.CanSendFrom;
@@ -100,16 +101,22 @@ public class MemoryDataModule extends AbstractModule {
     }
 
     @ProvidesIntoSet
-    InitializationOperation configureDomainList(DomainListConfiguration domainListConfiguration, MemoryDomainList memoryDomainList) {
+    InitializationOperation configureDomainList(DomainListConfiguration domainListConfiguration, MemoryDomainList memoryDomainList, GaugeRegistry gaugeRegistry) {
         return InitilizationOperationBuilder
             .forClass(MemoryDomainList.class)
-            .init(() -> memoryDomainList.configure(domainListConfiguration));
+            .init(() -> {
+                memoryDomainList.configure(domainListConfiguration);
+                memoryDomainList.registerCacheGauges(gaugeRegistry);
+            });
     }
 
     @ProvidesIntoSet
-    InitializationOperation configureRRT(ConfigurationProvider configurationProvider, MemoryRecipientRewriteTable memoryRecipientRewriteTable) {
+    InitializationOperation configureRRT(ConfigurationProvider configurationProvider, MemoryRecipientRewriteTable memoryRecipientRewriteTable, GaugeRegistry gaugeRegistry) {
         return InitilizationOperationBuilder
             .forClass(MemoryRecipientRewriteTable.class)
-            .init(() -> memoryRecipientRewriteTable.configure(configurationProvider.getConfiguration("recipientrewritetable")));
+            .init(() -> {
+                memoryRecipientRewriteTable.configure(configurationProvider.getConfiguration("recipientrewritetable"));
+                memoryRecipientRewriteTable.registerCacheGauges(gaugeRegistry);
+            });
     }
 }
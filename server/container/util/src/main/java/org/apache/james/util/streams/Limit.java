@@ -25,6 +25,8 @@ import java.util.stream.Stream;
 
 import com.google.common.base.Preconditions;
 
+import reactor.core.publisher.Flux;
+
 public class Limit {
 
     public static Limit from(int limit) {
@@ -65,6 +67,12 @@ public class Limit {
             .orElse(stream);
     }
 
+    public <T> Flux<T> applyOnFlux(Flux<T> flux) {
+        return limit
+            .map(flux::take)
+            .orElse(flux);
+    }
+
     @Override
     public final boolean equals(Object o) {
         if (o instanceof Limit) {
@@ -31,6 +31,7 @@ import com.github.steveash.guavate.Guavate;
 import com.google.common.collect.ImmutableList;
 
 import nl.jqno.equalsverifier.EqualsVerifier;
+import reactor.core.publisher.Flux;
 
 class LimitTest {
 
@@ -78,6 +79,28 @@ class LimitTest {
         ).isEqualTo(ImmutableList.of(1, 2, 3));
     }
 
+    @Test
+    void unlimitedShouldCreateLimitThatDoesNotAffectFlux() {
+        Limit testee = Limit.unlimited();
+
+        assertThat(testee
+            .applyOnFlux(Flux.fromIterable(aList))
+            .collectList()
+            .block()
+        ).isEqualTo(aList);
+    }
+
+    @Test
+    void limitShouldCreateLimitThatCorrectlyTruncateFlux() {
+        Limit testee = Limit.limit(3);
+
+        assertThat(testee
+            .applyOnFlux(Flux.fromIterable(aList))
+            .collectList()
+            .block()
+        ).isEqualTo(ImmutableList.of(1, 2, 3));
+    }
+
     @Test
     void limitShouldThrowAnErrorWhenCalledWithZero() {
         assertThatIllegalArgumentException()
@@ -19,6 +19,7 @@
 
 package org.apache.james.rrt.api;
 
+import java.time.Duration;
 import java.util.Objects;
 
 import org.apache.commons.configuration2.HierarchicalConfiguration;
@@ -34,6 +35,9 @@ public class RecipientRewriteTableConfiguration {
     public static final boolean RECURSIVE_MAPPING_ENABLED = true;
     public static final int DEFAULT_ENABLED_MAPPING_LIMIT = 10;
     public static final int DISABLED_MAPPING_LIMIT = 0;
+    public static final boolean CACHE_DISABLED = false;
+    public static final Duration DEFAULT_CACHE_EXPIRATION = Duration.ofSeconds(60);
+    public static final int DEFAULT_CACHE_MAX_ENTRIES = 100000;
 
     public static final RecipientRewriteTableConfiguration DEFAULT_ENABLED = new RecipientRewriteTableConfiguration(RECURSIVE_MAPPING_ENABLED, DEFAULT_ENABLED_MAPPING_LIMIT);
     public static final RecipientRewriteTableConfiguration DISABLED = new RecipientRewriteTableConfiguration(!RECURSIVE_MAPPING_ENABLED, DISABLED_MAPPING_LIMIT);
@@ -43,11 +47,26 @@ public class RecipientRewriteTableConfiguration {
 
     private final boolean recursive;
 
+    // Lookups of stored mappings can be cached in memory, negative answers included
+    private final boolean cacheEnabled;
+    private final Duration cacheExpiration;
+    private final int cacheMaxEntries;
+
     @VisibleForTesting
     public RecipientRewriteTableConfiguration(boolean recursive, int mappingLimit) {
+        this(recursive, mappingLimit, CACHE_DISABLED, DEFAULT_CACHE_EXPIRATION, DEFAULT_CACHE_MAX_ENTRIES);
+    }
+
+    @VisibleForTesting
+    public RecipientRewriteTableConfiguration(boolean recursive, int mappingLimit, boolean cacheEnabled, Duration cacheExpiration, int cacheMaxEntries) {
         Preconditions.checkArgument(mappingLimit == 0 || recursive, "mappingLimit can not be different than 0 when recursive mode is disabled");
+        Preconditions.checkArgument(!cacheExpiration.isNegative() && !cacheExpiration.isZero(), "cacheExpiration should be strictly positive");
+        Preconditions.checkArgument(cacheMaxEntries > 0, "cacheMaxEntries should be strictly positive");
         this.recursive = recursive;
         this.mappingLimit = mappingLimit;
+        this.cacheEnabled = cacheEnabled;
+        this.cacheExpiration = cacheExpiration;
+        this.cacheMaxEntries = cacheMaxEntries;
     }
 
     public static RecipientRewriteTableConfiguration fromConfiguration(HierarchicalConfiguration<ImmutableNode> config) throws ConfigurationException {
@@ -59,7 +78,20 @@ public class RecipientRewriteTableConfiguration {
         } else {
             mappingLimit = DISABLED_MAPPING_LIMIT;
         }
-        return new RecipientRewriteTableConfiguration(recursive, mappingLimit);
+        boolean cacheEnabled = config.getBoolean("cache.enabled", CACHE_DISABLED);
+        long cacheExpirationInSeconds = config.getLong("cache.expirationInSeconds", DEFAULT_CACHE_EXPIRATION.getSeconds());
+        int cacheMaxEntries = config.getInt("cache.maxEntries", DEFAULT_CACHE_MAX_ENTRIES);
+        checkCacheSettings(cacheExpirationInSeconds, cacheMaxEntries);
+        return new RecipientRewriteTableConfiguration(recursive, mappingLimit, cacheEnabled, Duration.ofSeconds(cacheExpirationInSeconds), cacheMaxEntries);
+    }
+
+    private static void checkCacheSettings(long cacheExpirationInSeconds, int cacheMaxEntries) throws ConfigurationException {
+        if (cacheExpirationInSeconds < 1) {
+            throw new ConfigurationException("The minimum cache.expirationInSeconds is 1");
+        }
+        if (cacheMaxEntries < 1) {
+            throw new ConfigurationException("The minimum cache.maxEntries is 1");
+        }
     }
 
     private static void checkMappingLimit(int mappingLimit) throws ConfigurationException {
@@ -76,11 +108,27 @@ public class RecipientRewriteTableConfiguration {
         return recursive;
     }
 
+    public boolean isCacheEnabled() {
+        return cacheEnabled;
+    }
+
+    public Duration getCacheExpiration() {
+        return cacheExpiration;
+    }
+
+    public int getCacheMaxEntries() {
+        return cacheMaxEntries;
+    }
+
     @Override
     public final boolean equals(Object other) {
         if (other instanceof RecipientRewriteTableConfiguration) {
             RecipientRewriteTableConfiguration that = (RecipientRewriteTableConfiguration) other;
-            return Objects.equals(mappingLimit, that.mappingLimit) && Objects.equals(recursive, that.recursive);
+            return Objects.equals(mappingLimit, that.mappingLimit)
+                && Objects.equals(recursive, that.recursive)
+                && Objects.equals(cacheEnabled, that.cacheEnabled)
+                && Objects.equals(cacheExpiration, that.cacheExpiration)
+                && Objects.equals(cacheMaxEntries, that.cacheMaxEntries);
         }
 
         return false;
@@ -88,7 +136,7 @@ public class RecipientRewriteTableConfiguration {
 
     @Override
     public final int hashCode() {
-        return Objects.hash(mappingLimit, recursive);
+        return Objects.hash(mappingLimit, recursive, cacheEnabled, cacheExpiration, cacheMaxEntries);
     }
 
     @Override
@@ -96,6 +144,9 @@ public class RecipientRewriteTableConfiguration {
         return MoreObjects.toStringHelper(this)
             .add("mappingLimit", mappingLimit)
             .add("recursive", recursive)
+            .add("cacheEnabled", cacheEnabled)
+            .add("cacheExpiration", cacheExpiration)
+            .add("cacheMaxEntries", cacheMaxEntries)
             .toString();
     }
 }
@@ -22,6 +22,8 @@ package org.apache.james.rrt.api;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
 
+import java.time.Duration;
+
 import org.apache.commons.configuration2.BaseHierarchicalConfiguration;
 import org.apache.commons.configuration2.ex.ConfigurationException;
 import org.junit.jupiter.api.Test;
@@ -43,6 +45,8 @@ class RecipientRewriteTableConfigurationTest {
             .isEqualTo(10);
         assertThat(recipientRewriteTableConfiguration.isRecursive())
             .isTrue();
+        assertThat(recipientRewriteTableConfiguration.isCacheEnabled())
+            .isFalse();
     }
 
     @Test
@@ -80,4 +84,40 @@ class RecipientRewriteTableConfigurationTest {
         assertThat(recipientRewriteTableConfiguration.isRecursive())
             .isFalse();
     }
-}
\ No newline at end of file
+
+    @Test
+    void cacheConfigurationShouldBeParsed() throws ConfigurationException {
+        BaseHierarchicalConfiguration configuration = new BaseHierarchicalConfiguration();
+        configuration.addProperty("cache.enabled", "true");
+        configuration.addProperty("cache.expirationInSeconds", 30);
+        configuration.addProperty("cache.maxEntries", 500);
+        RecipientRewriteTableConfiguration recipientRewriteTableConfiguration = RecipientRewriteTableConfiguration.fromConfiguration(configuration);
+
+        assertThat(recipientRewriteTableConfiguration.isCacheEnabled())
+            .isTrue();
+        assertThat(recipientRewriteTableConfiguration.getCacheExpiration())
+            .isEqualTo(Duration.ofSeconds(30));
+        assertThat(recipientRewriteTableConfiguration.getCacheMaxEntries())
+            .isEqualTo(500);
+    }
+
+    @Test
+    void zeroCacheExpirationShouldThrow() {
+        BaseHierarchicalConfiguration configuration = new BaseHierarchicalConfiguration();
+        configuration.addProperty("cache.enabled", "true");
+        configuration.addProperty("cache.expirationInSeconds", 0);
+
+        assertThatCode(() -> RecipientRewriteTableConfiguration.fromConfiguration(configuration))
+            .isInstanceOf(ConfigurationException.class);
+    }
+
+    @Test
+    void zeroCacheMaxEntriesShouldThrow() {
+        BaseHierarchicalConfiguration configuration = new BaseHierarchicalConfiguration();
+        configuration.addProperty("cache.enabled", "true");
+        configuration.addProperty("cache.maxEntries", 0);
+
+        assertThatCode(() -> RecipientRewriteTableConfiguration.fromConfiguration(configuration))
+            .isInstanceOf(ConfigurationException.class);
+    }
+}
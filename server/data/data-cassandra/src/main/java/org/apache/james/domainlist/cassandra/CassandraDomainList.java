@@ -98,7 +98,7 @@ public class CassandraDomainList extends AbstractDomainList {
     }
 
     @Override
-    public void addDomain(Domain domain) throws DomainListException {
+    protected void doAddDomain(Domain domain) throws DomainListException {
         boolean executed = executor.executeReturnApplied(insertStatement.bind()
             .setString(DOMAIN, domain.asString()))
             .block();
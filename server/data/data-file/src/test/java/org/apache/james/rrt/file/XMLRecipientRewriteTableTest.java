@@ -239,4 +239,19 @@ public class XMLRecipientRewriteTableTest extends AbstractRecipientRewriteTableT
     @Ignore("XMLRecipientRewriteTable is read only")
     public void getMappingsForTypeShouldReturnSortedStream() {
     }
+
+    @Test
+    @Ignore("XMLRecipientRewriteTable is read only")
+    public void cachedResolutionShouldReflectAddedMappings() {
+    }
+
+    @Test
+    @Ignore("XMLRecipientRewriteTable is read only")
+    public void cachedResolutionShouldReflectRemovedMappings() {
+    }
+
+    @Test
+    @Ignore("XMLRecipientRewriteTable is read only")
+    public void cachedResolutionShouldReflectAddedDomainMappings() {
+    }
 }
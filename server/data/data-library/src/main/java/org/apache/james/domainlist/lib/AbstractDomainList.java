@@ -24,6 +24,7 @@ import java.net.UnknownHostException;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Stream;
 
 import org.apache.commons.configuration2.HierarchicalConfiguration;
@@ -35,6 +36,7 @@ import org.apache.james.domainlist.api.AutoDetectedDomainRemovalException;
 import org.apache.james.domainlist.api.DomainList;
 import org.apache.james.domainlist.api.DomainListException;
 import org.apache.james.lifecycle.api.Configurable;
+import org.apache.james.metrics.api.GaugeRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -42,6 +44,8 @@ import com.github.fge.lambdas.Throwing;
 import com.github.steveash.guavate.Guavate;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Strings;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMultimap;
 import com.google.common.collect.ImmutableSet;
@@ -67,12 +71,15 @@ public abstract class AbstractDomainList implements DomainList, Configurable {
     public static final String CONFIGURE_DEFAULT_DOMAIN = "defaultDomain";
     public static final String CONFIGURE_DOMAIN_NAMES = "domainnames.domainname";
     public static final String ENV_DOMAIN = "DOMAIN";
+    public static final String CACHE_HIT_RATIO_GAUGE = "domainListCache:hitRatio";
 
     private final DNSService dns;
     private final EnvDetector envDetector;
     private boolean autoDetect = true;
     private boolean autoDetectIP = true;
     private Domain defaultDomain;
+    private Optional<Cache<Domain, Boolean>> cache = Optional.empty();
+    private final AtomicLong cacheGeneration = new AtomicLong();
 
     public AbstractDomainList(DNSService dns, EnvDetector envDetector) {
         this.dns = dns;
@@ -91,6 +98,7 @@ public abstract class AbstractDomainList implements DomainList, Configurable {
     }
 
     public void configure(DomainListConfiguration domainListConfiguration) throws ConfigurationException {
+        configureCache(domainListConfiguration);
         setAutoDetect(domainListConfiguration.isAutoDetect());
         setAutoDetectIP(domainListConfiguration.isAutoDetectIp());
 
@@ -104,6 +112,25 @@ public abstract class AbstractDomainList implements DomainList, Configurable {
         configure(configurationBuilder.build());
     }
 
+    private void configureCache(DomainListConfiguration domainListConfiguration) {
+        if (domainListConfiguration.isCacheEnabled()) {
+            cache = Optional.of(CacheBuilder.newBuilder()
+                .maximumSize(domainListConfiguration.getCacheMaxEntries())
+                .expireAfterWrite(domainListConfiguration.getCacheExpiration())
+                .recordStats()
+                .build());
+        } else {
+            cache = Optional.empty();
+        }
+    }
+
+    /**
+     * Expose the hit ratio of the domain lookup cache, if any. Needs to be called once configured.
+     */
+    public void registerCacheGauges(GaugeRegistry gaugeRegistry) {
+        cache.ifPresent(domainCache -> gaugeRegistry.register(CACHE_HIT_RATIO_GAUGE, () -> domainCache.stats().hitRate()));
+    }
+
     protected void addConfiguredDomains(List<Domain> domains) {
         domains.stream()
             .filter(Throwing.predicate((Domain domain) -> !containsDomainInternal(domain)).sneakyThrow())
@@ -147,6 +174,7 @@ public abstract class AbstractDomainList implements DomainList, Configurable {
             addDomain(defaultDomain);
         }
         this.defaultDomain = defaultDomain;
+        invalidateCache();
     }
 
     @Override
@@ -160,10 +188,33 @@ public abstract class AbstractDomainList implements DomainList, Configurable {
 
     @Override
     public boolean containsDomain(Domain domain) throws DomainListException {
+        if (cache.isPresent()) {
+            Boolean cachedAnswer = cache.get().getIfPresent(domain);
+            if (cachedAnswer != null) {
+                return cachedAnswer;
+            }
+            long generation = cacheGeneration.get();
+            boolean answer = computeContainsDomain(domain);
+            cache.get().put(domain, answer);
+            if (cacheGeneration.get() != generation) {
+                // A write invalidated the cache while we were reading the backend: our answer might be stale
+                cache.get().invalidate(domain);
+            }
+            return answer;
+        }
+        return computeContainsDomain(domain);
+    }
+
+    private boolean computeContainsDomain(Domain domain) throws DomainListException {
         boolean internalAnswer = containsDomainInternal(domain);
         return internalAnswer || getDomains().contains(domain);
     }
 
+    private void invalidateCache() {
+        cacheGeneration.incrementAndGet();
+        cache.ifPresent(Cache::invalidateAll);
+    }
+
     @Override
     public ImmutableList<Domain> getDomains() throws DomainListException {
         ImmutableSet<Domain> allDomains = getDomainsWithType().values()
@@ -258,6 +309,7 @@ public abstract class AbstractDomainList implements DomainList, Configurable {
     public synchronized void setAutoDetect(boolean autoDetect) {
         LOGGER.info("Set autodetect to: {}", autoDetect);
         this.autoDetect = autoDetect;
+        invalidateCache();
     }
 
     /**
@@ -270,6 +322,13 @@ public abstract class AbstractDomainList implements DomainList, Configurable {
     public synchronized void setAutoDetectIP(boolean autoDetectIP) {
         LOGGER.info("Set autodetectIP to: {}", autoDetectIP);
         this.autoDetectIP = autoDetectIP;
+        invalidateCache();
+    }
+
+    @Override
+    public void addDomain(Domain domain) throws DomainListException {
+        doAddDomain(domain);
+        invalidateCache();
     }
 
     @Override
@@ -279,6 +338,7 @@ public abstract class AbstractDomainList implements DomainList, Configurable {
         }
 
         doRemoveDomain(domain);
+        invalidateCache();
     }
 
     private boolean isAutoDetected(Domain domain) throws DomainListException {
@@ -298,6 +358,8 @@ public abstract class AbstractDomainList implements DomainList, Configurable {
 
     protected abstract boolean containsDomainInternal(Domain domain) throws DomainListException;
 
+    protected abstract void doAddDomain(Domain domain) throws DomainListException;
+
     protected abstract void doRemoveDomain(Domain domain) throws DomainListException;
 
 }
@@ -19,6 +19,7 @@
 
 package org.apache.james.domainlist.lib;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
@@ -31,6 +32,7 @@ import org.apache.james.core.Domain;
 import org.apache.james.util.StreamUtils;
 
 import com.github.steveash.guavate.Guavate;
+import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
 
 public class DomainListConfiguration {
@@ -39,12 +41,18 @@ public class DomainListConfiguration {
         private Optional<Boolean> autoDetect;
         private Optional<Domain> defaultDomain;
         private ImmutableList.Builder<Domain> configuredDomains;
+        private Optional<Boolean> cacheEnabled;
+        private Optional<Duration> cacheExpiration;
+        private Optional<Integer> cacheMaxEntries;
 
         public Builder() {
             autoDetectIp = Optional.empty();
             autoDetect = Optional.empty();
             defaultDomain = Optional.empty();
             configuredDomains = ImmutableList.builder();
+            cacheEnabled = Optional.empty();
+            cacheExpiration = Optional.empty();
+            cacheMaxEntries = Optional.empty();
         }
 
         public Builder defaultDomain(Domain defaultDomain) {
@@ -77,6 +85,38 @@ public class DomainListConfiguration {
             return this;
         }
 
+        public Builder cacheEnabled(boolean cacheEnabled) {
+            this.cacheEnabled = Optional.of(cacheEnabled);
+            return this;
+        }
+
+        public Builder cacheEnabled(Optional<Boolean> cacheEnabled) {
+            this.cacheEnabled = cacheEnabled;
+            return this;
+        }
+
+        public Builder cacheExpiration(Duration cacheExpiration) {
+            Preconditions.checkArgument(!cacheExpiration.isNegative() && !cacheExpiration.isZero(), "cacheExpiration should be strictly positive");
+            this.cacheExpiration = Optional.of(cacheExpiration);
+            return this;
+        }
+
+        public Builder cacheExpiration(Optional<Duration> cacheExpiration) {
+            cacheExpiration.ifPresent(this::cacheExpiration);
+            return this;
+        }
+
+        public Builder cacheMaxEntries(int cacheMaxEntries) {
+            Preconditions.checkArgument(cacheMaxEntries > 0, "cacheMaxEntries should be strictly positive");
+            this.cacheMaxEntries = Optional.of(cacheMaxEntries);
+            return this;
+        }
+
+        public Builder cacheMaxEntries(Optional<Integer> cacheMaxEntries) {
+            cacheMaxEntries.ifPresent(this::cacheMaxEntries);
+            return this;
+        }
+
         public Builder addConfiguredDomain(Domain domain) {
             this.configuredDomains.add(domain);
             return this;
@@ -96,7 +136,10 @@ public class DomainListConfiguration {
                 autoDetectIp.orElse(true),
                 autoDetect.orElse(true),
                 defaultDomain.orElse(Domain.LOCALHOST),
-                configuredDomains.build());
+                configuredDomains.build(),
+                cacheEnabled.orElse(false),
+                cacheExpiration.orElse(DEFAULT_CACHE_EXPIRATION),
+                cacheMaxEntries.orElse(DEFAULT_CACHE_MAX_ENTRIES));
         }
     }
 
@@ -104,6 +147,11 @@ public class DomainListConfiguration {
     public static final String CONFIGURE_AUTODETECT_IP = "autodetectIP";
     public static final String CONFIGURE_DEFAULT_DOMAIN = "defaultDomain";
     public static final String CONFIGURE_DOMAIN_NAMES = "domainnames.domainname";
+    public static final String CONFIGURE_CACHE_ENABLED = "cache.enabled";
+    public static final String CONFIGURE_CACHE_EXPIRATION = "cache.expirationInSeconds";
+    public static final String CONFIGURE_CACHE_MAX_ENTRIES = "cache.maxEntries";
+    public static final Duration DEFAULT_CACHE_EXPIRATION = Duration.ofSeconds(60);
+    public static final int DEFAULT_CACHE_MAX_ENTRIES = 100000;
 
     public static Builder builder() {
         return new Builder();
@@ -121,6 +169,10 @@ public class DomainListConfiguration {
             .defaultDomain(Optional.ofNullable(config.getString(CONFIGURE_DEFAULT_DOMAIN, null))
                 .map(Domain::of))
             .addConfiguredDomains(configuredDomains)
+            .cacheEnabled(Optional.ofNullable(config.getBoolean(CONFIGURE_CACHE_ENABLED, null)))
+            .cacheExpiration(Optional.ofNullable(config.getLong(CONFIGURE_CACHE_EXPIRATION, null))
+                .map(Duration::ofSeconds))
+            .cacheMaxEntries(Optional.ofNullable(config.getInteger(CONFIGURE_CACHE_MAX_ENTRIES, null)))
             .build();
     }
 
@@ -128,12 +180,23 @@ public class DomainListConfiguration {
     private final boolean autoDetect;
     private final Domain defaultDomain;
     private final List<Domain> configuredDomains;
+    private final boolean cacheEnabled;
+    private final Duration cacheExpiration;
+    private final int cacheMaxEntries;
 
     public DomainListConfiguration(boolean autoDetectIp, boolean autoDetect, Domain defaultDomain, List<Domain> configuredDomains) {
+        this(autoDetectIp, autoDetect, defaultDomain, configuredDomains, false, DEFAULT_CACHE_EXPIRATION, DEFAULT_CACHE_MAX_ENTRIES);
+    }
+
+    public DomainListConfiguration(boolean autoDetectIp, boolean autoDetect, Domain defaultDomain, List<Domain> configuredDomains,
+                                   boolean cacheEnabled, Duration cacheExpiration, int cacheMaxEntries) {
         this.autoDetectIp = autoDetectIp;
         this.autoDetect = autoDetect;
         this.defaultDomain = defaultDomain;
         this.configuredDomains = configuredDomains;
+        this.cacheEnabled = cacheEnabled;
+        this.cacheExpiration = cacheExpiration;
+        this.cacheMaxEntries = cacheMaxEntries;
     }
 
     public boolean isAutoDetectIp() {
@@ -152,6 +215,18 @@ public class DomainListConfiguration {
         return configuredDomains;
     }
 
+    public boolean isCacheEnabled() {
+        return cacheEnabled;
+    }
+
+    public Duration getCacheExpiration() {
+        return cacheExpiration;
+    }
+
+    public int getCacheMaxEntries() {
+        return cacheMaxEntries;
+    }
+
     @Override
     public final boolean equals(Object o) {
         if (o instanceof DomainListConfiguration) {
@@ -159,13 +234,16 @@ public class DomainListConfiguration {
 
             return Objects.equals(this.autoDetectIp, that.autoDetectIp)
                 && Objects.equals(this.autoDetect, that.autoDetect)
-                && Objects.equals(this.defaultDomain, that.defaultDomain);
+                && Objects.equals(this.defaultDomain, that.defaultDomain)
+                && Objects.equals(this.cacheEnabled, that.cacheEnabled)
+                && Objects.equals(this.cacheExpiration, that.cacheExpiration)
+                && Objects.equals(this.cacheMaxEntries, that.cacheMaxEntries);
         }
         return false;
     }
 
     @Override
     public final int hashCode() {
-        return Objects.hash(autoDetectIp, autoDetect, defaultDomain);
+        return Objects.hash(autoDetectIp, autoDetect, defaultDomain, cacheEnabled, cacheExpiration, cacheMaxEntries);
     }
 }
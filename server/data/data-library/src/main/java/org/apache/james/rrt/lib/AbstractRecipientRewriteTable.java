@@ -21,6 +21,7 @@ package org.apache.james.rrt.lib;
 import java.util.EnumSet;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
@@ -37,6 +38,7 @@ import org.apache.james.core.Username;
 import org.apache.james.domainlist.api.DomainList;
 import org.apache.james.domainlist.api.DomainListException;
 import org.apache.james.lifecycle.api.Configurable;
+import org.apache.james.metrics.api.GaugeRegistry;
 import org.apache.james.rrt.api.InvalidRegexException;
 import org.apache.james.rrt.api.MappingAlreadyExistsException;
 import org.apache.james.rrt.api.RecipientRewriteTable;
@@ -51,16 +53,35 @@ import org.slf4j.LoggerFactory;
 
 import com.github.fge.lambdas.Throwing;
 import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 
 public abstract class AbstractRecipientRewriteTable implements RecipientRewriteTable, Configurable {
     private static final Logger LOGGER = LoggerFactory.getLogger(AbstractRecipientRewriteTable.class);
+    public static final String CACHE_HIT_RATIO_GAUGE = "recipientRewriteTableCache:hitRatio";
 
     private RecipientRewriteTableConfiguration configuration;
     private DomainList domainList;
+    private Optional<Cache<Username, Mappings>> cache = Optional.empty();
+    private final AtomicLong cacheGeneration = new AtomicLong();
 
     public void setConfiguration(RecipientRewriteTableConfiguration configuration) {
         Preconditions.checkState(this.configuration == null, "A configuration cannot be set twice");
         this.configuration = configuration;
+        if (configuration.isCacheEnabled()) {
+            this.cache = Optional.of(CacheBuilder.newBuilder()
+                .maximumSize(configuration.getCacheMaxEntries())
+                .expireAfterWrite(configuration.getCacheExpiration())
+                .recordStats()
+                .build());
+        }
+    }
+
+    /**
+     * Expose the hit ratio of the mapping lookup cache, if any. Needs to be called once configured.
+     */
+    public void registerCacheGauges(GaugeRegistry gaugeRegistry) {
+        cache.ifPresent(mappingsCache -> gaugeRegistry.register(CACHE_HIT_RATIO_GAUGE, () -> mappingsCache.stats().hitRate()));
     }
 
     @Inject
@@ -97,9 +118,7 @@ public abstract class AbstractRecipientRewriteTable implements RecipientRewriteT
             throw new TooManyMappingException("554 Too many mappings to process");
         }
 
-        Domain domain = username.getDomainPart().get();
-        String localPart = username.getLocalPart();
-        Stream<Mapping> targetMappings = mapAddress(localPart, domain).asStream()
+        Stream<Mapping> targetMappings = storedMappingsFor(username).asStream()
                 .filter(mapping -> mappingTypes.contains(mapping.getType()));
 
         try {
@@ -111,6 +130,43 @@ public abstract class AbstractRecipientRewriteTable implements RecipientRewriteT
         }
     }
 
+    private Mappings storedMappingsFor(Username username) throws RecipientRewriteTableException {
+        Domain domain = username.getDomainPart().get();
+        String localPart = username.getLocalPart();
+        if (cache.isPresent()) {
+            Mappings cachedMappings = cache.get().getIfPresent(username);
+            if (cachedMappings != null) {
+                return cachedMappings;
+            }
+            long generation = cacheGeneration.get();
+            Mappings mappings = mapAddress(localPart, domain);
+            cache.get().put(username, mappings);
+            if (cacheGeneration.get() != generation) {
+                // A write invalidated the cache while we were reading the backend: these mappings might be stale
+                cache.get().invalidate(username);
+            }
+            return mappings;
+        }
+        return mapAddress(localPart, domain);
+    }
+
+    private void invalidateCache() {
+        cacheGeneration.incrementAndGet();
+        cache.ifPresent(Cache::invalidateAll);
+    }
+
+    @Override
+    public void addMapping(MappingSource source, Mapping mapping) throws RecipientRewriteTableException {
+        doAddMapping(source, mapping);
+        invalidateCache();
+    }
+
+    @Override
+    public void removeMapping(MappingSource source, Mapping mapping) throws RecipientRewriteTableException {
+        doRemoveMapping(source, mapping);
+        invalidateCache();
+    }
+
     private Stream<Mapping> convertAndRecurseMapping(Username originalUsername, Mapping associatedMapping, int remainingLoops, EnumSet<Type> mappingTypes) throws ErrorMappingException, SkipMappingProcessingException, AddressException {
 
         Function<Username, Stream<Mapping>> convertAndRecurseMapping =
@@ -351,6 +407,10 @@ public abstract class AbstractRecipientRewriteTable implements RecipientRewriteT
      */
     protected abstract Mappings mapAddress(String user, Domain domain) throws RecipientRewriteTableException;
 
+    protected abstract void doAddMapping(MappingSource source, Mapping mapping) throws RecipientRewriteTableException;
+
+    protected abstract void doRemoveMapping(MappingSource source, Mapping mapping) throws RecipientRewriteTableException;
+
     private void checkDomainMappingSourceIsManaged(MappingSource source) throws RecipientRewriteTableException {
         Optional<Domain> notManagedSourceDomain = OptionalUtils.toStream(source.availableDomain())
             .filter(Throwing.<Domain>predicate(domain -> !isManagedByDomainList(domain)).sneakyThrow())
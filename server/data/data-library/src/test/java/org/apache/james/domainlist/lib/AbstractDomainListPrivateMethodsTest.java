@@ -27,6 +27,7 @@ import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 
 import java.net.InetAddress;
+import java.time.Duration;
 import java.util.List;
 
 import org.apache.james.core.Domain;
@@ -35,6 +36,7 @@ import org.apache.james.domainlist.api.AutoDetectedDomainRemovalException;
 import org.junit.Before;
 import org.junit.Test;
 
+import com.github.fge.lambdas.Throwing;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 
@@ -53,6 +55,7 @@ public class AbstractDomainListPrivateMethodsTest {
     private static class MyDomainList extends AbstractDomainList {
 
         private List<Domain> domains;
+        private Runnable afterLookup = () -> { };
 
         MyDomainList(DNSService dns, EnvDetector envDetector) {
             super(dns, envDetector);
@@ -61,11 +64,13 @@ public class AbstractDomainListPrivateMethodsTest {
 
         @Override
         protected boolean containsDomainInternal(Domain domain) {
-            return domains.contains(domain);
+            boolean answer = domains.contains(domain);
+            afterLookup.run();
+            return answer;
         }
 
         @Override
-        public void addDomain(Domain domain) {
+        protected void doAddDomain(Domain domain) {
             domains.add(domain);
         }
 
@@ -379,4 +384,86 @@ public class AbstractDomainListPrivateMethodsTest {
         assertThat(domainList.getDefaultDomain()).isEqualTo(Domain.LOCALHOST);
     }
 
+    @Test
+    public void containsDomainShouldBeServedFromCacheWhenEnabled() throws Exception {
+        Domain domain = Domain.of("cached.tld");
+        domainList.configure(cachedConfiguration());
+        domainList.addDomain(domain);
+        assertThat(domainList.containsDomain(domain)).isTrue();
+
+        domainList.domains.remove(domain);
+
+        assertThat(domainList.containsDomain(domain)).isTrue();
+    }
+
+    @Test
+    public void containsDomainShouldCacheNegativeAnswers() throws Exception {
+        Domain domain = Domain.of("cached.tld");
+        domainList.configure(cachedConfiguration());
+        assertThat(domainList.containsDomain(domain)).isFalse();
+
+        domainList.domains.add(domain);
+
+        assertThat(domainList.containsDomain(domain)).isFalse();
+    }
+
+    @Test
+    public void addDomainShouldInvalidateCache() throws Exception {
+        Domain domain = Domain.of("cached.tld");
+        domainList.configure(cachedConfiguration());
+        assertThat(domainList.containsDomain(domain)).isFalse();
+
+        domainList.addDomain(domain);
+
+        assertThat(domainList.containsDomain(domain)).isTrue();
+    }
+
+    @Test
+    public void removeDomainShouldInvalidateCache() throws Exception {
+        Domain domain = Domain.of("cached.tld");
+        domainList.configure(cachedConfiguration());
+        domainList.addDomain(domain);
+        assertThat(domainList.containsDomain(domain)).isTrue();
+
+        domainList.removeDomain(domain);
+
+        assertThat(domainList.containsDomain(domain)).isFalse();
+    }
+
+    @Test
+    public void containsDomainShouldNotCacheAnswersReadBeforeAConcurrentWrite() throws Exception {
+        Domain domain = Domain.of("cached.tld");
+        domainList.configure(cachedConfiguration());
+        domainList.addDomain(domain);
+        domainList.afterLookup = Throwing.runnable(() -> {
+            domainList.afterLookup = () -> { };
+            domainList.removeDomain(domain);
+        }).sneakyThrow();
+
+        assertThat(domainList.containsDomain(domain)).isTrue();
+
+        assertThat(domainList.containsDomain(domain)).isFalse();
+    }
+
+    @Test
+    public void containsDomainShouldNotCacheByDefault() throws Exception {
+        Domain domain = Domain.of("cached.tld");
+        domainList.configure(DomainListConfiguration.builder()
+            .autoDetect(false)
+            .autoDetectIp(false));
+        assertThat(domainList.containsDomain(domain)).isFalse();
+
+        domainList.domains.add(domain);
+
+        assertThat(domainList.containsDomain(domain)).isTrue();
+    }
+
+    private DomainListConfiguration.Builder cachedConfiguration() {
+        return DomainListConfiguration.builder()
+            .autoDetect(false)
+            .autoDetectIp(false)
+            .cacheEnabled(true)
+            .cacheExpiration(Duration.ofMinutes(1))
+            .cacheMaxEntries(100);
+    }
 }
@@ -22,6 +22,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import java.time.Duration;
 import java.util.Map;
 
 import org.apache.commons.lang3.tuple.Pair;
@@ -73,6 +74,11 @@ public abstract class AbstractRecipientRewriteTableTest {
         virtualUserTable.setConfiguration(new RecipientRewriteTableConfiguration(false, 0));
     }
 
+    protected void setCachedRecipientRewriteTable() throws Exception {
+        setNotConfiguredRecipientRewriteTable();
+        virtualUserTable.setConfiguration(new RecipientRewriteTableConfiguration(true, 10, true, Duration.ofMinutes(1), 100));
+    }
+
     private void setNotConfiguredRecipientRewriteTable() throws Exception {
         virtualUserTable = getRecipientRewriteTable();
 
@@ -640,4 +646,35 @@ public abstract class AbstractRecipientRewriteTableTest {
         assertThatThrownBy(() -> virtualUserTable.addAliasMapping(SOURCE_WITH_DOMAIN_NOT_IN_DOMAIN_LIST, ADDRESS))
             .isInstanceOf(SourceDomainIsNotInDomainListException.class);
     }
+
+    @Test
+    public void cachedResolutionShouldReflectAddedMappings() throws Exception {
+        setCachedRecipientRewriteTable();
+        assertThat(virtualUserTable.getResolvedMappings(USER, SUPPORTED_DOMAIN)).isEmpty();
+
+        virtualUserTable.addAddressMapping(SOURCE, ADDRESS);
+
+        assertThat(virtualUserTable.getResolvedMappings(USER, SUPPORTED_DOMAIN)).containsOnly(Mapping.address(ADDRESS));
+    }
+
+    @Test
+    public void cachedResolutionShouldReflectRemovedMappings() throws Exception {
+        setCachedRecipientRewriteTable();
+        virtualUserTable.addAddressMapping(SOURCE, ADDRESS);
+        assertThat(virtualUserTable.getResolvedMappings(USER, SUPPORTED_DOMAIN)).containsOnly(Mapping.address(ADDRESS));
+
+        virtualUserTable.removeAddressMapping(SOURCE, ADDRESS);
+
+        assertThat(virtualUserTable.getResolvedMappings(USER, SUPPORTED_DOMAIN)).isEmpty();
+    }
+
+    @Test
+    public void cachedResolutionShouldReflectAddedDomainMappings() throws Exception {
+        setCachedRecipientRewriteTable();
+        assertThat(virtualUserTable.getResolvedMappings(USER, SUPPORTED_DOMAIN)).isEmpty();
+
+        virtualUserTable.addMapping(MappingSource.fromDomain(SUPPORTED_DOMAIN), Mapping.domain(Domain.of("james")));
+
+        assertThat(virtualUserTable.getResolvedMappings(USER, SUPPORTED_DOMAIN)).containsOnly(Mapping.address(ADDRESS_2));
+    }
 }
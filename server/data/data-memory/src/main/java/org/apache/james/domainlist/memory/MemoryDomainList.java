@@ -52,7 +52,7 @@ public class MemoryDomainList extends AbstractDomainList {
     }
 
     @Override
-    public void addDomain(Domain domain) throws DomainListException {
+    protected void doAddDomain(Domain domain) throws DomainListException {
         if (containsDomain(domain)) {
             throw new DomainListException(domain.name() + " already exists.");
         }
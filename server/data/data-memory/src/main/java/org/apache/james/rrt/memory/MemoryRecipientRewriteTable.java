@@ -84,12 +84,12 @@ public class MemoryRecipientRewriteTable extends AbstractRecipientRewriteTable {
     }
 
     @Override
-    public void addMapping(MappingSource source, Mapping mapping) {
+    protected void doAddMapping(MappingSource source, Mapping mapping) {
         mappingEntries.add(new InMemoryMappingEntry(source, mapping));
     }
 
     @Override
-    public void removeMapping(MappingSource source, Mapping mapping) {
+    protected void doRemoveMapping(MappingSource source, Mapping mapping) {
         mappingEntries.remove(new InMemoryMappingEntry(source, mapping));
     }
 
@@ -19,10 +19,16 @@
 
 package org.apache.james.rrt.memory;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.apache.james.core.Domain;
 import org.apache.james.rrt.lib.AbstractRecipientRewriteTable;
 import org.apache.james.rrt.lib.AbstractRecipientRewriteTableTest;
+import org.apache.james.rrt.lib.Mapping;
+import org.apache.james.rrt.lib.MappingSource;
 import org.junit.After;
 import org.junit.Before;
+import org.junit.Test;
 
 public class MemoryRecipientRewriteTableTest extends AbstractRecipientRewriteTableTest {
 
@@ -42,4 +48,15 @@ public class MemoryRecipientRewriteTableTest extends AbstractRecipientRewriteTab
     protected AbstractRecipientRewriteTable getRecipientRewriteTable() {
         return new MemoryRecipientRewriteTable();
     }
+
+    @Test
+    public void cachedResolutionShouldNotQueryTheStorageAgain() throws Exception {
+        setCachedRecipientRewriteTable();
+        MemoryRecipientRewriteTable memoryRecipientRewriteTable = (MemoryRecipientRewriteTable) virtualUserTable;
+        assertThat(virtualUserTable.getResolvedMappings("user", Domain.LOCALHOST)).isEmpty();
+
+        memoryRecipientRewriteTable.doAddMapping(MappingSource.fromUser("user", Domain.LOCALHOST), Mapping.address("other@localhost"));
+
+        assertThat(virtualUserTable.getResolvedMappings("user", Domain.LOCALHOST)).isEmpty();
+    }
 }
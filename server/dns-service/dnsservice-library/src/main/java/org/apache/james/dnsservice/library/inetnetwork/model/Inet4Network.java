@@ -63,6 +63,20 @@ public class Inet4Network implements InetNetwork {
         }
     }
 
+    /**
+     * @return the masked IP address of this network
+     */
+    public InetAddress getNetwork() {
+        return network;
+    }
+
+    /**
+     * @return the subnet mask applied on IP addresses, as bytes
+     */
+    public byte[] getNetmaskBytes() {
+        return netmask.getAddress();
+    }
+
     @Override
     public String toString() {
         return network.getHostAddress() + "/" + netmask.getHostAddress();
@@ -61,6 +61,20 @@ public class Inet6Network implements InetNetwork {
         }
     }
 
+    /**
+     * @return the masked IP address of this network
+     */
+    public InetAddress getNetwork() {
+        return network;
+    }
+
+    /**
+     * @return the subnet mask applied on IP addresses, as bytes
+     */
+    public byte[] getNetmaskBytes() {
+        return maskBytes(netmask);
+    }
+
     @Override
     public String toString() {
         return network.getHostAddress() + "/" + netmask;
@@ -77,6 +91,10 @@ public class Inet6Network implements InetNetwork {
     }
 
     private static InetAddress maskIP(InetAddress ip, Integer mask) {
+        return maskIP(ip.getAddress(), maskBytes(mask));
+    }
+
+    private static byte[] maskBytes(Integer mask) {
         byte[] maskBytes = new byte[16];
         int i = 0;
         while (mask > 0) {
@@ -84,7 +102,7 @@ public class Inet6Network implements InetNetwork {
             i++;
             mask = (mask >> 1);
         }
-        return maskIP(ip.getAddress(), maskBytes);
+        return maskBytes;
     }
 
     /**
@@ -0,0 +1,174 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.dnsservice.library.netmatcher;
+
+import java.net.InetAddress;
+import java.util.Collection;
+import java.util.OptionalInt;
+
+import org.apache.james.dnsservice.library.inetnetwork.model.Inet4Network;
+import org.apache.james.dnsservice.library.inetnetwork.model.Inet6Network;
+import org.apache.james.dnsservice.library.inetnetwork.model.InetNetwork;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Binary prefix trie over IPv4 and IPv6 networks.
+ *
+ * Looking up an address walks at most as many nodes as there are bits in the address, whatever the
+ * count of networks. Networks whose mask is not a prefix (eg 255.0.255.0) can not be stored in the
+ * trie and are checked one by one.
+ *
+ * Instances are immutable once built and can be shared across threads.
+ */
+class InetNetworkTrie {
+
+    private static class Node {
+        private Node zero;
+        private Node one;
+        private boolean terminal;
+
+        Node child(boolean bit) {
+            return bit ? one : zero;
+        }
+
+        Node getOrCreateChild(boolean bit) {
+            if (bit) {
+                if (one == null) {
+                    one = new Node();
+                }
+                return one;
+            }
+            if (zero == null) {
+                zero = new Node();
+            }
+            return zero;
+        }
+
+        void markTerminal() {
+            // Any address under this node now matches: longer prefixes are useless
+            terminal = true;
+            zero = null;
+            one = null;
+        }
+    }
+
+    private static final int IPV4_LENGTH = 4;
+    private static final int IPV6_LENGTH = 16;
+
+    static InetNetworkTrie of(Collection<InetNetwork> networks) {
+        Node ipv4Root = new Node();
+        Node ipv6Root = new Node();
+        ImmutableList.Builder<InetNetwork> nonPrefixNetworks = ImmutableList.builder();
+
+        for (InetNetwork network : networks) {
+            if (network instanceof Inet4Network) {
+                Inet4Network inet4Network = (Inet4Network) network;
+                insert(ipv4Root, inet4Network, inet4Network.getNetwork(), inet4Network.getNetmaskBytes(), nonPrefixNetworks);
+            } else if (network instanceof Inet6Network) {
+                Inet6Network inet6Network = (Inet6Network) network;
+                insert(ipv6Root, inet6Network, inet6Network.getNetwork(), inet6Network.getNetmaskBytes(), nonPrefixNetworks);
+            } else {
+                nonPrefixNetworks.add(network);
+            }
+        }
+
+        return new InetNetworkTrie(ipv4Root, ipv6Root, nonPrefixNetworks.build());
+    }
+
+    private static void insert(Node root, InetNetwork network, InetAddress address, byte[] netmask, ImmutableList.Builder<InetNetwork> nonPrefixNetworks) {
+        OptionalInt prefixLength = prefixLength(netmask);
+        if (address == null || !prefixLength.isPresent() || address.getAddress().length != netmask.length) {
+            nonPrefixNetworks.add(network);
+            return;
+        }
+
+        byte[] addressBytes = address.getAddress();
+        Node node = root;
+        for (int bit = 0; bit < prefixLength.getAsInt(); bit++) {
+            if (node.terminal) {
+                return;
+            }
+            node = node.getOrCreateChild(isSet(addressBytes, bit));
+        }
+        node.markTerminal();
+    }
+
+    /**
+     * @return the count of leading one bits of the mask, or empty when the mask is not a prefix
+     */
+    static OptionalInt prefixLength(byte[] netmask) {
+        int length = 0;
+        while (length < netmask.length * 8 && isSet(netmask, length)) {
+            length++;
+        }
+        for (int bit = length; bit < netmask.length * 8; bit++) {
+            if (isSet(netmask, bit)) {
+                return OptionalInt.empty();
+            }
+        }
+        return OptionalInt.of(length);
+    }
+
+    private static boolean isSet(byte[] bytes, int bit) {
+        return (bytes[bit / 8] & (0x80 >>> (bit % 8))) != 0;
+    }
+
+    private final Node ipv4Root;
+    private final Node ipv6Root;
+    private final ImmutableList<InetNetwork> nonPrefixNetworks;
+
+    private InetNetworkTrie(Node ipv4Root, Node ipv6Root, ImmutableList<InetNetwork> nonPrefixNetworks) {
+        this.ipv4Root = ipv4Root;
+        this.ipv6Root = ipv6Root;
+        this.nonPrefixNetworks = nonPrefixNetworks;
+    }
+
+    boolean contains(InetAddress ip) {
+        return containsPrefixOf(ip.getAddress())
+            || nonPrefixNetworks.stream().anyMatch(network -> network.contains(ip));
+    }
+
+    private boolean containsPrefixOf(byte[] address) {
+        Node node = rootFor(address);
+        int bitCount = address.length * 8;
+        for (int bit = 0; node != null; bit++) {
+            if (node.terminal) {
+                return true;
+            }
+            if (bit == bitCount) {
+                return false;
+            }
+            node = node.child(isSet(address, bit));
+        }
+        return false;
+    }
+
+    private Node rootFor(byte[] address) {
+        switch (address.length) {
+            case IPV4_LENGTH:
+                return ipv4Root;
+            case IPV6_LENGTH:
+                return ipv6Root;
+            default:
+                return null;
+        }
+    }
+}
@@ -22,8 +22,6 @@ import java.net.InetAddress;
 import java.net.UnknownHostException;
 import java.util.Collection;
 import java.util.Comparator;
-import java.util.Iterator;
-import java.util.List;
 import java.util.SortedSet;
 import java.util.TreeSet;
 
@@ -40,6 +38,10 @@ import com.google.common.base.Splitter;
  * 
  * NetMatcher provides a means for checking whether a particular IPv4 or IPv6
  * address or domain name is within a set of subnets.
+ * 
+ * Networks are indexed in a prefix trie, so that matching does not depend on
+ * the count of networks. A NetMatcher is immutable: reloading a list of
+ * networks is done by building a new NetMatcher and swapping the reference.
  */
 public class NetMatcher {
     private static final Logger LOGGER = LoggerFactory.getLogger(NetMatcher.class);
@@ -54,7 +56,12 @@ public class NetMatcher {
     /**
      * The Set of InetNetwork to match against.
      */
-    private SortedSet<InetNetwork> networks;
+    private final SortedSet<InetNetwork> networks;
+
+    /**
+     * The networks indexed by prefix, used for matching.
+     */
+    private final InetNetworkTrie networkTrie;
 
     /**
      * Create a new instance of Netmatcher.
@@ -66,7 +73,8 @@ public class NetMatcher {
      */
     public NetMatcher(String[] nets, DNSService dnsServer) {
         this.dnsServer = dnsServer;
-        initInetNetworks(nets);
+        this.networks = initInetNetworks(nets);
+        this.networkTrie = InetNetworkTrie.of(networks);
     }
 
     /**
@@ -78,14 +86,11 @@ public class NetMatcher {
      *            the DNSService which will be used in this class
      */
     public NetMatcher(Collection<String> nets, DNSService dnsServer) {
-        this.dnsServer = dnsServer;
-        initInetNetworks(nets);
+        this(nets.toArray(new String[nets.size()]), dnsServer);
     }
 
     public NetMatcher(String commaSeparatedNets, DNSService dnsServer) {
-        this.dnsServer = dnsServer;
-        List<String> nets = Splitter.on(NETS_SEPARATOR).trimResults().splitToList(commaSeparatedNets);
-        initInetNetworks(nets);
+        this(Splitter.on(NETS_SEPARATOR).trimResults().splitToList(commaSeparatedNets), dnsServer);
     }
 
     /**
@@ -119,16 +124,7 @@ public class NetMatcher {
      * @return true if match the network
      */
     public boolean matchInetNetwork(InetAddress ip) {
-
-        boolean sameNet = false;
-
-        for (Iterator<InetNetwork> iter = networks.iterator(); (!sameNet) && iter.hasNext();) {
-            InetNetwork network = iter.next();
-            sameNet = network.contains(ip);
-        }
-
-        return sameNet;
-
+        return networkTrie.contains(ip);
     }
 
     @Override
@@ -137,24 +133,14 @@ public class NetMatcher {
     }
 
     /**
-     * Init the class with the given networks.
-     * 
-     * @param nets
-     *            a Collection which holds all networks
-     */
-    private void initInetNetworks(Collection<String> nets) {
-        initInetNetworks(nets.toArray(new String[nets.size()]));
-    }
-
-    /**
-     * Init the class with the given networks.
+     * Parse the given networks.
      * 
      * @param nets
      *            a String[] which holds all networks
      */
-    private void initInetNetworks(String[] nets) {
+    private SortedSet<InetNetwork> initInetNetworks(String[] nets) {
 
-        networks = new TreeSet<>(Comparator.comparing(Object::toString));
+        SortedSet<InetNetwork> networks = new TreeSet<>(Comparator.comparing(Object::toString));
 
         final InetNetworkBuilder inetNetwork = new InetNetworkBuilder(dnsServer);
 
@@ -167,6 +153,7 @@ public class NetMatcher {
             }
         }
 
+        return networks;
     }
 
 }
@@ -0,0 +1,155 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.dnsservice.library.netmatcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.Random;
+
+import org.apache.james.dnsservice.library.inetnetwork.model.Inet4Network;
+import org.apache.james.dnsservice.library.inetnetwork.model.Inet6Network;
+import org.apache.james.dnsservice.library.inetnetwork.model.InetNetwork;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+
+public class InetNetworkTrieTest {
+
+    private static InetNetwork ipv4(String address, String netmask) throws UnknownHostException {
+        return new Inet4Network(InetAddress.getByName(address), InetAddress.getByName(netmask));
+    }
+
+    private static InetNetwork ipv6(String address, int netmask) throws UnknownHostException {
+        return new Inet6Network(InetAddress.getByName(address), netmask);
+    }
+
+    @Test
+    public void prefixLengthShouldCountLeadingOnes() {
+        assertThat(InetNetworkTrie.prefixLength(new byte[] {(byte) 255, (byte) 255, (byte) 240, 0}))
+            .isEqualTo(OptionalInt.of(20));
+    }
+
+    @Test
+    public void prefixLengthShouldAcceptEmptyMask() {
+        assertThat(InetNetworkTrie.prefixLength(new byte[] {0, 0, 0, 0}))
+            .isEqualTo(OptionalInt.of(0));
+    }
+
+    @Test
+    public void prefixLengthShouldAcceptFullMask() {
+        assertThat(InetNetworkTrie.prefixLength(new byte[] {(byte) 255, (byte) 255, (byte) 255, (byte) 255}))
+            .isEqualTo(OptionalInt.of(32));
+    }
+
+    @Test
+    public void prefixLengthShouldRejectNonContiguousMask() {
+        assertThat(InetNetworkTrie.prefixLength(new byte[] {(byte) 255, 0, (byte) 255, 0}))
+            .isEqualTo(OptionalInt.empty());
+    }
+
+    @Test
+    public void containsShouldMatchAddressesOfTheNetwork() throws Exception {
+        InetNetworkTrie trie = InetNetworkTrie.of(ImmutableList.of(ipv4("192.168.1.0", "255.255.255.0")));
+
+        assertThat(trie.contains(InetAddress.getByName("192.168.1.42"))).isTrue();
+        assertThat(trie.contains(InetAddress.getByName("192.168.2.42"))).isFalse();
+    }
+
+    @Test
+    public void containsShouldMatchWhenShorterPrefixIsAddedAfterLongerOne() throws Exception {
+        InetNetworkTrie trie = InetNetworkTrie.of(ImmutableList.of(
+            ipv4("10.1.2.0", "255.255.255.0"),
+            ipv4("10.0.0.0", "255.0.0.0")));
+
+        assertThat(trie.contains(InetAddress.getByName("10.200.0.1"))).isTrue();
+        assertThat(trie.contains(InetAddress.getByName("10.1.2.3"))).isTrue();
+    }
+
+    @Test
+    public void emptyMaskShouldMatchAllIpV4Addresses() throws Exception {
+        InetNetworkTrie trie = InetNetworkTrie.of(ImmutableList.of(ipv4("0.0.0.0", "0.0.0.0")));
+
+        assertThat(trie.contains(InetAddress.getByName("203.0.113.7"))).isTrue();
+        assertThat(trie.contains(InetAddress.getByName("2001:db8::1"))).isFalse();
+    }
+
+    @Test
+    public void containsShouldHandleNonContiguousMasks() throws Exception {
+        InetNetworkTrie trie = InetNetworkTrie.of(ImmutableList.of(ipv4("10.0.5.0", "255.0.255.0")));
+
+        assertThat(trie.contains(InetAddress.getByName("10.42.5.1"))).isTrue();
+        assertThat(trie.contains(InetAddress.getByName("10.42.6.1"))).isFalse();
+    }
+
+    @Test
+    public void containsShouldNotMixIpV4AndIpV6() throws Exception {
+        InetNetworkTrie trie = InetNetworkTrie.of(ImmutableList.of(ipv6("2001:db8::", 48)));
+
+        assertThat(trie.contains(InetAddress.getByName("2001:db8::1"))).isTrue();
+        assertThat(trie.contains(InetAddress.getByName("32.1.13.184"))).isFalse();
+    }
+
+    @Test
+    public void containsShouldBehaveAsLinearScan() throws Exception {
+        Random random = new Random(42);
+        ImmutableList.Builder<InetNetwork> builder = ImmutableList.builder();
+        for (int i = 0; i < 500; i++) {
+            int prefixLength = 8 + random.nextInt(25);
+            builder.add(new Inet4Network(randomIpV4(random), prefixMask(prefixLength)));
+        }
+        for (int i = 0; i < 100; i++) {
+            builder.add(new Inet6Network(randomIpV6(random), random.nextInt(65536)));
+        }
+        List<InetNetwork> networks = builder.build();
+        InetNetworkTrie trie = InetNetworkTrie.of(networks);
+
+        for (int i = 0; i < 10000; i++) {
+            InetAddress address = i % 2 == 0 ? randomIpV4(random) : randomIpV6(random);
+            boolean expected = networks.stream().anyMatch(network -> network.contains(address));
+
+            assertThat(trie.contains(address)).as(address.toString()).isEqualTo(expected);
+        }
+    }
+
+    private static InetAddress randomIpV4(Random random) throws UnknownHostException {
+        // Few leading values so that generated networks and addresses overlap
+        byte[] bytes = new byte[4];
+        random.nextBytes(bytes);
+        bytes[0] = (byte) (10 + random.nextInt(2));
+        return InetAddress.getByAddress(bytes);
+    }
+
+    private static InetAddress randomIpV6(Random random) throws UnknownHostException {
+        byte[] bytes = new byte[16];
+        random.nextBytes(bytes);
+        bytes[0] = 0x20;
+        bytes[1] = (byte) random.nextInt(2);
+        return InetAddress.getByAddress(bytes);
+    }
+
+    private static InetAddress prefixMask(int prefixLength) throws UnknownHostException {
+        int mask = prefixLength == 0 ? 0 : 0xFFFFFFFF << (32 - prefixLength);
+        return InetAddress.getByAddress(new byte[] {(byte) (mask >>> 24), (byte) (mask >>> 16), (byte) (mask >>> 8), (byte) mask});
+    }
+}
@@ -0,0 +1,105 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+
+package org.apache.james.mailetcontainer.impl;
+
+import java.time.Duration;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+
+/**
+ * Concurrency limit for mail processing, adapted with an AIMD (additive increase, multiplicative decrease) policy.
+ *
+ * Two exponential moving averages of the processing latency are tracked: a short term one, reacting to the current
+ * load, and a long term one, standing for the usual latency. When the short term latency exceeds the long term one
+ * by a given tolerance, processing is considered overloaded and the limit is decreased multiplicatively. Otherwise,
+ * the limit is increased additively, but only while all the processing slots are busy, ie when mails are waiting to
+ * be processed.
+ *
+ * Increases and decreases are spread over one window of 'limit' samples, the equivalent of a round trip in TCP
+ * congestion control.
+ */
+class AdaptiveConcurrencyLimit {
+    private static final double SHORT_TERM_SMOOTHING = 0.2;
+    private static final double LONG_TERM_SMOOTHING = 0.02;
+    private static final double LATENCY_TOLERANCE = 1.5;
+    private static final double BACKOFF_RATIO = 0.9;
+
+    static AdaptiveConcurrencyLimit fixed(int limit) {
+        return new AdaptiveConcurrencyLimit(limit, limit, limit);
+    }
+
+    static AdaptiveConcurrencyLimit adaptive(int min, int max) {
+        return new AdaptiveConcurrencyLimit(min, max, min);
+    }
+
+    private final int min;
+    private final int max;
+    private double limit;
+    private double shortTermLatency;
+    private double longTermLatency;
+    private int samplesSinceDecrease;
+
+    @VisibleForTesting
+    AdaptiveConcurrencyLimit(int min, int max, int initial) {
+        Preconditions.checkArgument(min > 0, "Minimum concurrency needs to be strictly positive");
+        Preconditions.checkArgument(max >= min, "Maximum concurrency needs to be greater than minimum concurrency");
+        Preconditions.checkArgument(initial >= min && initial <= max, "Initial concurrency needs to be within bounds");
+
+        this.min = min;
+        this.max = max;
+        this.limit = initial;
+    }
+
+    synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    /**
+     * @param latency processing time of a mail
+     * @param saturated whether all the processing slots were busy when the mail completed
+     */
+    synchronized void onSample(Duration latency, boolean saturated) {
+        if (min == max) {
+            return;
+        }
+        double nanos = latency.toNanos();
+        shortTermLatency = smooth(shortTermLatency, nanos, SHORT_TERM_SMOOTHING);
+        longTermLatency = smooth(longTermLatency, nanos, LONG_TERM_SMOOTHING);
+        samplesSinceDecrease++;
+
+        if (shortTermLatency > longTermLatency * LATENCY_TOLERANCE) {
+            if (samplesSinceDecrease >= limit) {
+                limit = Math.max(min, limit * BACKOFF_RATIO);
+                samplesSinceDecrease = 0;
+            }
+        } else if (saturated) {
+            limit = Math.min(max, limit + 1 / limit);
+        }
+    }
+
+    private double smooth(double average, double sample, double smoothing) {
+        if (average == 0) {
+            return sample;
+        }
+        return average * (1 - smoothing) + sample * smoothing;
+    }
+}
@@ -22,12 +22,16 @@ package org.apache.james.mailetcontainer.impl;
 import static org.apache.james.metrics.api.TimeMetric.ExecutionResult.DEFAULT_100_MS_THRESHOLD;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.util.Optional;
 import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
 import javax.inject.Inject;
+import javax.mail.MessagingException;
+import javax.mail.internet.MimeMessage;
 
 import org.apache.commons.configuration2.HierarchicalConfiguration;
 import org.apache.commons.configuration2.tree.ImmutableNode;
@@ -36,16 +40,23 @@ import org.apache.james.lifecycle.api.Disposable;
 import org.apache.james.lifecycle.api.LifecycleUtil;
 import org.apache.james.mailetcontainer.api.MailProcessor;
 import org.apache.james.mailetcontainer.api.jmx.MailSpoolerMBean;
+import org.apache.james.metrics.api.GaugeRegistry;
 import org.apache.james.metrics.api.MetricFactory;
 import org.apache.james.metrics.api.TimeMetric;
 import org.apache.james.queue.api.MailQueue;
 import org.apache.james.queue.api.MailQueue.MailQueueItem;
 import org.apache.james.queue.api.MailQueueFactory;
+import org.apache.james.server.core.MimeMessageCopyOnWriteProxy;
+import org.apache.james.server.core.MimeMessageWrapper;
 import org.apache.james.util.concurrent.NamedThreadFactory;
 import org.apache.mailet.Mail;
+import org.reactivestreams.Subscription;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.base.Preconditions;
+
+import reactor.core.publisher.BaseSubscriber;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Scheduler;
@@ -60,16 +71,78 @@ public class JamesMailSpooler implements Disposable, Configurable, MailSpoolerMB
     private static final Logger LOGGER = LoggerFactory.getLogger(JamesMailSpooler.class);
 
     public static final String SPOOL_PROCESSING = "spoolProcessing";
+    public static final String SPOOL_CONCURRENCY_LIMIT = "spoolConcurrencyLimit";
+    public static final String SPOOL_FULLY_LOADED_MAILS = "spoolFullyLoadedMails";
+
+    /**
+     * Requests mails from the spool queue so that the count of mails being processed stays within the concurrency
+     * limit, and feeds that limit with the processing latency of each mail.
+     */
+    private class ConcurrencyLimitedSubscriber extends BaseSubscriber<MailQueueItem> {
+        private int inFlight = 0;
+        private int pendingRequests = 0;
+
+        @Override
+        protected void hookOnSubscribe(Subscription subscription) {
+            requestUpToLimit();
+        }
+
+        @Override
+        protected void hookOnNext(MailQueueItem item) {
+            synchronized (this) {
+                pendingRequests--;
+                inFlight++;
+            }
+            long startNanos = System.nanoTime();
+            handleOnQueueItem(item)
+                .subscribeOn(spooler)
+                .onErrorResume(e -> {
+                    LOGGER.error("Exception processing mail while spooling {}", item, e);
+                    return Mono.empty();
+                })
+                .doFinally(any -> onProcessed(Duration.ofNanos(System.nanoTime() - startNanos)))
+                .subscribe();
+        }
+
+        private void onProcessed(Duration latency) {
+            boolean saturated;
+            synchronized (this) {
+                saturated = inFlight >= concurrencyLimit.getLimit();
+                inFlight--;
+            }
+            concurrencyLimit.onSample(latency, saturated);
+            requestUpToLimit();
+        }
+
+        private void requestUpToLimit() {
+            int missing;
+            synchronized (this) {
+                missing = concurrencyLimit.getLimit() - inFlight - pendingRequests;
+                if (missing <= 0) {
+                    return;
+                }
+                pendingRequests += missing;
+            }
+            request(missing);
+        }
+    }
 
     /**
      * The number of threads used to move mail through the spool.
      */
     private int numThreads;
 
+    /**
+     * When present, the count of mails requested at once from the spool queue.
+     */
+    private Optional<Integer> dequeueBatchSize = Optional.empty();
+
     private final AtomicInteger processingActive = new AtomicInteger(0);
 
     private final MetricFactory metricFactory;
 
+    private final GaugeRegistry gaugeRegistry;
+
     /**
      * The mail processor
      */
@@ -78,13 +151,14 @@ public class JamesMailSpooler implements Disposable, Configurable, MailSpoolerMB
     private final MailQueueFactory<?> queueFactory;
     private reactor.core.Disposable disposable;
     private Scheduler spooler;
-    private int parallelismLevel;
+    private AdaptiveConcurrencyLimit concurrencyLimit;
     private MailQueue queue;
 
 
     @Inject
-    public JamesMailSpooler(MetricFactory metricFactory, MailProcessor mailProcessor, MailQueueFactory<?> queueFactory) {
+    public JamesMailSpooler(MetricFactory metricFactory, GaugeRegistry gaugeRegistry, MailProcessor mailProcessor, MailQueueFactory<?> queueFactory) {
         this.metricFactory = metricFactory;
+        this.gaugeRegistry = gaugeRegistry;
         this.mailProcessor = mailProcessor;
         this.queueFactory = queueFactory;
     }
@@ -94,7 +168,19 @@ public class JamesMailSpooler implements Disposable, Configurable, MailSpoolerMB
         numThreads = config.getInt("threads", 100);
         //Reactor helps us run things in parallel but we have to ensure there are always threads available
         //in the threadpool to avoid starvation.
-        parallelismLevel = Math.max(1, numThreads - 2);
+        int parallelismLevel = Math.max(1, numThreads - 2);
+        dequeueBatchSize = Optional.ofNullable(config.getInteger("dequeueBatchSize", null));
+        concurrencyLimit = configureConcurrencyLimit(config, parallelismLevel);
+    }
+
+    private AdaptiveConcurrencyLimit configureConcurrencyLimit(HierarchicalConfiguration<ImmutableNode> config, int parallelismLevel) {
+        if (!config.getBoolean("concurrency.adaptive", false)) {
+            return AdaptiveConcurrencyLimit.fixed(parallelismLevel);
+        }
+        int maxConcurrency = config.getInt("concurrency.max", parallelismLevel);
+        Preconditions.checkArgument(maxConcurrency <= parallelismLevel,
+            "'concurrency.max' can not exceed 'threads' - 2 (%s)", parallelismLevel);
+        return AdaptiveConcurrencyLimit.adaptive(config.getInt("concurrency.min", 1), maxConcurrency);
     }
 
     /**
@@ -106,16 +192,27 @@ public class JamesMailSpooler implements Disposable, Configurable, MailSpoolerMB
         queue = queueFactory.createQueue(MailQueueFactory.SPOOL);
         spooler = Schedulers.fromExecutor(Executors.newFixedThreadPool(numThreads, NamedThreadFactory.withName("spooler")));
         LOGGER.info("uses {} Thread(s)", numThreads);
+        gaugeRegistry.register(SPOOL_CONCURRENCY_LIMIT, concurrencyLimit::getLimit);
         run();
     }
 
     private void run() {
         LOGGER.info("Queue={}", queue);
-        disposable = Flux.from(queue.deQueue())
-            .flatMap(item -> handleOnQueueItem(item).subscribeOn(spooler), parallelismLevel)
+        ConcurrencyLimitedSubscriber subscriber = new ConcurrencyLimitedSubscriber();
+        dequeue()
             .onErrorContinue((throwable, item) -> LOGGER.error("Exception processing mail while spooling {}", item, throwable))
             .subscribeOn(spooler)
-            .subscribe();
+            .subscribe(subscriber);
+        disposable = subscriber;
+    }
+
+    private Flux<? extends MailQueueItem> dequeue() {
+        Flux<? extends MailQueueItem> items = Flux.from(queue.deQueue());
+        if (dequeueBatchSize.isPresent()) {
+            // Pull mails from the queue by batches rather than one at a time as processing slots free up
+            return items.limitRate(dequeueBatchSize.get());
+        }
+        return items;
     }
 
     private Mono<Void> handleOnQueueItem(MailQueueItem queueItem) {
@@ -145,7 +242,10 @@ public class JamesMailSpooler implements Disposable, Configurable, MailSpoolerMB
 
     private Mail performProcessMail(MailQueueItem queueItem, Mail mail) {
         try {
+            // Processing disposes ghosted mails: keep the processed message to check afterwards whether it was loaded
+            Optional<MimeMessage> processedMessage = unwrappedMessage(mail);
             mailProcessor.service(mail);
+            processedMessage.ifPresent(this::recordMessageLoading);
 
             if (Thread.currentThread().isInterrupted()) {
                 throw new InterruptedException("Thread has been interrupted");
@@ -161,6 +261,36 @@ public class JamesMailSpooler implements Disposable, Configurable, MailSpoolerMB
         return mail;
     }
 
+    private Optional<MimeMessage> unwrappedMessage(Mail mail) {
+        try {
+            MimeMessage unwrapped = mail.getMessage();
+            while (unwrapped instanceof MimeMessageCopyOnWriteProxy) {
+                unwrapped = ((MimeMessageCopyOnWriteProxy) unwrapped).getWrappedMessage();
+            }
+            return Optional.ofNullable(unwrapped);
+        } catch (MessagingException e) {
+            LOGGER.debug("Could not retrieve the message of mail {}", mail.getName(), e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Branches split by matchers share this message until they modify it: loading it accounts for them as well.
+     */
+    private void recordMessageLoading(MimeMessage message) {
+        if (isFullyLoaded(message)) {
+            metricFactory.generate(SPOOL_FULLY_LOADED_MAILS).increment();
+        }
+    }
+
+    private boolean isFullyLoaded(MimeMessage message) {
+        if (message instanceof MimeMessageWrapper) {
+            return ((MimeMessageWrapper) message).isFullyLoaded();
+        }
+        // Other MimeMessage implementations are parsed when created
+        return true;
+    }
+
     /**
      * The dispose operation is called at the end of a components lifecycle.
      * Instances of this class use this method to release and destroy any
@@ -0,0 +1,125 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+
+package org.apache.james.mailetcontainer.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+class AdaptiveConcurrencyLimitTest {
+    private static final Duration USUAL_LATENCY = Duration.ofMillis(10);
+    private static final Duration HIGH_LATENCY = Duration.ofMillis(100);
+    private static final boolean SATURATED = true;
+    private static final boolean NOT_SATURATED = false;
+
+    @Test
+    void constructorShouldThrowWhenMinIsNotPositive() {
+        assertThatThrownBy(() -> new AdaptiveConcurrencyLimit(0, 10, 5))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void constructorShouldThrowWhenMaxIsLowerThanMin() {
+        assertThatThrownBy(() -> new AdaptiveConcurrencyLimit(5, 4, 5))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void constructorShouldThrowWhenInitialIsOutOfBounds() {
+        assertThatThrownBy(() -> new AdaptiveConcurrencyLimit(1, 10, 11))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void adaptiveShouldStartAtMin() {
+        assertThat(AdaptiveConcurrencyLimit.adaptive(2, 10).getLimit()).isEqualTo(2);
+    }
+
+    @Test
+    void fixedLimitShouldNotChange() {
+        AdaptiveConcurrencyLimit testee = AdaptiveConcurrencyLimit.fixed(8);
+
+        sample(testee, 100, USUAL_LATENCY, SATURATED);
+        sample(testee, 100, HIGH_LATENCY, SATURATED);
+
+        assertThat(testee.getLimit()).isEqualTo(8);
+    }
+
+    @Test
+    void limitShouldIncreaseWhenSaturatedWithStableLatency() {
+        AdaptiveConcurrencyLimit testee = AdaptiveConcurrencyLimit.adaptive(1, 10);
+
+        sample(testee, 20, USUAL_LATENCY, SATURATED);
+
+        assertThat(testee.getLimit()).isGreaterThan(1);
+    }
+
+    @Test
+    void limitShouldNotExceedMax() {
+        AdaptiveConcurrencyLimit testee = AdaptiveConcurrencyLimit.adaptive(1, 10);
+
+        sample(testee, 1000, USUAL_LATENCY, SATURATED);
+
+        assertThat(testee.getLimit()).isEqualTo(10);
+    }
+
+    @Test
+    void limitShouldNotIncreaseWhenNotSaturated() {
+        AdaptiveConcurrencyLimit testee = AdaptiveConcurrencyLimit.adaptive(1, 10);
+
+        sample(testee, 100, USUAL_LATENCY, NOT_SATURATED);
+
+        assertThat(testee.getLimit()).isEqualTo(1);
+    }
+
+    @Test
+    void limitShouldDecreaseWhenLatencyIncreases() {
+        AdaptiveConcurrencyLimit testee = new AdaptiveConcurrencyLimit(1, 10, 10);
+        sample(testee, 200, USUAL_LATENCY, SATURATED);
+
+        sample(testee, 50, HIGH_LATENCY, SATURATED);
+
+        assertThat(testee.getLimit()).isLessThan(10);
+    }
+
+    @Test
+    void limitShouldNotGoBelowMin() {
+        AdaptiveConcurrencyLimit testee = new AdaptiveConcurrencyLimit(4, 10, 10);
+        sample(testee, 200, USUAL_LATENCY, SATURATED);
+
+        double latencyMillis = USUAL_LATENCY.toMillis();
+        for (int i = 0; i < 300; i++) {
+            latencyMillis = latencyMillis * 1.05;
+            testee.onSample(Duration.ofMillis((long) latencyMillis), SATURATED);
+        }
+
+        assertThat(testee.getLimit()).isEqualTo(4);
+    }
+
+    private void sample(AdaptiveConcurrencyLimit testee, int count, Duration latency, boolean saturated) {
+        for (int i = 0; i < count; i++) {
+            testee.onSample(latency, saturated);
+        }
+    }
+}
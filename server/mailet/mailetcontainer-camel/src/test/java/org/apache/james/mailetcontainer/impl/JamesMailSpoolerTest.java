@@ -23,29 +23,49 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.awaitility.Duration.ONE_HUNDRED_MILLISECONDS;
 import static org.awaitility.Duration.TEN_SECONDS;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 import javax.mail.MessagingException;
 
 import org.apache.commons.configuration2.plist.PropertyListConfiguration;
+import org.apache.james.lifecycle.api.LifecycleUtil;
 import org.apache.james.mailetcontainer.api.MailProcessor;
+import org.apache.james.metrics.api.Gauge;
+import org.apache.james.metrics.api.GaugeRegistry;
 import org.apache.james.metrics.api.MetricFactory;
+import org.apache.james.metrics.api.NoopGaugeRegistry;
 import org.apache.james.metrics.api.TimeMetric;
+import org.apache.james.metrics.tests.RecordingMetricFactory;
 import org.apache.james.queue.api.MailQueue;
 import org.apache.james.queue.api.MailQueueFactory;
+import org.apache.james.server.core.MailImpl;
+import org.apache.james.server.core.MimeMessageCopyOnWriteProxy;
+import org.apache.james.server.core.MimeMessageInputStreamSource;
+import org.apache.james.server.core.MimeMessageWrapper;
 import org.apache.mailet.Mail;
 import org.apache.mailet.base.test.FakeMail;
 import org.awaitility.Awaitility;
 import org.awaitility.core.ConditionFactory;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 
+import com.google.common.io.ByteStreams;
+
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.UnicastProcessor;
 
 class JamesMailSpoolerTest {
@@ -54,6 +74,9 @@ class JamesMailSpoolerTest {
             .and().pollDelay(ONE_HUNDRED_MILLISECONDS)
             .await()
             .atMost(TEN_SECONDS);
+    private static final String MESSAGE = "Subject: test\r\n" +
+        "\r\n" +
+        "Body\r\n";
 
     @Test
     void thrownExceptionShouldAckTheItem() throws MessagingException {
@@ -61,7 +84,7 @@ class JamesMailSpoolerTest {
         when(metricFactory.timer(JamesMailSpooler.SPOOL_PROCESSING)).thenAnswer(ignored -> mock(TimeMetric.class));
         MailQueueFactory<?> queueFactory = mock(MailQueueFactory.class);
         MailProcessor mailProcessor = mock(MailProcessor.class);
-        JamesMailSpooler spooler = new JamesMailSpooler(metricFactory, mailProcessor, queueFactory);
+        JamesMailSpooler spooler = new JamesMailSpooler(metricFactory, new NoopGaugeRegistry(), mailProcessor, queueFactory);
 
         UnicastProcessor<MockedMailQueueItem> workQueue = UnicastProcessor.create();
         MockedMailQueueItem item = new MockedMailQueueItem();
@@ -95,7 +118,7 @@ class JamesMailSpoolerTest {
         when(metricFactory.timer(JamesMailSpooler.SPOOL_PROCESSING)).thenAnswer(ignored -> mock(TimeMetric.class));
         MailQueueFactory<?> queueFactory = mock(MailQueueFactory.class);
         MailProcessor mailProcessor = mock(MailProcessor.class);
-        JamesMailSpooler spooler = new JamesMailSpooler(metricFactory, mailProcessor, queueFactory);
+        JamesMailSpooler spooler = new JamesMailSpooler(metricFactory, new NoopGaugeRegistry(), mailProcessor, queueFactory);
 
         UnicastProcessor<MockedMailQueueItem> workQueue = UnicastProcessor.create();
         MockedMailQueueItem item = new MockedMailQueueItem();
@@ -124,21 +147,191 @@ class JamesMailSpoolerTest {
         assertThat(item.getDones()).containsExactly(false, true);
     }
 
+    @Test
+    void dequeueBatchSizeShouldBeRequestedFromTheQueue() {
+        MetricFactory metricFactory = mock(MetricFactory.class);
+        when(metricFactory.timer(JamesMailSpooler.SPOOL_PROCESSING)).thenAnswer(ignored -> mock(TimeMetric.class));
+        MailQueueFactory<?> queueFactory = mock(MailQueueFactory.class);
+        MailProcessor mailProcessor = mock(MailProcessor.class);
+        JamesMailSpooler spooler = new JamesMailSpooler(metricFactory, new NoopGaugeRegistry(), mailProcessor, queueFactory);
+
+        Collection<Long> requests = new ConcurrentLinkedQueue<>();
+        MailQueue queue = mock(MailQueue.class);
+        when(queue.deQueue()).thenAnswer(any -> Flux.<MailQueue.MailQueueItem>never().doOnRequest(requests::add));
+        when(queueFactory.createQueue(MailQueueFactory.SPOOL)).thenAnswer(any -> queue);
+
+        PropertyListConfiguration configuration = new PropertyListConfiguration();
+        configuration.addProperty("threads", 2);
+        configuration.addProperty("dequeueBatchSize", 8);
+        spooler.configure(configuration);
+        spooler.init();
+
+        CALMLY_AWAIT.until(() -> !requests.isEmpty());
+
+        assertThat(requests).containsExactly(8L);
+    }
+
+    @Test
+    void concurrencyLimitShouldBeExposedAsAGauge() {
+        MetricFactory metricFactory = mock(MetricFactory.class);
+        GaugeRegistry gaugeRegistry = mock(GaugeRegistry.class);
+        MailQueueFactory<?> queueFactory = mock(MailQueueFactory.class);
+        JamesMailSpooler spooler = new JamesMailSpooler(metricFactory, gaugeRegistry, mock(MailProcessor.class), queueFactory);
+
+        MailQueue queue = mock(MailQueue.class);
+        when(queue.deQueue()).thenAnswer(any -> Flux.never());
+        when(queueFactory.createQueue(MailQueueFactory.SPOOL)).thenAnswer(any -> queue);
+
+        PropertyListConfiguration configuration = new PropertyListConfiguration();
+        configuration.addProperty("threads", 10);
+        spooler.configure(configuration);
+        spooler.init();
+
+        ArgumentCaptor<Gauge<?>> gaugeCaptor = ArgumentCaptor.forClass(Gauge.class);
+        verify(gaugeRegistry).register(eq(JamesMailSpooler.SPOOL_CONCURRENCY_LIMIT), gaugeCaptor.capture());
+        assertThat(gaugeCaptor.getValue().get()).isEqualTo(8);
+    }
+
+    @Test
+    void adaptiveConcurrencyShouldProcessMails() throws MessagingException {
+        MetricFactory metricFactory = mock(MetricFactory.class);
+        when(metricFactory.timer(JamesMailSpooler.SPOOL_PROCESSING)).thenAnswer(ignored -> mock(TimeMetric.class));
+        MailQueueFactory<?> queueFactory = mock(MailQueueFactory.class);
+        MailProcessor mailProcessor = mock(MailProcessor.class);
+        JamesMailSpooler spooler = new JamesMailSpooler(metricFactory, new NoopGaugeRegistry(), mailProcessor, queueFactory);
+
+        MockedMailQueueItem item1 = new MockedMailQueueItem();
+        MockedMailQueueItem item2 = new MockedMailQueueItem();
+        item1.addCallback(isDone -> { });
+        item2.addCallback(isDone -> { });
+        MailQueue queue = mock(MailQueue.class);
+        when(queue.deQueue()).thenAnswer(any -> Flux.just(item1, item2).concatWith(Flux.never()));
+        when(queueFactory.createQueue(MailQueueFactory.SPOOL)).thenAnswer(any -> queue);
+
+        PropertyListConfiguration configuration = new PropertyListConfiguration();
+        configuration.addProperty("threads", 10);
+        configuration.addProperty("concurrency.adaptive", true);
+        configuration.addProperty("concurrency.min", 1);
+        configuration.addProperty("concurrency.max", 4);
+        spooler.configure(configuration);
+        spooler.init();
+
+        CALMLY_AWAIT.until(() -> item1.getDones().size() == 1 && item2.getDones().size() == 1);
+
+        assertThat(item1.getDones()).containsExactly(true);
+        assertThat(item2.getDones()).containsExactly(true);
+    }
+
+    @Test
+    void fullyLoadedMailsShouldBeCountedWhenGhosted() throws Exception {
+        RecordingMetricFactory metricFactory = new RecordingMetricFactory();
+        MailQueueFactory<?> queueFactory = mock(MailQueueFactory.class);
+        MailProcessor mailProcessor = mock(MailProcessor.class);
+        JamesMailSpooler spooler = new JamesMailSpooler(metricFactory, new NoopGaugeRegistry(), mailProcessor, queueFactory);
+
+        MockedMailQueueItem item = new MockedMailQueueItem(this::mailFromSource);
+        item.addCallback(isDone -> { });
+        MailQueue queue = mock(MailQueue.class);
+        when(queue.deQueue()).thenAnswer(any -> Flux.just(item).concatWith(Flux.never()));
+        when(queueFactory.createQueue(MailQueueFactory.SPOOL)).thenAnswer(any -> queue);
+
+        doAnswer(invocation -> {
+            Mail mail = invocation.getArgument(0);
+            loadMessage(mail);
+            ghost(mail);
+            return null;
+        }).when(mailProcessor).service(any());
+
+        PropertyListConfiguration configuration = new PropertyListConfiguration();
+        configuration.addProperty("threads", 2);
+        spooler.configure(configuration);
+        spooler.init();
+
+        CALMLY_AWAIT.until(() -> item.getDones().size() == 1);
+
+        assertThat(metricFactory.countFor(JamesMailSpooler.SPOOL_FULLY_LOADED_MAILS)).isEqualTo(1);
+    }
+
+    @Test
+    void mailsWhoseBodyIsReadFromTheSourceShouldNotBeCountedAsFullyLoaded() throws Exception {
+        RecordingMetricFactory metricFactory = new RecordingMetricFactory();
+        MailQueueFactory<?> queueFactory = mock(MailQueueFactory.class);
+        MailProcessor mailProcessor = mock(MailProcessor.class);
+        JamesMailSpooler spooler = new JamesMailSpooler(metricFactory, new NoopGaugeRegistry(), mailProcessor, queueFactory);
+
+        MockedMailQueueItem item = new MockedMailQueueItem(this::mailFromSource);
+        item.addCallback(isDone -> { });
+        MailQueue queue = mock(MailQueue.class);
+        when(queue.deQueue()).thenAnswer(any -> Flux.just(item).concatWith(Flux.never()));
+        when(queueFactory.createQueue(MailQueueFactory.SPOOL)).thenAnswer(any -> queue);
+
+        doAnswer(invocation -> {
+            Mail mail = invocation.getArgument(0);
+            try (InputStream body = mail.getMessage().getInputStream()) {
+                ByteStreams.exhaust(body);
+            }
+            ghost(mail);
+            return null;
+        }).when(mailProcessor).service(any());
+
+        PropertyListConfiguration configuration = new PropertyListConfiguration();
+        configuration.addProperty("threads", 2);
+        spooler.configure(configuration);
+        spooler.init();
+
+        CALMLY_AWAIT.until(() -> item.getDones().size() == 1);
+
+        assertThat(metricFactory.countFor(JamesMailSpooler.SPOOL_FULLY_LOADED_MAILS)).isEqualTo(0);
+    }
+
+    private Mail mailFromSource() {
+        try {
+            return MailImpl.builder()
+                .name("mail1")
+                .sender("sender@domain.tld")
+                .addRecipient("recipient@domain.tld")
+                .mimeMessage(new MimeMessageWrapper(new MimeMessageInputStreamSource("mail1",
+                    new ByteArrayInputStream(MESSAGE.getBytes(StandardCharsets.US_ASCII)))))
+                .build();
+        } catch (MessagingException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void loadMessage(Mail mail) throws MessagingException {
+        MimeMessageCopyOnWriteProxy message = (MimeMessageCopyOnWriteProxy) mail.getMessage();
+        ((MimeMessageWrapper) message.getWrappedMessage()).loadMessage();
+    }
+
+    private void ghost(Mail mail) {
+        // Mirrors AbstractStateCompositeProcessor, disposing mails reaching the GHOST state
+        mail.setState(Mail.GHOST);
+        LifecycleUtil.dispose(mail);
+    }
+
     private class MockedMailQueueItem implements MailQueue.MailQueueItem {
         private final Collection<Boolean> dones;
+        private final Supplier<Mail> mail;
         private Consumer<Boolean> doneCallback;
 
         private MockedMailQueueItem() {
-            dones = new ArrayList<>();
+            this(() -> {
+                try {
+                    return FakeMail.defaultFakeMail();
+                } catch (MessagingException e) {
+                    throw new RuntimeException(e);
+                }
+            });
+        }
+
+        private MockedMailQueueItem(Supplier<Mail> mail) {
+            this.dones = new ArrayList<>();
+            this.mail = mail;
         }
 
         @Override
         public Mail getMail() {
-            try {
-                return FakeMail.defaultFakeMail();
-            } catch (MessagingException e) {
-                throw new RuntimeException(e);
-            }
+            return mail.get();
         }
 
         @Override
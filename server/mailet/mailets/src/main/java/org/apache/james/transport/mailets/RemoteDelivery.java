@@ -113,6 +113,13 @@ import com.google.common.collect.HashMultimap;
  * within the mailet code.<br>
  * Note: This facility should be used with extreme care by expert users with a thorough knowledge of the relevant RFCs and
  * the ability to perform their own problem resolutions.</li>
+ * <li><b>connectionPoolMaxIdlePerHost</b> (optional) - an Integer for the number of connections kept open per remote server
+ * once a mail had been delivered, to be reused by the following deliveries to this server. Domains sharing a MX share these
+ * connections. Default is 0, opening a new connection for each delivery.</li>
+ * <li><b>connectionPoolIdleTimeout</b> (optional) - a Duration after which idle connections are closed. Default unit is
+ * milliseconds. Default is 30 seconds.</li>
+ * <li><b>connectionPoolMaxMessagesPerConnection</b> (optional) - an Integer for the number of mails delivered over a single
+ * connection before closing it. Default is 100.</li>
  * <li><b>debug</b> (optional) - a Boolean (true/false) indicating whether debugging is on. Default is false.</li>
  * </ul>
  * <br/>
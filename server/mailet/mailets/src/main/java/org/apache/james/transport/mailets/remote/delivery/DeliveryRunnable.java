@@ -177,5 +177,6 @@ public class DeliveryRunnable implements Disposable {
     public void dispose() {
         disposable.dispose();
         remoteDeliveryScheduler.dispose();
+        mailDelivrer.dispose();
     }
 }
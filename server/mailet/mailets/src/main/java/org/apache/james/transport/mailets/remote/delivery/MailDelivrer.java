@@ -95,6 +95,10 @@ public class MailDelivrer {
         }
     }
 
+    public void dispose() {
+        mailDelivrerToHost.dispose();
+    }
+
     private ExecutionResult tryDeliver(Mail mail) throws MessagingException {
         if (mail.getRecipients().isEmpty()) {
             LOGGER.info("No recipients specified... not sure how this could have happened.");
@@ -20,6 +20,7 @@
 package org.apache.james.transport.mailets.remote.delivery;
 
 import java.io.IOException;
+import java.time.Clock;
 import java.util.Collection;
 import java.util.Properties;
 
@@ -35,6 +36,7 @@ import org.apache.mailet.base.Converter7Bit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.sun.mail.smtp.SMTPTransport;
 
 @SuppressWarnings("deprecation")
@@ -45,11 +47,22 @@ public class MailDelivrerToHost {
     private final RemoteDeliveryConfiguration configuration;
     private final Converter7Bit converter7Bit;
     private final Session session;
+    private final SMTPTransportPool transportPool;
 
     public MailDelivrerToHost(RemoteDeliveryConfiguration remoteDeliveryConfiguration, MailetContext mailetContext) {
+        this(remoteDeliveryConfiguration, mailetContext,
+            new SMTPTransportPool(remoteDeliveryConfiguration.getConnectionPoolMaxIdlePerHost(),
+                remoteDeliveryConfiguration.getConnectionPoolIdleTimeout(),
+                remoteDeliveryConfiguration.getConnectionPoolMaxMessagesPerConnection(),
+                Clock.systemUTC()));
+    }
+
+    @VisibleForTesting
+    MailDelivrerToHost(RemoteDeliveryConfiguration remoteDeliveryConfiguration, MailetContext mailetContext, SMTPTransportPool transportPool) {
         this.configuration = remoteDeliveryConfiguration;
         this.converter7Bit = new Converter7Bit(mailetContext);
         this.session = Session.getInstance(configuration.createFinalJavaxProperties());
+        this.transportPool = transportPool;
     }
 
     public ExecutionResult tryDeliveryToHost(Mail mail, Collection<InternetAddress> addr, HostAddress outgoingMailServer) throws MessagingException {
@@ -63,20 +76,35 @@ public class MailDelivrerToHost {
         // "mail.smtp.dsn.ret"        //default to nothing... appended as RET= after MAIL FROM line.
         // "mail.smtp.dsn.notify"     //default to nothing... appended as NOTIFY= after RCPT TO line.
 
-        SMTPTransport transport = null;
+        SMTPTransportPool.PooledTransport pooledTransport = transportPool.borrow(outgoingMailServer,
+            () -> openTransport(outgoingMailServer, props));
+        boolean delivered = false;
         try {
-            transport = (SMTPTransport) session.getTransport(outgoingMailServer);
-            transport.setLocalHost(props.getProperty("mail.smtp.localhost", configuration.getHeloNameProvider().getHeloName()));
-            connect(outgoingMailServer, transport);
+            SMTPTransport transport = pooledTransport.getTransport();
             transport.sendMessage(adaptToTransport(mail.getMessage(), transport), toArray(addr));
+            delivered = true;
             LOGGER.debug("Mail ({})  sent successfully to {} at {} from {} for {}", mail.getName(), outgoingMailServer.getHostName(),
                 outgoingMailServer.getHost(), props.get("mail.smtp.from"), mail.getRecipients());
         } finally {
-            closeTransport(mail, outgoingMailServer, transport);
+            // Connections that failed a mail transaction are never reused
+            if (!delivered || !transportPool.release(pooledTransport)) {
+                closeTransport(mail, outgoingMailServer, pooledTransport.getTransport());
+            }
         }
         return ExecutionResult.success();
     }
 
+    public void dispose() {
+        transportPool.close();
+    }
+
+    private SMTPTransport openTransport(HostAddress outgoingMailServer, Properties props) throws MessagingException {
+        SMTPTransport transport = (SMTPTransport) session.getTransport(outgoingMailServer);
+        transport.setLocalHost(props.getProperty("mail.smtp.localhost", configuration.getHeloNameProvider().getHeloName()));
+        connect(outgoingMailServer, transport);
+        return transport;
+    }
+
     private InternetAddress[] toArray(Collection<InternetAddress> addr) {
         InternetAddress[] addresses = new InternetAddress[addr.size()];
         addr.toArray(addresses);
@@ -131,7 +159,6 @@ public class MailDelivrerToHost {
                         "probably the server has already closed the connection. Message is considered to be delivered. Exception: {}",
                     mail.getName(), outgoingMailServer.getHostName(), outgoingMailServer.getHost(), mail.getRecipients(), e.getMessage());
             }
-            transport = null;
         }
     }
 
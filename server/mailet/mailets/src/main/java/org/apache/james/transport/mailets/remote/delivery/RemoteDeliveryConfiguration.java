@@ -20,6 +20,7 @@
 package org.apache.james.transport.mailets.remote.delivery;
 
 import java.time.Duration;
+import java.time.temporal.ChronoUnit;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
@@ -28,12 +29,14 @@ import java.util.Properties;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.james.domainlist.api.DomainList;
 import org.apache.james.queue.api.MailQueueName;
+import org.apache.james.util.DurationParser;
 import org.apache.mailet.MailetConfig;
 import org.apache.mailet.base.MailetUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.github.steveash.guavate.Guavate;
+import com.google.common.base.Preconditions;
 import com.google.common.base.Splitter;
 import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableList;
@@ -62,12 +65,18 @@ public class RemoteDeliveryConfiguration {
     public static final String MAX_RETRIES = "maxRetries";
     public static final String DELAY_TIME = "delayTime";
     public static final String DEBUG = "debug";
+    public static final String CONNECTION_POOL_MAX_IDLE_PER_HOST = "connectionPoolMaxIdlePerHost";
+    public static final String CONNECTION_POOL_IDLE_TIMEOUT = "connectionPoolIdleTimeout";
+    public static final String CONNECTION_POOL_MAX_MESSAGES_PER_CONNECTION = "connectionPoolMaxMessagesPerConnection";
     public static final int DEFAULT_SMTP_TIMEOUT = 180000;
     public static final MailQueueName DEFAULT_OUTGOING_QUEUE_NAME = MailQueueName.of("outgoing");
     public static final int DEFAULT_CONNECTION_TIMEOUT = 60000;
     public static final int DEFAULT_DNS_RETRY_PROBLEM = 0;
     public static final int DEFAULT_MAX_RETRY = 5;
     public static final String ADDRESS_PORT_SEPARATOR = ":";
+    public static final int DEFAULT_CONNECTION_POOL_MAX_IDLE_PER_HOST = 0;
+    public static final Duration DEFAULT_CONNECTION_POOL_IDLE_TIMEOUT = Duration.ofSeconds(30);
+    public static final int DEFAULT_CONNECTION_POOL_MAX_MESSAGES_PER_CONNECTION = 100;
 
     private final boolean isDebug;
     private final boolean usePriority;
@@ -88,6 +97,9 @@ public class RemoteDeliveryConfiguration {
     private final String authUser;
     private final String authPass;
     private final Properties javaxAdditionalProperties;
+    private final int connectionPoolMaxIdlePerHost;
+    private final Duration connectionPoolIdleTimeout;
+    private final int connectionPoolMaxMessagesPerConnection;
 
     public RemoteDeliveryConfiguration(MailetConfig mailetConfig, DomainList domainList) {
         isDebug = MailetUtil.getInitParameter(mailetConfig, DEBUG).orElse(false);
@@ -121,6 +133,13 @@ public class RemoteDeliveryConfiguration {
         }
         isBindUsed = bindAddress != null;
         javaxAdditionalProperties = computeJavaxProperties(mailetConfig);
+        connectionPoolMaxIdlePerHost = computeBoundedInteger(mailetConfig, CONNECTION_POOL_MAX_IDLE_PER_HOST,
+            DEFAULT_CONNECTION_POOL_MAX_IDLE_PER_HOST, 0);
+        connectionPoolIdleTimeout = Optional.ofNullable(mailetConfig.getInitParameter(CONNECTION_POOL_IDLE_TIMEOUT))
+            .map(rawValue -> DurationParser.parse(rawValue, ChronoUnit.MILLIS))
+            .orElse(DEFAULT_CONNECTION_POOL_IDLE_TIMEOUT);
+        connectionPoolMaxMessagesPerConnection = computeBoundedInteger(mailetConfig, CONNECTION_POOL_MAX_MESSAGES_PER_CONNECTION,
+            DEFAULT_CONNECTION_POOL_MAX_MESSAGES_PER_CONNECTION, 1);
     }
 
     private Properties computeJavaxProperties(MailetConfig mailetConfig) {
@@ -144,6 +163,16 @@ public class RemoteDeliveryConfiguration {
         }
     }
 
+    private int computeBoundedInteger(MailetConfig mailetConfig, String propertyName, int defaultValue, int minimum) {
+        String value = mailetConfig.getInitParameter(propertyName);
+        if (Strings.isNullOrEmpty(value)) {
+            return defaultValue;
+        }
+        int result = Integer.parseInt(value.trim());
+        Preconditions.checkArgument(result >= minimum, "'%s' needs to be greater than or equal to %s", propertyName, minimum);
+        return result;
+    }
+
     private int computeConnectionTimeout(MailetConfig mailetConfig) {
         try {
             return Integer.parseInt(
@@ -311,4 +340,16 @@ public class RemoteDeliveryConfiguration {
     public String getBindAddress() {
         return bindAddress;
     }
+
+    public int getConnectionPoolMaxIdlePerHost() {
+        return connectionPoolMaxIdlePerHost;
+    }
+
+    public Duration getConnectionPoolIdleTimeout() {
+        return connectionPoolIdleTimeout;
+    }
+
+    public int getConnectionPoolMaxMessagesPerConnection() {
+        return connectionPoolMaxMessagesPerConnection;
+    }
 }
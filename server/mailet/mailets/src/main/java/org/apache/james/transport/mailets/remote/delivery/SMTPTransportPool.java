@@ -0,0 +1,226 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.transport.mailets.remote.delivery;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+import javax.mail.MessagingException;
+
+import org.apache.mailet.HostAddress;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import com.sun.mail.smtp.SMTPTransport;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Keeps connected {@link SMTPTransport} around once a mail had been delivered, so that the following mails for the
+ * same remote server, delivered by any {@link DeliveryRunnable} worker, skip TCP connection, TLS negotiation and EHLO.
+ *
+ * Connections are keyed by remote server, hence domains sharing a MX share connections. Idle connections are closed
+ * once the idle timeout elapsed, checked every idle timeout period even when no delivery happens, and connections
+ * are retired after delivering a given number of messages.
+ *
+ * A pool keeping no idle connection per host opens a new connection for each delivery.
+ */
+public class SMTPTransportPool {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SMTPTransportPool.class);
+
+    @FunctionalInterface
+    public interface TransportOpener {
+        SMTPTransport open() throws MessagingException;
+    }
+
+    public static class PooledTransport {
+        private final String key;
+        private final SMTPTransport transport;
+        private int deliveredMessages;
+        private Instant lastUsed;
+
+        private PooledTransport(String key, SMTPTransport transport, Instant lastUsed) {
+            this.key = key;
+            this.transport = transport;
+            this.deliveredMessages = 0;
+            this.lastUsed = lastUsed;
+        }
+
+        public SMTPTransport getTransport() {
+            return transport;
+        }
+    }
+
+    private final int maxIdlePerHost;
+    private final Duration idleTimeout;
+    private final int maxMessagesPerConnection;
+    private final Clock clock;
+    private final ConcurrentHashMap<String, Deque<PooledTransport>> idleTransports;
+    private final Optional<Disposable> evictionTask;
+
+    public SMTPTransportPool(int maxIdlePerHost, Duration idleTimeout, int maxMessagesPerConnection, Clock clock) {
+        this(maxIdlePerHost, idleTimeout, maxMessagesPerConnection, clock, idleTimeout);
+    }
+
+    @VisibleForTesting
+    SMTPTransportPool(int maxIdlePerHost, Duration idleTimeout, int maxMessagesPerConnection, Clock clock, Duration evictionPeriod) {
+        Preconditions.checkArgument(maxIdlePerHost >= 0, "'maxIdlePerHost' needs to be positive");
+        Preconditions.checkArgument(maxMessagesPerConnection > 0, "'maxMessagesPerConnection' needs to be strictly positive");
+
+        this.maxIdlePerHost = maxIdlePerHost;
+        this.idleTimeout = idleTimeout;
+        this.maxMessagesPerConnection = maxMessagesPerConnection;
+        this.clock = clock;
+        this.idleTransports = new ConcurrentHashMap<>();
+        this.evictionTask = scheduleEviction(evictionPeriod);
+    }
+
+    private Optional<Disposable> scheduleEviction(Duration evictionPeriod) {
+        if (maxIdlePerHost == 0) {
+            return Optional.empty();
+        }
+        // Closing connections blocks on network I/O
+        return Optional.of(Flux.interval(evictionPeriod, Schedulers.elastic())
+            .subscribe(any -> evictExpired()));
+    }
+
+    /**
+     * @return an idle connection to this server if any is still alive, otherwise a connection freshly opened by the opener
+     */
+    public PooledTransport borrow(HostAddress server, TransportOpener opener) throws MessagingException {
+        String key = keyFor(server);
+        Optional<PooledTransport> idleTransport = pollIdle(key);
+        if (idleTransport.isPresent()) {
+            LOGGER.debug("Reusing SMTP connection to {}", key);
+            return idleTransport.get();
+        }
+        return new PooledTransport(key, opener.open(), clock.instant());
+    }
+
+    /**
+     * Gives back a connection that successfully delivered a mail.
+     *
+     * @return false when the connection was not kept in the pool, and thus needs to be closed by the caller
+     */
+    public boolean release(PooledTransport pooledTransport) {
+        pooledTransport.deliveredMessages++;
+        pooledTransport.lastUsed = clock.instant();
+        evictExpired();
+
+        if (maxIdlePerHost == 0 || pooledTransport.deliveredMessages >= maxMessagesPerConnection) {
+            return false;
+        }
+        Deque<PooledTransport> transports = idleTransports.computeIfAbsent(pooledTransport.key, any -> new ArrayDeque<>());
+        synchronized (transports) {
+            if (transports.size() < maxIdlePerHost) {
+                transports.addFirst(pooledTransport);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public void close() {
+        evictionTask.ifPresent(Disposable::dispose);
+        idleTransports.values()
+            .forEach(transports -> drain(transports, any -> true).forEach(this::closeQuietly));
+    }
+
+    @VisibleForTesting
+    int idleCount(HostAddress server) {
+        Deque<PooledTransport> transports = idleTransports.get(keyFor(server));
+        if (transports == null) {
+            return 0;
+        }
+        synchronized (transports) {
+            return transports.size();
+        }
+    }
+
+    private Optional<PooledTransport> pollIdle(String key) {
+        Deque<PooledTransport> transports = idleTransports.get(key);
+        if (transports == null) {
+            return Optional.empty();
+        }
+        while (true) {
+            PooledTransport candidate;
+            synchronized (transports) {
+                candidate = transports.pollFirst();
+            }
+            if (candidate == null) {
+                return Optional.empty();
+            }
+            // SMTPTransport::isConnected issues a NOOP, detecting connections closed by the remote server
+            if (!isExpired(candidate) && candidate.transport.isConnected()) {
+                return Optional.of(candidate);
+            }
+            closeQuietly(candidate);
+        }
+    }
+
+    private void evictExpired() {
+        idleTransports.values()
+            .forEach(transports -> drain(transports, this::isExpired).forEach(this::closeQuietly));
+    }
+
+    private List<PooledTransport> drain(Deque<PooledTransport> transports, Predicate<PooledTransport> predicate) {
+        List<PooledTransport> drained = new ArrayList<>();
+        synchronized (transports) {
+            Iterator<PooledTransport> iterator = transports.iterator();
+            while (iterator.hasNext()) {
+                PooledTransport pooledTransport = iterator.next();
+                if (predicate.test(pooledTransport)) {
+                    iterator.remove();
+                    drained.add(pooledTransport);
+                }
+            }
+        }
+        return drained;
+    }
+
+    private boolean isExpired(PooledTransport pooledTransport) {
+        return pooledTransport.lastUsed.plus(idleTimeout).isBefore(clock.instant());
+    }
+
+    private void closeQuietly(PooledTransport pooledTransport) {
+        try {
+            pooledTransport.transport.close();
+        } catch (MessagingException e) {
+            LOGGER.debug("Failed closing idle SMTP connection to {}", pooledTransport.key, e);
+        }
+    }
+
+    private String keyFor(HostAddress server) {
+        return server.getHostName() + "/" + server.getHost() + ":" + server.getPort();
+    }
+}
@@ -829,4 +829,71 @@ public class RemoteDeliveryConfigurationTest {
                 MapEntry.entry("mail.smtp.starttls.enable", "true"),
                 MapEntry.entry("mail.smtp.auth", "true"));
     }
+
+    @Test
+    public void getConnectionPoolMaxIdlePerHostShouldDisablePoolingByDefault() {
+        FakeMailetConfig mailetConfig = FakeMailetConfig.builder()
+            .build();
+
+        assertThat(new RemoteDeliveryConfiguration(mailetConfig, mock(DomainList.class)).getConnectionPoolMaxIdlePerHost()).isZero();
+    }
+
+    @Test
+    public void getConnectionPoolMaxIdlePerHostShouldReturnProvidedValue() {
+        FakeMailetConfig mailetConfig = FakeMailetConfig.builder()
+            .setProperty(RemoteDeliveryConfiguration.CONNECTION_POOL_MAX_IDLE_PER_HOST, "4")
+            .build();
+
+        assertThat(new RemoteDeliveryConfiguration(mailetConfig, mock(DomainList.class)).getConnectionPoolMaxIdlePerHost()).isEqualTo(4);
+    }
+
+    @Test
+    public void constructorShouldThrowOnNegativeConnectionPoolMaxIdlePerHost() {
+        FakeMailetConfig mailetConfig = FakeMailetConfig.builder()
+            .setProperty(RemoteDeliveryConfiguration.CONNECTION_POOL_MAX_IDLE_PER_HOST, "-1")
+            .build();
+
+        expectedException.expect(IllegalArgumentException.class);
+
+        new RemoteDeliveryConfiguration(mailetConfig, mock(DomainList.class));
+    }
+
+    @Test
+    public void getConnectionPoolIdleTimeoutShouldReturnDefaultValue() {
+        FakeMailetConfig mailetConfig = FakeMailetConfig.builder()
+            .build();
+
+        assertThat(new RemoteDeliveryConfiguration(mailetConfig, mock(DomainList.class)).getConnectionPoolIdleTimeout())
+            .isEqualTo(RemoteDeliveryConfiguration.DEFAULT_CONNECTION_POOL_IDLE_TIMEOUT);
+    }
+
+    @Test
+    public void getConnectionPoolIdleTimeoutShouldReturnProvidedValue() {
+        FakeMailetConfig mailetConfig = FakeMailetConfig.builder()
+            .setProperty(RemoteDeliveryConfiguration.CONNECTION_POOL_IDLE_TIMEOUT, "2 minutes")
+            .build();
+
+        assertThat(new RemoteDeliveryConfiguration(mailetConfig, mock(DomainList.class)).getConnectionPoolIdleTimeout())
+            .isEqualTo(Duration.ofMinutes(2));
+    }
+
+    @Test
+    public void getConnectionPoolMaxMessagesPerConnectionShouldReturnDefaultValue() {
+        FakeMailetConfig mailetConfig = FakeMailetConfig.builder()
+            .build();
+
+        assertThat(new RemoteDeliveryConfiguration(mailetConfig, mock(DomainList.class)).getConnectionPoolMaxMessagesPerConnection())
+            .isEqualTo(RemoteDeliveryConfiguration.DEFAULT_CONNECTION_POOL_MAX_MESSAGES_PER_CONNECTION);
+    }
+
+    @Test
+    public void constructorShouldThrowOnZeroConnectionPoolMaxMessagesPerConnection() {
+        FakeMailetConfig mailetConfig = FakeMailetConfig.builder()
+            .setProperty(RemoteDeliveryConfiguration.CONNECTION_POOL_MAX_MESSAGES_PER_CONNECTION, "0")
+            .build();
+
+        expectedException.expect(IllegalArgumentException.class);
+
+        new RemoteDeliveryConfiguration(mailetConfig, mock(DomainList.class));
+    }
 }
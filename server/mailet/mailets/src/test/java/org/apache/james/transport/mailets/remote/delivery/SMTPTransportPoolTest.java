@@ -0,0 +1,208 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.transport.mailets.remote.delivery;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import org.apache.james.utils.UpdatableTickingClock;
+import org.apache.mailet.HostAddress;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.mail.smtp.SMTPTransport;
+
+public class SMTPTransportPoolTest {
+    private static final HostAddress SERVER = new HostAddress("mx.domain.com", "smtp://1.2.3.4:25");
+    private static final HostAddress SAME_MX_OTHER_DOMAIN = new HostAddress("mx.domain.com", "smtp://1.2.3.4:25");
+    private static final HostAddress OTHER_SERVER = new HostAddress("mx.other.com", "smtp://5.6.7.8:25");
+    private static final Duration IDLE_TIMEOUT = Duration.ofSeconds(30);
+    private static final Instant NOW = Instant.parse("2020-04-01T10:00:00Z");
+
+    private UpdatableTickingClock clock;
+    private SMTPTransportPool testee;
+
+    @Before
+    public void setUp() {
+        clock = new UpdatableTickingClock(NOW);
+        testee = new SMTPTransportPool(2, IDLE_TIMEOUT, 3, clock);
+    }
+
+    @After
+    public void tearDown() {
+        testee.close();
+    }
+
+    private SMTPTransport connectedTransport() {
+        SMTPTransport transport = mock(SMTPTransport.class);
+        when(transport.isConnected()).thenReturn(true);
+        return transport;
+    }
+
+    @Test
+    public void borrowShouldOpenTransportWhenNoneIdle() throws Exception {
+        SMTPTransport transport = connectedTransport();
+
+        assertThat(testee.borrow(SERVER, () -> transport).getTransport()).isSameAs(transport);
+    }
+
+    @Test
+    public void borrowShouldReuseReleasedTransport() throws Exception {
+        SMTPTransport transport = connectedTransport();
+        testee.release(testee.borrow(SERVER, () -> transport));
+
+        assertThat(testee.borrow(SERVER, this::connectedTransport).getTransport()).isSameAs(transport);
+    }
+
+    @Test
+    public void borrowShouldReuseTransportsAcrossDomainsSharingAMx() throws Exception {
+        SMTPTransport transport = connectedTransport();
+        testee.release(testee.borrow(SERVER, () -> transport));
+
+        assertThat(testee.borrow(SAME_MX_OTHER_DOMAIN, this::connectedTransport).getTransport()).isSameAs(transport);
+    }
+
+    @Test
+    public void borrowShouldNotReuseTransportsOfOtherServers() throws Exception {
+        SMTPTransport transport = connectedTransport();
+        testee.release(testee.borrow(SERVER, () -> transport));
+
+        assertThat(testee.borrow(OTHER_SERVER, this::connectedTransport).getTransport()).isNotSameAs(transport);
+    }
+
+    @Test
+    public void borrowShouldNotReuseDisconnectedTransports() throws Exception {
+        SMTPTransport transport = connectedTransport();
+        testee.release(testee.borrow(SERVER, () -> transport));
+        when(transport.isConnected()).thenReturn(false);
+
+        assertThat(testee.borrow(SERVER, this::connectedTransport).getTransport()).isNotSameAs(transport);
+        verify(transport).close();
+    }
+
+    @Test
+    public void borrowShouldNotReuseExpiredTransports() throws Exception {
+        SMTPTransport transport = connectedTransport();
+        testee.release(testee.borrow(SERVER, () -> transport));
+        clock.setInstant(NOW.plus(IDLE_TIMEOUT).plusSeconds(1));
+
+        assertThat(testee.borrow(SERVER, this::connectedTransport).getTransport()).isNotSameAs(transport);
+        verify(transport).close();
+    }
+
+    @Test
+    public void releaseShouldCloseExpiredTransportsOfOtherServers() throws Exception {
+        SMTPTransport transport = connectedTransport();
+        testee.release(testee.borrow(OTHER_SERVER, () -> transport));
+        clock.setInstant(NOW.plus(IDLE_TIMEOUT).plusSeconds(1));
+
+        testee.release(testee.borrow(SERVER, this::connectedTransport));
+
+        verify(transport).close();
+        assertThat(testee.idleCount(OTHER_SERVER)).isZero();
+    }
+
+    @Test
+    public void expiredTransportsShouldBeClosedWithoutFurtherDelivery() throws Exception {
+        SMTPTransportPool pool = new SMTPTransportPool(2, IDLE_TIMEOUT, 3, clock, Duration.ofMillis(50));
+        try {
+            SMTPTransport transport = connectedTransport();
+            pool.release(pool.borrow(SERVER, () -> transport));
+            clock.setInstant(NOW.plus(IDLE_TIMEOUT).plusSeconds(1));
+
+            verify(transport, timeout(5000)).close();
+            assertThat(pool.idleCount(SERVER)).isZero();
+        } finally {
+            pool.close();
+        }
+    }
+
+    @Test
+    public void idleTransportsShouldNotBeClosedBeforeTheIdleTimeout() throws Exception {
+        SMTPTransportPool pool = new SMTPTransportPool(2, IDLE_TIMEOUT, 3, clock, Duration.ofMillis(50));
+        try {
+            SMTPTransport transport = connectedTransport();
+            pool.release(pool.borrow(SERVER, () -> transport));
+
+            Thread.sleep(200);
+
+            verify(transport, never()).close();
+            assertThat(pool.idleCount(SERVER)).isEqualTo(1);
+        } finally {
+            pool.close();
+        }
+    }
+
+    @Test
+    public void releaseShouldReturnFalseWhenMaxMessagesPerConnectionIsReached() throws Exception {
+        SMTPTransport transport = connectedTransport();
+        testee.release(testee.borrow(SERVER, () -> transport));
+        testee.release(testee.borrow(SERVER, () -> transport));
+
+        assertThat(testee.release(testee.borrow(SERVER, () -> transport))).isFalse();
+        assertThat(testee.idleCount(SERVER)).isZero();
+    }
+
+    @Test
+    public void releaseShouldReturnFalseWhenMaxIdlePerHostIsReached() throws Exception {
+        SMTPTransportPool.PooledTransport first = testee.borrow(SERVER, this::connectedTransport);
+        SMTPTransportPool.PooledTransport second = testee.borrow(SERVER, this::connectedTransport);
+        SMTPTransportPool.PooledTransport third = testee.borrow(SERVER, this::connectedTransport);
+
+        assertThat(testee.release(first)).isTrue();
+        assertThat(testee.release(second)).isTrue();
+        assertThat(testee.release(third)).isFalse();
+    }
+
+    @Test
+    public void releaseShouldReturnFalseWhenPoolingIsDisabled() throws Exception {
+        SMTPTransportPool disabledPool = new SMTPTransportPool(0, IDLE_TIMEOUT, 3, clock);
+
+        assertThat(disabledPool.release(disabledPool.borrow(SERVER, this::connectedTransport))).isFalse();
+    }
+
+    @Test
+    public void closeShouldCloseIdleTransports() throws Exception {
+        SMTPTransport transport = connectedTransport();
+        testee.release(testee.borrow(SERVER, () -> transport));
+
+        testee.close();
+
+        verify(transport).close();
+        assertThat(testee.idleCount(SERVER)).isZero();
+    }
+
+    @Test
+    public void releaseShouldNotCloseTransportKeptInThePool() throws Exception {
+        SMTPTransport transport = connectedTransport();
+
+        testee.release(testee.borrow(SERVER, () -> transport));
+
+        verify(transport, never()).close();
+    }
+}
@@ -77,7 +77,7 @@ public class ChannelImapResponseWriter implements ImapResponseWriter {
                     channel.write(new ChunkedNioFile(fc, 8192));
                 }
             } else {
-                channel.write(new ChunkedStream(literal.getInputStream()));
+                channel.write(new ChunkedStream(in));
             }
         }
     }
@@ -193,7 +193,7 @@ class ForwardRoutesTest {
         }
 
         @Test
-        void getForwardShouldReturnNotFoundWhenNonForwardMappings() {
+        void getForwardShouldReturnNotFoundWhenNonForwardMappings() throws Exception {
             memoryRecipientRewriteTable.addMapping(
                 MappingSource.fromDomain(DOMAIN),
                 Mapping.domain(Domain.of("target.tld")));
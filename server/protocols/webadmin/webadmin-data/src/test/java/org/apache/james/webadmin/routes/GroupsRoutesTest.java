@@ -195,7 +195,7 @@ class GroupsRoutesTest {
         }
 
         @Test
-        void getGroupShouldReturnNotFoundWhenNonGroupMappings() {
+        void getGroupShouldReturnNotFoundWhenNonGroupMappings() throws Exception {
             memoryRecipientRewriteTable.addMapping(
                 MappingSource.fromDomain(DOMAIN),
                 Mapping.domain(Domain.of("target.tld")));
@@ -90,7 +90,28 @@ public class MailboxesRoutes implements Routes {
                 defaultValue = "none",
                 example = "?reIndexFailedMessagesOf=3294a976-ce63-491e-bd52-1b6f465ed7a2",
                 value = "optional. References a previously run reIndexing task. if present, the messages that this previous " +
-                    "task failed to index will be reIndexed.")
+                    "task failed to index will be reIndexed."),
+            @ApiImplicitParam(
+                name = "concurrency",
+                paramType = "query parameter",
+                dataType = "Integer",
+                defaultValue = "1",
+                example = "?concurrency=8",
+                value = "optional. Count of mailboxes re-indexed in parallel."),
+            @ApiImplicitParam(
+                name = "messagesPerSecond",
+                paramType = "query parameter",
+                dataType = "Integer",
+                defaultValue = "none",
+                example = "?messagesPerSecond=200",
+                value = "optional. Maximum count of messages re-indexed per second. Unlimited by default."),
+            @ApiImplicitParam(
+                name = "resumeAfter",
+                paramType = "query parameter",
+                dataType = "String",
+                defaultValue = "none",
+                example = "?resumeAfter=3294a976-ce63-491e-bd52-1b6f465ed7a2",
+                value = "optional. Checkpoint reported by a previous reIndexing task. Mailboxes up to it are skipped.")
         })
         @ApiResponses(value = {
             @ApiResponse(code = HttpStatus.CREATED_201, message = "Task is created", response = TaskIdDto.class),
@@ -103,7 +124,7 @@ public class MailboxesRoutes implements Routes {
                 IndexingDetailInformation indexingDetailInformation = retrieveIndexingExecutionDetails(previousReIndexingService, request);
                 return reIndexer.reIndex(indexingDetailInformation.failures());
             }
-            return reIndexer.reIndex();
+            return reIndexer.reIndex(ReIndexingRunningOptionsParser.parse(request));
         }
 
         private static IndexingDetailInformation retrieveIndexingExecutionDetails(PreviousReIndexingService previousReIndexingService, Request request) {
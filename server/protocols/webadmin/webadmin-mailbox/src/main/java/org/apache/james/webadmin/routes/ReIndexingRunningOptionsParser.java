@@ -0,0 +1,45 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+
+package org.apache.james.webadmin.routes;
+
+import java.util.Optional;
+
+import org.apache.james.mailbox.indexer.ReIndexer.RunningOptions;
+import org.apache.james.webadmin.utils.ParametersExtractor;
+
+import com.google.common.base.Strings;
+
+import spark.Request;
+
+public class ReIndexingRunningOptionsParser {
+    public static final String CONCURRENCY_QUERY_PARAM = "concurrency";
+    public static final String MESSAGES_PER_SECOND_QUERY_PARAM = "messagesPerSecond";
+    public static final String RESUME_AFTER_QUERY_PARAM = "resumeAfter";
+
+    public static RunningOptions parse(Request request) {
+        return RunningOptions.builder()
+            .concurrency(ParametersExtractor.extractPositiveInteger(request, CONCURRENCY_QUERY_PARAM))
+            .messagesPerSecond(ParametersExtractor.extractPositiveInteger(request, MESSAGES_PER_SECOND_QUERY_PARAM))
+            .resumeAfter(Optional.ofNullable(request.queryParams(RESUME_AFTER_QUERY_PARAM))
+                .filter(value -> !Strings.isNullOrEmpty(value)))
+            .build();
+    }
+}
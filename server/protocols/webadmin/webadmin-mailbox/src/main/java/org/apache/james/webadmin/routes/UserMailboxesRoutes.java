@@ -74,7 +74,7 @@ public class UserMailboxesRoutes implements Routes {
     public static class UserReIndexingTaskRegistration extends TaskRegistration {
         @Inject
         public UserReIndexingTaskRegistration(ReIndexer reIndexer) {
-            super(RE_INDEX, request -> reIndexer.reIndex(getUsernameParam(request)));
+            super(RE_INDEX, request -> reIndexer.reIndex(getUsernameParam(request), ReIndexingRunningOptionsParser.parse(request)));
         }
     }
 
@@ -167,7 +167,28 @@ public class UserMailboxesRoutes implements Routes {
             dataType = "String",
             defaultValue = "none",
             example = "?task=reIndex",
-            value = "Compulsory. Only supported value is `reIndex`")
+            value = "Compulsory. Only supported value is `reIndex`"),
+        @ApiImplicitParam(
+            name = "concurrency",
+            paramType = "query parameter",
+            dataType = "Integer",
+            defaultValue = "1",
+            example = "?concurrency=8",
+            value = "optional. Count of mailboxes re-indexed in parallel."),
+        @ApiImplicitParam(
+            name = "messagesPerSecond",
+            paramType = "query parameter",
+            dataType = "Integer",
+            defaultValue = "none",
+            example = "?messagesPerSecond=200",
+            value = "optional. Maximum count of messages re-indexed per second. Unlimited by default."),
+        @ApiImplicitParam(
+            name = "resumeAfter",
+            paramType = "query parameter",
+            dataType = "String",
+            defaultValue = "none",
+            example = "?resumeAfter=3294a976-ce63-491e-bd52-1b6f465ed7a2",
+            value = "optional. Checkpoint reported by a previous reIndexing task. Mailboxes up to it are skipped.")
     })
     @ApiOperation(value = "Perform an action on a user mailbox")
     @ApiResponses(value = {
@@ -145,6 +145,39 @@ class MailboxesRoutesTest {
                     .body("message", is("Invalid arguments supplied in the user request"))
                     .body("details", is("Invalid value supplied for query parameter 'task': bad. Supported values are [reIndex]"));
             }
+
+            @Test
+            void fullReprocessingShouldFailWithNonNumericConcurrency() {
+                when()
+                    .post("/mailboxes?task=reIndex&concurrency=abc")
+                .then()
+                    .statusCode(HttpStatus.BAD_REQUEST_400)
+                    .body("statusCode", is(400))
+                    .body("type", is(ErrorResponder.ErrorType.INVALID_ARGUMENT.getType()))
+                    .body("message", is("Can not parse concurrency"));
+            }
+
+            @Test
+            void fullReprocessingShouldFailWithZeroConcurrency() {
+                when()
+                    .post("/mailboxes?task=reIndex&concurrency=0")
+                .then()
+                    .statusCode(HttpStatus.BAD_REQUEST_400)
+                    .body("statusCode", is(400))
+                    .body("type", is(ErrorResponder.ErrorType.INVALID_ARGUMENT.getType()))
+                    .body("details", is("'concurrency' needs to be strictly positive"));
+            }
+
+            @Test
+            void fullReprocessingShouldFailWithNegativeMessagesPerSecond() {
+                when()
+                    .post("/mailboxes?task=reIndex&messagesPerSecond=-1")
+                .then()
+                    .statusCode(HttpStatus.BAD_REQUEST_400)
+                    .body("statusCode", is(400))
+                    .body("type", is(ErrorResponder.ErrorType.INVALID_ARGUMENT.getType()))
+                    .body("message", is("messagesPerSecond can not be negative"));
+            }
         }
 
         @Nested
@@ -200,6 +233,53 @@ class MailboxesRoutesTest {
                     .body("completedDate", is(notNullValue()));
             }
 
+            @Test
+            void fullReprocessingShouldReportCheckpoint() throws Exception {
+                MailboxSession systemSession = mailboxManager.createSystemSession(USERNAME);
+                MailboxId mailboxId = mailboxManager.createMailbox(INBOX, systemSession).get();
+                mailboxManager.getMailbox(INBOX, systemSession)
+                    .appendMessage(
+                        MessageManager.AppendCommand.builder().build("header: value\r\n\r\nbody"),
+                        systemSession);
+
+                String taskId = with()
+                    .post("/mailboxes?task=reIndex&concurrency=2&messagesPerSecond=100")
+                    .jsonPath()
+                    .get("taskId");
+
+                given()
+                    .basePath(TasksRoutes.BASE)
+                .when()
+                    .get(taskId + "/await")
+                .then()
+                    .body("status", is("completed"))
+                    .body("additionalInformation.successfullyReprocessedMailCount", is(1))
+                    .body("additionalInformation.checkpoint", is(mailboxId.serialize()));
+            }
+
+            @Test
+            void fullReprocessingShouldSkipMailboxesUpToResumeAfter() throws Exception {
+                MailboxSession systemSession = mailboxManager.createSystemSession(USERNAME);
+                MailboxId mailboxId = mailboxManager.createMailbox(INBOX, systemSession).get();
+                mailboxManager.getMailbox(INBOX, systemSession)
+                    .appendMessage(
+                        MessageManager.AppendCommand.builder().build("header: value\r\n\r\nbody"),
+                        systemSession);
+
+                String taskId = with()
+                    .post("/mailboxes?task=reIndex&resumeAfter=" + mailboxId.serialize())
+                    .jsonPath()
+                    .get("taskId");
+
+                given()
+                    .basePath(TasksRoutes.BASE)
+                .when()
+                    .get(taskId + "/await")
+                .then()
+                    .body("status", is("completed"))
+                    .body("additionalInformation.successfullyReprocessedMailCount", is(0));
+            }
+
             @Test
             void fullReprocessingShouldReturnTaskDetailsWhenFailing() throws Exception {
                 MailboxSession systemSession = mailboxManager.createSystemSession(USERNAME);
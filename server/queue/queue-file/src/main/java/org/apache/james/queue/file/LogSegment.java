@@ -0,0 +1,174 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+
+package org.apache.james.queue.file;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Memory mapped, append only file of a {@link SegmentLog}.
+ *
+ * The mapping is never moved: records are written with absolute operations on duplicates of the mapped buffer, which
+ * can thus be read concurrently. The mapping stays valid after the file is deleted, as long as buffers reference it.
+ */
+class LogSegment {
+    private static final Pattern FILE_NAME_PATTERN = Pattern.compile("segment-(\\d{20})\\.log");
+
+    static LogSegment create(File directory, long id, int capacity) throws IOException {
+        File file = new File(directory, String.format("segment-%020d.log", id));
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw")) {
+            randomAccessFile.setLength(capacity);
+            return new LogSegment(id, file, map(randomAccessFile));
+        }
+    }
+
+    static LogSegment open(File file, long id) throws IOException {
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw")) {
+            return new LogSegment(id, file, map(randomAccessFile));
+        }
+    }
+
+    static Optional<Long> parseId(File file) {
+        Matcher matcher = FILE_NAME_PATTERN.matcher(file.getName());
+        if (matcher.matches()) {
+            return Optional.of(Long.parseLong(matcher.group(1)));
+        }
+        return Optional.empty();
+    }
+
+    private static MappedByteBuffer map(RandomAccessFile randomAccessFile) throws IOException {
+        FileChannel channel = randomAccessFile.getChannel();
+        return channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+    }
+
+    private final long id;
+    private final File file;
+    private final MappedByteBuffer buffer;
+    private final AtomicInteger liveEntries;
+    private final AtomicLong liveBytes;
+    private volatile int writePosition;
+
+    private LogSegment(long id, File file, MappedByteBuffer buffer) {
+        this.id = id;
+        this.file = file;
+        this.buffer = buffer;
+        this.liveEntries = new AtomicInteger(0);
+        this.liveBytes = new AtomicLong(0);
+        this.writePosition = 0;
+    }
+
+    long getId() {
+        return id;
+    }
+
+    File getFile() {
+        return file;
+    }
+
+    int getCapacity() {
+        return buffer.capacity();
+    }
+
+    int getWritePosition() {
+        return writePosition;
+    }
+
+    void advance(int length) {
+        writePosition += length;
+    }
+
+    boolean hasRoomFor(int length) {
+        return writePosition + length <= buffer.capacity();
+    }
+
+    ByteBuffer slice(int offset, int length) {
+        ByteBuffer duplicate = buffer.duplicate();
+        duplicate.position(offset);
+        duplicate.limit(offset + length);
+        return duplicate.slice();
+    }
+
+    int getInt(int offset) {
+        return buffer.getInt(offset);
+    }
+
+    void addLiveEntry(int recordLength) {
+        liveEntries.incrementAndGet();
+        liveBytes.addAndGet(recordLength);
+    }
+
+    void removeLiveEntry(int recordLength) {
+        liveEntries.decrementAndGet();
+        liveBytes.addAndGet(-recordLength);
+    }
+
+    int getLiveEntries() {
+        return liveEntries.get();
+    }
+
+    double getLiveRatio() {
+        if (writePosition == 0) {
+            return 0;
+        }
+        return (double) liveBytes.get() / writePosition;
+    }
+
+    /**
+     * Zeroes what follows the write position, so that leftovers of a torn write are never replayed after records
+     * appended later on. Only non zero words are written, leaving untouched pages of the file unallocated.
+     */
+    void clearTail() {
+        boolean cleared = false;
+        int position = writePosition;
+        for (; position + Long.BYTES <= buffer.capacity(); position += Long.BYTES) {
+            if (buffer.getLong(position) != 0) {
+                buffer.putLong(position, 0);
+                cleared = true;
+            }
+        }
+        for (; position < buffer.capacity(); position++) {
+            if (buffer.get(position) != 0) {
+                buffer.put(position, (byte) 0);
+                cleared = true;
+            }
+        }
+        if (cleared) {
+            force();
+        }
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    boolean delete() {
+        return file.delete();
+    }
+}
@@ -0,0 +1,131 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+
+package org.apache.james.queue.file;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+import javax.mail.internet.SharedInputStream;
+
+import org.apache.james.server.core.MimeMessageSource;
+
+/**
+ * {@link MimeMessageSource} reading a message straight from the mapped {@link LogSegment} it is stored in.
+ *
+ * The returned streams are {@link SharedInputStream}s so that parsing the message does not copy its parts.
+ */
+class MappedMimeMessageSource extends MimeMessageSource {
+
+    private static class SharedByteBufferInputStream extends InputStream implements SharedInputStream {
+        private final ByteBuffer buffer;
+
+        SharedByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            return buffer.get() & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int read = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, read);
+            return read;
+        }
+
+        @Override
+        public long skip(long count) {
+            int skipped = (int) Math.max(0, Math.min(count, buffer.remaining()));
+            buffer.position(buffer.position() + skipped);
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+
+        @Override
+        public boolean markSupported() {
+            return true;
+        }
+
+        @Override
+        public synchronized void mark(int readLimit) {
+            buffer.mark();
+        }
+
+        @Override
+        public synchronized void reset() {
+            buffer.reset();
+        }
+
+        @Override
+        public long getPosition() {
+            return buffer.position();
+        }
+
+        @Override
+        public InputStream newStream(long start, long end) {
+            ByteBuffer duplicate = buffer.duplicate();
+            duplicate.clear();
+            duplicate.position(Math.toIntExact(start));
+            if (end != -1) {
+                duplicate.limit(Math.toIntExact(end));
+            }
+            return new SharedByteBufferInputStream(duplicate.slice());
+        }
+    }
+
+    private final String sourceId;
+    private final ByteBuffer content;
+
+    MappedMimeMessageSource(String sourceId, ByteBuffer content) {
+        this.sourceId = sourceId;
+        this.content = content;
+    }
+
+    @Override
+    public String getSourceId() {
+        return sourceId;
+    }
+
+    @Override
+    public InputStream getInputStream() {
+        return new SharedByteBufferInputStream(content.duplicate());
+    }
+
+    @Override
+    public long getMessageSize() {
+        return content.remaining();
+    }
+}
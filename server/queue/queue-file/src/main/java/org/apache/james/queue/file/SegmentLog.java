@@ -0,0 +1,360 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+
+package org.apache.james.queue.file;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.zip.CRC32;
+
+import org.apache.commons.io.FileUtils;
+
+import com.github.steveash.guavate.Guavate;
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Append only log of mail queue records, split into memory mapped {@link LogSegment}s.
+ *
+ * Each record is framed by its payload length and the CRC32 of its payload, so that a torn write at the end of a
+ * segment is detected and ignored upon replay. The log holds two kinds of records:
+ *
+ * <ul>
+ *     <li>enqueue records, holding the serialized mail and its message</li>
+ *     <li>acknowledgement records, marking an enqueued mail as removed from the queue</li>
+ * </ul>
+ *
+ * When sync is enabled, appends return once the record is on disk. Concurrent appends share the same fsync: the first
+ * waiting writer forces the segment for all the records appended so far while the others wait for it (group commit).
+ */
+class SegmentLog {
+
+    interface Replay {
+        void enqueued(long id, long nextDelivery, int priority, Location location);
+
+        void acknowledged(long id);
+    }
+
+    /**
+     * Position of an enqueue record within the log.
+     */
+    static class Location {
+        private final LogSegment segment;
+        private final int recordOffset;
+        private final int recordLength;
+        private final int metadataOffset;
+        private final int metadataLength;
+        private final int messageLength;
+
+        private Location(LogSegment segment, int recordOffset, int recordLength, int metadataLength, int messageLength) {
+            this.segment = segment;
+            this.recordOffset = recordOffset;
+            this.recordLength = recordLength;
+            this.metadataOffset = recordOffset + RECORD_HEADER_SIZE + ENQUEUE_FIXED_SIZE;
+            this.metadataLength = metadataLength;
+            this.messageLength = messageLength;
+        }
+
+        LogSegment getSegment() {
+            return segment;
+        }
+
+        int getRecordLength() {
+            return recordLength;
+        }
+
+        ByteBuffer metadata() {
+            return segment.slice(metadataOffset, metadataLength);
+        }
+
+        Optional<ByteBuffer> message() {
+            if (messageLength == NO_MESSAGE) {
+                return Optional.empty();
+            }
+            return Optional.of(segment.slice(metadataOffset + metadataLength, messageLength));
+        }
+
+        String asSourceId() {
+            return segment.getFile().getAbsolutePath() + "#" + recordOffset;
+        }
+    }
+
+    private static final int RECORD_HEADER_SIZE = Integer.BYTES + Integer.BYTES;
+    private static final int ENQUEUE_FIXED_SIZE = Byte.BYTES + Long.BYTES + Long.BYTES + Byte.BYTES + Integer.BYTES + Integer.BYTES;
+    private static final int ACKNOWLEDGEMENT_SIZE = Byte.BYTES + Long.BYTES;
+    private static final byte ENQUEUE = 1;
+    private static final byte ACKNOWLEDGEMENT = 2;
+    private static final int NO_MESSAGE = -1;
+
+    static SegmentLog open(File directory, int segmentSize, boolean sync, Replay replay) throws IOException {
+        FileUtils.forceMkdir(directory);
+        ConcurrentSkipListMap<Long, LogSegment> segments = new ConcurrentSkipListMap<>();
+        ImmutableList<File> files = Optional.ofNullable(directory.listFiles())
+            .map(ImmutableList::copyOf)
+            .orElse(ImmutableList.of())
+            .stream()
+            .filter(file -> LogSegment.parseId(file).isPresent())
+            .sorted(Comparator.comparing(file -> LogSegment.parseId(file).get()))
+            .collect(Guavate.toImmutableList());
+        for (File file : files) {
+            LogSegment segment = LogSegment.open(file, LogSegment.parseId(file).get());
+            replay(segment, replay);
+            segments.put(segment.getId(), segment);
+        }
+
+        Optional<LogSegment> lastSegment = Optional.ofNullable(segments.lastEntry())
+            .map(Map.Entry::getValue);
+        if (lastSegment.isPresent()) {
+            // Appends resume after the last replayed record
+            lastSegment.get().clearTail();
+            return new SegmentLog(directory, segmentSize, sync, segments, lastSegment.get());
+        }
+        LogSegment activeSegment = LogSegment.create(directory, 1L, segmentSize);
+        segments.put(activeSegment.getId(), activeSegment);
+        return new SegmentLog(directory, segmentSize, sync, segments, activeSegment);
+    }
+
+    private static void replay(LogSegment segment, Replay replay) {
+        int position = 0;
+        while (position + RECORD_HEADER_SIZE <= segment.getCapacity()) {
+            int payloadLength = segment.getInt(position);
+            if (payloadLength <= 0 || position + RECORD_HEADER_SIZE + payloadLength > segment.getCapacity()) {
+                return;
+            }
+            int recordLength = RECORD_HEADER_SIZE + payloadLength;
+            ByteBuffer record = segment.slice(position, recordLength);
+            if (record.getInt(Integer.BYTES) != crc(record, payloadLength)) {
+                // Torn write: what follows was never acknowledged to any writer
+                return;
+            }
+
+            record.position(RECORD_HEADER_SIZE);
+            byte type = record.get();
+            long id = record.getLong();
+            if (type == ENQUEUE) {
+                long nextDelivery = record.getLong();
+                int priority = record.get();
+                int metadataLength = record.getInt();
+                int messageLength = record.getInt();
+                segment.addLiveEntry(recordLength);
+                replay.enqueued(id, nextDelivery, priority, new Location(segment, position, recordLength, metadataLength, messageLength));
+            } else if (type == ACKNOWLEDGEMENT) {
+                replay.acknowledged(id);
+            } else {
+                return;
+            }
+            segment.advance(recordLength);
+            position += recordLength;
+        }
+    }
+
+    private static int crc(ByteBuffer record, int payloadLength) {
+        ByteBuffer payload = record.duplicate();
+        payload.position(RECORD_HEADER_SIZE);
+        payload.limit(RECORD_HEADER_SIZE + payloadLength);
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    private final File directory;
+    private final int segmentSize;
+    private final boolean sync;
+    private final ConcurrentSkipListMap<Long, LogSegment> segments;
+    private final Object appendLock;
+    private final Object syncMonitor;
+    private volatile LogSegment activeSegment;
+    private volatile long appendedSequence;
+    private long syncedSequence;
+    private boolean syncInProgress;
+
+    private SegmentLog(File directory, int segmentSize, boolean sync, ConcurrentSkipListMap<Long, LogSegment> segments, LogSegment activeSegment) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.sync = sync;
+        this.segments = segments;
+        this.activeSegment = activeSegment;
+        this.appendLock = new Object();
+        this.syncMonitor = new Object();
+        this.appendedSequence = 0;
+        this.syncedSequence = 0;
+        this.syncInProgress = false;
+    }
+
+    Location appendEnqueue(long id, long nextDelivery, int priority, ByteBuffer metadata, Optional<ByteBuffer> message) throws IOException {
+        Location location;
+        long sequence;
+        synchronized (appendLock) {
+            location = append(id, nextDelivery, priority, metadata, message);
+            sequence = appendedSequence;
+        }
+        awaitDurable(sequence);
+        return location;
+    }
+
+    /**
+     * Copies an enqueue record at the end of the log, so that the segment holding it can eventually be deleted.
+     *
+     * The copy is not waited to be durable: it is forced before the original segment gets deleted.
+     */
+    Location relocate(long id, long nextDelivery, int priority, Location location) throws IOException {
+        synchronized (appendLock) {
+            return append(id, nextDelivery, priority, location.metadata(), location.message());
+        }
+    }
+
+    private Location append(long id, long nextDelivery, int priority, ByteBuffer metadata, Optional<ByteBuffer> message) throws IOException {
+        int metadataLength = metadata.remaining();
+        int messageLength = message.map(ByteBuffer::remaining).orElse(NO_MESSAGE);
+        int payloadLength = ENQUEUE_FIXED_SIZE + metadataLength + Math.max(messageLength, 0);
+        int recordLength = RECORD_HEADER_SIZE + payloadLength;
+
+        LogSegment segment = segmentWithRoomFor(recordLength);
+        int recordOffset = segment.getWritePosition();
+        ByteBuffer record = segment.slice(recordOffset, recordLength);
+        record.position(RECORD_HEADER_SIZE);
+        record.put(ENQUEUE)
+            .putLong(id)
+            .putLong(nextDelivery)
+            .put((byte) priority)
+            .putInt(metadataLength)
+            .putInt(messageLength)
+            .put(metadata.duplicate());
+        message.ifPresent(content -> record.put(content.duplicate()));
+        seal(record, payloadLength);
+
+        segment.advance(recordLength);
+        segment.addLiveEntry(recordLength);
+        appendedSequence++;
+        return new Location(segment, recordOffset, recordLength, metadataLength, messageLength);
+    }
+
+    void appendAcknowledgements(Collection<Long> ids) throws IOException {
+        if (ids.isEmpty()) {
+            return;
+        }
+        long sequence;
+        synchronized (appendLock) {
+            for (long id : ids) {
+                int recordLength = RECORD_HEADER_SIZE + ACKNOWLEDGEMENT_SIZE;
+                LogSegment segment = segmentWithRoomFor(recordLength);
+                ByteBuffer record = segment.slice(segment.getWritePosition(), recordLength);
+                record.position(RECORD_HEADER_SIZE);
+                record.put(ACKNOWLEDGEMENT)
+                    .putLong(id);
+                seal(record, ACKNOWLEDGEMENT_SIZE);
+                segment.advance(recordLength);
+            }
+            sequence = ++appendedSequence;
+        }
+        awaitDurable(sequence);
+    }
+
+    /**
+     * Segments ordered from the oldest one, the last one being the active segment records are appended to.
+     */
+    Collection<LogSegment> getSegments() {
+        return segments.values();
+    }
+
+    Optional<LogSegment> oldestSealedSegment() {
+        return Optional.ofNullable(segments.firstEntry())
+            .map(Map.Entry::getValue)
+            .filter(segment -> segment != activeSegment);
+    }
+
+    /**
+     * Deletes the oldest segment. Only whole prefixes of the log are deleted so that acknowledgement records are never
+     * dropped before the enqueue records they apply to.
+     */
+    void deleteOldestSegment(LogSegment segment) throws IOException {
+        if (oldestSealedSegment().filter(segment::equals).isPresent()) {
+            forceActiveSegment();
+            segments.remove(segment.getId());
+            if (!segment.delete()) {
+                throw new IOException("Could not delete " + segment.getFile().getAbsolutePath());
+            }
+        }
+    }
+
+    void forceActiveSegment() {
+        synchronized (appendLock) {
+            activeSegment.force();
+        }
+    }
+
+    private LogSegment segmentWithRoomFor(int recordLength) throws IOException {
+        if (!activeSegment.hasRoomFor(recordLength)) {
+            // Records appended to the previous segment are made durable before any other segment is written
+            activeSegment.force();
+            LogSegment segment = LogSegment.create(directory, activeSegment.getId() + 1, Math.max(segmentSize, recordLength));
+            segments.put(segment.getId(), segment);
+            activeSegment = segment;
+        }
+        return activeSegment;
+    }
+
+    private void seal(ByteBuffer record, int payloadLength) {
+        record.putInt(Integer.BYTES, crc(record, payloadLength));
+        record.putInt(0, payloadLength);
+    }
+
+    private void awaitDurable(long sequence) throws IOException {
+        if (!sync) {
+            return;
+        }
+        while (true) {
+            synchronized (syncMonitor) {
+                while (syncedSequence < sequence && syncInProgress) {
+                    try {
+                        syncMonitor.wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new IOException("Interrupted while waiting for the log to be synced", e);
+                    }
+                }
+                if (syncedSequence >= sequence) {
+                    return;
+                }
+                syncInProgress = true;
+            }
+
+            long target = appendedSequence;
+            boolean synced = false;
+            try {
+                activeSegment.force();
+                synced = true;
+            } finally {
+                synchronized (syncMonitor) {
+                    syncInProgress = false;
+                    if (synced) {
+                        syncedSequence = Math.max(syncedSequence, target);
+                    }
+                    syncMonitor.notifyAll();
+                }
+            }
+        }
+    }
+}
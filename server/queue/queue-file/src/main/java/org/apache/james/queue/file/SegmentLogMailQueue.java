@@ -0,0 +1,597 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+
+package org.apache.james.queue.file;
+
+import static org.apache.james.queue.api.MailPrioritySupport.HIGH_PRIORITY;
+import static org.apache.james.queue.api.MailPrioritySupport.LOW_PRIORITY;
+import static org.apache.james.queue.api.MailPrioritySupport.MAIL_PRIORITY;
+import static org.apache.james.queue.api.MailPrioritySupport.NORMAL_PRIORITY;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+import javax.mail.MessagingException;
+
+import org.apache.commons.lang3.NotImplementedException;
+import org.apache.james.core.MailAddress;
+import org.apache.james.queue.api.MailQueueItemDecoratorFactory;
+import org.apache.james.queue.api.MailQueueName;
+import org.apache.james.queue.api.ManageableMailQueue;
+import org.apache.james.server.core.MailImpl;
+import org.apache.james.server.core.MimeMessageCopyOnWriteProxy;
+import org.apache.james.util.concurrent.NamedThreadFactory;
+import org.apache.mailet.AttributeUtils;
+import org.apache.mailet.Mail;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.steveash.guavate.Guavate;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * {@link ManageableMailQueue} storing its {@link Mail}s in an append only {@link SegmentLog}, targeting single node
+ * deployments.
+ *
+ * Enqueued mails are appended to memory mapped segments and acknowledged mails are recorded as tombstones. The queue
+ * state is an in memory index rebuilt by replaying the log on startup:
+ *
+ * <ul>
+ *     <li>one lane per priority, dequeued from the highest priority, in enqueue order</li>
+ *     <li>an index of delayed mails ordered by next delivery, promoted to their lane once due</li>
+ * </ul>
+ *
+ * Dequeued mails are read from the mapped segments without copying their content. Mails that are not yet acknowledged
+ * are thus restored after a restart.
+ *
+ * Segments only holding acknowledged mails are deleted in the background. The remaining mails of a mostly acknowledged
+ * segment are appended again at the end of the log so that the segment can be deleted. Segments are deleted from the
+ * oldest one so that tombstones never outlive the records they apply to.
+ */
+public class SegmentLogMailQueue implements ManageableMailQueue {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SegmentLogMailQueue.class);
+    private static final Duration COMPACTION_PERIOD = Duration.ofSeconds(30);
+    private static final double RELOCATION_LIVE_RATIO_THRESHOLD = 0.5;
+    private static final Duration UNREADABLE_MAIL_RETRY_DELAY = Duration.ofMinutes(1);
+
+    private static class Entry {
+        private final long id;
+        private final int priority;
+        private long nextDelivery;
+        private SegmentLog.Location location;
+        private boolean inFlight;
+
+        Entry(long id, int priority, long nextDelivery, SegmentLog.Location location) {
+            this.id = id;
+            this.priority = priority;
+            this.nextDelivery = nextDelivery;
+            this.location = location;
+            this.inFlight = false;
+        }
+    }
+
+    private class SegmentLogMailQueueItem implements MailQueueItem {
+        private final Entry entry;
+        private final Mail mail;
+
+        SegmentLogMailQueueItem(Entry entry, Mail mail) {
+            this.entry = entry;
+            this.mail = mail;
+        }
+
+        @Override
+        public Mail getMail() {
+            return mail;
+        }
+
+        @Override
+        public void done(boolean success) throws MailQueueException {
+            if (success) {
+                acknowledge(entry);
+            } else {
+                release(entry);
+            }
+        }
+    }
+
+    private final MailQueueName name;
+    private final SegmentLog log;
+    private final ReentrantLock lock;
+    private final Condition available;
+    private final TreeMap<Long, Entry> entries;
+    private final List<TreeMap<Long, Entry>> lanes;
+    private final TreeSet<Entry> delayed;
+    private final AtomicLong idGenerator;
+    private final ScheduledExecutorService compactionScheduler;
+    private final Flux<MailQueueItem> flux;
+
+    public SegmentLogMailQueue(MailQueueItemDecoratorFactory mailQueueItemDecoratorFactory, File parentDirectory, MailQueueName name,
+                               int segmentSize, boolean sync) throws IOException {
+        this.name = name;
+        this.lock = new ReentrantLock();
+        this.available = lock.newCondition();
+        this.entries = new TreeMap<>();
+        this.lanes = IntStream.rangeClosed(LOW_PRIORITY, HIGH_PRIORITY)
+            .mapToObj(priority -> new TreeMap<Long, Entry>())
+            .collect(Guavate.toImmutableList());
+        this.delayed = new TreeSet<>(Comparator.<Entry>comparingLong(entry -> entry.nextDelivery)
+            .thenComparingLong(entry -> entry.id));
+        this.idGenerator = new AtomicLong(0);
+        this.log = SegmentLog.open(new File(parentDirectory, name.asString()), segmentSize, sync, new SegmentLog.Replay() {
+            @Override
+            public void enqueued(long id, long nextDelivery, int priority, SegmentLog.Location location) {
+                Optional.ofNullable(entries.put(id, new Entry(id, priority, nextDelivery, location)))
+                    .ifPresent(relocated -> relocated.location.getSegment().removeLiveEntry(relocated.location.getRecordLength()));
+                idGenerator.accumulateAndGet(id, Math::max);
+            }
+
+            @Override
+            public void acknowledged(long id) {
+                Optional.ofNullable(entries.remove(id))
+                    .ifPresent(acknowledged -> acknowledged.location.getSegment().removeLiveEntry(acknowledged.location.getRecordLength()));
+                idGenerator.accumulateAndGet(id, Math::max);
+            }
+        });
+        lock.lock();
+        try {
+            entries.values().forEach(this::schedule);
+        } finally {
+            lock.unlock();
+        }
+
+        this.flux = Mono.fromCallable(this::take)
+            .repeat()
+            .subscribeOn(Schedulers.elastic())
+            .<MailQueueItem>handle((entry, sink) -> toMailQueueItem(entry).ifPresent(sink::next))
+            .map(item -> mailQueueItemDecoratorFactory.decorate(item, name));
+        this.compactionScheduler = Executors.newSingleThreadScheduledExecutor(NamedThreadFactory.withClassName(getClass()));
+        this.compactionScheduler.scheduleWithFixedDelay(this::compactQuietly,
+            COMPACTION_PERIOD.toMillis(), COMPACTION_PERIOD.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void close() {
+        compactionScheduler.shutdownNow();
+        log.forceActiveSegment();
+    }
+
+    @Override
+    public MailQueueName getName() {
+        return name;
+    }
+
+    @Override
+    public void enQueue(Mail mail, Duration delay) throws MailQueueException {
+        try {
+            long id = idGenerator.incrementAndGet();
+            long nextDelivery = computeNextDelivery(delay);
+            int priority = priorityOf(mail);
+            SegmentLog.Location location = log.appendEnqueue(id, nextDelivery, priority, serializeMetadata(mail), serializeMessage(mail));
+
+            lock.lock();
+            try {
+                Entry entry = new Entry(id, priority, nextDelivery, location);
+                entries.put(id, entry);
+                schedule(entry);
+            } finally {
+                lock.unlock();
+            }
+        } catch (IOException | MessagingException e) {
+            throw new MailQueueException("Unable to enqueue mail " + mail.getName(), e);
+        }
+    }
+
+    @Override
+    public void enQueue(Mail mail) throws MailQueueException {
+        enQueue(mail, Duration.ZERO);
+    }
+
+    @Override
+    public Flux<MailQueueItem> deQueue() {
+        return flux;
+    }
+
+    @Override
+    public long getSize() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Delays are only removed from the in memory index: flushed mails get back their delay upon restart.
+     */
+    @Override
+    public long flush() {
+        lock.lock();
+        try {
+            long now = System.currentTimeMillis();
+            int count = delayed.size();
+            ImmutableList.copyOf(delayed).forEach(entry -> {
+                delayed.remove(entry);
+                entry.nextDelivery = now;
+                schedule(entry);
+            });
+            return count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public long clear() throws MailQueueException {
+        return removeMatching(entry -> true);
+    }
+
+    @Override
+    public long remove(Type type, String value) throws MailQueueException {
+        return removeMatching(entry -> shouldRemove(readMetadata(entry.location), type, value));
+    }
+
+    private boolean shouldRemove(Mail mail, Type type, String value) {
+        switch (type) {
+            case Name:
+                return mail.getName().equals(value);
+            case Recipient:
+                return mail.getRecipients().stream()
+                    .map(MailAddress::asString)
+                    .anyMatch(value::equals);
+            case Sender:
+                return mail.getMaybeSender()
+                    .asString()
+                    .equals(value);
+            default:
+                throw new NotImplementedException("Unknown type " + type);
+        }
+    }
+
+    @Override
+    public MailQueueIterator browse() {
+        ImmutableList<Entry> snapshot;
+        lock.lock();
+        try {
+            snapshot = entries.values()
+                .stream()
+                .filter(entry -> !entry.inFlight)
+                .sorted(Comparator.<Entry>comparingInt(entry -> entry.priority).reversed()
+                    .thenComparingLong(entry -> entry.id))
+                .collect(Guavate.toImmutableList());
+        } finally {
+            lock.unlock();
+        }
+        Iterator<MailQueueItemView> underlying = snapshot.stream()
+            .map(entry -> new MailQueueItemView(readMail(entry.location),
+                Instant.ofEpochMilli(entry.nextDelivery).atZone(ZoneId.systemDefault())))
+            .iterator();
+
+        return new MailQueueIterator() {
+            @Override
+            public void close() {
+
+            }
+
+            @Override
+            public boolean hasNext() {
+                return underlying.hasNext();
+            }
+
+            @Override
+            public MailQueueItemView next() {
+                return underlying.next();
+            }
+        };
+    }
+
+    /**
+     * Deletes the oldest segments which only hold acknowledged mails. When most of the oldest segment is acknowledged,
+     * its remaining mails are first appended again at the end of the log.
+     */
+    @VisibleForTesting
+    void compact() throws IOException {
+        while (true) {
+            Optional<LogSegment> oldestSegment = log.oldestSealedSegment();
+            if (!oldestSegment.isPresent()) {
+                return;
+            }
+            LogSegment segment = oldestSegment.get();
+            if (segment.getLiveEntries() > 0 && segment.getLiveRatio() < RELOCATION_LIVE_RATIO_THRESHOLD) {
+                relocateEntries(segment);
+            }
+            if (segment.getLiveEntries() > 0) {
+                return;
+            }
+            log.deleteOldestSegment(segment);
+        }
+    }
+
+    @VisibleForTesting
+    int getSegmentCount() {
+        return log.getSegments().size();
+    }
+
+    private void compactQuietly() {
+        try {
+            compact();
+        } catch (Exception e) {
+            LOGGER.error("Error while compacting mail queue {}", name.asString(), e);
+        }
+    }
+
+    /**
+     * Relocated entries are held in flight while being copied, so that the queue lock is not held during the copy.
+     */
+    private void relocateEntries(LogSegment segment) throws IOException {
+        ImmutableList<Entry> toBeRelocated;
+        lock.lock();
+        try {
+            toBeRelocated = entries.values()
+                .stream()
+                .filter(entry -> entry.location.getSegment() == segment)
+                .filter(entry -> !entry.inFlight)
+                .collect(Guavate.toImmutableList());
+            toBeRelocated.forEach(this::unschedule);
+        } finally {
+            lock.unlock();
+        }
+
+        try {
+            for (Entry entry : toBeRelocated) {
+                SegmentLog.Location relocated = log.relocate(entry.id, entry.nextDelivery, entry.priority, entry.location);
+                segment.removeLiveEntry(entry.location.getRecordLength());
+                entry.location = relocated;
+            }
+        } finally {
+            toBeRelocated.forEach(this::release);
+        }
+    }
+
+    private Entry take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (true) {
+                long now = System.currentTimeMillis();
+                promoteDueEntries(now);
+                Optional<Entry> next = pollHighestPriority();
+                if (next.isPresent()) {
+                    next.get().inFlight = true;
+                    return next.get();
+                }
+                if (delayed.isEmpty()) {
+                    available.await();
+                } else {
+                    available.await(delayed.first().nextDelivery - now, TimeUnit.MILLISECONDS);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void promoteDueEntries(long now) {
+        while (!delayed.isEmpty() && delayed.first().nextDelivery <= now) {
+            Entry entry = delayed.pollFirst();
+            lanes.get(entry.priority).put(entry.id, entry);
+        }
+    }
+
+    private Optional<Entry> pollHighestPriority() {
+        for (int priority = HIGH_PRIORITY; priority >= LOW_PRIORITY; priority--) {
+            Optional<Entry> entry = Optional.ofNullable(lanes.get(priority).pollFirstEntry())
+                .map(Map.Entry::getValue);
+            if (entry.isPresent()) {
+                return entry;
+            }
+        }
+        return Optional.empty();
+    }
+
+    private void unschedule(Entry entry) {
+        entry.inFlight = true;
+        delayed.remove(entry);
+        lanes.get(entry.priority).remove(entry.id);
+    }
+
+    private void schedule(Entry entry) {
+        if (entry.nextDelivery > System.currentTimeMillis()) {
+            delayed.add(entry);
+        } else {
+            lanes.get(entry.priority).put(entry.id, entry);
+        }
+        available.signalAll();
+    }
+
+    /**
+     * Unreadable mails are delivered again later on instead of failing the dequeue flux.
+     */
+    private Optional<MailQueueItem> toMailQueueItem(Entry entry) {
+        try {
+            return Optional.of(new SegmentLogMailQueueItem(entry, readMail(entry.location)));
+        } catch (RuntimeException e) {
+            LOGGER.error("Unable to read mail {} of mail queue {}, retrying in {}", entry.id, name.asString(), UNREADABLE_MAIL_RETRY_DELAY, e);
+            lock.lock();
+            try {
+                entry.inFlight = false;
+                entry.nextDelivery = computeNextDelivery(UNREADABLE_MAIL_RETRY_DELAY);
+                schedule(entry);
+            } finally {
+                lock.unlock();
+            }
+            return Optional.empty();
+        }
+    }
+
+    private void acknowledge(Entry entry) throws MailQueueException {
+        try {
+            log.appendAcknowledgements(ImmutableList.of(entry.id));
+        } catch (IOException e) {
+            throw new MailQueueException("Unable to acknowledge mail " + entry.id, e);
+        }
+        lock.lock();
+        try {
+            entries.remove(entry.id);
+            entry.location.getSegment().removeLiveEntry(entry.location.getRecordLength());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void release(Entry entry) {
+        lock.lock();
+        try {
+            entry.inFlight = false;
+            schedule(entry);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long removeMatching(Predicate<Entry> predicate) throws MailQueueException {
+        lock.lock();
+        try {
+            ImmutableList<Entry> toBeRemoved = entries.values()
+                .stream()
+                .filter(entry -> !entry.inFlight)
+                .filter(predicate)
+                .collect(Guavate.toImmutableList());
+            log.appendAcknowledgements(toBeRemoved.stream()
+                .map(entry -> entry.id)
+                .collect(Guavate.toImmutableList()));
+            toBeRemoved.forEach(entry -> {
+                entries.remove(entry.id);
+                delayed.remove(entry);
+                lanes.get(entry.priority).remove(entry.id);
+                entry.location.getSegment().removeLiveEntry(entry.location.getRecordLength());
+            });
+            return toBeRemoved.size();
+        } catch (IOException e) {
+            throw new MailQueueException("Unable to remove mails from " + name.asString(), e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long computeNextDelivery(Duration delay) {
+        long now = System.currentTimeMillis();
+        if (delay.isNegative()) {
+            return now;
+        }
+        try {
+            return Math.addExact(now, delay.toMillis());
+        } catch (ArithmeticException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    private int priorityOf(Mail mail) {
+        return AttributeUtils.getValueAndCastFromMail(mail, MAIL_PRIORITY, Integer.class)
+            .map(priority -> Math.max(LOW_PRIORITY, Math.min(HIGH_PRIORITY, priority)))
+            .orElse(NORMAL_PRIORITY);
+    }
+
+    private ByteBuffer serializeMetadata(Mail mail) throws IOException, MessagingException {
+        ByteArrayOutputStream metadata = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(metadata)) {
+            // The message is not part of MailImpl serialized form
+            out.writeObject(asMailImpl(mail));
+        }
+        return ByteBuffer.wrap(metadata.toByteArray());
+    }
+
+    private MailImpl asMailImpl(Mail mail) throws MessagingException {
+        if (mail instanceof MailImpl) {
+            return (MailImpl) mail;
+        }
+        return MailImpl.builder()
+            .name(mail.getName())
+            .sender(mail.getMaybeSender())
+            .addRecipients(mail.getRecipients())
+            .state(mail.getState())
+            .errorMessage(mail.getErrorMessage())
+            .lastUpdated(mail.getLastUpdated())
+            .remoteAddr(mail.getRemoteAddr())
+            .remoteHost(mail.getRemoteHost())
+            .addAttributes(mail.attributes().collect(Guavate.toImmutableList()))
+            .addAllHeadersForRecipients(mail.getPerRecipientSpecificHeaders())
+            .build();
+    }
+
+    private Optional<ByteBuffer> serializeMessage(Mail mail) throws IOException, MessagingException {
+        if (mail.getMessage() == null) {
+            return Optional.empty();
+        }
+        ByteArrayOutputStream message = new ByteArrayOutputStream();
+        mail.getMessage().writeTo(message);
+        return Optional.of(ByteBuffer.wrap(message.toByteArray()));
+    }
+
+    private MailImpl readMetadata(SegmentLog.Location location) {
+        ByteBuffer metadata = location.metadata();
+        byte[] bytes = new byte[metadata.remaining()];
+        metadata.get(bytes);
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return (MailImpl) in.readObject();
+        } catch (IOException | ClassNotFoundException e) {
+            throw new RuntimeException("Unable to read mail stored at " + location.asSourceId(), e);
+        }
+    }
+
+    private Mail readMail(SegmentLog.Location location) {
+        MailImpl mail = readMetadata(location);
+        try {
+            if (location.message().isPresent()) {
+                mail.setMessage(new MimeMessageCopyOnWriteProxy(new MappedMimeMessageSource(location.asSourceId(), location.message().get())));
+            }
+            return mail;
+        } catch (MessagingException e) {
+            throw new RuntimeException("Unable to read mail stored at " + location.asSourceId(), e);
+        }
+    }
+}
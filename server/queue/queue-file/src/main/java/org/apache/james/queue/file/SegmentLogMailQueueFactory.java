@@ -0,0 +1,111 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+
+package org.apache.james.queue.file;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+
+import org.apache.james.filesystem.api.FileSystem;
+import org.apache.james.queue.api.MailQueue;
+import org.apache.james.queue.api.MailQueueFactory;
+import org.apache.james.queue.api.MailQueueItemDecoratorFactory;
+import org.apache.james.queue.api.MailQueueName;
+import org.apache.james.queue.api.ManageableMailQueue;
+
+import com.github.steveash.guavate.Guavate;
+
+/**
+ * {@link MailQueueFactory} implementation which returns {@link SegmentLogMailQueue} instances
+ */
+public class SegmentLogMailQueueFactory implements MailQueueFactory<ManageableMailQueue> {
+    private static final String QUEUE_DIRECTORY = "file://var/store/segment-queue";
+    private static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+
+    private final Map<MailQueueName, SegmentLogMailQueue> queues = new ConcurrentHashMap<>();
+    private final MailQueueItemDecoratorFactory mailQueueItemDecoratorFactory;
+    private final FileSystem fs;
+    private boolean sync = true;
+    private int segmentSize = DEFAULT_SEGMENT_SIZE;
+
+    @Inject
+    public SegmentLogMailQueueFactory(FileSystem fs, MailQueueItemDecoratorFactory mailQueueItemDecoratorFactory) {
+        this.fs = fs;
+        this.mailQueueItemDecoratorFactory = mailQueueItemDecoratorFactory;
+    }
+
+    /**
+     * If <code>true</code> enqueuing and acknowledging a mail returns once it had been written to disk. Concurrent
+     * writers share the same <code>fsync</code> call.
+     * <p/>
+     * The default is <code>true</code>
+     *
+     * @param sync
+     */
+    public void setSync(boolean sync) {
+        this.sync = sync;
+    }
+
+    /**
+     * Size in bytes of the files the queues are stored in. Larger mails are stored in a file of their own size.
+     * <p/>
+     * The default is 64 MB
+     *
+     * @param segmentSize
+     */
+    public void setSegmentSize(int segmentSize) {
+        this.segmentSize = segmentSize;
+    }
+
+    @PreDestroy
+    public void dispose() {
+        queues.values().forEach(SegmentLogMailQueue::close);
+    }
+
+    @Override
+    public Set<MailQueueName> listCreatedMailQueues() {
+        return queues.values()
+            .stream()
+            .map(MailQueue::getName)
+            .collect(Guavate.toImmutableSet());
+    }
+
+    @Override
+    public Optional<ManageableMailQueue> getQueue(MailQueueName name) {
+        return Optional.ofNullable(queues.get(name));
+    }
+
+    @Override
+    public ManageableMailQueue createQueue(MailQueueName name) {
+        return queues.computeIfAbsent(name, mailQueueName -> {
+            try {
+                return new SegmentLogMailQueue(mailQueueItemDecoratorFactory, fs.getFile(QUEUE_DIRECTORY), mailQueueName, segmentSize, sync);
+            } catch (IOException e) {
+                throw new RuntimeException("Unable to access queue " + mailQueueName.asString(), e);
+            }
+        });
+    }
+}
@@ -0,0 +1,294 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+
+package org.apache.james.queue.file;
+
+import static org.apache.james.queue.api.Mails.defaultMail;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.apache.james.queue.api.DelayedManageableMailQueueContract;
+import org.apache.james.queue.api.DelayedPriorityMailQueueContract;
+import org.apache.james.queue.api.MailPrioritySupport;
+import org.apache.james.queue.api.MailQueue;
+import org.apache.james.queue.api.MailQueueName;
+import org.apache.james.queue.api.ManageableMailQueue;
+import org.apache.james.queue.api.PriorityManageableMailQueueContract;
+import org.apache.james.queue.api.RawMailQueueItemDecoratorFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.github.fge.lambdas.Throwing;
+import com.github.steveash.guavate.Guavate;
+import com.google.common.collect.ImmutableList;
+
+import reactor.core.publisher.Flux;
+
+public class SegmentLogMailQueueTest implements DelayedManageableMailQueueContract, DelayedPriorityMailQueueContract, PriorityManageableMailQueueContract {
+    private static final MailQueueName NAME = MailQueueName.of("test");
+    private static final boolean SYNC = true;
+    private static final int SEGMENT_SIZE = 16 * 1024;
+    private static final int FIRST_METADATA_OFFSET = 34;
+
+    @TempDir
+    File queueDirectory;
+    private SegmentLogMailQueue mailQueue;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        mailQueue = createQueue();
+    }
+
+    @AfterEach
+    void teardown() {
+        mailQueue.close();
+    }
+
+    @Override
+    public MailQueue getMailQueue() {
+        return mailQueue;
+    }
+
+    @Override
+    public ManageableMailQueue getManageableMailQueue() {
+        return mailQueue;
+    }
+
+    private SegmentLogMailQueue createQueue() throws Exception {
+        return new SegmentLogMailQueue(new RawMailQueueItemDecoratorFactory(), queueDirectory, NAME, SEGMENT_SIZE, SYNC);
+    }
+
+    private SegmentLogMailQueue restart() throws Exception {
+        mailQueue.close();
+        mailQueue = createQueue();
+        return mailQueue;
+    }
+
+    private List<MailQueue.MailQueueItem> dequeue(int count) {
+        return Flux.from(mailQueue.deQueue())
+            .take(count)
+            .collectList()
+            .block(Duration.ofMinutes(1));
+    }
+
+    private List<String> browseNames() throws Exception {
+        return ImmutableList.copyOf(mailQueue.browse())
+            .stream()
+            .map(item -> item.getMail().getName())
+            .collect(Guavate.toImmutableList());
+    }
+
+    private void enQueueMails(int count) throws Exception {
+        IntStream.range(0, count)
+            .forEach(Throwing.intConsumer(i -> mailQueue.enQueue(defaultMail()
+                .name("name" + i)
+                .build())));
+    }
+
+    @Test
+    void restartShouldRestoreNonAcknowledgedMails() throws Exception {
+        enQueueMails(3);
+        dequeue(1).get(0).done(true);
+
+        restart();
+
+        assertThat(browseNames()).containsExactly("name1", "name2");
+    }
+
+    @Test
+    void restartShouldRestoreInFlightMails() throws Exception {
+        enQueueMails(2);
+        dequeue(1);
+
+        restart();
+
+        assertThat(browseNames()).containsExactly("name0", "name1");
+    }
+
+    @Test
+    void restartShouldRestoreMailContent() throws Exception {
+        enQueueMails(1);
+
+        restart();
+
+        MailQueue.MailQueueItem item = dequeue(1).get(0);
+        assertThat(item.getMail().getMessage().getHeader("testheader"))
+            .containsExactly("testvalue");
+        assertThat(item.getMail().getMessage().getContent())
+            .isEqualTo("test");
+    }
+
+    @Test
+    void restartShouldRestoreDelays() throws Exception {
+        mailQueue.enQueue(defaultMail()
+            .name("name0")
+            .build(), Duration.ofHours(1));
+
+        restart();
+
+        assertThat(ImmutableList.copyOf(mailQueue.browse()).get(0).getNextDelivery())
+            .hasValueSatisfying(nextDelivery -> assertThat(nextDelivery).isAfter(ZonedDateTime.now().plusMinutes(50)));
+    }
+
+    @Test
+    void restartShouldRestorePriorities() throws Exception {
+        mailQueue.enQueue(defaultMail()
+            .name("low")
+            .attribute(MailPrioritySupport.LOW_PRIORITY_ATTRIBUTE)
+            .build());
+        mailQueue.enQueue(defaultMail()
+            .name("high")
+            .attribute(MailPrioritySupport.HIGH_PRIORITY_ATTRIBUTE)
+            .build());
+
+        restart();
+
+        assertThat(dequeue(2))
+            .extracting(item -> item.getMail().getName())
+            .containsExactly("high", "low");
+    }
+
+    private File firstSegment() {
+        return queueDirectory.toPath().resolve(NAME.asString()).resolve("segment-00000000000000000001.log").toFile();
+    }
+
+    private void corruptLastRecord() throws Exception {
+        try (RandomAccessFile file = new RandomAccessFile(firstSegment(), "rw")) {
+            byte[] content = new byte[(int) file.length()];
+            file.readFully(content);
+            int lastWrittenByte = IntStream.iterate(content.length - 1, i -> i - 1)
+                .filter(i -> content[i] != 0)
+                .findFirst()
+                .getAsInt();
+            file.seek(lastWrittenByte);
+            file.write(content[lastWrittenByte] ^ 0xFF);
+        }
+    }
+
+    @Test
+    void restartShouldIgnoreCorruptedRecords() throws Exception {
+        enQueueMails(2);
+        mailQueue.close();
+
+        corruptLastRecord();
+        mailQueue = createQueue();
+
+        assertThat(browseNames()).containsExactly("name0");
+    }
+
+    @Test
+    void restartShouldNotCreateSegments() throws Exception {
+        enQueueMails(1);
+
+        restart();
+
+        assertThat(mailQueue.getSegmentCount()).isEqualTo(1);
+    }
+
+    @Test
+    void mailsEnqueuedAfterACorruptedRecordShouldBeRestored() throws Exception {
+        enQueueMails(2);
+        mailQueue.close();
+        corruptLastRecord();
+        mailQueue = createQueue();
+
+        mailQueue.enQueue(defaultMail()
+            .name("name2")
+            .build());
+        restart();
+
+        assertThat(browseNames()).containsExactly("name0", "name2");
+    }
+
+    @Test
+    void dequeueShouldSkipUnreadableMails() throws Exception {
+        enQueueMails(2);
+        try (RandomAccessFile file = new RandomAccessFile(firstSegment(), "rw")) {
+            file.seek(FIRST_METADATA_OFFSET);
+            file.write(0);
+        }
+
+        assertThat(dequeue(1))
+            .extracting(item -> item.getMail().getName())
+            .containsExactly("name1");
+        assertThat(mailQueue.getSize()).isEqualTo(2);
+        assertThat(mailQueue.flush()).isEqualTo(1);
+    }
+
+    @Test
+    void compactShouldDeleteAcknowledgedSegments() throws Exception {
+        enQueueMails(30);
+        dequeue(30).forEach(Throwing.consumer(item -> item.done(true)));
+
+        mailQueue.compact();
+
+        assertThat(mailQueue.getSegmentCount()).isEqualTo(1);
+    }
+
+    @Test
+    void compactShouldKeepSegmentsOfInFlightMails() throws Exception {
+        enQueueMails(30);
+        List<MailQueue.MailQueueItem> items = dequeue(30);
+        items.stream()
+            .skip(1)
+            .forEach(Throwing.consumer(item -> item.done(true)));
+
+        mailQueue.compact();
+
+        assertThat(mailQueue.getSegmentCount()).isGreaterThan(1);
+    }
+
+    @Test
+    void compactShouldRelocateRemainingMails() throws Exception {
+        enQueueMails(30);
+        for (MailQueue.MailQueueItem item : dequeue(30)) {
+            item.done(!item.getMail().getName().equals("name0"));
+        }
+
+        mailQueue.compact();
+
+        assertThat(mailQueue.getSegmentCount()).isEqualTo(1);
+        assertThat(browseNames()).containsExactly("name0");
+    }
+
+    @Test
+    void relocatedMailsShouldBeRestoredAfterRestart() throws Exception {
+        enQueueMails(30);
+        for (MailQueue.MailQueueItem item : dequeue(30)) {
+            item.done(!Arrays.asList("name0", "name1").contains(item.getMail().getName()));
+        }
+        mailQueue.compact();
+
+        restart();
+
+        assertThat(browseNames()).containsExactly("name0", "name1");
+        assertThat(dequeue(1).get(0).getMail().getMessage().getContent())
+            .isEqualTo("test");
+    }
+}
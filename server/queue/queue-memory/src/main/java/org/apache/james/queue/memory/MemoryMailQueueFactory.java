@@ -19,19 +19,31 @@
 
 package org.apache.james.queue.memory;
 
+import static org.apache.james.queue.api.MailPrioritySupport.HIGH_PRIORITY;
+import static org.apache.james.queue.api.MailPrioritySupport.LOW_PRIORITY;
+import static org.apache.james.queue.api.MailPrioritySupport.MAIL_PRIORITY;
+import static org.apache.james.queue.api.MailPrioritySupport.NORMAL_PRIORITY;
+
 import java.time.DateTimeException;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.DelayQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.Delayed;
-import java.util.concurrent.LinkedBlockingDeque;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
 
 import javax.inject.Inject;
 import javax.mail.MessagingException;
@@ -39,12 +51,14 @@ import javax.mail.internet.MimeMessage;
 
 import org.apache.commons.lang3.NotImplementedException;
 import org.apache.james.core.MailAddress;
+import org.apache.james.queue.api.MailPrioritySupport;
 import org.apache.james.queue.api.MailQueue;
 import org.apache.james.queue.api.MailQueueFactory;
 import org.apache.james.queue.api.MailQueueItemDecoratorFactory;
 import org.apache.james.queue.api.MailQueueName;
 import org.apache.james.queue.api.ManageableMailQueue;
 import org.apache.james.server.core.MailImpl;
+import org.apache.mailet.AttributeUtils;
 import org.apache.mailet.Mail;
 import org.threeten.extra.Temporals;
 
@@ -52,7 +66,7 @@ import com.github.fge.lambdas.Throwing;
 import com.github.steveash.guavate.Guavate;
 import com.google.common.base.Objects;
 import com.google.common.collect.ImmutableList;
-import com.google.common.collect.Iterables;
+import com.google.common.collect.ImmutableSet;
 
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -87,17 +101,44 @@ public class MemoryMailQueueFactory implements MailQueueFactory<ManageableMailQu
         return mailQueues.computeIfAbsent(name, mailQueueName -> new MemoryCacheableMailQueue(mailQueueName, mailQueueItemDecoratorFactory));
     }
 
+    /**
+     * Mails ready to be dequeued are held in one lock free lane per {@link MailPrioritySupport} priority, dequeued from
+     * the highest priority. Delayed mails are held in a {@link TimingWheel} until their next delivery.
+     *
+     * Every waiting mail is also indexed in browse order. Removing a mail from that index claims it: consumers skip lane
+     * entries that were already claimed by a management operation, and the other way around. Management operations
+     * iterate the index without locking, and thus do not block producers nor consumers.
+     */
     public static class MemoryCacheableMailQueue implements ManageableMailQueue {
-        private final DelayQueue<MemoryMailQueueItem> mailItems;
-        private final LinkedBlockingDeque<MemoryMailQueueItem> inProcessingMailItems;
+        private static final Duration TICK_DURATION = Duration.ofMillis(10);
+        private static final int WHEEL_SIZE = 512;
+
+        private final ImmutableList<ConcurrentLinkedQueue<MemoryMailQueueItem>> lanes;
+        private final ConcurrentSkipListMap<Long, MemoryMailQueueItem> waitingItems;
+        private final AtomicInteger waitingCount;
+        private final TimingWheel<MemoryMailQueueItem> delayedItems;
+        private final Set<MemoryMailQueueItem> inProcessingMailItems;
+        private final AtomicLong sequence;
+        private final ReentrantLock waitLock;
+        private final Condition readyOrDelayed;
+        private final AtomicInteger waitingConsumers;
         private final MailQueueName name;
         private final Flux<MailQueueItem> flux;
 
         public MemoryCacheableMailQueue(MailQueueName name, MailQueueItemDecoratorFactory mailQueueItemDecoratorFactory) {
-            this.mailItems = new DelayQueue<>();
-            this.inProcessingMailItems = new LinkedBlockingDeque<>();
+            this.lanes = IntStream.rangeClosed(LOW_PRIORITY, HIGH_PRIORITY)
+                .mapToObj(priority -> new ConcurrentLinkedQueue<MemoryMailQueueItem>())
+                .collect(Guavate.toImmutableList());
+            this.waitingItems = new ConcurrentSkipListMap<>();
+            this.waitingCount = new AtomicInteger(0);
+            this.delayedItems = new TimingWheel<>(TICK_DURATION, WHEEL_SIZE, System.currentTimeMillis());
+            this.inProcessingMailItems = ConcurrentHashMap.newKeySet();
+            this.sequence = new AtomicLong(0);
+            this.waitLock = new ReentrantLock();
+            this.readyOrDelayed = waitLock.newCondition();
+            this.waitingConsumers = new AtomicInteger(0);
             this.name = name;
-            this.flux = Mono.fromCallable(mailItems::take)
+            this.flux = Mono.fromCallable(this::take)
                 .repeat()
                 .subscribeOn(Schedulers.elastic())
                 .flatMap(item ->
@@ -119,7 +160,7 @@ public class MemoryMailQueueFactory implements MailQueueFactory<ManageableMailQu
         public void enQueue(Mail mail, Duration delay) throws MailQueueException {
             ZonedDateTime nextDelivery = calculateNextDelivery(delay);
             try {
-                mailItems.put(new MemoryMailQueueItem(cloneMail(mail), this, nextDelivery));
+                schedule(new MemoryMailQueueItem(cloneMail(mail), this, nextDelivery, priorityOf(mail), sequence.incrementAndGet()));
             } catch (MessagingException e) {
                 throw new MailQueueException("Error while copying mail " + mail.getName(), e);
             }
@@ -137,6 +178,12 @@ public class MemoryMailQueueFactory implements MailQueueFactory<ManageableMailQu
             return ZonedDateTime.now();
         }
 
+        private int priorityOf(Mail mail) {
+            return AttributeUtils.getValueAndCastFromMail(mail, MAIL_PRIORITY, Integer.class)
+                .map(priority -> Math.max(LOW_PRIORITY, Math.min(HIGH_PRIORITY, priority)))
+                .orElse(NORMAL_PRIORITY);
+        }
+
         @Override
         public void enQueue(Mail mail) throws MailQueueException {
             enQueue(mail, 0, TimeUnit.SECONDS);
@@ -152,50 +199,141 @@ public class MemoryMailQueueFactory implements MailQueueFactory<ManageableMailQu
             return mailImpl;
         }
 
+        private void schedule(MemoryMailQueueItem item) {
+            waitingItems.put(item.browseOrder(), item);
+            waitingCount.incrementAndGet();
+            long deliveryMillis = item.delivery.toInstant().toEpochMilli();
+            if (deliveryMillis <= System.currentTimeMillis() || !delayedItems.schedule(item, deliveryMillis)) {
+                makeReady(item);
+            }
+            signalWaitingConsumers();
+        }
+
+        private void makeReady(MemoryMailQueueItem item) {
+            lanes.get(item.priority).add(item);
+        }
+
+        /**
+         * @return false if the item was already claimed
+         */
+        private boolean claim(MemoryMailQueueItem item) {
+            if (waitingItems.remove(item.browseOrder(), item)) {
+                waitingCount.decrementAndGet();
+                return true;
+            }
+            return false;
+        }
+
+        private void signalWaitingConsumers() {
+            if (waitingConsumers.get() > 0) {
+                waitLock.lock();
+                try {
+                    readyOrDelayed.signalAll();
+                } finally {
+                    waitLock.unlock();
+                }
+            }
+        }
+
+        private MemoryMailQueueItem take() throws InterruptedException {
+            while (true) {
+                Optional<MemoryMailQueueItem> item = pollReady();
+                if (item.isPresent()) {
+                    return item.get();
+                }
+
+                waitLock.lockInterruptibly();
+                waitingConsumers.incrementAndGet();
+                try {
+                    // Checked again once registered as waiting, as producers only signal waiting consumers
+                    item = pollReady();
+                    if (item.isPresent()) {
+                        return item.get();
+                    }
+                    Optional<Long> nextExpiration = delayedItems.nextExpirationMillis();
+                    if (nextExpiration.isPresent()) {
+                        readyOrDelayed.await(nextExpiration.get() - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+                    } else {
+                        readyOrDelayed.await();
+                    }
+                } finally {
+                    waitingConsumers.decrementAndGet();
+                    waitLock.unlock();
+                }
+            }
+        }
+
+        private Optional<MemoryMailQueueItem> pollReady() {
+            delayedItems.expire(System.currentTimeMillis(), this::makeReady);
+            for (int priority = HIGH_PRIORITY; priority >= LOW_PRIORITY; priority--) {
+                ConcurrentLinkedQueue<MemoryMailQueueItem> lane = lanes.get(priority);
+                for (MemoryMailQueueItem item = lane.poll(); item != null; item = lane.poll()) {
+                    if (claim(item)) {
+                        return Optional.of(item);
+                    }
+                }
+            }
+            return Optional.empty();
+        }
+
         @Override
         public Flux<MailQueueItem> deQueue() {
             return flux;
         }
 
         public Mail getLastMail() throws MailQueueException, InterruptedException {
-            MemoryMailQueueItem maybeItem = Iterables.getLast(mailItems, null);
-            if (maybeItem == null) {
-                return null;
-            }
-            return maybeItem.getMail();
+            return waitingItems.values()
+                .stream()
+                .max(Comparator.comparingLong(item -> item.sequence))
+                .map(MemoryMailQueueItem::getMail)
+                .orElse(null);
         }
 
         @Override
         public long getSize() throws MailQueueException {
-            return mailItems.size() + inProcessingMailItems.size();
+            return waitingCount.get() + inProcessingMailItems.size();
         }
 
         @Override
         public long flush() throws MailQueueException {
+            ZonedDateTime now = ZonedDateTime.now();
+            ImmutableList<MemoryMailQueueItem> delayed = delayedItems.remove(item -> true)
+                .stream()
+                .sorted(Comparator.comparingLong(item -> item.sequence))
+                .collect(Guavate.toImmutableList());
             int count = 0;
-            for (MemoryMailQueueItem item: mailItems) {
-                if (mailItems.remove(item)) {
-                    enQueue(item.getMail());
-                    count += 1;
+            for (MemoryMailQueueItem item : delayed) {
+                MemoryMailQueueItem flushed = item.withDelivery(now);
+                if (waitingItems.replace(item.browseOrder(), item, flushed)) {
+                    makeReady(flushed);
+                    count++;
                 }
             }
+            signalWaitingConsumers();
             return count;
         }
 
         @Override
         public long clear() throws MailQueueException {
-            int size = mailItems.size();
-            mailItems.clear();
-            return size;
+            return remove(item -> true);
         }
 
         @Override
         public long remove(Type type, String value) throws MailQueueException {
-            ImmutableList<MemoryMailQueueItem> toBeRemoved = mailItems.stream()
-                .filter(item -> shouldRemove(item, type, value))
-                .collect(Guavate.toImmutableList());
-            toBeRemoved.forEach(mailItems::remove);
-            return toBeRemoved.size();
+            return remove(item -> shouldRemove(item, type, value));
+        }
+
+        private long remove(Predicate<MemoryMailQueueItem> predicate) {
+            ImmutableSet<MemoryMailQueueItem> removed = waitingItems.values()
+                .stream()
+                .filter(predicate)
+                .filter(this::claim)
+                .collect(Guavate.toImmutableSet());
+            if (!removed.isEmpty()) {
+                lanes.forEach(lane -> lane.removeIf(removed::contains));
+                delayedItems.remove(removed::contains);
+            }
+            return removed.size();
         }
 
         public boolean shouldRemove(MailQueueItem item, Type type, String value) {
@@ -221,9 +359,10 @@ public class MemoryMailQueueFactory implements MailQueueFactory<ManageableMailQu
 
         @Override
         public MailQueueIterator browse() throws MailQueueException {
-            Iterator<MailQueueItemView> underlying = ImmutableList.copyOf(mailItems)
+            Iterator<MailQueueItemView> underlying = waitingItems.values()
                 .stream()
                 .map(item -> new MailQueueItemView(item.getMail(), item.delivery))
+                .collect(Guavate.toImmutableList())
                 .iterator();
 
             return new MailQueueIterator() {
@@ -265,11 +404,30 @@ public class MemoryMailQueueFactory implements MailQueueFactory<ManageableMailQu
         private final Mail mail;
         private final MemoryCacheableMailQueue queue;
         private final ZonedDateTime delivery;
+        private final int priority;
+        private final long sequence;
 
         public MemoryMailQueueItem(Mail mail, MemoryCacheableMailQueue queue, ZonedDateTime delivery) {
+            this(mail, queue, delivery, NORMAL_PRIORITY, 0);
+        }
+
+        private MemoryMailQueueItem(Mail mail, MemoryCacheableMailQueue queue, ZonedDateTime delivery, int priority, long sequence) {
             this.mail = mail;
             this.queue = queue;
             this.delivery = delivery;
+            this.priority = priority;
+            this.sequence = sequence;
+        }
+
+        /**
+         * Higher priorities first, then in enqueue order.
+         */
+        private long browseOrder() {
+            return ((long) (HIGH_PRIORITY - priority) << 56) | sequence;
+        }
+
+        private MemoryMailQueueItem withDelivery(ZonedDateTime delivery) {
+            return new MemoryMailQueueItem(mail, queue, delivery, priority, sequence);
         }
 
         @Override
@@ -0,0 +1,164 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+
+package org.apache.james.queue.memory;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+import com.github.steveash.guavate.Guavate;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Hashed timing wheel holding elements until their deadline.
+ *
+ * Time is divided into ticks, and each tick is mapped to one of the buckets of the wheel. Scheduling and removing an
+ * element are lock free and do not depend on the number of scheduled elements, unlike in a heap. Elements due more
+ * than one revolution later are left in their bucket until their own tick is reached.
+ *
+ * Elements are never released before their deadline, but might be released up to one tick later.
+ *
+ * The count of elements due at each tick is kept ordered, so that the earliest deadline is known without walking the
+ * buckets, which also hold elements of later revolutions.
+ */
+class TimingWheel<T> {
+
+    private static class Node<T> {
+        private final T element;
+        private final long deadlineTick;
+
+        Node(T element, long deadlineTick) {
+            this.element = element;
+            this.deadlineTick = deadlineTick;
+        }
+    }
+
+    private final long tickMillis;
+    private final ImmutableList<ConcurrentLinkedQueue<Node<T>>> buckets;
+    private final AtomicInteger size;
+    private final ConcurrentSkipListMap<Long, Integer> deadlineTickCounts;
+    private volatile long expiredTick;
+
+    TimingWheel(Duration tickDuration, int wheelSize, long nowMillis) {
+        Preconditions.checkArgument(tickDuration.toMillis() > 0, "'tickDuration' should be at least one millisecond");
+        Preconditions.checkArgument(wheelSize > 0, "'wheelSize' should be strictly positive");
+
+        this.tickMillis = tickDuration.toMillis();
+        this.buckets = IntStream.range(0, wheelSize)
+            .mapToObj(i -> new ConcurrentLinkedQueue<Node<T>>())
+            .collect(Guavate.toImmutableList());
+        this.size = new AtomicInteger(0);
+        this.deadlineTickCounts = new ConcurrentSkipListMap<>();
+        this.expiredTick = nowMillis / tickMillis;
+    }
+
+    /**
+     * @return false if the deadline is already reached, in which case the element is not scheduled
+     */
+    boolean schedule(T element, long deadlineMillis) {
+        long deadlineTick = deadlineMillis / tickMillis;
+        if (deadlineMillis % tickMillis != 0) {
+            deadlineTick++;
+        }
+        if (deadlineTick <= expiredTick) {
+            return false;
+        }
+
+        Node<T> node = new Node<>(element, deadlineTick);
+        ConcurrentLinkedQueue<Node<T>> bucket = bucket(deadlineTick);
+        size.incrementAndGet();
+        deadlineTickCounts.merge(deadlineTick, 1, Integer::sum);
+        bucket.add(node);
+        if (deadlineTick <= expiredTick && bucket.remove(node)) {
+            // The bucket was expired concurrently, before the element was added to it
+            forget(node);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Releases the elements whose deadline is reached.
+     */
+    synchronized void expire(long nowMillis, Consumer<T> onExpiration) {
+        long nowTick = nowMillis / tickMillis;
+        long fromTick = Math.max(expiredTick + 1, nowTick - buckets.size() + 1);
+        // Published before scanning: elements added later to an expired bucket are taken back by their producer
+        expiredTick = Math.max(expiredTick, nowTick);
+        for (long tick = fromTick; tick <= nowTick; tick++) {
+            ConcurrentLinkedQueue<Node<T>> bucket = bucket(tick);
+            for (Node<T> node : bucket) {
+                if (node.deadlineTick <= nowTick && bucket.remove(node)) {
+                    forget(node);
+                    onExpiration.accept(node.element);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the time at which {@link #expire(long, Consumer)} should next be called, if any element is scheduled
+     */
+    Optional<Long> nextExpirationMillis() {
+        return Optional.ofNullable(deadlineTickCounts.firstEntry())
+            .map(entry -> entry.getKey() * tickMillis);
+    }
+
+    /**
+     * Removes the scheduled elements matching the given predicate.
+     *
+     * @return the removed elements
+     */
+    ImmutableList<T> remove(Predicate<T> predicate) {
+        if (size.get() == 0) {
+            return ImmutableList.of();
+        }
+        ImmutableList.Builder<T> removed = ImmutableList.builder();
+        for (ConcurrentLinkedQueue<Node<T>> bucket : buckets) {
+            for (Node<T> node : bucket) {
+                if (predicate.test(node.element) && bucket.remove(node)) {
+                    forget(node);
+                    removed.add(node.element);
+                }
+            }
+        }
+        return removed.build();
+    }
+
+    int size() {
+        return size.get();
+    }
+
+    private void forget(Node<T> node) {
+        size.decrementAndGet();
+        deadlineTickCounts.computeIfPresent(node.deadlineTick, (tick, count) -> count == 1 ? null : count - 1);
+    }
+
+    private ConcurrentLinkedQueue<Node<T>> bucket(long tick) {
+        return buckets.get((int) Math.floorMod(tick, (long) buckets.size()));
+    }
+}
@@ -0,0 +1,198 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+
+package org.apache.james.queue.memory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TimingWheelTest {
+    private static final Duration TICK = Duration.ofMillis(10);
+    private static final int WHEEL_SIZE = 8;
+    private static final long START = 1_000_000;
+
+    private TimingWheel<String> testee;
+    private List<String> expired;
+
+    @BeforeEach
+    void setUp() {
+        testee = new TimingWheel<>(TICK, WHEEL_SIZE, START);
+        expired = new ArrayList<>();
+    }
+
+    @Test
+    void constructorShouldRejectEmptyTicks() {
+        assertThatThrownBy(() -> new TimingWheel<String>(Duration.ZERO, WHEEL_SIZE, START))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void constructorShouldRejectEmptyWheels() {
+        assertThatThrownBy(() -> new TimingWheel<String>(TICK, 0, START))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void scheduleShouldRejectReachedDeadlines() {
+        assertThat(testee.schedule("a", START)).isFalse();
+        assertThat(testee.size()).isZero();
+    }
+
+    @Test
+    void scheduleShouldAcceptFutureDeadlines() {
+        assertThat(testee.schedule("a", START + 1)).isTrue();
+        assertThat(testee.size()).isEqualTo(1);
+    }
+
+    @Test
+    void expireShouldNotReleaseElementsBeforeTheirDeadline() {
+        testee.schedule("a", START + 15);
+
+        testee.expire(START + 14, expired::add);
+
+        assertThat(expired).isEmpty();
+    }
+
+    @Test
+    void expireShouldReleaseElementsOnceTheirDeadlineIsReached() {
+        testee.schedule("a", START + 15);
+
+        testee.expire(START + 20, expired::add);
+
+        assertThat(expired).containsExactly("a");
+        assertThat(testee.size()).isZero();
+    }
+
+    @Test
+    void expireShouldReleaseElementsOnlyOnce() {
+        testee.schedule("a", START + 15);
+
+        testee.expire(START + 20, expired::add);
+        testee.expire(START + 30, expired::add);
+
+        assertThat(expired).containsExactly("a");
+    }
+
+    @Test
+    void expireShouldKeepElementsDueInALaterRevolution() {
+        long revolution = TICK.toMillis() * WHEEL_SIZE;
+        testee.schedule("a", START + 10 + revolution);
+
+        testee.expire(START + 10, expired::add);
+
+        assertThat(expired).isEmpty();
+        assertThat(testee.size()).isEqualTo(1);
+    }
+
+    @Test
+    void expireShouldReleaseElementsDueInALaterRevolution() {
+        long revolution = TICK.toMillis() * WHEEL_SIZE;
+        testee.schedule("a", START + 10 + revolution);
+
+        testee.expire(START + 10, expired::add);
+        testee.expire(START + 10 + revolution, expired::add);
+
+        assertThat(expired).containsExactly("a");
+    }
+
+    @Test
+    void expireShouldReleaseAllElementsAfterSeveralRevolutions() {
+        testee.schedule("a", START + 10);
+        testee.schedule("b", START + 50);
+        testee.schedule("c", START + 70);
+
+        testee.expire(START + 10_000, expired::add);
+
+        assertThat(expired).containsExactlyInAnyOrder("a", "b", "c");
+    }
+
+    @Test
+    void scheduleShouldRejectDeadlinesOfExpiredTicks() {
+        testee.expire(START + 100, expired::add);
+
+        assertThat(testee.schedule("a", START + 95)).isFalse();
+    }
+
+    @Test
+    void nextExpirationMillisShouldBeEmptyWhenNothingIsScheduled() {
+        assertThat(testee.nextExpirationMillis()).isEmpty();
+    }
+
+    @Test
+    void nextExpirationMillisShouldReturnTheStartOfTheNextNonEmptyTick() {
+        testee.schedule("a", START + 35);
+        testee.schedule("b", START + 55);
+
+        assertThat(testee.nextExpirationMillis()).contains(START + 40);
+    }
+
+    @Test
+    void nextExpirationMillisShouldReturnTheEarliestDeadlineOfLaterRevolutions() {
+        long revolution = TICK.toMillis() * WHEEL_SIZE;
+        testee.schedule("a", START + 10 + 3 * revolution);
+        testee.schedule("b", START + 30 + revolution);
+
+        assertThat(testee.nextExpirationMillis()).contains(START + 30 + revolution);
+    }
+
+    @Test
+    void nextExpirationMillisShouldIgnoreRemovedElements() {
+        testee.schedule("a", START + 10);
+        testee.schedule("b", START + 50);
+        testee.remove("a"::equals);
+
+        assertThat(testee.nextExpirationMillis()).contains(START + 50);
+    }
+
+    @Test
+    void nextExpirationMillisShouldBeEmptyOnceEverythingExpired() {
+        testee.schedule("a", START + 10);
+
+        testee.expire(START + 10, expired::add);
+
+        assertThat(testee.nextExpirationMillis()).isEmpty();
+    }
+
+    @Test
+    void removeShouldReturnMatchingElements() {
+        testee.schedule("a", START + 10);
+        testee.schedule("b", START + 20);
+
+        assertThat(testee.remove("a"::equals)).containsExactly("a");
+        assertThat(testee.size()).isEqualTo(1);
+    }
+
+    @Test
+    void removedElementsShouldNotExpire() {
+        testee.schedule("a", START + 10);
+        testee.remove("a"::equals);
+
+        testee.expire(START + 10, expired::add);
+
+        assertThat(expired).isEmpty();
+    }
+}
@@ -0,0 +1,85 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+
+package org.apache.james.queue.rabbitmq;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.TreeMap;
+
+import reactor.rabbitmq.AcknowledgableDelivery;
+
+/**
+ * Coalesces the acknowledgements of the deliveries of a consumer channel.
+ *
+ * RabbitMQ lets a single ack with multiple=true settle every delivery up to a given tag. As mails are processed
+ * concurrently, such an ack is only sent once all the deliveries preceding the acknowledged one are settled.
+ *
+ * To keep a slow mail from holding back the acknowledgements of the ones behind it, successes waiting for their
+ * predecessors are acknowledged one by one once more than maxPendingAcks of them accumulated.
+ */
+class DeliveryAcknowledger {
+    private final int maxPendingAcks;
+    private final TreeMap<Long, AcknowledgableDelivery> unsettled;
+    private final Set<Long> succeeded;
+
+    DeliveryAcknowledger(int maxPendingAcks) {
+        this.maxPendingAcks = maxPendingAcks;
+        this.unsettled = new TreeMap<>();
+        this.succeeded = new HashSet<>();
+    }
+
+    /**
+     * Deliveries need to be registered in delivery order, before any of them gets acknowledged.
+     */
+    synchronized void register(AcknowledgableDelivery delivery) {
+        unsettled.put(tag(delivery), delivery);
+    }
+
+    synchronized void ack(AcknowledgableDelivery delivery) {
+        succeeded.add(tag(delivery));
+        flush();
+    }
+
+    synchronized void nack(AcknowledgableDelivery delivery, boolean requeue) {
+        unsettled.remove(tag(delivery));
+        delivery.nack(requeue);
+        flush();
+    }
+
+    private void flush() {
+        AcknowledgableDelivery lastContiguousSuccess = null;
+        while (!unsettled.isEmpty() && succeeded.remove(unsettled.firstKey())) {
+            lastContiguousSuccess = unsettled.pollFirstEntry().getValue();
+        }
+        if (lastContiguousSuccess != null) {
+            lastContiguousSuccess.ack(true);
+        }
+
+        if (succeeded.size() > maxPendingAcks) {
+            succeeded.forEach(tag -> unsettled.remove(tag).ack());
+            succeeded.clear();
+        }
+    }
+
+    private long tag(AcknowledgableDelivery delivery) {
+        return delivery.getEnvelope().getDeliveryTag();
+    }
+}
@@ -23,6 +23,8 @@ import static org.apache.james.queue.api.MailQueue.DEQUEUED_METRIC_NAME_PREFIX;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
@@ -35,10 +37,12 @@ import org.apache.james.queue.rabbitmq.view.api.MailQueueView;
 import org.apache.mailet.Mail;
 
 import com.github.fge.lambdas.consumers.ThrowingConsumer;
-import com.rabbitmq.client.Delivery;
+import com.github.steveash.guavate.Guavate;
+import com.google.common.collect.ImmutableSet;
 
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 import reactor.rabbitmq.AcknowledgableDelivery;
 import reactor.rabbitmq.ConsumeOptions;
 import reactor.rabbitmq.Receiver;
@@ -46,6 +50,19 @@ import reactor.rabbitmq.Receiver;
 class Dequeuer implements Closeable {
     private static final boolean REQUEUE = true;
     private static final int EXECUTION_RATE = 5;
+    private static final Duration BATCH_WINDOW = Duration.ofMillis(10);
+
+    private static class DeliveryWithReference {
+        private final AcknowledgableDelivery delivery;
+        private final MailReferenceDTO mailReference;
+        private final EnqueueId enqueueId;
+
+        private DeliveryWithReference(AcknowledgableDelivery delivery, MailReferenceDTO mailReference) {
+            this.delivery = delivery;
+            this.mailReference = mailReference;
+            this.enqueueId = EnqueueId.ofSerialized(mailReference.getEnqueueId());
+        }
+    }
 
     private static class RabbitMQMailQueueItem implements MailQueue.MailQueueItem {
 
@@ -80,18 +97,21 @@ class Dequeuer implements Closeable {
     private final MailReferenceSerializer mailReferenceSerializer;
     private final MailQueueView mailQueueView;
     private final Receiver receiver;
+    private final int batchSize;
     private final Flux<AcknowledgableDelivery> flux;
 
     Dequeuer(MailQueueName name, ReceiverProvider receiverProvider, Function<MailReferenceDTO, MailWithEnqueueId> mailLoader,
              MailReferenceSerializer serializer, MetricFactory metricFactory,
-             MailQueueView mailQueueView) {
+             MailQueueView mailQueueView, int batchSize) {
         this.mailLoader = mailLoader;
         this.mailReferenceSerializer = serializer;
         this.mailQueueView = mailQueueView;
         this.dequeueMetric = metricFactory.generate(DEQUEUED_METRIC_NAME_PREFIX + name.asString());
         this.receiver = receiverProvider.createReceiver();
+        this.batchSize = batchSize;
+        // Prefetch the next batch while the current one is being processed
         this.flux = this.receiver
-            .consumeManualAck(name.toWorkQueueName().asString(), new ConsumeOptions().qos(EXECUTION_RATE))
+            .consumeManualAck(name.toWorkQueueName().asString(), new ConsumeOptions().qos(Math.max(EXECUTION_RATE, 2 * batchSize)))
             .filter(getResponse -> getResponse.getBody() != null);
     }
 
@@ -101,55 +121,64 @@ class Dequeuer implements Closeable {
     }
 
     Flux<? extends MailQueue.MailQueueItem> deQueue() {
-        return flux.concatMap(this::loadItem)
-            .concatMap(this::filterIfDeleted);
+        // Delivery tags are scoped to the channel of a subscription, so is their acknowledgement
+        return Flux.defer(() -> {
+            DeliveryAcknowledger acknowledger = new DeliveryAcknowledger(batchSize);
+            return flux.bufferTimeout(batchSize, BATCH_WINDOW)
+                .onBackpressureBuffer()
+                .concatMap(deliveries -> loadBatch(deliveries, acknowledger));
+        });
+    }
+
+    private Flux<RabbitMQMailQueueItem> loadBatch(List<AcknowledgableDelivery> deliveries, DeliveryAcknowledger acknowledger) {
+        deliveries.forEach(acknowledger::register);
+
+        return Flux.fromIterable(deliveries)
+            .concatMap(this::toDeliveryWithReference)
+            .collectList()
+            .flatMapMany(references -> filterIfDeleted(references, acknowledger))
+            .flatMapSequential(reference -> loadItem(reference, acknowledger), batchSize);
     }
 
-    private Mono<RabbitMQMailQueueItem> filterIfDeleted(RabbitMQMailQueueItem item) {
-        return mailQueueView.isPresent(item.getEnqueueId())
-            .flatMap(isPresent -> keepWhenPresent(item, isPresent));
+    private Flux<DeliveryWithReference> filterIfDeleted(List<DeliveryWithReference> references, DeliveryAcknowledger acknowledger) {
+        return mailQueueView.filterPresent(references.stream()
+                .map(reference -> reference.enqueueId)
+                .collect(Guavate.toImmutableList()))
+            .collect(ImmutableSet.toImmutableSet())
+            .flatMapMany(presentIds -> Flux.fromIterable(references)
+                .filter(reference -> keepWhenPresent(reference, presentIds.contains(reference.enqueueId), acknowledger)));
     }
 
-    private Mono<? extends RabbitMQMailQueueItem> keepWhenPresent(RabbitMQMailQueueItem item, Boolean isPresent) {
-        if (isPresent) {
-            return Mono.just(item);
+    private boolean keepWhenPresent(DeliveryWithReference reference, boolean isPresent, DeliveryAcknowledger acknowledger) {
+        if (!isPresent) {
+            ack(reference, acknowledger).accept(true);
         }
-        item.done(true);
-        return Mono.empty();
+        return isPresent;
     }
 
-    private Mono<RabbitMQMailQueueItem> loadItem(AcknowledgableDelivery response) {
-        try {
-            MailWithEnqueueId mailWithEnqueueId = loadMail(response);
-            ThrowingConsumer<Boolean> ack = ack(response, mailWithEnqueueId);
-            return Mono.just(new RabbitMQMailQueueItem(ack, mailWithEnqueueId));
-        } catch (MailQueue.MailQueueException e) {
-            return Mono.error(e);
-        }
+    private Mono<RabbitMQMailQueueItem> loadItem(DeliveryWithReference reference, DeliveryAcknowledger acknowledger) {
+        return Mono.fromCallable(() -> mailLoader.apply(reference.mailReference))
+            .subscribeOn(Schedulers.elastic())
+            .map(mailWithEnqueueId -> new RabbitMQMailQueueItem(ack(reference, acknowledger), mailWithEnqueueId));
     }
 
-    private ThrowingConsumer<Boolean> ack(AcknowledgableDelivery response, MailWithEnqueueId mailWithEnqueueId) {
+    private ThrowingConsumer<Boolean> ack(DeliveryWithReference reference, DeliveryAcknowledger acknowledger) {
         return success -> {
             if (success) {
                 dequeueMetric.increment();
-                response.ack();
-                mailQueueView.delete(DeleteCondition.withEnqueueId(mailWithEnqueueId.getEnqueueId()));
+                acknowledger.ack(reference.delivery);
+                mailQueueView.delete(DeleteCondition.withEnqueueId(reference.enqueueId));
             } else {
-                response.nack(REQUEUE);
+                acknowledger.nack(reference.delivery, REQUEUE);
             }
         };
     }
 
-    private MailWithEnqueueId loadMail(Delivery response) throws MailQueue.MailQueueException {
-        MailReferenceDTO mailDTO = toMailReference(response);
-        return mailLoader.apply(mailDTO);
-    }
-
-    private MailReferenceDTO toMailReference(Delivery getResponse) throws MailQueue.MailQueueException {
+    private Mono<DeliveryWithReference> toDeliveryWithReference(AcknowledgableDelivery delivery) {
         try {
-            return mailReferenceSerializer.read(getResponse.getBody());
+            return Mono.just(new DeliveryWithReference(delivery, mailReferenceSerializer.read(delivery.getBody())));
         } catch (IOException e) {
-            throw new MailQueue.MailQueueException("Failed to parse DTO", e);
+            return Mono.error(new MailQueue.MailQueueException("Failed to parse DTO", e));
         }
     }
 
@@ -24,11 +24,20 @@ import java.util.Optional;
 
 import org.apache.commons.configuration2.Configuration;
 
+import com.google.common.base.Preconditions;
+
 public class RabbitMQMailQueueConfiguration {
     private static final boolean DEFAULT_SIZE_METRICS_ENABLED = true;
+    private static final int DEFAULT_DEQUEUE_BATCH_SIZE = 1;
 
     public static class Builder {
         private Optional<Boolean> sizeMetricsEnabled;
+        private Optional<Integer> dequeueBatchSize;
+
+        private Builder() {
+            sizeMetricsEnabled = Optional.empty();
+            dequeueBatchSize = Optional.empty();
+        }
 
         public Builder sizeMetricsEnabled(boolean sizeMetricsEnabled) {
             this.sizeMetricsEnabled = Optional.of(sizeMetricsEnabled);
@@ -40,12 +49,26 @@ public class RabbitMQMailQueueConfiguration {
             return this;
         }
 
+        public Builder dequeueBatchSize(int dequeueBatchSize) {
+            this.dequeueBatchSize = Optional.of(dequeueBatchSize);
+            return this;
+        }
+
+        public Builder dequeueBatchSize(Optional<Integer> dequeueBatchSize) {
+            this.dequeueBatchSize = dequeueBatchSize;
+            return this;
+        }
+
         public RabbitMQMailQueueConfiguration build() {
-            return new RabbitMQMailQueueConfiguration(sizeMetricsEnabled.orElse(DEFAULT_SIZE_METRICS_ENABLED));
+            int actualDequeueBatchSize = dequeueBatchSize.orElse(DEFAULT_DEQUEUE_BATCH_SIZE);
+            Preconditions.checkArgument(actualDequeueBatchSize > 0, "'%s' needs to be strictly positive", DEQUEUE_BATCH_SIZE_PROPERTY);
+
+            return new RabbitMQMailQueueConfiguration(sizeMetricsEnabled.orElse(DEFAULT_SIZE_METRICS_ENABLED), actualDequeueBatchSize);
         }
     }
 
     public static final String SIZE_METRICS_ENABLED_PROPERTY = "mailqueue.size.metricsEnabled";
+    public static final String DEQUEUE_BATCH_SIZE_PROPERTY = "mailqueue.dequeue.batchSize";
 
     public static Builder builder() {
         return new Builder();
@@ -54,6 +77,7 @@ public class RabbitMQMailQueueConfiguration {
     public static RabbitMQMailQueueConfiguration from(Configuration configuration) {
         return builder()
             .sizeMetricsEnabled(Optional.ofNullable(configuration.getBoolean(SIZE_METRICS_ENABLED_PROPERTY, null)))
+            .dequeueBatchSize(Optional.ofNullable(configuration.getInteger(DEQUEUE_BATCH_SIZE_PROPERTY, null)))
             .build();
     }
 
@@ -70,27 +94,34 @@ public class RabbitMQMailQueueConfiguration {
     }
 
     private final boolean sizeMetricsEnabled;
+    private final int dequeueBatchSize;
 
-    private RabbitMQMailQueueConfiguration(boolean sizeMetricsEnabled) {
+    private RabbitMQMailQueueConfiguration(boolean sizeMetricsEnabled, int dequeueBatchSize) {
         this.sizeMetricsEnabled = sizeMetricsEnabled;
+        this.dequeueBatchSize = dequeueBatchSize;
     }
 
     public boolean isSizeMetricsEnabled() {
         return sizeMetricsEnabled;
     }
 
+    public int getDequeueBatchSize() {
+        return dequeueBatchSize;
+    }
+
     @Override
     public final boolean equals(Object o) {
         if (o instanceof RabbitMQMailQueueConfiguration) {
             RabbitMQMailQueueConfiguration that = (RabbitMQMailQueueConfiguration) o;
 
-            return Objects.equals(this.sizeMetricsEnabled, that.sizeMetricsEnabled);
+            return Objects.equals(this.sizeMetricsEnabled, that.sizeMetricsEnabled)
+                && Objects.equals(this.dequeueBatchSize, that.dequeueBatchSize);
         }
         return false;
     }
 
     @Override
     public final int hashCode() {
-        return Objects.hash(sizeMetricsEnabled);
+        return Objects.hash(sizeMetricsEnabled, dequeueBatchSize);
     }
 }
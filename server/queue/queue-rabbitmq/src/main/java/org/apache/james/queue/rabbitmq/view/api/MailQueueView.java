@@ -19,11 +19,14 @@
 
 package org.apache.james.queue.rabbitmq.view.api;
 
+import java.util.Collection;
+
 import org.apache.james.queue.api.ManageableMailQueue;
 import org.apache.james.queue.rabbitmq.EnqueueId;
 import org.apache.james.queue.rabbitmq.EnqueuedItem;
 import org.apache.james.queue.rabbitmq.MailQueueName;
 
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 public interface MailQueueView {
@@ -40,6 +43,13 @@ public interface MailQueueView {
 
     Mono<Boolean> isPresent(EnqueueId id);
 
+    /**
+     * Grouped version of {@link #isPresent(EnqueueId)}, answering for several mails with a single lookup.
+     *
+     * @return the given ids that are still present in the queue, in the given order
+     */
+    Flux<EnqueueId> filterPresent(Collection<EnqueueId> ids);
+
     ManageableMailQueue.MailQueueIterator browse();
 
     long getSize();
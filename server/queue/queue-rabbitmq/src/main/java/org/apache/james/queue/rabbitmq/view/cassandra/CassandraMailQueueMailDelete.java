@@ -20,6 +20,7 @@
 package org.apache.james.queue.rabbitmq.view.cassandra;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.concurrent.ThreadLocalRandom;
 
 import javax.inject.Inject;
@@ -28,6 +29,7 @@ import org.apache.james.queue.rabbitmq.EnqueueId;
 import org.apache.james.queue.rabbitmq.MailQueueName;
 import org.apache.james.queue.rabbitmq.view.cassandra.configuration.CassandraMailQueueViewConfiguration;
 
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
 
@@ -59,6 +61,10 @@ public class CassandraMailQueueMailDelete {
         return deletedMailsDao.isDeleted(mailQueueName, enqueueId);
     }
 
+    Flux<EnqueueId> listDeleted(Collection<EnqueueId> enqueueIds, MailQueueName mailQueueName) {
+        return deletedMailsDao.listDeleted(mailQueueName, enqueueIds);
+    }
+
     void updateBrowseStart(MailQueueName mailQueueName) {
         findNewBrowseStart(mailQueueName)
             .flatMap(newBrowseStart -> updateNewBrowseStart(mailQueueName, newBrowseStart))
@@ -19,6 +19,8 @@
 
 package org.apache.james.queue.rabbitmq.view.cassandra;
 
+import java.util.Collection;
+
 import javax.inject.Inject;
 
 import org.apache.james.queue.api.ManageableMailQueue;
@@ -31,6 +33,9 @@ import org.apache.james.queue.rabbitmq.view.cassandra.configuration.CassandraMai
 import org.apache.james.queue.rabbitmq.view.cassandra.configuration.EventsourcingConfigurationManagement;
 import org.apache.james.queue.rabbitmq.view.cassandra.model.EnqueuedItemWithSlicingContext;
 
+import com.google.common.collect.ImmutableSet;
+
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 public class CassandraMailQueueView implements MailQueueView {
@@ -127,4 +132,12 @@ public class CassandraMailQueueView implements MailQueueView {
         return cassandraMailQueueMailDelete.isDeleted(id, mailQueueName)
                 .map(bool -> !bool);
     }
+
+    @Override
+    public Flux<EnqueueId> filterPresent(Collection<EnqueueId> ids) {
+        return cassandraMailQueueMailDelete.listDeleted(ids, mailQueueName)
+            .collect(ImmutableSet.toImmutableSet())
+            .flatMapMany(deleted -> Flux.fromIterable(ids)
+                .filter(id -> !deleted.contains(id)));
+    }
 }
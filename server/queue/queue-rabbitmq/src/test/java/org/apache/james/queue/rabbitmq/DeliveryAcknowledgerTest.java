@@ -0,0 +1,133 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+
+package org.apache.james.queue.rabbitmq;
+
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.rabbitmq.client.Envelope;
+
+import reactor.rabbitmq.AcknowledgableDelivery;
+
+class DeliveryAcknowledgerTest {
+    private static final int MAX_PENDING_ACKS = 2;
+    private static final boolean MULTIPLE = true;
+    private static final boolean REQUEUE = true;
+
+    private DeliveryAcknowledger testee;
+    private AcknowledgableDelivery delivery1;
+    private AcknowledgableDelivery delivery2;
+    private AcknowledgableDelivery delivery3;
+    private AcknowledgableDelivery delivery4;
+
+    @BeforeEach
+    void setUp() {
+        testee = new DeliveryAcknowledger(MAX_PENDING_ACKS);
+        delivery1 = delivery(1);
+        delivery2 = delivery(2);
+        delivery3 = delivery(3);
+        delivery4 = delivery(4);
+        testee.register(delivery1);
+        testee.register(delivery2);
+        testee.register(delivery3);
+        testee.register(delivery4);
+    }
+
+    @Test
+    void ackShouldAcknowledgeContiguousDeliveriesAtOnce() {
+        testee.ack(delivery2);
+        testee.ack(delivery1);
+
+        verify(delivery2).ack(MULTIPLE);
+        verifyNotSettled(delivery1);
+    }
+
+    @Test
+    void ackShouldWaitForPreviousDeliveries() {
+        testee.ack(delivery2);
+
+        verifyNotSettled(delivery1);
+        verifyNotSettled(delivery2);
+    }
+
+    @Test
+    void nackShouldBeSentIndividually() {
+        testee.nack(delivery2, REQUEUE);
+
+        verify(delivery2).nack(REQUEUE);
+        verifyNotSettled(delivery1);
+    }
+
+    @Test
+    void ackShouldSkipOverNackedDeliveries() {
+        testee.ack(delivery1);
+        testee.nack(delivery2, REQUEUE);
+        testee.ack(delivery3);
+
+        verify(delivery1).ack(MULTIPLE);
+        verify(delivery2).nack(REQUEUE);
+        verify(delivery3).ack(MULTIPLE);
+    }
+
+    @Test
+    void ackShouldAcknowledgeIndividuallyWhenTooManyAreWaiting() {
+        testee.ack(delivery2);
+        testee.ack(delivery3);
+        testee.ack(delivery4);
+
+        verify(delivery2).ack();
+        verify(delivery3).ack();
+        verify(delivery4).ack();
+        verifyNotSettled(delivery1);
+    }
+
+    @Test
+    void ackShouldNotAcknowledgeAgainDeliveriesAcknowledgedIndividually() {
+        testee.ack(delivery2);
+        testee.ack(delivery3);
+        testee.ack(delivery4);
+        testee.ack(delivery1);
+
+        verify(delivery1).ack(MULTIPLE);
+        verify(delivery2).ack();
+        verify(delivery3).ack();
+        verify(delivery4).ack();
+    }
+
+    private void verifyNotSettled(AcknowledgableDelivery delivery) {
+        verify(delivery, never()).ack();
+        verify(delivery, never()).ack(anyBoolean());
+        verify(delivery, never()).nack(anyBoolean());
+        verify(delivery, never()).nack(anyBoolean(), anyBoolean());
+    }
+
+    private AcknowledgableDelivery delivery(long tag) {
+        AcknowledgableDelivery delivery = mock(AcknowledgableDelivery.class);
+        when(delivery.getEnvelope()).thenReturn(new Envelope(tag, false, "exchange", "routingKey"));
+        return delivery;
+    }
+}
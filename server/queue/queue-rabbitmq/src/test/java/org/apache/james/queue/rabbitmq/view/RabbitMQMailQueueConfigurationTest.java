@@ -20,6 +20,7 @@
 package org.apache.james.queue.rabbitmq.view;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import org.apache.commons.configuration2.PropertiesConfiguration;
 import org.junit.jupiter.api.Test;
@@ -49,4 +50,26 @@ class RabbitMQMailQueueConfigurationTest {
         assertThat(actual.isSizeMetricsEnabled())
             .isEqualTo(false);
     }
+
+    @Test
+    void fromShouldReturnConfiguredDequeueBatchSize() {
+        PropertiesConfiguration configuration = new PropertiesConfiguration();
+        configuration.addProperty(RabbitMQMailQueueConfiguration.DEQUEUE_BATCH_SIZE_PROPERTY, 32);
+        RabbitMQMailQueueConfiguration actual = RabbitMQMailQueueConfiguration.from(configuration);
+
+        assertThat(actual.getDequeueBatchSize())
+            .isEqualTo(32);
+    }
+
+    @Test
+    void dequeueBatchSizeShouldDefaultToOne() {
+        assertThat(RabbitMQMailQueueConfiguration.sizeMetricsEnabled().getDequeueBatchSize())
+            .isEqualTo(1);
+    }
+
+    @Test
+    void buildShouldThrowOnZeroDequeueBatchSize() {
+        assertThatThrownBy(() -> RabbitMQMailQueueConfiguration.builder().dequeueBatchSize(0).build())
+            .isInstanceOf(IllegalArgumentException.class);
+    }
 }
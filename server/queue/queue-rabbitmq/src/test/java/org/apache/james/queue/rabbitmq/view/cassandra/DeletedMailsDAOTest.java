@@ -31,6 +31,8 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.RegisterExtension;
 
+import com.google.common.collect.ImmutableList;
+
 class DeletedMailsDAOTest {
 
     private static final MailQueueName OUT_GOING_1 = MailQueueName.fromString("OUT_GOING_1");
@@ -110,4 +112,21 @@ class DeletedMailsDAOTest {
 
         assertThat(isDeleted).isTrue();
     }
+
+    @Test
+    void listDeletedShouldReturnEmptyWhenNoIds() {
+        testee.markAsDeleted(OUT_GOING_1, ENQUEUE_ID_1).block();
+
+        assertThat(testee.listDeleted(OUT_GOING_1, ImmutableList.of()).collectList().block())
+            .isEmpty();
+    }
+
+    @Test
+    void listDeletedShouldReturnOnlyDeletedIdsOfTheQueue() {
+        testee.markAsDeleted(OUT_GOING_1, ENQUEUE_ID_1).block();
+        testee.markAsDeleted(OUT_GOING_2, ENQUEUE_ID_2).block();
+
+        assertThat(testee.listDeleted(OUT_GOING_1, ImmutableList.of(ENQUEUE_ID_1, ENQUEUE_ID_2)).collectList().block())
+            .containsOnly(ENQUEUE_ID_1);
+    }
 }
\ No newline at end of file
@@ -124,18 +124,20 @@ public class RabbitMQWorkQueue implements WorkQueue {
         receiver = receiverProvider.createReceiver();
         receiverHandle = receiver.consumeManualAck(QUEUE_NAME, new ConsumeOptions())
             .subscribeOn(Schedulers.elastic())
-            .concatMap(this::executeTask)
+            .flatMap(this::executeTask, worker.capacity())
             .subscribe();
     }
 
+    /**
+     * A task waiting for a slot of the worker is left unacknowledged, so that it is delivered again should this node
+     * stop. It is acknowledged once it starts, or once it is done without having started.
+     */
     private Mono<Task.Result> executeTask(AcknowledgableDelivery delivery) {
         TaskId taskId = TaskId.fromString(delivery.getProperties().getHeaders().get(TASK_ID).toString());
-        return Mono.fromCallable(() -> {
-            delivery.ack();
-            return new String(delivery.getBody(), StandardCharsets.UTF_8);
-        }).flatMap(json ->
-            deserialize(json, taskId)
-                .flatMap(task -> executeOnWorker(taskId, task)));
+        String json = new String(delivery.getBody(), StandardCharsets.UTF_8);
+        return deserialize(json, taskId)
+            .flatMap(task -> executeOnWorker(taskId, task, delivery::ack))
+            .doOnTerminate(delivery::ack);
     }
 
     private Mono<Task> deserialize(String json, TaskId taskId) {
@@ -148,8 +150,8 @@ public class RabbitMQWorkQueue implements WorkQueue {
             .onErrorResume(error -> Mono.empty());
     }
 
-    private Mono<Task.Result> executeOnWorker(TaskId taskId, Task task) {
-        return worker.executeTask(new TaskWithId(taskId, task))
+    private Mono<Task.Result> executeOnWorker(TaskId taskId, Task task, Runnable onStart) {
+        return worker.executeTask(new TaskWithId(taskId, task), onStart)
             .doOnError(error -> {
                 String errorMessage = String.format("Unable to run submitted Task %s", taskId.asString());
                 LOGGER.warn(errorMessage, error);
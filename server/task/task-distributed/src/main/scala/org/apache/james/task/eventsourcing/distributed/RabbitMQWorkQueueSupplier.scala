@@ -19,13 +19,14 @@
 package org.apache.james.task.eventsourcing.distributed
 
 import java.time.Duration
+import java.util.Optional
 
 import javax.inject.Inject
 
 import org.apache.james.backends.rabbitmq.ReceiverProvider
 import org.apache.james.eventsourcing.EventSourcingSystem
 import org.apache.james.server.task.json.JsonTaskSerializer
-import org.apache.james.task.SerialTaskManagerWorker
+import org.apache.james.task.{ConcurrentTaskManagerWorker, ConcurrentWorkerConfiguration, SerialTaskManagerWorker, TaskManagerWorker}
 import org.apache.james.task.eventsourcing.{WorkQueueSupplier, WorkerStatusListener}
 
 import com.google.common.annotations.VisibleForTesting
@@ -33,7 +34,11 @@ import reactor.rabbitmq.Sender
 
 class RabbitMQWorkQueueSupplier @Inject()(private val sender: Sender,
                                           private val receiverProvider: ReceiverProvider,
-                                          private val jsonTaskSerializer: JsonTaskSerializer) extends WorkQueueSupplier {
+                                          private val jsonTaskSerializer: JsonTaskSerializer,
+                                          private val workerConfiguration: Optional[ConcurrentWorkerConfiguration]) extends WorkQueueSupplier {
+
+  def this(sender: Sender, receiverProvider: ReceiverProvider, jsonTaskSerializer: JsonTaskSerializer) =
+    this(sender, receiverProvider, jsonTaskSerializer, Optional.empty[ConcurrentWorkerConfiguration]())
 
   val DEFAULT_ADDITIONAL_INFORMATION_POLLING_INTERVAL =  Duration.ofSeconds(30)
   override def apply(eventSourcingSystem: EventSourcingSystem): RabbitMQWorkQueue = {
@@ -42,9 +47,21 @@ class RabbitMQWorkQueueSupplier @Inject()(private val sender: Sender,
 
   @VisibleForTesting
   def apply(eventSourcingSystem: EventSourcingSystem, additionalInformationPollingInterval: Duration): RabbitMQWorkQueue = {
+    if (workerConfiguration.isPresent) {
+      apply(eventSourcingSystem, additionalInformationPollingInterval, workerConfiguration.get())
+    } else {
+      val listener = WorkerStatusListener(eventSourcingSystem)
+      val worker = new SerialTaskManagerWorker(listener, additionalInformationPollingInterval)
+      newWorkQueue(worker)
+    }
+  }
+
+  def apply(eventSourcingSystem: EventSourcingSystem, additionalInformationPollingInterval: Duration, workerConfiguration: ConcurrentWorkerConfiguration): RabbitMQWorkQueue = {
     val listener = WorkerStatusListener(eventSourcingSystem)
-    val worker = new SerialTaskManagerWorker(listener, additionalInformationPollingInterval)
-    val rabbitMQWorkQueue = new RabbitMQWorkQueue(worker, sender, receiverProvider, jsonTaskSerializer)
-    rabbitMQWorkQueue
+    val worker = new ConcurrentTaskManagerWorker(listener, additionalInformationPollingInterval, workerConfiguration)
+    newWorkQueue(worker)
   }
+
+  private def newWorkQueue(worker: TaskManagerWorker): RabbitMQWorkQueue =
+    new RabbitMQWorkQueue(worker, sender, receiverProvider, jsonTaskSerializer)
 }
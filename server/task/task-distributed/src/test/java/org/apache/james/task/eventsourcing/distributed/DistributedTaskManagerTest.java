@@ -38,6 +38,7 @@ import org.apache.james.backends.rabbitmq.ReceiverProvider;
 import org.apache.james.eventsourcing.Event;
 import org.apache.james.eventsourcing.EventSourcingSystem;
 import org.apache.james.eventsourcing.eventstore.EventStore;
+import org.apache.james.eventsourcing.eventstore.SnapshotStore;
 import org.apache.james.eventsourcing.eventstore.cassandra.CassandraEventStoreExtension;
 import org.apache.james.eventsourcing.eventstore.cassandra.CassandraEventStoreModule;
 import org.apache.james.eventsourcing.eventstore.cassandra.JsonEventSerializer;
@@ -157,17 +158,19 @@ class DistributedTaskManagerTest implements TaskManagerContract {
 
     TrackedRabbitMQWorkQueueSupplier workQueueSupplier;
     EventStore eventStore;
+    SnapshotStore snapshotStore;
     List<RabbitMQTerminationSubscriber> terminationSubscribers;
     TaskExecutionDetailsProjection executionDetailsProjection;
     JsonEventSerializer eventSerializer;
 
     @BeforeEach
-    void setUp(EventStore eventStore) {
+    void setUp(EventStore eventStore, SnapshotStore snapshotStore) {
         CassandraCluster cassandra = CASSANDRA_CLUSTER.getCassandraCluster();
         CassandraTaskExecutionDetailsProjectionDAO projectionDAO = new CassandraTaskExecutionDetailsProjectionDAO(cassandra.getConf(), cassandra.getTypesProvider(), JSON_TASK_ADDITIONAL_INFORMATION_SERIALIZER);
         this.executionDetailsProjection = new CassandraTaskExecutionDetailsProjection(projectionDAO);
         this.workQueueSupplier = new TrackedRabbitMQWorkQueueSupplier(rabbitMQExtension.getSender(), rabbitMQExtension.getReceiverProvider(), taskSerializer);
         this.eventStore = eventStore;
+        this.snapshotStore = snapshotStore;
         this.terminationSubscribers = new ArrayList<>();
         this.eventSerializer = JsonEventSerializer.forModules(eventDtoModule).withoutNestedType();
     }
@@ -186,7 +189,7 @@ class DistributedTaskManagerTest implements TaskManagerContract {
         RabbitMQTerminationSubscriber terminationSubscriber = new RabbitMQTerminationSubscriber(rabbitMQExtension.getSender(), rabbitMQExtension.getReceiverProvider(), eventSerializer);
         terminationSubscribers.add(terminationSubscriber);
         terminationSubscriber.start();
-        return new EventSourcingTaskManager(workQueueSupplier, eventStore, executionDetailsProjection, hostname, terminationSubscriber);
+        return new EventSourcingTaskManager(workQueueSupplier, eventStore, snapshotStore, executionDetailsProjection, hostname, terminationSubscriber);
     }
 
     @Test
@@ -0,0 +1,308 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+
+package org.apache.james.task;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.james.util.concurrent.NamedThreadFactory;
+
+import com.google.common.collect.HashMultiset;
+import com.google.common.collect.Multiset;
+import com.google.common.collect.Sets;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+/**
+ * Runs up to {@link ConcurrentWorkerConfiguration#getMaxConcurrentTasks()} tasks at the same time, and no more than the
+ * concurrency limit of their {@link TaskType}. Tasks waiting for a slot are started by decreasing priority, then in
+ * submission order.
+ */
+public class ConcurrentTaskManagerWorker implements TaskManagerWorker {
+
+    /**
+     * A running task can be reported cancelled both by its interrupted thread and by its cancelled future: only the
+     * first terminal status of a task is forwarded.
+     */
+    private static class TerminalStatusOnceListener implements Listener {
+        private final Listener listener;
+        private final AtomicBoolean terminated;
+
+        private TerminalStatusOnceListener(Listener listener) {
+            this.listener = listener;
+            this.terminated = new AtomicBoolean(false);
+        }
+
+        private boolean terminate() {
+            return terminated.compareAndSet(false, true);
+        }
+
+        @Override
+        public void started(TaskId taskId) {
+            listener.started(taskId);
+        }
+
+        @Override
+        public void completed(TaskId taskId, Task.Result result, Optional<TaskExecutionDetails.AdditionalInformation> additionalInformation) {
+            if (terminate()) {
+                listener.completed(taskId, result, additionalInformation);
+            }
+        }
+
+        @Override
+        public void failed(TaskId taskId, Optional<TaskExecutionDetails.AdditionalInformation> additionalInformation, String errorMessage, Throwable t) {
+            if (terminate()) {
+                listener.failed(taskId, additionalInformation, errorMessage, t);
+            }
+        }
+
+        @Override
+        public void failed(TaskId taskId, Optional<TaskExecutionDetails.AdditionalInformation> additionalInformation, Throwable t) {
+            if (terminate()) {
+                listener.failed(taskId, additionalInformation, t);
+            }
+        }
+
+        @Override
+        public void failed(TaskId taskId, Optional<TaskExecutionDetails.AdditionalInformation> additionalInformation) {
+            if (terminate()) {
+                listener.failed(taskId, additionalInformation);
+            }
+        }
+
+        @Override
+        public void cancelled(TaskId taskId, Optional<TaskExecutionDetails.AdditionalInformation> additionalInformation) {
+            if (terminate()) {
+                listener.cancelled(taskId, additionalInformation);
+            }
+        }
+
+        @Override
+        public void updated(TaskId taskId, TaskExecutionDetails.AdditionalInformation additionalInformation) {
+            listener.updated(taskId, additionalInformation);
+        }
+    }
+
+    private static class WaitingTask {
+        private final TaskWithId taskWithId;
+        private final ConcurrentWorkerConfiguration.Priority priority;
+        private final long sequence;
+        private final Runnable onStart;
+        private final Listener listener;
+        private final TaskRunner taskRunner;
+        private final CompletableFuture<Task.Result> result;
+        private volatile boolean started;
+        private Disposable informationPolling;
+
+        private WaitingTask(TaskWithId taskWithId, ConcurrentWorkerConfiguration.Priority priority, long sequence,
+                            Runnable onStart, Listener listener, Duration pollingInterval) {
+            this.taskWithId = taskWithId;
+            this.priority = priority;
+            this.sequence = sequence;
+            this.onStart = onStart;
+            this.listener = new TerminalStatusOnceListener(listener);
+            this.taskRunner = new TaskRunner(this.listener, pollingInterval);
+            this.result = new CompletableFuture<>();
+        }
+
+        private TaskId getId() {
+            return taskWithId.getId();
+        }
+
+        private TaskType getType() {
+            return taskWithId.getTask().type();
+        }
+    }
+
+    private static final Comparator<WaitingTask> EXECUTION_ORDER = Comparator
+        .comparing((WaitingTask task) -> task.priority, Comparator.reverseOrder())
+        .thenComparingLong(task -> task.sequence);
+
+    private final ExecutorService taskExecutor;
+    private final Listener listener;
+    private final Duration pollingInterval;
+    private final ConcurrentWorkerConfiguration configuration;
+    private final AtomicLong sequence;
+    private final Set<TaskId> cancelledTasks;
+    private final NavigableSet<WaitingTask> waitingTasks;
+    private final Map<TaskId, Future<Task.Result>> runningTasks;
+    private final Multiset<TaskType> runningTaskTypes;
+
+    public ConcurrentTaskManagerWorker(Listener listener, Duration pollingInterval, ConcurrentWorkerConfiguration configuration) {
+        this.taskExecutor = Executors.newCachedThreadPool(NamedThreadFactory.withName("task executor"));
+        this.listener = listener;
+        this.pollingInterval = pollingInterval;
+        this.configuration = configuration;
+        this.sequence = new AtomicLong();
+        this.cancelledTasks = Sets.newConcurrentHashSet();
+        this.waitingTasks = new TreeSet<>(EXECUTION_ORDER);
+        this.runningTasks = new HashMap<>();
+        this.runningTaskTypes = HashMultiset.create();
+    }
+
+    @Override
+    public Mono<Task.Result> executeTask(TaskWithId taskWithId) {
+        return executeTask(taskWithId, () -> { });
+    }
+
+    @Override
+    public Mono<Task.Result> executeTask(TaskWithId taskWithId, Runnable onStart) {
+        if (cancelledTasks.remove(taskWithId.getId())) {
+            listener.cancelled(taskWithId.getId(), taskWithId.getTask().details());
+            return Mono.empty();
+        }
+
+        WaitingTask task = new WaitingTask(taskWithId, configuration.priority(taskWithId.getTask().type()), sequence.incrementAndGet(),
+            onStart, listener, pollingInterval);
+        synchronized (this) {
+            waitingTasks.add(task);
+            startWaitingTasks();
+        }
+        return Mono.fromFuture(task.result)
+            .doOnError(exception -> task.taskRunner.handleExecutionError(taskWithId, exception))
+            .onErrorReturn(Task.Result.PARTIAL);
+    }
+
+    @Override
+    public int capacity() {
+        return configuration.getMaxConcurrentTasks() + configuration.getMaxWaitingTasks();
+    }
+
+    private synchronized void startWaitingTasks() {
+        Iterator<WaitingTask> iterator = waitingTasks.iterator();
+        while (!taskExecutor.isShutdown() && runningTasks.size() < configuration.getMaxConcurrentTasks() && iterator.hasNext()) {
+            WaitingTask task = iterator.next();
+            if (runningTaskTypes.count(task.getType()) < configuration.concurrencyLimit(task.getType())) {
+                iterator.remove();
+                start(task);
+            }
+        }
+    }
+
+    private void start(WaitingTask task) {
+        FutureTask<Task.Result> future = new FutureTask<Task.Result>(() -> run(task)) {
+            @Override
+            protected void done() {
+                onTaskDone(task, this);
+            }
+        };
+        runningTasks.put(task.getId(), future);
+        runningTaskTypes.add(task.getType());
+        task.informationPolling = task.taskRunner.pollAdditionalInformation(task.taskWithId).subscribe();
+        taskExecutor.execute(future);
+    }
+
+    private Task.Result run(WaitingTask task) {
+        task.started = true;
+        try {
+            task.onStart.run();
+            return task.taskRunner.runWithMdc(task.taskWithId);
+        } finally {
+            release(task);
+        }
+    }
+
+    /**
+     * A cancelled task is reported as soon as it is interrupted, but keeps its slot until its thread is done with it.
+     */
+    private void onTaskDone(WaitingTask task, Future<Task.Result> future) {
+        synchronized (this) {
+            task.informationPolling.dispose();
+        }
+        complete(task.result, future);
+        if (!task.started) {
+            release(task);
+        }
+    }
+
+    private void release(WaitingTask task) {
+        synchronized (this) {
+            if (runningTasks.remove(task.getId()) == null) {
+                return;
+            }
+            runningTaskTypes.remove(task.getType());
+        }
+        startWaitingTasks();
+    }
+
+    private void complete(CompletableFuture<Task.Result> result, Future<Task.Result> future) {
+        try {
+            result.complete(future.get());
+        } catch (CancellationException e) {
+            result.completeExceptionally(e);
+        } catch (ExecutionException e) {
+            result.completeExceptionally(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.completeExceptionally(e);
+        }
+    }
+
+    @Override
+    public void cancelTask(TaskId taskId) {
+        Optional<WaitingTask> waitingTask;
+        Optional<Future<Task.Result>> runningTask;
+        synchronized (this) {
+            waitingTask = waitingTasks.stream()
+                .filter(task -> task.getId().equals(taskId))
+                .findFirst();
+            waitingTask.ifPresent(waitingTasks::remove);
+            runningTask = Optional.ofNullable(runningTasks.get(taskId));
+            if (!waitingTask.isPresent() && !runningTask.isPresent()) {
+                cancelledTasks.add(taskId);
+            }
+        }
+
+        waitingTask.ifPresent(task -> {
+            task.listener.cancelled(taskId, task.taskWithId.getTask().details());
+            task.result.complete(null);
+        });
+        runningTask.ifPresent(future -> future.cancel(true));
+    }
+
+    @Override
+    public void fail(TaskId taskId, Optional<TaskExecutionDetails.AdditionalInformation> additionalInformation, String errorMessage, Throwable reason) {
+        listener.failed(taskId, additionalInformation, errorMessage, reason);
+    }
+
+    @Override
+    public void close() throws IOException {
+        taskExecutor.shutdownNow();
+    }
+}
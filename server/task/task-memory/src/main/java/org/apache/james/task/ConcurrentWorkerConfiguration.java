@@ -0,0 +1,180 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+
+package org.apache.james.task;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+import org.apache.commons.configuration2.Configuration;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableMap;
+
+public class ConcurrentWorkerConfiguration {
+    public enum Priority {
+        LOW,
+        NORMAL,
+        HIGH
+    }
+
+    public static class Builder {
+        private Optional<Integer> maxConcurrentTasks;
+        private Optional<Integer> maxWaitingTasks;
+        private final ImmutableMap.Builder<TaskType, Integer> concurrencyLimits;
+        private final ImmutableMap.Builder<TaskType, Priority> priorities;
+
+        private Builder() {
+            maxConcurrentTasks = Optional.empty();
+            maxWaitingTasks = Optional.empty();
+            concurrencyLimits = ImmutableMap.builder();
+            priorities = ImmutableMap.builder();
+        }
+
+        public Builder maxConcurrentTasks(int maxConcurrentTasks) {
+            this.maxConcurrentTasks = Optional.of(maxConcurrentTasks);
+            return this;
+        }
+
+        public Builder maxWaitingTasks(int maxWaitingTasks) {
+            this.maxWaitingTasks = Optional.of(maxWaitingTasks);
+            return this;
+        }
+
+        public Builder concurrencyLimit(TaskType taskType, int limit) {
+            Preconditions.checkArgument(limit > 0, "concurrency limit of %s needs to be strictly positive", taskType.asString());
+            this.concurrencyLimits.put(taskType, limit);
+            return this;
+        }
+
+        public Builder priority(TaskType taskType, Priority priority) {
+            this.priorities.put(taskType, priority);
+            return this;
+        }
+
+        public ConcurrentWorkerConfiguration build() {
+            Preconditions.checkState(maxConcurrentTasks.isPresent(), "'maxConcurrentTasks' is mandatory");
+            Preconditions.checkState(maxConcurrentTasks.get() > 0, "'maxConcurrentTasks' needs to be strictly positive");
+            Preconditions.checkState(maxWaitingTasks.orElse(DEFAULT_MAX_WAITING_TASKS) >= 0, "'maxWaitingTasks' should not be negative");
+
+            return new ConcurrentWorkerConfiguration(
+                maxConcurrentTasks.get(),
+                maxWaitingTasks.orElse(DEFAULT_MAX_WAITING_TASKS),
+                concurrencyLimits.build(),
+                priorities.build());
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Tasks are run one after the other unless {@code maxConcurrentTasks} is configured.
+     */
+    public static Optional<ConcurrentWorkerConfiguration> from(Configuration configuration) {
+        return Optional.ofNullable(configuration.getInteger(MAX_CONCURRENT_TASKS_PROPERTY, null))
+            .map(maxConcurrentTasks -> from(configuration, maxConcurrentTasks));
+    }
+
+    private static ConcurrentWorkerConfiguration from(Configuration configuration, int maxConcurrentTasks) {
+        Builder builder = builder().maxConcurrentTasks(maxConcurrentTasks);
+        Optional.ofNullable(configuration.getInteger(MAX_WAITING_TASKS_PROPERTY, null))
+            .ifPresent(builder::maxWaitingTasks);
+        configuration.getKeys(CONCURRENCY_LIMIT_PROPERTY_PREFIX)
+            .forEachRemaining(key -> builder.concurrencyLimit(taskType(key, CONCURRENCY_LIMIT_PROPERTY_PREFIX), configuration.getInt(key)));
+        configuration.getKeys(PRIORITY_PROPERTY_PREFIX)
+            .forEachRemaining(key -> builder.priority(taskType(key, PRIORITY_PROPERTY_PREFIX), Priority.valueOf(configuration.getString(key).toUpperCase(Locale.US))));
+        return builder.build();
+    }
+
+    private static TaskType taskType(String key, String prefix) {
+        return TaskType.of(key.substring(prefix.length() + 1));
+    }
+
+    static final int DEFAULT_MAX_WAITING_TASKS = 16;
+    static final String MAX_CONCURRENT_TASKS_PROPERTY = "maxConcurrentTasks";
+    static final String MAX_WAITING_TASKS_PROPERTY = "maxWaitingTasks";
+    static final String CONCURRENCY_LIMIT_PROPERTY_PREFIX = "concurrencyLimit";
+    static final String PRIORITY_PROPERTY_PREFIX = "priority";
+
+    private final int maxConcurrentTasks;
+    private final int maxWaitingTasks;
+    private final Map<TaskType, Integer> concurrencyLimits;
+    private final Map<TaskType, Priority> priorities;
+
+    private ConcurrentWorkerConfiguration(int maxConcurrentTasks, int maxWaitingTasks, Map<TaskType, Integer> concurrencyLimits, Map<TaskType, Priority> priorities) {
+        this.maxConcurrentTasks = maxConcurrentTasks;
+        this.maxWaitingTasks = maxWaitingTasks;
+        this.concurrencyLimits = concurrencyLimits;
+        this.priorities = priorities;
+    }
+
+    public int getMaxConcurrentTasks() {
+        return maxConcurrentTasks;
+    }
+
+    /**
+     * Tasks handed over to the worker while all its slots are busy. Only those tasks are ordered by priority: the
+     * following ones stay in the work queue.
+     */
+    public int getMaxWaitingTasks() {
+        return maxWaitingTasks;
+    }
+
+    public int concurrencyLimit(TaskType taskType) {
+        return concurrencyLimits.getOrDefault(taskType, maxConcurrentTasks);
+    }
+
+    public Priority priority(TaskType taskType) {
+        return priorities.getOrDefault(taskType, Priority.NORMAL);
+    }
+
+    @Override
+    public final boolean equals(Object o) {
+        if (o instanceof ConcurrentWorkerConfiguration) {
+            ConcurrentWorkerConfiguration that = (ConcurrentWorkerConfiguration) o;
+
+            return Objects.equals(this.maxConcurrentTasks, that.maxConcurrentTasks)
+                && Objects.equals(this.maxWaitingTasks, that.maxWaitingTasks)
+                && Objects.equals(this.concurrencyLimits, that.concurrencyLimits)
+                && Objects.equals(this.priorities, that.priorities);
+        }
+        return false;
+    }
+
+    @Override
+    public final int hashCode() {
+        return Objects.hash(maxConcurrentTasks, maxWaitingTasks, concurrencyLimits, priorities);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+            .add("maxConcurrentTasks", maxConcurrentTasks)
+            .add("maxWaitingTasks", maxWaitingTasks)
+            .add("concurrencyLimits", concurrencyLimits)
+            .add("priorities", priorities)
+            .toString();
+    }
+}
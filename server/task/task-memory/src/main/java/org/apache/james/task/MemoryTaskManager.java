@@ -102,11 +102,21 @@ public class MemoryTaskManager implements TaskManager {
     private final TaskManagerWorker worker;
     private final ConcurrentHashMap<TaskId, TaskExecutionDetails> idToExecutionDetails;
 
-    @Inject
     public MemoryTaskManager(Hostname hostname) {
+        this(hostname, Optional.empty());
+    }
+
+    public MemoryTaskManager(Hostname hostname, ConcurrentWorkerConfiguration workerConfiguration) {
+        this(hostname, Optional.of(workerConfiguration));
+    }
+
+    @Inject
+    public MemoryTaskManager(Hostname hostname, Optional<ConcurrentWorkerConfiguration> workerConfiguration) {
         this.hostname = hostname;
         this.idToExecutionDetails = new ConcurrentHashMap<>();
-        this.worker = new SerialTaskManagerWorker(updater(), UPDATE_INFORMATION_POLLING_DURATION);
+        this.worker = workerConfiguration
+            .<TaskManagerWorker>map(configuration -> new ConcurrentTaskManagerWorker(updater(), UPDATE_INFORMATION_POLLING_DURATION, configuration))
+            .orElseGet(() -> new SerialTaskManagerWorker(updater(), UPDATE_INFORMATION_POLLING_DURATION));
         workQueue = new MemoryWorkQueue(worker);
     }
 
@@ -37,7 +37,7 @@ public class MemoryWorkQueue implements WorkQueue {
         this.subscription = tasks
             .subscribeOn(Schedulers.elastic())
             .limitRate(1)
-            .concatMap(this::dispatchTaskToWorker)
+            .flatMap(this::dispatchTaskToWorker, worker.capacity())
             .subscribe();
     }
 
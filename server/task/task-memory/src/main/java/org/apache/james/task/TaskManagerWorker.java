@@ -43,6 +43,23 @@ public interface TaskManagerWorker extends Closeable {
 
     Mono<Task.Result> executeTask(TaskWithId taskWithId);
 
+    /**
+     * Executes the task, calling {@code onStart} once it stops waiting for a slot and right before it runs.
+     */
+    default Mono<Task.Result> executeTask(TaskWithId taskWithId, Runnable onStart) {
+        return Mono.defer(() -> {
+            onStart.run();
+            return executeTask(taskWithId);
+        });
+    }
+
+    /**
+     * Number of tasks a {@link WorkQueue} can hand over to this worker before the previous ones are done.
+     */
+    default int capacity() {
+        return 1;
+    }
+
     void cancelTask(TaskId taskId);
 
     void fail(TaskId taskId, Optional<TaskExecutionDetails.AdditionalInformation> additionalInformation, String errorMessage, Throwable reason);
@@ -0,0 +1,101 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+
+package org.apache.james.task;
+
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+
+import org.apache.james.util.MDCBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Throwables;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+class TaskRunner {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TaskRunner.class);
+
+    private final TaskManagerWorker.Listener listener;
+    private final Duration pollingInterval;
+
+    TaskRunner(TaskManagerWorker.Listener listener, Duration pollingInterval) {
+        this.listener = listener;
+        this.pollingInterval = pollingInterval;
+    }
+
+    void handleExecutionError(TaskWithId taskWithId, Throwable exception) {
+        if (exception instanceof CancellationException) {
+            listener.cancelled(taskWithId.getId(), taskWithId.getTask().details());
+        } else {
+            listener.failed(taskWithId.getId(), taskWithId.getTask().details(), exception);
+        }
+    }
+
+    Flux<TaskExecutionDetails.AdditionalInformation> pollAdditionalInformation(TaskWithId taskWithId) {
+        return Mono.fromCallable(() -> taskWithId.getTask().details())
+            .delayElement(pollingInterval, Schedulers.elastic())
+            .repeat()
+            .<TaskExecutionDetails.AdditionalInformation>handle((maybeDetails, sink) -> maybeDetails.ifPresent(sink::next))
+            .doOnNext(information -> listener.updated(taskWithId.getId(), information));
+    }
+
+    Task.Result runWithMdc(TaskWithId taskWithId) {
+        return MDCBuilder.withMdc(
+            MDCBuilder.create()
+                .addContext(Task.TASK_ID, taskWithId.getId())
+                .addContext(Task.TASK_TYPE, taskWithId.getTask().type())
+                .addContext(Task.TASK_DETAILS, taskWithId.getTask().details()),
+            () -> run(taskWithId));
+    }
+
+    private Task.Result run(TaskWithId taskWithId) {
+        listener.started(taskWithId.getId());
+        try {
+            return taskWithId.getTask()
+                .run()
+                .onComplete(result -> listener.completed(taskWithId.getId(), result, taskWithId.getTask().details()))
+                .onFailure(() -> {
+                    LOGGER.error("Task was partially performed. Check logs for more details. Taskid : " + taskWithId.getId());
+                    listener.failed(taskWithId.getId(), taskWithId.getTask().details());
+                });
+        } catch (InterruptedException e) {
+            listener.cancelled(taskWithId.getId(), taskWithId.getTask().details());
+            return Task.Result.PARTIAL;
+        } catch (Exception e) {
+            if (isCausedByInterruption(e)) {
+                listener.cancelled(taskWithId.getId(), taskWithId.getTask().details());
+                return Task.Result.PARTIAL;
+            }
+            LOGGER.error("Error while running task {}", taskWithId.getId(), e);
+            listener.failed(taskWithId.getId(), taskWithId.getTask().details(), e);
+            return Task.Result.PARTIAL;
+        }
+    }
+
+    private boolean isCausedByInterruption(Exception e) {
+        return Throwables.getCausalChain(e)
+            .stream()
+            .anyMatch(InterruptedException.class::isInstance);
+    }
+}
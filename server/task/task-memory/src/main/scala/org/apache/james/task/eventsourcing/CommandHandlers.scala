@@ -20,20 +20,19 @@ package org.apache.james.task.eventsourcing
 
 import java.util
 
-import org.apache.james.eventsourcing.eventstore.History
-import org.apache.james.eventsourcing.{CommandHandler, Event}
+import org.apache.james.eventsourcing.{AggregateHistory, CommandHandler, Event}
 import org.apache.james.task.eventsourcing.TaskCommand._
 import org.apache.james.task.{Hostname, TaskId}
 
 sealed abstract class TaskCommandHandler[T <: TaskCommand] extends CommandHandler[T] {
 
-  def loadAggregate(loadHistory: TaskAggregateId => History, taskId: TaskId): TaskAggregate = {
+  def loadAggregate(loadHistory: TaskAggregateId => AggregateHistory[DecisionProjection], taskId: TaskId): TaskAggregate = {
     val aggregateId = TaskAggregateId(taskId)
-    TaskAggregate.fromHistory(aggregateId, loadHistory(aggregateId))
+    TaskAggregate.fromAggregateHistory(aggregateId, loadHistory(aggregateId))
   }
 }
 
-class CreateCommandHandler(private val loadHistory: TaskAggregateId => History, hostname: Hostname) extends TaskCommandHandler[Create] {
+class CreateCommandHandler(private val loadHistory: TaskAggregateId => AggregateHistory[DecisionProjection], hostname: Hostname) extends TaskCommandHandler[Create] {
   override def handledClass: Class[Create] = classOf[Create]
 
   override def handle(command: Create): List[_ <: Event] = {
@@ -41,7 +40,7 @@ class CreateCommandHandler(private val loadHistory: TaskAggregateId => History,
   }
 }
 
-class StartCommandHandler(private val loadHistory: TaskAggregateId => History,
+class StartCommandHandler(private val loadHistory: TaskAggregateId => AggregateHistory[DecisionProjection],
                           private val hostname: Hostname) extends TaskCommandHandler[Start] {
   override def handledClass: Class[Start] = classOf[Start]
 
@@ -50,7 +49,7 @@ class StartCommandHandler(private val loadHistory: TaskAggregateId => History,
   }
 }
 
-class RequestCancelCommandHandler(private val loadHistory: TaskAggregateId => History,
+class RequestCancelCommandHandler(private val loadHistory: TaskAggregateId => AggregateHistory[DecisionProjection],
                                   private val hostname: Hostname) extends TaskCommandHandler[RequestCancel] {
   override def handledClass: Class[RequestCancel] = classOf[RequestCancel]
 
@@ -59,7 +58,7 @@ class RequestCancelCommandHandler(private val loadHistory: TaskAggregateId => Hi
   }
 }
 
-class CompleteCommandHandler(private val loadHistory: TaskAggregateId => History) extends TaskCommandHandler[Complete] {
+class CompleteCommandHandler(private val loadHistory: TaskAggregateId => AggregateHistory[DecisionProjection]) extends TaskCommandHandler[Complete] {
   override def handledClass: Class[Complete] = classOf[Complete]
 
   override def handle(command: Complete): List[_ <: Event] = {
@@ -67,7 +66,7 @@ class CompleteCommandHandler(private val loadHistory: TaskAggregateId => History
   }
 }
 
-class CancelCommandHandler(private val loadHistory: TaskAggregateId => History) extends TaskCommandHandler[Cancel] {
+class CancelCommandHandler(private val loadHistory: TaskAggregateId => AggregateHistory[DecisionProjection]) extends TaskCommandHandler[Cancel] {
   override def handledClass: Class[Cancel] = classOf[Cancel]
 
   override def handle(command: Cancel): List[_ <: Event] = {
@@ -75,7 +74,7 @@ class CancelCommandHandler(private val loadHistory: TaskAggregateId => History)
   }
 }
 
-class FailCommandHandler(private val loadHistory: TaskAggregateId => History) extends TaskCommandHandler[Fail] {
+class FailCommandHandler(private val loadHistory: TaskAggregateId => AggregateHistory[DecisionProjection]) extends TaskCommandHandler[Fail] {
   override def handledClass: Class[Fail] = classOf[Fail]
 
   override def handle(command: Fail): List[_ <: Event] = {
@@ -83,7 +82,7 @@ class FailCommandHandler(private val loadHistory: TaskAggregateId => History) ex
   }
 }
 
-class UpdateCommandHandler(private val loadHistory: TaskAggregateId => History) extends TaskCommandHandler[UpdateAdditionalInformation] {
+class UpdateCommandHandler(private val loadHistory: TaskAggregateId => AggregateHistory[DecisionProjection]) extends TaskCommandHandler[UpdateAdditionalInformation] {
   override def handledClass: Class[UpdateAdditionalInformation] = classOf[UpdateAdditionalInformation]
 
   override def handle(command: UpdateAdditionalInformation): List[_ <: Event] = {
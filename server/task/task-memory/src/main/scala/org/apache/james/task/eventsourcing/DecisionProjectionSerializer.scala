@@ -0,0 +1,42 @@
+/** **************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ * http://www.apache.org/licenses/LICENSE-2.0                   *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ * ***************************************************************/
+package org.apache.james.task.eventsourcing
+
+import java.time.Instant
+
+import org.apache.james.eventsourcing.SnapshotSerializer
+import org.apache.james.task.TaskManager.Status
+
+/**
+ * Serializes the decision projection of a task as its status, followed by the timestamp of its latest
+ * additional information update when known, eg `inProgress 2020-03-05T10:15:30Z`.
+ */
+object DecisionProjectionSerializer extends SnapshotSerializer[DecisionProjection] {
+  private val SEPARATOR = " "
+
+  override def serialize(decision: DecisionProjection): String =
+    (decision.status.getValue :: decision.latestUpdateAdditionalInformationUpdate.map(_.toString).toList)
+      .mkString(SEPARATOR)
+
+  override def deserialize(payload: String): DecisionProjection = payload.split(SEPARATOR) match {
+    case Array(status) => DecisionProjection(Status.fromString(status), None)
+    case Array(status, timestamp) => DecisionProjection(Status.fromString(status), Some(Instant.parse(timestamp)))
+    case _ => throw new IllegalArgumentException(s"Invalid task decision projection snapshot: '$payload'")
+  }
+}
@@ -25,8 +25,8 @@ import java.util
 import com.google.common.annotations.VisibleForTesting
 import javax.annotation.PreDestroy
 import javax.inject.Inject
-import org.apache.james.eventsourcing.eventstore.{EventStore, History}
-import org.apache.james.eventsourcing.{AggregateId, EventSourcingSystem, Subscriber}
+import org.apache.james.eventsourcing.eventstore.{EventStore, SnapshotStore}
+import org.apache.james.eventsourcing.{AggregateHistory, EventSourcingSystem, SnapshotConfiguration, SnapshotRepository, Subscriber}
 import org.apache.james.lifecycle.api.Startable
 import org.apache.james.task.TaskManager.ReachedTimeoutException
 import org.apache.james.task._
@@ -37,6 +37,7 @@ import reactor.core.scheduler.Schedulers
 class EventSourcingTaskManager @Inject @VisibleForTesting private[eventsourcing](
                                                                                   workQueueSupplier: WorkQueueSupplier,
                                                                                   val eventStore: EventStore,
+                                                                                  snapshotStore: SnapshotStore,
                                                                                   val executionDetailsProjection: TaskExecutionDetailsProjection,
                                                                                   val hostname: Hostname,
                                                                                   val terminationSubscriber: TerminationSubscriber) extends TaskManager with Closeable with Startable {
@@ -52,7 +53,8 @@ class EventSourcingTaskManager @Inject @VisibleForTesting private[eventsourcing]
 
   import scala.jdk.CollectionConverters._
 
-  private val loadHistory: AggregateId => History = eventStore.getEventsOfAggregate _
+  private val snapshotRepository = new SnapshotRepository[DecisionProjection](eventStore, snapshotStore, DecisionProjectionSerializer, SnapshotConfiguration.DEFAULT)
+  private val loadHistory: TaskAggregateId => AggregateHistory[DecisionProjection] = snapshotRepository.load _
   private val eventSourcingSystem = new EventSourcingSystem(
     handlers = Set(
       new CreateCommandHandler(loadHistory, hostname),
@@ -65,7 +67,8 @@ class EventSourcingTaskManager @Inject @VisibleForTesting private[eventsourcing]
     subscribers = Set(
       executionDetailsProjection.asSubscriber(hostname),
       workDispatcher,
-      terminationSubscriber),
+      terminationSubscriber,
+      snapshotRepository.snapshotSubscriber(TaskAggregate.decisionProjection)),
     eventStore = eventStore)
 
   private val workQueue: WorkQueue = workQueueSupplier(eventSourcingSystem)
@@ -19,23 +19,15 @@
 package org.apache.james.task.eventsourcing
 
 import org.apache.james.eventsourcing.eventstore.History
-import org.apache.james.eventsourcing.{Event, EventId}
+import org.apache.james.eventsourcing.{AggregateHistory, Event, EventId}
 import org.apache.james.task.Task.Result
 import org.apache.james.task.TaskExecutionDetails.AdditionalInformation
 import org.apache.james.task.TaskManager.Status
 import org.apache.james.task.{Hostname, Task}
 
-class TaskAggregate private(val aggregateId: TaskAggregateId, private val history: History) {
-
-  val initialEvent = history.getEvents.headOption match {
-    case Some(created @ Created(_, _, _, _)) => created
-    case _ => throw new IllegalArgumentException("History must start with Created event")
-  }
-
-  private val currentDecisionProjection: DecisionProjection = history
-    .getEvents
-    .tail
-    .foldLeft(DecisionProjection.initial(initialEvent))((decision, event) => decision.update(event))
+class TaskAggregate private(val aggregateId: TaskAggregateId,
+                            private val history: History,
+                            private val currentDecisionProjection: DecisionProjection) {
 
   private def createEventIfNotFinished(event: EventId => Event): Option[Event] = {
     if (!currentDecisionProjection.status.isFinished) {
@@ -74,7 +66,25 @@ class TaskAggregate private(val aggregateId: TaskAggregateId, private val histor
 }
 
 object TaskAggregate {
-  def fromHistory(aggregateId: TaskAggregateId, history: History): TaskAggregate = new TaskAggregate(aggregateId, history)
+  def fromHistory(aggregateId: TaskAggregateId, history: History): TaskAggregate =
+    new TaskAggregate(aggregateId, history, decisionProjection(history))
+
+  def fromAggregateHistory(aggregateId: TaskAggregateId, aggregateHistory: AggregateHistory[DecisionProjection]): TaskAggregate =
+    new TaskAggregate(aggregateId, aggregateHistory.history, decisionProjection(aggregateHistory))
+
+  /**
+   * Folds the events following the snapshot, if any, into its decision projection. Without snapshot the
+   * history must start with the Created event.
+   */
+  def decisionProjection(aggregateHistory: AggregateHistory[DecisionProjection]): DecisionProjection =
+    aggregateHistory.snapshot
+      .map(snapshot => aggregateHistory.history.getEvents.foldLeft(snapshot)((decision, event) => decision.update(event)))
+      .getOrElse(decisionProjection(aggregateHistory.history))
+
+  private def decisionProjection(history: History): DecisionProjection = history.getEvents match {
+    case (created: Created) :: events => events.foldLeft(DecisionProjection.initial(created))((decision, event) => decision.update(event))
+    case _ => throw new IllegalArgumentException("History must start with Created event")
+  }
 
   def create(aggregateId: TaskAggregateId, task: Task, hostname: Hostname): List[Event] = {
     List[Event](Created(aggregateId, EventId.first, task, hostname))
@@ -0,0 +1,48 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+
+package org.apache.james.task;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+@ExtendWith(CountDownLatchExtension.class)
+class ConcurrentMemoryTaskManagerTest implements TaskManagerContract {
+
+    private MemoryTaskManager memoryTaskManager;
+
+    @BeforeEach
+    void setUp() {
+        memoryTaskManager = new MemoryTaskManager(new Hostname("foo"), ConcurrentWorkerConfiguration.builder()
+            .maxConcurrentTasks(1)
+            .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        memoryTaskManager.stop();
+    }
+
+    @Override
+    public TaskManager taskManager() {
+        return memoryTaskManager;
+    }
+}
@@ -0,0 +1,337 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+
+package org.apache.james.task;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.notNull;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.ThrowingSupplier;
+
+import com.google.common.collect.ImmutableSet;
+
+import reactor.core.publisher.Mono;
+
+class ConcurrentTaskManagerWorkerTest {
+    private static final Duration UPDATE_INFORMATION_POLLING_DURATION = Duration.ofSeconds(1);
+    private static final TaskType REINDEXING = TaskType.of("reindexing");
+    private static final TaskType CLEAR_QUEUE = TaskType.of("clearQueue");
+    private static final TaskType REDELIVERY = TaskType.of("redelivery");
+    private static final long FIVE_HUNDRED_MS = 500;
+    private static final ImmutableSet<String> TERMINAL_STATUSES = ImmutableSet.of("completed", "failed", "cancelled");
+
+    private static class TypedTask implements Task {
+        private final TaskType type;
+        private final ThrowingSupplier<Result> task;
+
+        TypedTask(TaskType type, ThrowingSupplier<Result> task) {
+            this.type = type;
+            this.task = task;
+        }
+
+        @Override
+        public Result run() throws InterruptedException {
+            try {
+                return task.get();
+            } catch (InterruptedException e) {
+                throw e;
+            } catch (Throwable throwable) {
+                throw new RuntimeException(throwable);
+            }
+        }
+
+        @Override
+        public TaskType type() {
+            return type;
+        }
+
+        @Override
+        public Optional<TaskExecutionDetails.AdditionalInformation> details() {
+            return Optional.empty();
+        }
+    }
+
+    private TaskManagerWorker.Listener listener;
+    private ConcurrentTaskManagerWorker worker;
+    private CountDownLatch latch;
+
+    @BeforeEach
+    void beforeEach() {
+        listener = mock(TaskManagerWorker.Listener.class);
+        latch = new CountDownLatch(1);
+        worker = newWorker(2);
+    }
+
+    private ConcurrentTaskManagerWorker newWorker(int maxConcurrentTasks) {
+        return new ConcurrentTaskManagerWorker(listener, UPDATE_INFORMATION_POLLING_DURATION, ConcurrentWorkerConfiguration.builder()
+            .maxConcurrentTasks(maxConcurrentTasks)
+            .concurrencyLimit(REINDEXING, 1)
+            .priority(CLEAR_QUEUE, ConcurrentWorkerConfiguration.Priority.HIGH)
+            .priority(REDELIVERY, ConcurrentWorkerConfiguration.Priority.LOW)
+            .build());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        latch.countDown();
+        worker.close();
+    }
+
+    private TaskWithId blockingTask(TaskType type) {
+        return new TaskWithId(TaskId.generateTaskId(), new TypedTask(type, () -> {
+            latch.await();
+            return Task.Result.COMPLETED;
+        }));
+    }
+
+    private TaskWithId recordingTask(TaskType type, ConcurrentLinkedQueue<TaskType> startedTypes) {
+        return new TaskWithId(TaskId.generateTaskId(), new TypedTask(type, () -> {
+            startedTypes.add(type);
+            return Task.Result.COMPLETED;
+        }));
+    }
+
+    private void awaitStarted(TaskWithId taskWithId) {
+        Awaitility.waitAtMost(org.awaitility.Duration.TEN_SECONDS)
+            .untilAsserted(() -> verify(listener, atLeastOnce()).started(taskWithId.getId()));
+    }
+
+    @Test
+    void aSuccessfulTaskShouldCompleteSuccessfully() {
+        TaskWithId taskWithId = new TaskWithId(TaskId.generateTaskId(), new CompletedTask());
+
+        assertThat(worker.executeTask(taskWithId).block()).isEqualTo(Task.Result.COMPLETED);
+
+        verify(listener, atLeastOnce()).completed(taskWithId.getId(), Task.Result.COMPLETED, Optional.empty());
+    }
+
+    @Test
+    void aThrowingTaskShouldCompleteWithFailedStatus() {
+        TaskWithId taskWithId = new TaskWithId(TaskId.generateTaskId(), new ThrowingTask());
+
+        assertThat(worker.executeTask(taskWithId).block()).isEqualTo(Task.Result.PARTIAL);
+    }
+
+    @Test
+    void capacityShouldIncludeWaitingTasks() {
+        assertThat(worker.capacity()).isEqualTo(2 + ConcurrentWorkerConfiguration.DEFAULT_MAX_WAITING_TASKS);
+    }
+
+    @Test
+    void tasksShouldRunConcurrently() {
+        TaskWithId first = blockingTask(CLEAR_QUEUE);
+        TaskWithId second = blockingTask(CLEAR_QUEUE);
+
+        worker.executeTask(first).subscribe();
+        worker.executeTask(second).subscribe();
+
+        awaitStarted(first);
+        awaitStarted(second);
+    }
+
+    @Test
+    void aLongTaskShouldNotBlockAnotherTaskType() {
+        TaskWithId reindexing = blockingTask(REINDEXING);
+        worker.executeTask(reindexing).subscribe();
+        awaitStarted(reindexing);
+
+        TaskWithId clearQueue = new TaskWithId(TaskId.generateTaskId(), new CompletedTask());
+
+        assertThat(worker.executeTask(clearQueue).block(Duration.ofSeconds(10))).isEqualTo(Task.Result.COMPLETED);
+    }
+
+    @Test
+    void concurrencyLimitOfATaskTypeShouldBeEnforced() throws Exception {
+        TaskWithId first = blockingTask(REINDEXING);
+        TaskWithId second = blockingTask(REINDEXING);
+        worker.executeTask(first).subscribe();
+        Mono<Task.Result> secondResult = worker.executeTask(second).cache();
+        secondResult.subscribe();
+        awaitStarted(first);
+
+        TimeUnit.MILLISECONDS.sleep(500);
+        verify(listener, never()).started(second.getId());
+
+        latch.countDown();
+        assertThat(secondResult.block(Duration.ofSeconds(10))).isEqualTo(Task.Result.COMPLETED);
+    }
+
+    @Test
+    void maxConcurrentTasksShouldBeEnforced() throws Exception {
+        TaskWithId first = blockingTask(CLEAR_QUEUE);
+        TaskWithId second = blockingTask(CLEAR_QUEUE);
+        TaskWithId third = blockingTask(CLEAR_QUEUE);
+        worker.executeTask(first).subscribe();
+        worker.executeTask(second).subscribe();
+        worker.executeTask(third).subscribe();
+        awaitStarted(first);
+        awaitStarted(second);
+
+        TimeUnit.MILLISECONDS.sleep(500);
+        verify(listener, never()).started(third.getId());
+
+        latch.countDown();
+        awaitStarted(third);
+    }
+
+    @Test
+    void waitingTasksShouldStartByDecreasingPriority() throws Exception {
+        worker.close();
+        worker = newWorker(1);
+        ConcurrentLinkedQueue<TaskType> startedTypes = new ConcurrentLinkedQueue<>();
+        TaskWithId running = blockingTask(CLEAR_QUEUE);
+        worker.executeTask(running).subscribe();
+        awaitStarted(running);
+
+        Mono<Task.Result> redelivery = worker.executeTask(recordingTask(REDELIVERY, startedTypes)).cache();
+        Mono<Task.Result> reindexing = worker.executeTask(recordingTask(REINDEXING, startedTypes)).cache();
+        Mono<Task.Result> clearQueue = worker.executeTask(recordingTask(CLEAR_QUEUE, startedTypes)).cache();
+        latch.countDown();
+        Mono.when(redelivery, reindexing, clearQueue).block(Duration.ofSeconds(10));
+
+        assertThat(startedTypes).containsExactly(CLEAR_QUEUE, REINDEXING, REDELIVERY);
+    }
+
+    @Test
+    void theWorkerShouldCancelAnInProgressTask() {
+        TaskWithId taskWithId = blockingTask(REINDEXING);
+        Mono<Task.Result> resultMono = worker.executeTask(taskWithId).cache();
+        resultMono.subscribe();
+        awaitStarted(taskWithId);
+
+        worker.cancelTask(taskWithId.getId());
+
+        resultMono.block(Duration.ofSeconds(10));
+        verify(listener, atLeastOnce()).cancelled(taskWithId.getId(), Optional.empty());
+    }
+
+    @Test
+    void aCancelledTaskShouldBeReportedCancelledOnce() {
+        TaskWithId taskWithId = blockingTask(REINDEXING);
+        Mono<Task.Result> resultMono = worker.executeTask(taskWithId).cache();
+        resultMono.subscribe();
+        awaitStarted(taskWithId);
+
+        worker.cancelTask(taskWithId.getId());
+
+        resultMono.block(Duration.ofSeconds(10));
+        verify(listener, after(FIVE_HUNDRED_MS).times(1)).cancelled(taskWithId.getId(), Optional.empty());
+    }
+
+    @Test
+    void aTaskIgnoringItsCancellationShouldReportASingleTerminalStatus() {
+        TaskWithId taskWithId = new TaskWithId(TaskId.generateTaskId(), new TypedTask(REINDEXING, () -> {
+            try {
+                latch.await();
+            } catch (InterruptedException e) {
+                // ignored, the task completes anyway
+            }
+            return Task.Result.COMPLETED;
+        }));
+        Mono<Task.Result> resultMono = worker.executeTask(taskWithId).cache();
+        resultMono.subscribe();
+        awaitStarted(taskWithId);
+
+        worker.cancelTask(taskWithId.getId());
+
+        resultMono.block(Duration.ofSeconds(10));
+        Awaitility.await().pollDelay(org.awaitility.Duration.FIVE_HUNDRED_MILLISECONDS)
+            .untilAsserted(() -> assertThat(mockingDetails(listener).getInvocations())
+                .filteredOn(invocation -> TERMINAL_STATUSES.contains(invocation.getMethod().getName()))
+                .hasSize(1));
+    }
+
+    @Test
+    void executeTaskShouldCallOnStartWhenTheTaskStarts() {
+        TaskWithId running = blockingTask(REINDEXING);
+        TaskWithId waiting = blockingTask(REINDEXING);
+        AtomicBoolean waitingStarted = new AtomicBoolean(false);
+        worker.executeTask(running).subscribe();
+        worker.executeTask(waiting, () -> waitingStarted.set(true)).subscribe();
+        awaitStarted(running);
+
+        assertThat(waitingStarted).isFalse();
+
+        latch.countDown();
+
+        awaitStarted(waiting);
+        assertThat(waitingStarted).isTrue();
+    }
+
+    @Test
+    void theWorkerShouldCancelAWaitingTask() {
+        TaskWithId running = blockingTask(REINDEXING);
+        TaskWithId waiting = blockingTask(REINDEXING);
+        worker.executeTask(running).subscribe();
+        Mono<Task.Result> waitingResult = worker.executeTask(waiting).cache();
+        waitingResult.subscribe();
+        awaitStarted(running);
+
+        worker.cancelTask(waiting.getId());
+
+        assertThat(waitingResult.blockOptional(Duration.ofSeconds(10))).isEmpty();
+        verify(listener).cancelled(waiting.getId(), Optional.empty());
+        verify(listener, never()).started(waiting.getId());
+    }
+
+    @Test
+    void aTaskCancelledBeforeItsExecutionShouldNotRun() {
+        TaskWithId taskWithId = new TaskWithId(TaskId.generateTaskId(), new CompletedTask());
+
+        worker.cancelTask(taskWithId.getId());
+
+        assertThat(worker.executeTask(taskWithId).blockOptional()).isEmpty();
+        verify(listener).cancelled(taskWithId.getId(), Optional.empty());
+        verify(listener, never()).started(taskWithId.getId());
+    }
+
+    @Test
+    void aRunningTaskShouldProvideInformationUpdatesDuringExecution() {
+        TaskWithId taskWithId = new TaskWithId(TaskId.generateTaskId(), new MemoryReferenceWithCounterTask(counter -> {
+            counter.incrementAndGet();
+            latch.await();
+            return Task.Result.COMPLETED;
+        }));
+
+        worker.executeTask(taskWithId).subscribe();
+
+        Awaitility.waitAtMost(org.awaitility.Duration.TEN_SECONDS)
+            .untilAsserted(() -> verify(listener, atLeastOnce()).updated(eq(taskWithId.getId()), notNull()));
+    }
+}
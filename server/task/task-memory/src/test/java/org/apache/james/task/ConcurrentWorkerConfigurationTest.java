@@ -0,0 +1,152 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+
+package org.apache.james.task;
+
+import static org.apache.james.task.ConcurrentWorkerConfiguration.DEFAULT_MAX_WAITING_TASKS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.apache.commons.configuration2.PropertiesConfiguration;
+import org.junit.jupiter.api.Test;
+
+import nl.jqno.equalsverifier.EqualsVerifier;
+
+class ConcurrentWorkerConfigurationTest {
+    private static final TaskType TYPE = TaskType.of("type");
+
+    @Test
+    void shouldMatchBeanContract() {
+        EqualsVerifier.forClass(ConcurrentWorkerConfiguration.class)
+            .verify();
+    }
+
+    @Test
+    void buildShouldThrowWhenMaxConcurrentTasksIsMissing() {
+        assertThatThrownBy(() -> ConcurrentWorkerConfiguration.builder().build())
+            .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void buildShouldThrowWhenMaxConcurrentTasksIsZero() {
+        assertThatThrownBy(() -> ConcurrentWorkerConfiguration.builder()
+                .maxConcurrentTasks(0)
+                .build())
+            .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void buildShouldThrowWhenMaxWaitingTasksIsNegative() {
+        assertThatThrownBy(() -> ConcurrentWorkerConfiguration.builder()
+                .maxConcurrentTasks(2)
+                .maxWaitingTasks(-1)
+                .build())
+            .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void concurrencyLimitShouldThrowWhenZero() {
+        assertThatThrownBy(() -> ConcurrentWorkerConfiguration.builder()
+                .concurrencyLimit(TYPE, 0))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void maxWaitingTasksShouldHaveADefaultValue() {
+        assertThat(ConcurrentWorkerConfiguration.builder()
+                .maxConcurrentTasks(2)
+                .build()
+                .getMaxWaitingTasks())
+            .isEqualTo(DEFAULT_MAX_WAITING_TASKS);
+    }
+
+    @Test
+    void concurrencyLimitShouldDefaultToMaxConcurrentTasks() {
+        assertThat(ConcurrentWorkerConfiguration.builder()
+                .maxConcurrentTasks(3)
+                .build()
+                .concurrencyLimit(TYPE))
+            .isEqualTo(3);
+    }
+
+    @Test
+    void concurrencyLimitShouldReturnConfiguredValue() {
+        assertThat(ConcurrentWorkerConfiguration.builder()
+                .maxConcurrentTasks(3)
+                .concurrencyLimit(TYPE, 1)
+                .build()
+                .concurrencyLimit(TYPE))
+            .isEqualTo(1);
+    }
+
+    @Test
+    void priorityShouldDefaultToNormal() {
+        assertThat(ConcurrentWorkerConfiguration.builder()
+                .maxConcurrentTasks(3)
+                .build()
+                .priority(TYPE))
+            .isEqualTo(ConcurrentWorkerConfiguration.Priority.NORMAL);
+    }
+
+    @Test
+    void priorityShouldReturnConfiguredValue() {
+        assertThat(ConcurrentWorkerConfiguration.builder()
+                .maxConcurrentTasks(3)
+                .priority(TYPE, ConcurrentWorkerConfiguration.Priority.HIGH)
+                .build()
+                .priority(TYPE))
+            .isEqualTo(ConcurrentWorkerConfiguration.Priority.HIGH);
+    }
+
+    @Test
+    void fromShouldReturnEmptyWhenMaxConcurrentTasksIsMissing() {
+        PropertiesConfiguration configuration = new PropertiesConfiguration();
+        configuration.addProperty("maxWaitingTasks", 4);
+
+        assertThat(ConcurrentWorkerConfiguration.from(configuration)).isEmpty();
+    }
+
+    @Test
+    void fromShouldReadEveryProperty() {
+        PropertiesConfiguration configuration = new PropertiesConfiguration();
+        configuration.addProperty("maxConcurrentTasks", 4);
+        configuration.addProperty("maxWaitingTasks", 8);
+        configuration.addProperty("concurrencyLimit.full-reindexing", 1);
+        configuration.addProperty("priority.clear-mail-queue", "high");
+
+        assertThat(ConcurrentWorkerConfiguration.from(configuration))
+            .contains(ConcurrentWorkerConfiguration.builder()
+                .maxConcurrentTasks(4)
+                .maxWaitingTasks(8)
+                .concurrencyLimit(TaskType.of("full-reindexing"), 1)
+                .priority(TaskType.of("clear-mail-queue"), ConcurrentWorkerConfiguration.Priority.HIGH)
+                .build());
+    }
+
+    @Test
+    void fromShouldThrowWhenUnknownPriority() {
+        PropertiesConfiguration configuration = new PropertiesConfiguration();
+        configuration.addProperty("maxConcurrentTasks", 4);
+        configuration.addProperty("priority.clear-mail-queue", "urgent");
+
+        assertThatThrownBy(() -> ConcurrentWorkerConfiguration.from(configuration))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,74 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.task.eventsourcing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Instant;
+
+import org.apache.james.task.TaskManager.Status;
+import org.junit.jupiter.api.Test;
+
+import scala.Option;
+
+class DecisionProjectionSerializerTest {
+    static final Instant TIMESTAMP = Instant.parse("2018-11-13T12:00:55.123456Z");
+
+    @Test
+    void serializeShouldWriteTheStatusWhenNoAdditionalInformationUpdate() {
+        assertThat(DecisionProjectionSerializer.serialize(DecisionProjection.apply(Status.WAITING, Option.empty())))
+            .isEqualTo("waiting");
+    }
+
+    @Test
+    void serializeShouldWriteTheStatusAndTheLatestAdditionalInformationUpdate() {
+        assertThat(DecisionProjectionSerializer.serialize(DecisionProjection.apply(Status.IN_PROGRESS, Option.apply(TIMESTAMP))))
+            .isEqualTo("inProgress 2018-11-13T12:00:55.123456Z");
+    }
+
+    @Test
+    void deserializeShouldReturnSerializedDecisionProjection() {
+        DecisionProjection decisionProjection = DecisionProjection.apply(Status.CANCEL_REQUESTED, Option.apply(TIMESTAMP));
+
+        assertThat(DecisionProjectionSerializer.deserialize(DecisionProjectionSerializer.serialize(decisionProjection)))
+            .isEqualTo(decisionProjection);
+    }
+
+    @Test
+    void deserializeShouldReturnSerializedDecisionProjectionWhenNoAdditionalInformationUpdate() {
+        DecisionProjection decisionProjection = DecisionProjection.apply(Status.COMPLETED, Option.empty());
+
+        assertThat(DecisionProjectionSerializer.deserialize(DecisionProjectionSerializer.serialize(decisionProjection)))
+            .isEqualTo(decisionProjection);
+    }
+
+    @Test
+    void deserializeShouldThrowWhenUnknownStatus() {
+        assertThatThrownBy(() -> DecisionProjectionSerializer.deserialize("unknown"))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void deserializeShouldThrowWhenTooManyParts() {
+        assertThatThrownBy(() -> DecisionProjectionSerializer.deserialize("inProgress 2018-11-13T12:00:55Z extra"))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -26,6 +26,7 @@ import java.util.Arrays;
 import java.util.function.Function;
 import java.util.stream.Stream;
 
+import org.apache.james.eventsourcing.AggregateHistory;
 import org.apache.james.eventsourcing.Event;
 import org.apache.james.eventsourcing.EventId;
 import org.apache.james.eventsourcing.eventstore.History;
@@ -33,9 +34,11 @@ import org.apache.james.task.Hostname;
 import org.apache.james.task.MemoryReferenceWithCounterTask;
 import org.apache.james.task.Task;
 import org.apache.james.task.TaskId;
+import org.apache.james.task.TaskManager.Status;
 import org.junit.jupiter.api.Test;
 
 import com.github.steveash.guavate.Guavate;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Streams;
 import scala.Option;
 import scala.jdk.javaapi.CollectionConverters;
@@ -45,6 +48,7 @@ class TaskAggregateTest {
     static final Hostname HOSTNAME = Hostname.apply("foo");
     static final TaskAggregateId ID = TaskAggregateId.apply(TaskId.generateTaskId());
     static final Instant timestamp = Instant.parse("2018-11-13T12:00:55Z");
+    static final EventId SNAPSHOT_VERSION = EventId.fromSerialized(9);
 
     History buildHistory(Function<EventId, Event>... events) {
         return History.of(CollectionConverters.asScala(
@@ -55,6 +59,11 @@ class TaskAggregateTest {
                 .collect(Guavate.toImmutableList())).toList());
     }
 
+    AggregateHistory<DecisionProjection> snapshotHistory(DecisionProjection snapshot, Event... eventsAfterSnapshot) {
+        return AggregateHistory.apply(Option.apply(snapshot),
+            History.after(SNAPSHOT_VERSION, CollectionConverters.asScala(ImmutableList.copyOf(eventsAfterSnapshot)).toList()));
+    }
+
     @Test
     void TaskAggregateShouldThrowWhenHistoryDoesntStartWithCreatedEvent() {
         assertThatThrownBy(() -> TaskAggregate.fromHistory(ID, buildHistory(eventId -> Started.apply(ID, eventId, HOSTNAME))))
@@ -166,4 +175,59 @@ class TaskAggregateTest {
         assertThat(CollectionConverters.asJava(aggregate.update(new MemoryReferenceWithCounterTask.AdditionalInformation(3, timestamp))))
             .isEmpty();
     }
+
+    @Test
+    void TaskAggregateShouldThrowWhenNoSnapshotAndHistoryDoesntStartWithCreatedEvent() {
+        AggregateHistory<DecisionProjection> aggregateHistory = AggregateHistory.apply(Option.empty(),
+            buildHistory(eventId -> Started.apply(ID, eventId, HOSTNAME)));
+
+        assertThatThrownBy(() -> TaskAggregate.fromAggregateHistory(ID, aggregateHistory))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void givenInProgressSnapshotShouldEmitEventFollowingSnapshotVersionWhenUpdateAdditionalInformationCommand() {
+        TaskAggregate aggregate = TaskAggregate.fromAggregateHistory(ID,
+            snapshotHistory(DecisionProjection.apply(Status.IN_PROGRESS, Option.empty())));
+
+        assertThat(CollectionConverters.asJava(aggregate.update(new MemoryReferenceWithCounterTask.AdditionalInformation(3, timestamp))))
+            .containsExactly(AdditionalInformationUpdated.apply(ID, SNAPSHOT_VERSION.next(), new MemoryReferenceWithCounterTask.AdditionalInformation(3, timestamp)));
+    }
+
+    @Test
+    void givenInProgressSnapshotWithOneNewerUpdateShouldEmitNoEventWhenStalledUpdateAdditionalInformationCommand() {
+        TaskAggregate aggregate = TaskAggregate.fromAggregateHistory(ID,
+            snapshotHistory(DecisionProjection.apply(Status.IN_PROGRESS, Option.apply(timestamp))));
+
+        assertThat(CollectionConverters.asJava(aggregate.update(new MemoryReferenceWithCounterTask.AdditionalInformation(3, timestamp.minusSeconds(3)))))
+            .isEmpty();
+    }
+
+    @Test
+    void givenCompletedSnapshotShouldEmitNoEventWhenStartCommand() {
+        TaskAggregate aggregate = TaskAggregate.fromAggregateHistory(ID,
+            snapshotHistory(DecisionProjection.apply(Status.COMPLETED, Option.empty())));
+
+        assertThat(CollectionConverters.asJava(aggregate.start(HOSTNAME)))
+            .isEmpty();
+    }
+
+    @Test
+    void givenInProgressSnapshotShouldApplyTheEventsFollowingIt() {
+        TaskAggregate aggregate = TaskAggregate.fromAggregateHistory(ID,
+            snapshotHistory(DecisionProjection.apply(Status.IN_PROGRESS, Option.empty()),
+                Completed.apply(ID, SNAPSHOT_VERSION.next(), Task.Result.COMPLETED, Option.empty())));
+
+        assertThat(CollectionConverters.asJava(aggregate.update(new MemoryReferenceWithCounterTask.AdditionalInformation(3, timestamp))))
+            .isEmpty();
+    }
+
+    @Test
+    void decisionProjectionShouldApplyTheEventsFollowingTheSnapshot() {
+        AggregateHistory<DecisionProjection> aggregateHistory = snapshotHistory(DecisionProjection.apply(Status.IN_PROGRESS, Option.empty()),
+            AdditionalInformationUpdated.apply(ID, SNAPSHOT_VERSION.next(), new MemoryReferenceWithCounterTask.AdditionalInformation(3, timestamp)));
+
+        assertThat(TaskAggregate.decisionProjection(aggregateHistory))
+            .isEqualTo(DecisionProjection.apply(Status.IN_PROGRESS, Option.apply(timestamp)));
+    }
 }